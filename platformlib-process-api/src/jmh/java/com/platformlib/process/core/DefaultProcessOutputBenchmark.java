@@ -0,0 +1,57 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.configuration.impl.DefaultProcessOutputConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure head and tail capture of {@link DefaultProcessOutput}.
+ * Each invocation pushes 10M lines through the process output, the lines are preallocated to measure capture only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DefaultProcessOutputBenchmark {
+    private static final int LINES = 10_000_000;
+    private static final int DISTINCT_LINES = 1024;
+
+    @Param({"1000", "100000"})
+    private int tailLimit;
+
+    private final String[] lines = new String[DISTINCT_LINES];
+    private final DefaultProcessOutputConfiguration outputConfiguration = new DefaultProcessOutputConfiguration();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < DISTINCT_LINES; i++) {
+            lines[i] = "Process output line #" + i;
+        }
+        outputConfiguration.setHeadSize(100);
+        outputConfiguration.setTailSize(tailLimit);
+    }
+
+    @Benchmark
+    public Collection<String> headAndTail() {
+        final DefaultProcessOutput processOutput = new DefaultProcessOutput(Collections.emptyList(), null, outputConfiguration);
+        for (int i = 0; i < LINES; i++) {
+            processOutput.accept(lines[i & (DISTINCT_LINES - 1)]);
+        }
+        return processOutput.getOutput();
+    }
+}
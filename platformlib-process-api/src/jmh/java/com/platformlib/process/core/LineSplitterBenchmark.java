@@ -0,0 +1,89 @@
+package com.platformlib.process.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare {@link LineSplitter} with byte by byte line splitting which was used by {@link AsyncProcessOutputListener} before.
+ * Each invocation splits 1 MiB of process output read by 8 KiB chunks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineSplitterBenchmark {
+    private static final int CHUNK_SIZE = 8192;
+    private static final int OUTPUT_SIZE = 1 << 20;
+
+    @Param({"16", "80", "1024"})
+    private int averageLineLength;
+
+    @Param({"false", "true"})
+    private boolean crlf;
+
+    private byte[] output;
+    private Blackhole blackhole;
+    private LineSplitter lineSplitter;
+    private final ByteBuffer byteBuffer = ByteBuffer.allocate(CHUNK_SIZE);
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+        final Random random = new Random(averageLineLength);
+        output = new byte[OUTPUT_SIZE];
+        for (int i = 0; i < OUTPUT_SIZE; i++) {
+            if (random.nextInt(averageLineLength) == 0) {
+                if (crlf && i + 1 < OUTPUT_SIZE) {
+                    output[i++] = '\r';
+                }
+                output[i] = '\n';
+            } else {
+                output[i] = (byte) (' ' + random.nextInt('~' - ' '));
+            }
+        }
+        lineSplitter = new LineSplitter(CHUNK_SIZE, (bytes, length, terminated) -> blackhole.consume(length));
+    }
+
+    @Benchmark
+    public void lineSplitter() {
+        for (int offset = 0; offset < OUTPUT_SIZE; offset += CHUNK_SIZE) {
+            lineSplitter.split(output, offset, CHUNK_SIZE);
+        }
+    }
+
+    @Benchmark
+    public void byteByByte() {
+        for (int offset = 0; offset < OUTPUT_SIZE; offset += CHUNK_SIZE) {
+            for (int i = offset; i < offset + CHUNK_SIZE; i++) {
+                if (output[i] == '\n') {
+                    byteBuffer.flip();
+                    blackhole.consume(byteBuffer.remaining());
+                    byteBuffer.clear();
+                } else if (output[i] != '\r') {
+                    if (!byteBuffer.hasRemaining()) {
+                        byteBuffer.flip();
+                        blackhole.consume(byteBuffer.remaining());
+                        byteBuffer.clear();
+                    }
+                    byteBuffer.put(output[i]);
+                }
+            }
+        }
+    }
+}
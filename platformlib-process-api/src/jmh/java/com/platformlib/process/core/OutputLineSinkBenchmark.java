@@ -0,0 +1,95 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.configuration.impl.DefaultProcessOutputLoggerConfiguration;
+import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure per line cost of process output logging.
+ * The {@code configurationLookup} benchmark evaluates the logger configuration for every line as the listener did before line sinks,
+ * the {@code lineSink} one passes lines to the sink built once from the same configuration.
+ * Run with {@code -prof gc} to see allocation per line, {@code gc.alloc.rate.norm} is zero for the sink without logging.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OutputLineSinkBenchmark {
+    private static final int DISTINCT_LINES = 1024;
+    private static final String NAME = "stdout";
+
+    /**
+     * Logger configuration: none - nothing is logged, head - first lines are logged, headTail - first and last lines are logged, full - every line is logged.
+     */
+    @Param({"none", "head", "headTail", "full"})
+    private String logging;
+
+    private final String[] lines = new String[DISTINCT_LINES];
+    private final DefaultProcessOutputLoggerConfiguration configuration = new DefaultProcessOutputLoggerConfiguration();
+    private OutputLineSink lineSink;
+    private Logger logger;
+    private int headProcessed;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < DISTINCT_LINES; i++) {
+            lines[i] = "Process output line #" + i;
+        }
+        if ("head".equals(logging) || "headTail".equals(logging)) {
+            configuration.setHeadSize(10);
+        }
+        if ("headTail".equals(logging)) {
+            configuration.setTailSize(100);
+        }
+        if ("full".equals(logging)) {
+            configuration.setLogger(NOPLogger.NOP_LOGGER);
+        }
+        logger = configuration.getLogger().orElse(NOPLogger.NOP_LOGGER);
+        lineSink = OutputLineSinks.of(NAME, configuration, NOPLogger.NOP_LOGGER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DISTINCT_LINES)
+    public void lineSink() {
+        for (final String line: lines) {
+            lineSink.accept(line);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DISTINCT_LINES)
+    public void configurationLookup() {
+        for (final String line: lines) {
+            lookupAndLog(configuration, line);
+        }
+    }
+
+    private void lookupAndLog(final ProcessOutputLoggerConfiguration loggerConfiguration, final String line) {
+        if (loggerConfiguration.getLogger().orElse(logger) == logger && logger.isTraceEnabled()) {
+            logger.trace("[{}] Process output: {}", NAME, line);
+        }
+        if (!loggerConfiguration.getHeadSize().isPresent() && !loggerConfiguration.getTailSize().isPresent()) {
+            loggerConfiguration.getLogger().ifPresent(configuredLogger -> configuredLogger.debug("[{}] Process output: {}", NAME, line));
+        } else if (loggerConfiguration.getHeadSize().isPresent() && (loggerConfiguration.getHeadSize().get() < 0 || headProcessed < loggerConfiguration.getHeadSize().get())) {
+            headProcessed++;
+            loggerConfiguration.getLogger().orElse(logger).debug("[{}] Process output: {}", NAME, line);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.platformlib.process.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare {@link RingBufferInputStream} with {@link PipedInputStream} which was used for process output streams before.
+ * Each invocation transfers 16 MiB by 8 KiB chunks from writer thread to reader, so the throughput in MiB/s is the score multiplied by 16.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingBufferInputStreamBenchmark {
+    private static final int CHUNK_SIZE = 8192;
+    private static final int TRANSFER_SIZE = 16 << 20;
+
+    @Param({"1024", "65536"})
+    private int capacity;
+
+    private final byte[] writeBuffer = new byte[CHUNK_SIZE];
+    private final byte[] readBuffer = new byte[CHUNK_SIZE];
+    private ExecutorService writer;
+
+    @Setup
+    public void setUp() {
+        writer = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        writer.shutdownNow();
+    }
+
+    @Benchmark
+    public long ringBuffer() throws Exception {
+        final RingBufferInputStream inputStream = new RingBufferInputStream(capacity);
+        return transfer(inputStream, inputStream.getOutputStream());
+    }
+
+    @Benchmark
+    public long pipedStream() throws Exception {
+        final PipedInputStream inputStream = new PipedInputStream(capacity);
+        return transfer(inputStream, new PipedOutputStream(inputStream));
+    }
+
+    private long transfer(final InputStream inputStream, final OutputStream outputStream) throws Exception {
+        final Future<?> writing = writer.submit(() -> {
+            try (OutputStream stream = outputStream) {
+                for (int i = 0; i < TRANSFER_SIZE; i += CHUNK_SIZE) {
+                    stream.write(writeBuffer);
+                }
+            } catch (final IOException ioException) {
+                throw new IllegalStateException(ioException);
+            }
+        });
+        long transferred = 0;
+        int len;
+        while ((len = inputStream.read(readBuffer)) != -1) {
+            transferred += len;
+        }
+        writing.get();
+        return transferred;
+    }
+}
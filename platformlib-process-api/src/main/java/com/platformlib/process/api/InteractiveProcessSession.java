@@ -0,0 +1,76 @@
+package com.platformlib.process.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Interactive session with a running process.
+ * The written bytes go to the process standard input directly and are sent once the session is flushed,
+ * so several requests can be written and flushed at once and their responses awaited afterwards.
+ * The process standard output is matched against expected patterns in the order they were requested,
+ * each match consumes the output up to the end of the matched text.
+ * The process standard error isn't matched, it is available as configured in the process builder.
+ */
+public interface InteractiveProcessSession extends Closeable {
+    /**
+     * Get the running process.
+     * @return Returns process of the session
+     */
+    OperationSystemProcess getProcess();
+
+    /**
+     * Write bytes to the process standard input.
+     * The bytes may be buffered until {@link #flush()}.
+     * @param bytes bytes to write
+     * @return Returns this session
+     * @throws IOException if the process hasn't been started or its standard input is closed
+     */
+    InteractiveProcessSession write(byte[] bytes) throws IOException;
+
+    /**
+     * Write text to the process standard input encoded with the process output charset.
+     * The text may be buffered until {@link #flush()}.
+     * @param text text to write
+     * @return Returns this session
+     * @throws IOException if the process hasn't been started or its standard input is closed
+     */
+    InteractiveProcessSession write(CharSequence text) throws IOException;
+
+    /**
+     * Send written bytes to the process.
+     * @return Returns this session
+     * @throws IOException if the process standard input is closed
+     */
+    InteractiveProcessSession flush() throws IOException;
+
+    /**
+     * Expect pattern in process standard output.
+     * The pattern is matched after the patterns expected before it, so the responses of pipelined requests are matched in order.
+     * The stage is completed by the process output thread, so dependent actions should be asynchronous if they block.
+     * @param pattern pattern to find in process output
+     * @return Returns stage completed with the match, or exceptionally if the process output ends before the match
+     */
+    CompletionStage<ProcessOutputMatch> expectPattern(Pattern pattern);
+
+    /**
+     * Wait for pattern in process standard output.
+     * @param pattern pattern to find in process output
+     * @param timeout max time to wait
+     * @return Returns the match
+     * @throws IOException if the process output ends before the match or waiting is interrupted
+     * @throws TimeoutException if the pattern hasn't been matched in time, the expectation is discarded then
+     */
+    ProcessOutputMatch awaitPattern(Pattern pattern, Duration timeout) throws IOException, TimeoutException;
+
+    /**
+     * Close the process standard input.
+     * The process gets the end of its input, the process itself isn't stopped.
+     * @throws IOException on closing error
+     */
+    @Override
+    void close() throws IOException;
+}
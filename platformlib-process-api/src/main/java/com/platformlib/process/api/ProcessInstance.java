@@ -26,4 +26,36 @@ public interface ProcessInstance {
      * @throws com.platformlib.process.exception.OutputOverflowException if process standard error output is more than was limited for process
      */
     Collection<String> getStdErr();
+
+    /**
+     * Get number of process standard output lines which haven't been kept due to configured limits.
+     * @return Returns number of dropped standard output lines
+     */
+    long getStdOutDroppedLines();
+
+    /**
+     * Get estimated memory of process standard output lines which haven't been kept due to configured limits.
+     * @return Returns number of dropped standard output bytes
+     */
+    long getStdOutDroppedBytes();
+
+    /**
+     * Get number of process standard error lines which haven't been kept due to configured limits.
+     * @return Returns number of dropped standard error lines
+     */
+    long getStdErrDroppedLines();
+
+    /**
+     * Get estimated memory of process standard error lines which haven't been kept due to configured limits.
+     * @return Returns number of dropped standard error bytes
+     */
+    long getStdErrDroppedBytes();
+
+    /**
+     * Release resources of process output kept in compact form or spilled to temporary files.
+     * The off-heap memory of compact output is freed, the spill files are closed and deleted.
+     * Reading released output (getting its lines or iterating over them) throws {@link IllegalStateException}, the number of lines is still available.
+     * The call does nothing if the output is kept as plain lines, it can be called several times.
+     */
+    void release();
 }
@@ -0,0 +1,33 @@
+package com.platformlib.process.api;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Process output lines which are available while the process is running.
+ * The lines are iterated only once, the iteration blocks until the next line is read or the process output is completed.
+ * The process output processing waits while the lines buffer is full, so the lines should be read until the end or closed.
+ */
+public interface ProcessOutputLines extends Iterable<String>, Closeable {
+    /**
+     * Get lines iterator.
+     * The same iterator is returned on each call as the lines can be read only once.
+     * @return Returns blocking iterator over process output lines
+     */
+    @Override
+    Iterator<String> iterator();
+
+    /**
+     * Get sequential stream of process output lines.
+     * @return Returns blocking stream over process output lines
+     */
+    Stream<String> stream();
+
+    /**
+     * Stop lines reading.
+     * The buffered lines are discarded as well as the rest of process output, the process output processing isn't blocked anymore.
+     */
+    @Override
+    void close();
+}
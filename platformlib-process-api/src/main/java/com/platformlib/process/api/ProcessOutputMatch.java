@@ -0,0 +1,15 @@
+package com.platformlib.process.api;
+
+import java.util.regex.MatchResult;
+
+/**
+ * Match of a pattern in process output of an interactive process session.
+ * The match indices are relative to the output received after the previous match.
+ */
+public interface ProcessOutputMatch extends MatchResult {
+    /**
+     * Get process output between the previous match and this one.
+     * @return Returns output preceding the matched text
+     */
+    String getPrecedingOutput();
+}
@@ -0,0 +1,45 @@
+package com.platformlib.process.api;
+
+import java.time.Duration;
+
+/**
+ * Metrics of asynchronous process output redirect.
+ * Shows how much the redirect stream lags behind the process output.
+ */
+public interface RedirectMetrics {
+    /**
+     * Get redirect name.
+     * @return Returns redirect name, e.g. "stdout#0"
+     */
+    String getName();
+
+    /**
+     * Get number of bytes waiting in the queue to be written to the redirect stream.
+     * @return Returns queued bytes
+     */
+    long getQueuedBytes();
+
+    /**
+     * Get max number of queued bytes reached during process execution.
+     * @return Returns max queued bytes
+     */
+    long getMaxQueuedBytes();
+
+    /**
+     * Get number of bytes written to the redirect stream.
+     * @return Returns written bytes
+     */
+    long getWrittenBytes();
+
+    /**
+     * Get number of bytes dropped because of queue overflow, redirect stream failure or close timeout.
+     * @return Returns dropped bytes
+     */
+    long getDroppedBytes();
+
+    /**
+     * Get redirect lag, i.e. how long the oldest queued output is waiting to be written.
+     * @return Returns redirect lag, {@link Duration#ZERO} if nothing is queued
+     */
+    Duration getLag();
+}
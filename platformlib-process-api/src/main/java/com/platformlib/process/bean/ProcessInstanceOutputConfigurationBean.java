@@ -2,6 +2,7 @@ package com.platformlib.process.bean;
 
 import com.platformlib.process.configuration.instance.ProcessInstanceOutputConfiguration;
 
+import java.nio.file.Path;
 import java.util.Optional;
 
 /**
@@ -9,6 +10,9 @@ import java.util.Optional;
  */
 public class ProcessInstanceOutputConfigurationBean extends ProcessOutputConfigurationBean implements ProcessInstanceOutputConfiguration  {
     private Integer limit;
+    private boolean compact;
+    private Long spillThreshold;
+    private Path spillDirectory;
 
     @Override
     public Optional<Integer> getLimit() {
@@ -19,6 +23,33 @@ public class ProcessInstanceOutputConfigurationBean extends ProcessOutputConfigu
         this.limit = limit;
     }
 
+    @Override
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void setCompact(final boolean compact) {
+        this.compact = compact;
+    }
+
+    @Override
+    public Optional<Long> getSpillThreshold() {
+        return Optional.ofNullable(spillThreshold);
+    }
+
+    public void setSpillThreshold(final Long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public Optional<Path> getSpillDirectory() {
+        return Optional.ofNullable(spillDirectory);
+    }
+
+    public void setSpillDirectory(final Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
     /**
      * Configure process instance output.
      * @param processInstanceOutputConfiguration process output configuration
@@ -26,7 +57,13 @@ public class ProcessInstanceOutputConfigurationBean extends ProcessOutputConfigu
     @SuppressWarnings("PMD.LawOfDemeter")
     public void configure(final ProcessInstanceOutputConfiguration processInstanceOutputConfiguration) {
         processInstanceOutputConfiguration.getLimit().ifPresent(this::setLimit);
+        setCompact(processInstanceOutputConfiguration.isCompact());
+        processInstanceOutputConfiguration.getSpillThreshold().ifPresent(this::setSpillThreshold);
+        processInstanceOutputConfiguration.getSpillDirectory().ifPresent(this::setSpillDirectory);
         processInstanceOutputConfiguration.getHeadSize().ifPresent(this::setHeadSize);
         processInstanceOutputConfiguration.getTailSize().ifPresent(this::setTailSize);
+        processInstanceOutputConfiguration.getHeadBytes().ifPresent(this::setHeadBytes);
+        processInstanceOutputConfiguration.getTailBytes().ifPresent(this::setTailBytes);
+        processInstanceOutputConfiguration.getMaxBytes().ifPresent(this::setMaxBytes);
     }
 }
@@ -10,6 +10,9 @@ import java.util.Optional;
 public class ProcessOutputConfigurationBean implements ProcessOutputConfiguration  {
     private Integer headSize;
     private Integer tailSize;
+    private Long headBytes;
+    private Long tailBytes;
+    private Long maxBytes;
 
     @Override
     public Optional<Integer> getHeadSize() {
@@ -21,6 +24,21 @@ public class ProcessOutputConfigurationBean implements ProcessOutputConfiguratio
         return Optional.ofNullable(tailSize);
     }
 
+    @Override
+    public Optional<Long> getHeadBytes() {
+        return Optional.ofNullable(headBytes);
+    }
+
+    @Override
+    public Optional<Long> getTailBytes() {
+        return Optional.ofNullable(tailBytes);
+    }
+
+    @Override
+    public Optional<Long> getMaxBytes() {
+        return Optional.ofNullable(maxBytes);
+    }
+
     public void setHeadSize(final Integer headSize) {
         this.headSize = headSize;
     }
@@ -28,4 +46,16 @@ public class ProcessOutputConfigurationBean implements ProcessOutputConfiguratio
     public void setTailSize(final Integer tailSize) {
         this.tailSize = tailSize;
     }
+
+    public void setHeadBytes(final Long headBytes) {
+        this.headBytes = headBytes;
+    }
+
+    public void setTailBytes(final Long tailBytes) {
+        this.tailBytes = tailBytes;
+    }
+
+    public void setMaxBytes(final Long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
 }
@@ -3,13 +3,18 @@ package com.platformlib.process.builder;
 import com.platformlib.process.configurator.ProcessDryRunConfigurator;
 import com.platformlib.process.configurator.ProcessInstanceConfigurator;
 import com.platformlib.process.configurator.ProcessLoggerConfigurator;
+import com.platformlib.process.configurator.ProcessRedirectConfigurator;
 import com.platformlib.process.executor.ProcessExecutor;
 import com.platformlib.process.handler.ProcessDestroyerHandler;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -96,6 +101,33 @@ public interface ProcessBuilder {
      */
     ProcessBuilder stdErrConsumer(Consumer<String> stdErrConsumer);
 
+    /**
+     * Set process standard output lines batch consumer.
+     * The consumer gets all lines of one read chunk at once instead of a call per line.
+     * The passed list is reused for the next batch, so it should be processed or copied within the call.
+     * @param stdOutBatchConsumer process stdout lines batch consumer
+     * @return Returns this process builder
+     */
+    ProcessBuilder stdOutBatchConsumer(Consumer<List<CharSequence>> stdOutBatchConsumer);
+
+    /**
+     * Set process error output lines batch consumer.
+     * The consumer gets all lines of one read chunk at once instead of a call per line.
+     * The passed list is reused for the next batch, so it should be processed or copied within the call.
+     * @param stdErrBatchConsumer process stderr lines batch consumer
+     * @return Returns this process builder
+     */
+    ProcessBuilder stdErrBatchConsumer(Consumer<List<CharSequence>> stdErrBatchConsumer);
+
+    /**
+     * Set max time to collect lines of several read chunks into one batch.
+     * The batch is passed once the time since its first line has passed, even if the process doesn't output more, or at the end of process output.
+     * The lingered batch may be passed by the shared timer thread, so the consumer should not block.
+     * @param batchLinger batch linger time
+     * @return Returns this process builder
+     */
+    ProcessBuilder batchLinger(Duration batchLinger);
+
     /**
      * Set process standard input stream.
      * @param processStandardInputStream stream to process standard input
@@ -103,6 +135,24 @@ public interface ProcessBuilder {
      */
     ProcessBuilder standardInput(InputStream processStandardInputStream);
 
+    /**
+     * Set file to read process standard input from.
+     * The local OS process reads the file directly, so the input is not copied by JVM at all.
+     * @param file file to process standard input
+     * @return Returns this process builder
+     */
+    ProcessBuilder standardInput(Path file);
+
+    /**
+     * Set channel to read process standard input from.
+     * The input is written to the process with large chunks, the process standard input is closed at the end of the channel.
+     * The channel is not closed on process completion.
+     * The channel is read in blocking mode, a selectable channel in non-blocking mode is rejected.
+     * @param channel channel to process standard input
+     * @return Returns this process builder
+     */
+    ProcessBuilder standardInput(ReadableByteChannel channel);
+
     /**
      * Set command to execute.
      * @param command command to execute
@@ -153,6 +203,15 @@ public interface ProcessBuilder {
      */
     ProcessBuilder withExecutor(Executor executor);
 
+    /**
+     * Run process threads (output listeners, standard input writer, process waiter) on virtual threads.
+     * Virtual threads don't require sizing a thread pool for many concurrent processes.
+     * Overrides executor set by {@link #withExecutor(Executor)}.
+     * @return Returns this process builder
+     * @throws com.platformlib.process.exception.ProcessConfigurationException if virtual threads are not supported by current JVM (JDK 21 or later is required)
+     */
+    ProcessBuilder virtualThreads();
+
     /**
      * Set execution timeout.
      * By default unlimited.
@@ -182,6 +241,57 @@ public interface ProcessBuilder {
      */
     ProcessBuilder redirectStandardError(OutputStream outputStream);
 
+    /**
+     * Redirect process standard output to given file.
+     * The local OS process writes the output to the file directly, so the output is not read by JVM at all: it is not logged and not available as process instance output or by consumers.
+     * Supported by local processes only.
+     * @param file file to write process standard output to, the file is created or truncated
+     * @return Returns this process builder
+     */
+    ProcessBuilder redirectStandardOutput(Path file);
+
+    /**
+     * Redirect process standard output to given channel.
+     * The output bytes are written to the channel as soon as they are read, the output is not split into lines: it is not logged and not available as process instance output or by consumers.
+     * The channel is not closed on process completion.
+     * @param channel channel to write process standard output to
+     * @return Returns this process builder
+     */
+    ProcessBuilder redirectStandardOutput(WritableByteChannel channel);
+
+    /**
+     * Redirect process standard error to given file.
+     * The local OS process writes the output to the file directly, so the output is not read by JVM at all: it is not logged and not available as process instance output or by consumers.
+     * Supported by local processes only.
+     * @param file file to write process standard error to, the file is created or truncated
+     * @return Returns this process builder
+     */
+    ProcessBuilder redirectStandardError(Path file);
+
+    /**
+     * Redirect process standard error to given channel.
+     * The output bytes are written to the channel as soon as they are read, the output is not split into lines: it is not logged and not available as process instance output or by consumers.
+     * The channel is not closed on process completion.
+     * @param channel channel to write process standard error to
+     * @return Returns this process builder
+     */
+    ProcessBuilder redirectStandardError(WritableByteChannel channel);
+
+    /**
+     * Configure writing to redirect streams given by {@link #redirectStandardOutput(OutputStream)} and {@link #redirectStandardError(OutputStream)}.
+     * @param processRedirectConfigurator redirect configurator
+     * @return Returns this process builder
+     */
+    ProcessBuilder redirect(Consumer<ProcessRedirectConfigurator> processRedirectConfigurator);
+
+    /**
+     * Specify process standard output and error streams charset.
+     * Default charset is UTF-8. The charset of a particular stream could be overridden by {@link ProcessLoggerConfigurator#stdOut(Consumer)} and {@link ProcessLoggerConfigurator#stdErr(Consumer)}.
+     * @param charset process output charset
+     * @return Returns this process configurator
+     */
+    ProcessBuilder charset(Charset charset);
+
     /**
      * Run command as is.
      * Some features such as setting environment variables could be disabled. Depends on platform and implementation.
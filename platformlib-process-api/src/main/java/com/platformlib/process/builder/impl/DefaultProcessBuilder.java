@@ -7,14 +7,23 @@ import com.platformlib.process.configurator.impl.DefaultProcessDryRunConfigurato
 import com.platformlib.process.configurator.impl.DefaultProcessInstanceConfigurator;
 import com.platformlib.process.configuration.instance.ProcessInstanceConfiguration;
 import com.platformlib.process.configuration.logger.ProcessLoggerConfiguration;
+import com.platformlib.process.configuration.redirect.ProcessRedirectConfiguration;
 import com.platformlib.process.configurator.ProcessInstanceConfigurator;
 import com.platformlib.process.configurator.ProcessLoggerConfigurator;
 import com.platformlib.process.configurator.impl.DefaultProcessLoggerConfigurator;
+import com.platformlib.process.configurator.ProcessRedirectConfigurator;
+import com.platformlib.process.configurator.impl.DefaultProcessRedirectConfigurator;
+import com.platformlib.process.executor.VirtualThreadExecutor;
 import com.platformlib.process.handler.ProcessDestroyerHandler;
 import com.platformlib.process.enums.ExecutionMode;
+import com.platformlib.process.exception.ProcessConfigurationException;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
@@ -40,6 +49,9 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
 
     private Consumer<String> stdOutConsumer;
     private Consumer<String> stdErrConsumer;
+    private Consumer<List<CharSequence>> stdOutBatchConsumer;
+    private Consumer<List<CharSequence>> stdErrBatchConsumer;
+    private Duration batchLinger;
     private Duration executionTimeout;
     private String command;
     private final Collection<Object> commandAndArguments = new ArrayList<>();
@@ -48,8 +60,14 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
     private ProcessDestroyerHandler processDestroyerHandler;
 
     private InputStream processStandardInputStream;
+    private Path processStandardInputFile;
+    private ReadableByteChannel processStandardInputChannel;
     private OutputStream stdOutRedirectStream;
     private OutputStream stdErrRedirectStream;
+    private Path stdOutRedirectFile;
+    private Path stdErrRedirectFile;
+    private WritableByteChannel stdOutRedirectChannel;
+    private WritableByteChannel stdErrRedirectChannel;
 
     private Object workDirectory;
     private Executor executor;
@@ -62,6 +80,7 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
 
     private final DefaultProcessLoggerConfigurator processLoggerConfigurator = new DefaultProcessLoggerConfigurator();
     private final DefaultProcessInstanceConfigurator processInstanceConfigurator = new DefaultProcessInstanceConfigurator();
+    private final DefaultProcessRedirectConfigurator processRedirectConfigurator = new DefaultProcessRedirectConfigurator();
 
     private boolean executeInWorkDirectory = false;
 
@@ -166,9 +185,49 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
         return this;
     }
 
+    @Override
+    public DefaultProcessBuilder stdOutBatchConsumer(final Consumer<List<CharSequence>> stdOutBatchConsumer) {
+        this.stdOutBatchConsumer = stdOutBatchConsumer;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder stdErrBatchConsumer(final Consumer<List<CharSequence>> stdErrBatchConsumer) {
+        this.stdErrBatchConsumer = stdErrBatchConsumer;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder batchLinger(final Duration batchLinger) {
+        this.batchLinger = batchLinger;
+        return this;
+    }
+
     @Override
     public DefaultProcessBuilder standardInput(final InputStream processStandardInputStream) {
         this.processStandardInputStream = processStandardInputStream;
+        this.processStandardInputFile = null;
+        this.processStandardInputChannel = null;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder standardInput(final Path file) {
+        this.processStandardInputFile = Objects.requireNonNull(file);
+        this.processStandardInputStream = null;
+        this.processStandardInputChannel = null;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder standardInput(final ReadableByteChannel channel) {
+        // The input is copied by a thread which waits in read, a non-blocking channel would make it spin
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new ProcessConfigurationException("The standard input channel must be in blocking mode");
+        }
+        this.processStandardInputChannel = Objects.requireNonNull(channel);
+        this.processStandardInputStream = null;
+        this.processStandardInputFile = null;
         return this;
     }
 
@@ -194,6 +253,12 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
         return this;
     }
 
+    @Override
+    public DefaultProcessBuilder virtualThreads() {
+        this.executor = VirtualThreadExecutor.getInstance();
+        return this;
+    }
+
     @Override
     public DefaultProcessBuilder executionTimeout(final Duration timeout) {
         this.executionTimeout = timeout;
@@ -218,6 +283,46 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
         return this;
     }
 
+    @Override
+    public DefaultProcessBuilder redirectStandardOutput(final Path file) {
+        this.stdOutRedirectFile = Objects.requireNonNull(file);
+        this.stdOutRedirectChannel = null;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder redirectStandardOutput(final WritableByteChannel channel) {
+        this.stdOutRedirectChannel = Objects.requireNonNull(channel);
+        this.stdOutRedirectFile = null;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder redirectStandardError(final Path file) {
+        this.stdErrRedirectFile = Objects.requireNonNull(file);
+        this.stdErrRedirectChannel = null;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder redirectStandardError(final WritableByteChannel channel) {
+        this.stdErrRedirectChannel = Objects.requireNonNull(channel);
+        this.stdErrRedirectFile = null;
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder redirect(final Consumer<ProcessRedirectConfigurator> processRedirectConfigurator) {
+        processRedirectConfigurator.accept(this.processRedirectConfigurator);
+        return this;
+    }
+
+    @Override
+    public DefaultProcessBuilder charset(final Charset charset) {
+        processLoggerConfigurator.charset(charset);
+        return this;
+    }
+
     @Override
     public DefaultProcessBuilder rawExecution() {
         this.rawExecution = true;
@@ -285,6 +390,21 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
         return Optional.ofNullable(stdErrConsumer);
     }
 
+    @Override
+    public Optional<Consumer<List<CharSequence>>> getStdOutBatchConsumer() {
+        return Optional.ofNullable(stdOutBatchConsumer);
+    }
+
+    @Override
+    public Optional<Consumer<List<CharSequence>>> getStdErrBatchConsumer() {
+        return Optional.ofNullable(stdErrBatchConsumer);
+    }
+
+    @Override
+    public Optional<Duration> getBatchLinger() {
+        return Optional.ofNullable(batchLinger);
+    }
+
     @Override
     public Collection<Object> getCommandAndArguments() {
         final List<Object> cla = new ArrayList<>();
@@ -305,6 +425,31 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
         return stdErrRedirectStream == null ? Collections.emptyList() : Collections.singleton(stdErrRedirectStream);
     }
 
+    @Override
+    public Optional<Path> getStandardOutputFile() {
+        return Optional.ofNullable(stdOutRedirectFile);
+    }
+
+    @Override
+    public Optional<WritableByteChannel> getStandardOutputChannel() {
+        return Optional.ofNullable(stdOutRedirectChannel);
+    }
+
+    @Override
+    public Optional<Path> getStandardErrorFile() {
+        return Optional.ofNullable(stdErrRedirectFile);
+    }
+
+    @Override
+    public Optional<WritableByteChannel> getStandardErrorChannel() {
+        return Optional.ofNullable(stdErrRedirectChannel);
+    }
+
+    @Override
+    public Optional<ProcessRedirectConfiguration> getRedirectConfiguration() {
+        return Optional.of(processRedirectConfigurator);
+    }
+
     @Override
     public ExecutionMode getExecution() {
         return rawExecution ? ExecutionMode.RAW : ExecutionMode.NORMAL;
@@ -315,6 +460,16 @@ public abstract class DefaultProcessBuilder implements ProcessBuilder, ProcessCo
         return Optional.ofNullable(processStandardInputStream);
     }
 
+    @Override
+    public Optional<Path> getStdInFile() {
+        return Optional.ofNullable(processStandardInputFile);
+    }
+
+    @Override
+    public Optional<ReadableByteChannel> getStdInChannel() {
+        return Optional.ofNullable(processStandardInputChannel);
+    }
+
     @Override
     public Optional<ProcessDestroyerHandler> getProcessDestroyerHandler() {
         return Optional.ofNullable(processDestroyerHandler);
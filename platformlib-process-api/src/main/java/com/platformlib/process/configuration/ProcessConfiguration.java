@@ -3,13 +3,18 @@ package com.platformlib.process.configuration;
 import com.platformlib.process.configuration.dryrun.ProcessDryRunConfiguration;
 import com.platformlib.process.configuration.instance.ProcessInstanceConfiguration;
 import com.platformlib.process.configuration.logger.ProcessLoggerConfiguration;
+import com.platformlib.process.configuration.redirect.ProcessRedirectConfiguration;
 import com.platformlib.process.handler.ProcessDestroyerHandler;
 import com.platformlib.process.enums.ExecutionMode;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
@@ -39,6 +44,24 @@ public interface ProcessConfiguration {
      */
     Optional<Consumer<String>> getStdErrConsumer();
 
+    /**
+     * Get process standard out lines batch consumer.
+     * @return Returns process standard out lines batch consumer if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Consumer<List<CharSequence>>> getStdOutBatchConsumer();
+
+    /**
+     * Get process standard error lines batch consumer.
+     * @return Returns process standard error lines batch consumer if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Consumer<List<CharSequence>>> getStdErrBatchConsumer();
+
+    /**
+     * Get max time to collect process output lines batch.
+     * @return Returns batch linger time if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Duration> getBatchLinger();
+
     /**
      * Get command and arguments to execute.
      * @return Returns command and arguments to execute.
@@ -94,6 +117,36 @@ public interface ProcessConfiguration {
      */
     Collection<OutputStream> getStandardErrorRedirects();
 
+    /**
+     * Get file to redirect process standard output to.
+     * @return Returns file if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Path> getStandardOutputFile();
+
+    /**
+     * Get channel to redirect process standard output to.
+     * @return Returns channel if set, {@link Optional#empty()} otherwise
+     */
+    Optional<WritableByteChannel> getStandardOutputChannel();
+
+    /**
+     * Get file to redirect process standard error to.
+     * @return Returns file if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Path> getStandardErrorFile();
+
+    /**
+     * Get channel to redirect process standard error to.
+     * @return Returns channel if set, {@link Optional#empty()} otherwise
+     */
+    Optional<WritableByteChannel> getStandardErrorChannel();
+
+    /**
+     * Get redirect streams configuration.
+     * @return Returns redirect configuration if set, {@link Optional#empty()} otherwise
+     */
+    Optional<ProcessRedirectConfiguration> getRedirectConfiguration();
+
     /**
      * Get process execution mode.
      * @return Returns execution mode
@@ -106,6 +159,18 @@ public interface ProcessConfiguration {
      */
     Optional<InputStream> getStdIn();
 
+    /**
+     * Get file to read process standard input from.
+     * @return Returns process standard input file if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Path> getStdInFile();
+
+    /**
+     * Get channel to read process standard input from.
+     * @return Returns process standard input channel if set, {@link Optional#empty()} otherwise
+     */
+    Optional<ReadableByteChannel> getStdInChannel();
+
     /**
      * Get process destroy handler.
      * @return Process destroy handler if set, {@link Optional#empty()} otherwise
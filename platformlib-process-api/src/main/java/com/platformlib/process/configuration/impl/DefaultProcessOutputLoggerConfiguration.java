@@ -1,9 +1,11 @@
 package com.platformlib.process.configuration.impl;
 
 import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
+import com.platformlib.process.enums.LineOverflowPolicy;
 import com.platformlib.process.initializer.ProcessThreadInitializer;
 import org.slf4j.Logger;
 
+import java.nio.charset.Charset;
 import java.time.Duration;
 import java.util.Optional;
 
@@ -13,6 +15,9 @@ import java.util.Optional;
 public class DefaultProcessOutputLoggerConfiguration extends DefaultProcessOutputConfiguration implements ProcessOutputLoggerConfiguration {
     private Logger logger;
     private Duration logInterval;
+    private Charset charset;
+    private Integer maxLineLength;
+    private LineOverflowPolicy lineOverflowPolicy;
     private ProcessThreadInitializer processThreadInitializer;
 
     public void setLogger(final Logger logger) {
@@ -38,6 +43,33 @@ public class DefaultProcessOutputLoggerConfiguration extends DefaultProcessOutpu
         this.logInterval = logInterval;
     }
 
+    @Override
+    public Optional<Charset> getCharset() {
+        return Optional.ofNullable(charset);
+    }
+
+    public void setCharset(final Charset charset) {
+        this.charset = charset;
+    }
+
+    @Override
+    public Optional<Integer> getMaxLineLength() {
+        return Optional.ofNullable(maxLineLength);
+    }
+
+    public void setMaxLineLength(final Integer maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public Optional<LineOverflowPolicy> getLineOverflowPolicy() {
+        return Optional.ofNullable(lineOverflowPolicy);
+    }
+
+    public void setLineOverflowPolicy(final LineOverflowPolicy lineOverflowPolicy) {
+        this.lineOverflowPolicy = lineOverflowPolicy;
+    }
+
     public void setProcessThreadInitializer(final ProcessThreadInitializer processThreadInitializer) {
         this.processThreadInitializer = processThreadInitializer;
     }
@@ -0,0 +1,69 @@
+package com.platformlib.process.configuration.impl;
+
+import com.platformlib.process.configuration.redirect.ProcessRedirectConfiguration;
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Default {@link ProcessRedirectConfiguration} implementation.
+ */
+public class DefaultProcessRedirectConfiguration implements ProcessRedirectConfiguration {
+    private boolean synchronous;
+    private Integer queueCapacity;
+    private RedirectOverflowPolicy overflowPolicy;
+    private Duration closeTimeout;
+
+    @Override
+    public boolean isSynchronous() {
+        return synchronous;
+    }
+
+    @Override
+    public Optional<Integer> getQueueCapacity() {
+        return Optional.ofNullable(queueCapacity);
+    }
+
+    @Override
+    public Optional<RedirectOverflowPolicy> getOverflowPolicy() {
+        return Optional.ofNullable(overflowPolicy);
+    }
+
+    @Override
+    public Optional<Duration> getCloseTimeout() {
+        return Optional.ofNullable(closeTimeout);
+    }
+
+    /**
+     * Set synchronous redirects.
+     * @param synchronous true to write redirect streams by process output reading thread
+     */
+    public void setSynchronous(final boolean synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    /**
+     * Set queue capacity of asynchronous redirect.
+     * @param queueCapacity queue capacity in bytes
+     */
+    public void setQueueCapacity(final Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Set policy which is applied when the queue of asynchronous redirect is full.
+     * @param overflowPolicy overflow policy
+     */
+    public void setOverflowPolicy(final RedirectOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Set time to wait for the queue of asynchronous redirect to be drained on close.
+     * @param closeTimeout close timeout
+     */
+    public void setCloseTimeout(final Duration closeTimeout) {
+        this.closeTimeout = closeTimeout;
+    }
+}
@@ -2,6 +2,7 @@ package com.platformlib.process.configuration.instance;
 
 import com.platformlib.process.configuration.output.ProcessOutputConfiguration;
 
+import java.nio.file.Path;
 import java.util.Optional;
 
 /**
@@ -14,4 +15,22 @@ public interface ProcessInstanceOutputConfiguration extends ProcessOutputConfigu
      * @return Returns process instance output limit if set, {@link Optional#empty()} otherwise
      */
     Optional<Integer> getLimit();
+
+    /**
+     * Check if process instance output is kept in compact form.
+     * @return Returns true if the output lines are kept as UTF-8 bytes off-heap
+     */
+    boolean isCompact();
+
+    /**
+     * Memory threshold of process instance output spilling.
+     * @return Returns number of bytes of kept output after which the output is spilled to temporary file if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Long> getSpillThreshold();
+
+    /**
+     * Directory of process instance output spill files.
+     * @return Returns directory to create spill files in if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Path> getSpillDirectory();
 }
@@ -1,7 +1,9 @@
 package com.platformlib.process.configuration.logger;
 
 import com.platformlib.process.configuration.output.ProcessOutputConfiguration;
+import com.platformlib.process.enums.LineOverflowPolicy;
 
+import java.nio.charset.Charset;
 import java.time.Duration;
 import java.util.Optional;
 
@@ -9,10 +11,34 @@ import java.util.Optional;
  * Process output's logger configuration.
  */
 public interface ProcessOutputLoggerConfiguration extends ProcessOutputConfiguration, ProcessThreadLoggerConfiguration {
+    /**
+     * Default max line length in bytes.
+     */
+    int DEFAULT_MAX_LINE_LENGTH = 8 * 1024 * 1024;
+
     /**
      * Get log interval.
-     * If set the output line will be put into log every specified duration. Lines
+     * If set the output lines aren't logged one by one, a summary with the latest line is put into log every specified duration instead.
      * @return Returns log interval if set, {@link Optional#empty()} otherwise
      */
     Optional<Duration> getLogInterval();
+
+    /**
+     * Get process output charset.
+     * @return Returns process output charset if set, {@link Optional#empty()} otherwise (UTF-8 is used)
+     */
+    Optional<Charset> getCharset();
+
+    /**
+     * Get max process output line length.
+     * The length is in bytes, or in chars if line break is not single byte in process output charset.
+     * @return Returns max line length if set, {@link Optional#empty()} otherwise ({@link #DEFAULT_MAX_LINE_LENGTH} is used)
+     */
+    Optional<Integer> getMaxLineLength();
+
+    /**
+     * Get policy of handling lines longer than max line length.
+     * @return Returns line overflow policy if set, {@link Optional#empty()} otherwise ({@link LineOverflowPolicy#SPLIT} is used)
+     */
+    Optional<LineOverflowPolicy> getLineOverflowPolicy();
 }
@@ -18,4 +18,25 @@ public interface ProcessOutputConfiguration {
      * @return Returns size of tail log
      */
     Optional<Integer> getTailSize();
+
+    /**
+     * Memory budget of head log.
+     * The size of kept line is estimated as memory retained by the line {@link String}.
+     * @return Returns max number of bytes of head log if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Long> getHeadBytes();
+
+    /**
+     * Memory budget of tail log.
+     * The oldest lines are dropped from tail log to meet the budget.
+     * @return Returns max number of bytes of tail log if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Long> getTailBytes();
+
+    /**
+     * Memory budget of whole kept output, head and tail logs together.
+     * The output spilled to file is not counted.
+     * @return Returns max number of bytes of kept output if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Long> getMaxBytes();
 }
@@ -0,0 +1,145 @@
+package com.platformlib.process.configuration.pool;
+
+import com.platformlib.process.exception.ProcessConfigurationException;
+import com.platformlib.process.pool.ProcessWorkerProtocol;
+import com.platformlib.process.pool.ProcessWorkerProtocols;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Worker process pool configuration.
+ */
+public class ProcessPoolConfiguration {
+    public static final int DEFAULT_MAX_WORKERS = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_WARM_WORKERS = 1;
+    public static final long DEFAULT_MAX_REQUESTS_PER_WORKER = Long.MAX_VALUE;
+    public static final Duration DEFAULT_START_TIMEOUT = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private int maxWorkers = DEFAULT_MAX_WORKERS;
+    private int warmWorkers = DEFAULT_WARM_WORKERS;
+    private long maxRequestsPerWorker = DEFAULT_MAX_REQUESTS_PER_WORKER;
+    private Duration startTimeout = DEFAULT_START_TIMEOUT;
+    private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+    private Duration acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private ProcessWorkerProtocol protocol = ProcessWorkerProtocols.lines();
+
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * Set max number of worker processes of the same process configuration.
+     * @param maxWorkers max number of workers, must be positive
+     */
+    public void setMaxWorkers(final int maxWorkers) {
+        if (maxWorkers < 1) {
+            throw new ProcessConfigurationException("Max workers must be positive, but given " + maxWorkers);
+        }
+        this.maxWorkers = maxWorkers;
+    }
+
+    public int getWarmWorkers() {
+        return warmWorkers;
+    }
+
+    /**
+     * Set number of worker processes which are started in advance.
+     * The workers are started on the first use of the process configuration, the recycled and crashed workers are replaced in background up to this number.
+     * The number is limited by max workers.
+     * @param warmWorkers number of warm workers, must not be negative
+     */
+    public void setWarmWorkers(final int warmWorkers) {
+        if (warmWorkers < 0) {
+            throw new ProcessConfigurationException("Warm workers must not be negative, but given " + warmWorkers);
+        }
+        this.warmWorkers = warmWorkers;
+    }
+
+    public long getMaxRequestsPerWorker() {
+        return maxRequestsPerWorker;
+    }
+
+    /**
+     * Set number of requests after which the worker is recycled, e.g. to release memory leaked by the worker.
+     * @param maxRequestsPerWorker max number of requests to one worker, must be positive
+     */
+    public void setMaxRequestsPerWorker(final long maxRequestsPerWorker) {
+        if (maxRequestsPerWorker < 1) {
+            throw new ProcessConfigurationException("Max requests per worker must be positive, but given " + maxRequestsPerWorker);
+        }
+        this.maxRequestsPerWorker = maxRequestsPerWorker;
+    }
+
+    public Duration getStartTimeout() {
+        return startTimeout;
+    }
+
+    /**
+     * Set max time for a started worker to get ready.
+     * @param startTimeout worker start timeout, must be positive
+     */
+    public void setStartTimeout(final Duration startTimeout) {
+        this.startTimeout = checkPositive("Start timeout", startTimeout);
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Set max time to wait for a response, the worker which doesn't respond in time is stopped.
+     * @param requestTimeout request timeout, must be positive
+     */
+    public void setRequestTimeout(final Duration requestTimeout) {
+        this.requestTimeout = checkPositive("Request timeout", requestTimeout);
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * Set max time to wait for an idle worker if all workers are busy.
+     * @param acquireTimeout worker acquire timeout, must be positive
+     */
+    public void setAcquireTimeout(final Duration acquireTimeout) {
+        this.acquireTimeout = checkPositive("Acquire timeout", acquireTimeout);
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Set max time a worker is kept idle, the warm workers are stopped as well and started again on the next request.
+     * The idle workers are checked at the interval of half of the timeout set at the pool creation.
+     * @param idleTimeout worker idle timeout, must be positive
+     */
+    public void setIdleTimeout(final Duration idleTimeout) {
+        this.idleTimeout = checkPositive("Idle timeout", idleTimeout);
+    }
+
+    public ProcessWorkerProtocol getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * Set framing of requests and responses, one line requests and responses by default.
+     * @param protocol worker protocol
+     */
+    public void setProtocol(final ProcessWorkerProtocol protocol) {
+        this.protocol = Objects.requireNonNull(protocol);
+    }
+
+    private static Duration checkPositive(final String name, final Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new ProcessConfigurationException(name + " must be positive, but given " + duration);
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.platformlib.process.configuration.redirect;
+
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Process output redirect streams configuration.
+ */
+public interface ProcessRedirectConfiguration {
+    /**
+     * Default queue capacity of asynchronous redirect in bytes.
+     */
+    int DEFAULT_QUEUE_CAPACITY = 1024 * 1024;
+
+    /**
+     * Default time to wait for the queue of asynchronous redirect to be drained on close.
+     */
+    Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Check if the process output is written to redirect streams synchronously by process output reading thread.
+     * @return Returns true if redirects are synchronous, false if each redirect stream is written asynchronously from own bounded queue
+     */
+    boolean isSynchronous();
+
+    /**
+     * Get queue capacity of asynchronous redirect.
+     * @return Returns queue capacity in bytes if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Integer> getQueueCapacity();
+
+    /**
+     * Get policy which is applied when the queue of asynchronous redirect is full.
+     * @return Returns overflow policy if set, {@link Optional#empty()} otherwise
+     */
+    Optional<RedirectOverflowPolicy> getOverflowPolicy();
+
+    /**
+     * Get time to wait for the queue of asynchronous redirect to be drained on close.
+     * @return Returns close timeout if set, {@link Optional#empty()} otherwise
+     */
+    Optional<Duration> getCloseTimeout();
+}
@@ -1,5 +1,7 @@
 package com.platformlib.process.configurator;
 
+import java.nio.file.Path;
+
 /**
  * Process instance output configurator.
  * Configure {@link com.platformlib.process.configuration.instance.ProcessInstanceOutputConfiguration}.
@@ -10,4 +12,27 @@ public interface ProcessInstanceOutputConfigurator extends ProcessOutputConfigur
      * @param limit limit in number of lines
      */
     void limit(int limit);
+
+    /**
+     * Keep process output lines as UTF-8 bytes in a single off-heap buffer instead of {@link String} objects.
+     * It reduces heap retained by finished processes with large output, the lines are decoded on access.
+     * The memory can be released by {@link com.platformlib.process.api.ProcessInstance#release()}.
+     */
+    void compact();
+
+    /**
+     * Spill process output to temporary file after given memory threshold.
+     * The output is read back from the file by {@link com.platformlib.process.api.ProcessInstance} with random access to lines,
+     * the file is deleted by {@link com.platformlib.process.api.ProcessInstance#release()}.
+     * The spilled lines don't count towards the head bytes and max bytes memory budgets, the spilled output is limited by the number of head lines only.
+     * @param memoryThreshold number of bytes of kept output after which the output is spilled, the line size is estimated as memory retained by the line
+     */
+    void spill(long memoryThreshold);
+
+    /**
+     * Spill process output to temporary file in given directory after given memory threshold.
+     * @param memoryThreshold number of bytes of kept output after which the output is spilled
+     * @param directory directory to create spill files in, default temporary directory is used by default
+     */
+    void spill(long memoryThreshold, Path directory);
 }
@@ -19,6 +19,27 @@ public interface ProcessOutputConfigurator {
      */
     void tailLimit(int limit);
 
+    /**
+     * Specify how many bytes of first process output lines will be kept.
+     * The line size is estimated as memory retained by the line.
+     * @param bytes process output head memory limit
+     */
+    void headBytes(long bytes);
+
+    /**
+     * Specify how many bytes of last process output lines will be kept.
+     * The line size is estimated as memory retained by the line.
+     * @param bytes process output tail memory limit
+     */
+    void tailBytes(long bytes);
+
+    /**
+     * Specify how many bytes of process output will be kept at most, the limit is applied to head and tail together.
+     * The output is marked as overflowed if a line is dropped due to the limit.
+     * @param bytes process output memory limit
+     */
+    void maxBytes(long bytes);
+
     /**
      * Specify to keep all process output.
      */
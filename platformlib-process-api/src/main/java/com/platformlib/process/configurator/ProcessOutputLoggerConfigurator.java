@@ -1,9 +1,11 @@
 package com.platformlib.process.configurator;
 
 import com.platformlib.process.configuration.output.ProcessOutputConfiguration;
+import com.platformlib.process.enums.LineOverflowPolicy;
 import com.platformlib.process.initializer.ProcessThreadInitializer;
 import org.slf4j.Logger;
 
+import java.nio.charset.Charset;
 import java.time.Duration;
 
 /**
@@ -19,10 +21,33 @@ public interface ProcessOutputLoggerConfigurator extends ProcessOutputConfigurat
 
     /**
      * Specify log interval to put process output to log.
-     * @param logInterval interval to put output to log
+     * At most one summary is logged per interval: number of lines, suppressed lines, output rate in bytes per second and the latest line.
+     * Head and tail lines are logged as usual if configured.
+     * @param logInterval interval to put output to log, must be positive
      */
     void logInterval(Duration logInterval);
 
+    /**
+     * Specify process output charset.
+     * Default charset is UTF-8.
+     * @param charset process output charset
+     */
+    void charset(Charset charset);
+
+    /**
+     * Specify max process output line length.
+     * The line buffer grows on demand up to the length, the longer lines are handled according to line overflow policy.
+     * @param maxLineLength max line length in bytes (in chars if line break is not single byte in process output charset)
+     */
+    void maxLineLength(int maxLineLength);
+
+    /**
+     * Specify how to handle lines longer than max line length.
+     * Default policy is {@link LineOverflowPolicy#SPLIT}.
+     * @param lineOverflowPolicy line overflow policy
+     */
+    void lineOverflowPolicy(LineOverflowPolicy lineOverflowPolicy);
+
     /**
      * Thread initializer.
      * Should be used for logger configuration.
@@ -0,0 +1,41 @@
+package com.platformlib.process.configurator;
+
+import com.platformlib.process.configuration.redirect.ProcessRedirectConfiguration;
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+
+import java.time.Duration;
+
+/**
+ * Process output redirect streams configurator.
+ * Configure {@link ProcessRedirectConfiguration}.
+ * By default each redirect stream is written asynchronously from own bounded queue, so a slow stream doesn't slow down process output reading until the queue is full.
+ */
+public interface ProcessRedirectConfigurator {
+    /**
+     * Write redirect streams synchronously by process output reading thread.
+     */
+    void synchronous();
+
+    /**
+     * Set queue capacity of asynchronous redirect.
+     * Default value is {@link ProcessRedirectConfiguration#DEFAULT_QUEUE_CAPACITY}.
+     * @param queueCapacity queue capacity in bytes
+     */
+    void queueCapacity(int queueCapacity);
+
+    /**
+     * Set policy which is applied when the queue of asynchronous redirect is full.
+     * Default policy is {@link RedirectOverflowPolicy#BLOCK}.
+     * @param overflowPolicy overflow policy
+     */
+    void overflowPolicy(RedirectOverflowPolicy overflowPolicy);
+
+    /**
+     * Set time to wait for the queue of asynchronous redirect to be drained when the process output is completed.
+     * The output which isn't written to the redirect stream in time is dropped and counted as dropped bytes of the redirect metrics,
+     * the redirect stream is closed asynchronously then, so a stuck redirect stream doesn't delay the process completion.
+     * Default value is {@link ProcessRedirectConfiguration#DEFAULT_CLOSE_TIMEOUT}.
+     * @param closeTimeout close timeout
+     */
+    void closeTimeout(Duration closeTimeout);
+}
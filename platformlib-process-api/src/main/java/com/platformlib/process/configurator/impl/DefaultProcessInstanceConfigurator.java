@@ -5,6 +5,7 @@ import com.platformlib.process.configuration.instance.ProcessInstanceOutputConfi
 import com.platformlib.process.configurator.ProcessInstanceConfigurator;
 import com.platformlib.process.configurator.ProcessInstanceOutputConfigurator;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -33,6 +34,45 @@ public class DefaultProcessInstanceConfigurator extends DefaultProcessInstanceOu
         stdErrInstanceOutputConfigurator.tailLimit(limit);
     }
 
+    @Override
+    public void headBytes(final long bytes) {
+        stdOutInstanceOutputConfigurator.headBytes(bytes);
+        stdErrInstanceOutputConfigurator.headBytes(bytes);
+    }
+
+    @Override
+    public void tailBytes(final long bytes) {
+        stdOutInstanceOutputConfigurator.tailBytes(bytes);
+        stdErrInstanceOutputConfigurator.tailBytes(bytes);
+    }
+
+    @Override
+    public void maxBytes(final long bytes) {
+        stdOutInstanceOutputConfigurator.maxBytes(bytes);
+        stdErrInstanceOutputConfigurator.maxBytes(bytes);
+    }
+
+    @Override
+    public void compact() {
+        super.compact();
+        stdOutInstanceOutputConfigurator.compact();
+        stdErrInstanceOutputConfigurator.compact();
+    }
+
+    @Override
+    public void spill(final long memoryThreshold) {
+        super.spill(memoryThreshold);
+        stdOutInstanceOutputConfigurator.spill(memoryThreshold);
+        stdErrInstanceOutputConfigurator.spill(memoryThreshold);
+    }
+
+    @Override
+    public void spill(final long memoryThreshold, final Path directory) {
+        super.spill(memoryThreshold, directory);
+        stdOutInstanceOutputConfigurator.spill(memoryThreshold, directory);
+        stdErrInstanceOutputConfigurator.spill(memoryThreshold, directory);
+    }
+
     @Override
     public void limit(int limit) {
         super.limit(limit);
@@ -3,10 +3,16 @@ package com.platformlib.process.configurator.impl;
 import com.platformlib.process.configuration.instance.ProcessInstanceOutputConfiguration;
 import com.platformlib.process.configurator.ProcessInstanceOutputConfigurator;
 
+import com.platformlib.process.exception.ProcessConfigurationException;
+
+import java.nio.file.Path;
 import java.util.Optional;
 
 public class DefaultProcessInstanceOutputConfigurator extends DefaultProcessOutputConfigurator implements ProcessInstanceOutputConfigurator, ProcessInstanceOutputConfiguration {
     private Integer limit;
+    private boolean compact;
+    private Long spillThreshold;
+    private Path spillDirectory;
 
     @Override
     public Optional<Integer> getLimit() {
@@ -23,4 +29,42 @@ public class DefaultProcessInstanceOutputConfigurator extends DefaultProcessOutp
         }
         this.limit = limit;
     }
+
+    @Override
+    public void compact() {
+        this.compact = true;
+    }
+
+    @Override
+    public boolean isCompact() {
+        return compact;
+    }
+
+    @Override
+    public void spill(final long memoryThreshold) {
+        this.spillThreshold = checkSpillThreshold(memoryThreshold);
+    }
+
+    @Override
+    public void spill(final long memoryThreshold, final Path directory) {
+        this.spillThreshold = checkSpillThreshold(memoryThreshold);
+        this.spillDirectory = directory;
+    }
+
+    @Override
+    public Optional<Long> getSpillThreshold() {
+        return Optional.ofNullable(spillThreshold);
+    }
+
+    @Override
+    public Optional<Path> getSpillDirectory() {
+        return Optional.ofNullable(spillDirectory);
+    }
+
+    private static long checkSpillThreshold(final long memoryThreshold) {
+        if (memoryThreshold < 0) {
+            throw new ProcessConfigurationException("Process output spill threshold must not be negative, but given " + memoryThreshold);
+        }
+        return memoryThreshold;
+    }
 }
@@ -6,9 +6,12 @@ import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfigura
 import com.platformlib.process.configurator.ProcessInputLoggerConfigurator;
 import com.platformlib.process.configurator.ProcessLoggerConfigurator;
 import com.platformlib.process.configurator.ProcessOutputLoggerConfigurator;
+import com.platformlib.process.enums.LineOverflowPolicy;
 import com.platformlib.process.initializer.ProcessThreadInitializer;
 import org.slf4j.Logger;
 
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -33,6 +36,50 @@ public class DefaultProcessLoggerConfigurator extends DefaultProcessOutputLogger
         }
     }
 
+    @Override
+    public void logInterval(final Duration logInterval) {
+        super.logInterval(logInterval);
+        if (!stdOutLoggerConfigurator.getLogInterval().isPresent()) {
+            stdOutLoggerConfigurator.logInterval(logInterval);
+        }
+        if (!stdErrLoggerConfigurator.getLogInterval().isPresent()) {
+            stdErrLoggerConfigurator.logInterval(logInterval);
+        }
+    }
+
+    @Override
+    public void charset(final Charset charset) {
+        super.charset(charset);
+        if (!stdOutLoggerConfigurator.getCharset().isPresent()) {
+            stdOutLoggerConfigurator.charset(charset);
+        }
+        if (!stdErrLoggerConfigurator.getCharset().isPresent()) {
+            stdErrLoggerConfigurator.charset(charset);
+        }
+    }
+
+    @Override
+    public void maxLineLength(final int maxLineLength) {
+        super.maxLineLength(maxLineLength);
+        if (!stdOutLoggerConfigurator.getMaxLineLength().isPresent()) {
+            stdOutLoggerConfigurator.maxLineLength(maxLineLength);
+        }
+        if (!stdErrLoggerConfigurator.getMaxLineLength().isPresent()) {
+            stdErrLoggerConfigurator.maxLineLength(maxLineLength);
+        }
+    }
+
+    @Override
+    public void lineOverflowPolicy(final LineOverflowPolicy lineOverflowPolicy) {
+        super.lineOverflowPolicy(lineOverflowPolicy);
+        if (!stdOutLoggerConfigurator.getLineOverflowPolicy().isPresent()) {
+            stdOutLoggerConfigurator.lineOverflowPolicy(lineOverflowPolicy);
+        }
+        if (!stdErrLoggerConfigurator.getLineOverflowPolicy().isPresent()) {
+            stdErrLoggerConfigurator.lineOverflowPolicy(lineOverflowPolicy);
+        }
+    }
+
     @Override
     public Optional<ProcessInputLoggerConfiguration> getLoggerStdInConfiguration() {
         return Optional.of(stdInLoggerConfigurator);
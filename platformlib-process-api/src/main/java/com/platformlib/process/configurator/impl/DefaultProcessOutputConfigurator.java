@@ -2,12 +2,16 @@ package com.platformlib.process.configurator.impl;
 
 import com.platformlib.process.configuration.output.ProcessOutputConfiguration;
 import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.exception.ProcessConfigurationException;
 
 import java.util.Optional;
 
 public class DefaultProcessOutputConfigurator implements ProcessOutputConfigurator, ProcessOutputConfiguration {
     private Integer headSize;
     private Integer tailSize;
+    private Long headBytes;
+    private Long tailBytes;
+    private Long maxBytes;
 
     @Override
     public void headLimit(final int limit) {
@@ -19,6 +23,21 @@ public class DefaultProcessOutputConfigurator implements ProcessOutputConfigurat
         this.tailSize = limit;
     }
 
+    @Override
+    public void headBytes(final long bytes) {
+        this.headBytes = checkBytes(bytes);
+    }
+
+    @Override
+    public void tailBytes(final long bytes) {
+        this.tailBytes = checkBytes(bytes);
+    }
+
+    @Override
+    public void maxBytes(final long bytes) {
+        this.maxBytes = checkBytes(bytes);
+    }
+
     @Override
     public void unlimited() {
         headLimit(-1);
@@ -34,4 +53,26 @@ public class DefaultProcessOutputConfigurator implements ProcessOutputConfigurat
     public Optional<Integer> getTailSize() {
         return Optional.ofNullable(tailSize);
     }
+
+    @Override
+    public Optional<Long> getHeadBytes() {
+        return Optional.ofNullable(headBytes);
+    }
+
+    @Override
+    public Optional<Long> getTailBytes() {
+        return Optional.ofNullable(tailBytes);
+    }
+
+    @Override
+    public Optional<Long> getMaxBytes() {
+        return Optional.ofNullable(maxBytes);
+    }
+
+    private static long checkBytes(final long bytes) {
+        if (bytes < 0) {
+            throw new ProcessConfigurationException("Process output memory limit must not be negative, but given " + bytes);
+        }
+        return bytes;
+    }
 }
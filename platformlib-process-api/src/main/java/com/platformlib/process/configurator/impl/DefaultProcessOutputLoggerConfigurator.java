@@ -2,15 +2,21 @@ package com.platformlib.process.configurator.impl;
 
 import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
 import com.platformlib.process.configurator.ProcessOutputLoggerConfigurator;
+import com.platformlib.process.enums.LineOverflowPolicy;
+import com.platformlib.process.exception.ProcessConfigurationException;
 import com.platformlib.process.initializer.ProcessThreadInitializer;
 import org.slf4j.Logger;
 
+import java.nio.charset.Charset;
 import java.time.Duration;
 import java.util.Optional;
 
 public class DefaultProcessOutputLoggerConfigurator extends DefaultProcessOutputConfigurator implements ProcessOutputLoggerConfigurator, ProcessOutputLoggerConfiguration {
     private Logger logger;
     private Duration logInterval;
+    private Charset charset;
+    private Integer maxLineLength;
+    private LineOverflowPolicy lineOverflowPolicy;
     private ProcessThreadInitializer processThreadInitializer;
 
     @Override
@@ -18,6 +24,21 @@ public class DefaultProcessOutputLoggerConfigurator extends DefaultProcessOutput
         return Optional.ofNullable(logInterval);
     }
 
+    @Override
+    public Optional<Charset> getCharset() {
+        return Optional.ofNullable(charset);
+    }
+
+    @Override
+    public Optional<Integer> getMaxLineLength() {
+        return Optional.ofNullable(maxLineLength);
+    }
+
+    @Override
+    public Optional<LineOverflowPolicy> getLineOverflowPolicy() {
+        return Optional.ofNullable(lineOverflowPolicy);
+    }
+
     @Override
     public Optional<Logger> getLogger() {
         return Optional.ofNullable(logger);
@@ -35,9 +56,30 @@ public class DefaultProcessOutputLoggerConfigurator extends DefaultProcessOutput
 
     @Override
     public void logInterval(final Duration logInterval) {
+        if (logInterval.isNegative() || logInterval.isZero()) {
+            throw new ProcessConfigurationException("Log interval must be positive, but given " + logInterval);
+        }
         this.logInterval = logInterval;
     }
 
+    @Override
+    public void charset(final Charset charset) {
+        this.charset = charset;
+    }
+
+    @Override
+    public void maxLineLength(final int maxLineLength) {
+        if (maxLineLength < 1) {
+            throw new ProcessConfigurationException("Max line length must be positive, but given " + maxLineLength);
+        }
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public void lineOverflowPolicy(final LineOverflowPolicy lineOverflowPolicy) {
+        this.lineOverflowPolicy = lineOverflowPolicy;
+    }
+
     @Override
     public void processThreadInitializer(ProcessThreadInitializer processThreadInitializer) {
         this.processThreadInitializer = processThreadInitializer;
@@ -0,0 +1,40 @@
+package com.platformlib.process.configurator.impl;
+
+import com.platformlib.process.configuration.impl.DefaultProcessRedirectConfiguration;
+import com.platformlib.process.configurator.ProcessRedirectConfigurator;
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+import com.platformlib.process.exception.ProcessConfigurationException;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Default {@link ProcessRedirectConfigurator} implementation.
+ */
+public class DefaultProcessRedirectConfigurator extends DefaultProcessRedirectConfiguration implements ProcessRedirectConfigurator {
+    @Override
+    public void synchronous() {
+        setSynchronous(true);
+    }
+
+    @Override
+    public void queueCapacity(final int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new ProcessConfigurationException("Redirect queue capacity must be positive, but given " + queueCapacity);
+        }
+        setQueueCapacity(queueCapacity);
+    }
+
+    @Override
+    public void overflowPolicy(final RedirectOverflowPolicy overflowPolicy) {
+        setOverflowPolicy(Objects.requireNonNull(overflowPolicy));
+    }
+
+    @Override
+    public void closeTimeout(final Duration closeTimeout) {
+        if (closeTimeout.isNegative()) {
+            throw new ProcessConfigurationException("Redirect close timeout must not be negative, but given " + closeTimeout);
+        }
+        setCloseTimeout(closeTimeout);
+    }
+}
@@ -1,7 +1,9 @@
 package com.platformlib.process.core;
 
 import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
+import com.platformlib.process.enums.LineOverflowPolicy;
 import com.platformlib.process.enums.ProcessThreadType;
+import com.platformlib.process.exception.LineOverflowException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,12 +12,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.Function;
 
@@ -24,6 +26,11 @@ public class AsyncProcessOutputListener implements Runnable, Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncProcessOutputListener.class);
     private static final int BUFFER_SIZE = 8192;
     private final byte[] readBytesBuffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer readByteBuffer = ByteBuffer.wrap(readBytesBuffer);
+    private final LineDecoder lineDecoder;
+    private final int maxLineLength;
+    private final LineOverflowPolicy lineOverflowPolicy;
+    private volatile LineOverflowException lineOverflowException;
     private InputStream inputStream = null;
     private final CountDownLatch runLatch = new CountDownLatch(1);
     private final CountDownLatch completeLatch = new CountDownLatch(1);
@@ -34,13 +41,25 @@ public class AsyncProcessOutputListener implements Runnable, Closeable {
     private boolean firstLineConsumed;
 
     private final DefaultProcessOutput processOutput;
-    private final boolean outputAcceptReady;
+    private final WritableByteChannel outputChannel;
+    private boolean outputAcceptReady;
 
     private final ProcessOutputLoggerConfiguration processOutputLoggerConfiguration;
-    private final CycledBuffer<String> tailBuffer;
-    private int headProcessed;
+    // The logger configuration is resolved once as it is checked for every line
+    private final Logger outputLogger;
+    private final OutputLineSink lineSink;
     private final ProcessThreadType processThreadType;
+    private boolean linesRequired;
+    private final boolean passive;
+    private volatile boolean completed;
 
+    /**
+     * Create listener which reads process output in own thread got from given executor.
+     * @param executor executor to run listener
+     * @param processThreadType type of process output
+     * @param processOutputLoggerConfiguration process output logger configuration
+     * @param processOutput process output
+     */
     public AsyncProcessOutputListener(final Executor executor,
                                       final ProcessThreadType processThreadType,
                                       final ProcessOutputLoggerConfiguration processOutputLoggerConfiguration,
@@ -53,16 +72,56 @@ public class AsyncProcessOutputListener implements Runnable, Closeable {
                                       final ProcessOutputLoggerConfiguration processOutputLoggerConfiguration,
                                       final DefaultProcessOutput processOutput,
                                       final Function<String, String> stdOutFirstLineFunction) {
+        this(processThreadType, processOutputLoggerConfiguration, processOutput, stdOutFirstLineFunction, false);
+        executor.execute(this);
+    }
+
+    /**
+     * Create passive listener.
+     * The listener doesn't occupy any thread, the process output is read by {@link #pump()} (e.g. from {@link ProcessOutputReactor}) and {@link #drain()} calls.
+     * @param processThreadType type of process output
+     * @param processOutputLoggerConfiguration process output logger configuration
+     * @param processOutput process output
+     */
+    public AsyncProcessOutputListener(final ProcessThreadType processThreadType,
+                                      final ProcessOutputLoggerConfiguration processOutputLoggerConfiguration,
+                                      final DefaultProcessOutput processOutput) {
+        this(processThreadType, processOutputLoggerConfiguration, processOutput, null, true);
+    }
+
+    private AsyncProcessOutputListener(final ProcessThreadType processThreadType,
+                                       final ProcessOutputLoggerConfiguration processOutputLoggerConfiguration,
+                                       final DefaultProcessOutput processOutput,
+                                       final Function<String, String> stdOutFirstLineFunction,
+                                       final boolean passive) {
+        this.passive = passive;
         this.processThreadType = processThreadType;
         this.processOutputLoggerConfiguration = Objects.requireNonNull(processOutputLoggerConfiguration);
         this.processOutput = processOutput;
-        executor.execute(this);
+        this.outputChannel = processOutput.getOutputChannel().orElse(null);
         this.stdOutFirstLineFunction = stdOutFirstLineFunction;
         outputAcceptReady = processOutput.isAcceptReady();
-        tailBuffer = processOutputLoggerConfiguration.getTailSize().orElse(0) > 0 ? new CycledBuffer<>(processOutputLoggerConfiguration.getTailSize().get()) : null;
+        outputLogger = processOutputLoggerConfiguration.getLogger().orElse(LOGGER);
+        lineSink = OutputLineSinks.of(processThreadType.getThreadName(), processOutputLoggerConfiguration, LOGGER);
+        maxLineLength = processOutputLoggerConfiguration.getMaxLineLength().orElse(ProcessOutputLoggerConfiguration.DEFAULT_MAX_LINE_LENGTH);
+        lineOverflowPolicy = processOutputLoggerConfiguration.getLineOverflowPolicy().orElse(LineOverflowPolicy.SPLIT);
+        lineDecoder = new LineDecoder(processOutputLoggerConfiguration.getCharset().orElse(StandardCharsets.UTF_8), maxLineLength, lineOverflowPolicy, this::onLine);
+        // Lines are not split and decoded at all if nobody is going to get them, e.g. the output is only redirected to streams, or raw output goes to channel
+        linesRequired = outputChannel == null && (stdOutFirstLineFunction != null
+                || outputAcceptReady
+                || processOutputLoggerConfiguration.getTailSize().orElse(0) > 0
+                || processOutputLoggerConfiguration.getLogger().isPresent()
+                || processOutputLoggerConfiguration.getHeadSize().isPresent()
+                || processOutputLoggerConfiguration.getLogInterval().isPresent()
+                || LOGGER.isTraceEnabled());
     }
 
     public void startListening(final InputStream inputStream) {
+        // Output lines can be requested from executor after the listener has been created
+        if (!outputAcceptReady && processOutput.isAcceptReady()) {
+            outputAcceptReady = true;
+            linesRequired = outputChannel == null;
+        }
         this.inputStream = inputStream;
         runLatch.countDown();
     }
@@ -70,93 +129,171 @@ public class AsyncProcessOutputListener implements Runnable, Closeable {
     @Override
     public void run() {
         processOutputLoggerConfiguration.getProcessThreadInitializer().ifPresent(initializer -> initializer.accept(processThreadType));
-        final ByteBuffer byteBuffer = ByteBuffer.allocate(BUFFER_SIZE);
         try {
             runLatch.await();
-            LOGGER.trace("[{}] Start process output listening", processThreadType.getThreadName());
-            while (inputStream != null) {
+        } catch (final InterruptedException interruptedException) {
+            fail(interruptedException);
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * Read process output until end of stream.
+     * The call blocks until the process output is closed.
+     */
+    public void drain() {
+        LOGGER.trace("[{}] Start process output listening", processThreadType.getThreadName());
+        try {
+            while (inputStream != null && !completed) {
                 final int len = inputStream.read(readBytesBuffer);
                 if (len < 0) {
-                    byteBuffer.flip();
-                    if (byteBuffer.hasRemaining()) {
-                        consumeLine(processThreadType.getThreadName(), byteBuffer);
-                    }
-                    byteBuffer.clear();
                     break;
                 }
-                if (LOGGER.isTraceEnabled()) {
-                    LOGGER.trace("[{}] Read {} byte(s) {}", processThreadType.getThreadName(), len, Arrays.copyOf(readBytesBuffer, len));
-                }
-                if (len > 0) {
-                    //TODO We can stuck here if the receiver will not read. Do asynchronous call here
-                    for (OutputStream outputStream: processOutput.getOutputStreams()) {
-                        outputStream.write(readBytesBuffer, 0, len);
-                    }
-                }
-                for (int i = 0; i < len; i++) {
-                    if (readBytesBuffer[i] == '\n') {
-                        byteBuffer.flip();
-                            if (stdOutFirstLineFunction != null && !firstLineConsumed) {
-                                firstLineConsumed = true;
-                                final String firstLine =  getStringLine(byteBuffer);
-                                final String appliedLine = stdOutFirstLineFunction.apply(firstLine);
-                                if (appliedLine != null) {
-                                    consumeLine(processThreadType.getThreadName(), appliedLine);
-                                } else {
-                                    LOGGER.trace("First line consumer accepted: {}", firstLine);
-                                }
-                            } else {
-                                consumeLine(processThreadType.getThreadName(), byteBuffer);
-                            }
-                        byteBuffer.clear();
-                    } else if (readBytesBuffer[i] != '\r') {
-                        if (byteBuffer.remaining() > 0) {
-                            byteBuffer.put(readBytesBuffer[i]);
-                        } else {
-                            byteBuffer.flip();
-                            final String line = getStringLine(byteBuffer) + "<<No new line break>>";
-                            LOGGER.warn(line);
-                            consumeLine(processThreadType.getThreadName(), line);
-                            byteBuffer.clear();
-                            byteBuffer.put(readBytesBuffer[i]);
-                        }
-                    }
+                processChunk(len);
+            }
+            complete();
+        } catch (final RuntimeException | IOException exception) {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Read the output which is available without blocking and complete the listener.
+     * It is the drain of an exited process: all output of the process is available at this moment,
+     * the output of its background children which inherited the pipe isn't waited for, as it may never end.
+     */
+    public void drainAvailable() {
+        final InputStream stream = inputStream;
+        try {
+            // The output of the exited process is available at once, only its background children may write more
+            int remaining = stream == null || completed ? 0 : stream.available();
+            while (remaining > 0) {
+                final int len = stream.read(readBytesBuffer, 0, Math.min(remaining, BUFFER_SIZE));
+                if (len < 0) {
+                    break;
                 }
+                processChunk(len);
+                remaining -= len;
             }
-        } catch (final RuntimeException | IOException | InterruptedException exception) {
-            LOGGER.error("[" + processThreadType.getThreadName() + "] Fail to read channel", exception);
-            byteBuffer.flip();
-            if (byteBuffer.hasRemaining()) {
-                consumeLine(processThreadType.getThreadName(), byteBuffer);
+            complete();
+        } catch (final RuntimeException | IOException exception) {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Read available process output without blocking.
+     * @return Returns true if some output has been processed or the listener has been completed, false if there is no available output
+     */
+    public boolean pump() {
+        final InputStream stream = inputStream;
+        if (stream == null || completed) {
+            return false;
+        }
+        try {
+            final int available = stream.available();
+            if (available <= 0) {
+                return false;
+            }
+            final int len = stream.read(readBytesBuffer, 0, Math.min(available, BUFFER_SIZE));
+            if (len < 0) {
+                complete();
+            } else {
+                processChunk(len);
             }
-            byteBuffer.clear();
-        } finally {
-            completeLatch.countDown();
-            LOGGER.trace("[{}] Stop process output listening", processThreadType.getThreadName());
+        } catch (final RuntimeException | IOException exception) {
+            fail(exception);
         }
+        return true;
+    }
+
+    /**
+     * Check if the listener has finished process output reading.
+     * @return Returns true if the end of process output has been reached or reading failed
+     */
+    public boolean isCompleted() {
+        return completed;
     }
 
-    private static String getStringLine(final ByteBuffer byteBuffer) {
-        //TODO Take into process output encoding
-        return new String(byteBuffer.array(), 0, byteBuffer.remaining(), StandardCharsets.UTF_8);
+    /**
+     * Get line overflow exception.
+     * The exception is set if a line is longer than max line length and {@link LineOverflowPolicy#FAIL} is configured.
+     * @return Returns line overflow exception if lines processing has been failed, {@link Optional#empty()} otherwise
+     */
+    public Optional<LineOverflowException> getLineOverflowException() {
+        return Optional.ofNullable(lineOverflowException);
     }
 
-    private void consumeLine(final String name, final ByteBuffer byteBuffer) {
-        consumeLine(name, getStringLine(byteBuffer));
+    private void processChunk(final int len) throws IOException {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("[{}] Read {} byte(s) {}", processThreadType.getThreadName(), len, Arrays.copyOf(readBytesBuffer, len));
+        }
+        if (len > 0) {
+            if (outputChannel != null) {
+                readByteBuffer.clear();
+                readByteBuffer.limit(len);
+                while (readByteBuffer.hasRemaining()) {
+                    outputChannel.write(readByteBuffer);
+                }
+            }
+            // Redirects are queued by AsyncRedirectOutputStream unless synchronous redirect is configured
+            for (OutputStream outputStream: processOutput.getOutputStreams()) {
+                outputStream.write(readBytesBuffer, 0, len);
+            }
+        }
+        if (linesRequired && lineOverflowException == null) {
+            lineSink.chunkRead(len);
+            lineDecoder.decode(readBytesBuffer, 0, len);
+            if (outputAcceptReady) {
+                processOutput.chunkProcessed();
+            }
+        }
     }
 
-    private void consumeLine(final String name, final String line) {
-        if (processOutputLoggerConfiguration.getLogger().orElse(LOGGER) == LOGGER && LOGGER.isTraceEnabled()) {
-            LOGGER.trace("[{}] Process output: {}", name, line);
+    private void onLine(final String line, final boolean terminated) {
+        if (lineOverflowException != null) {
+            return;
         }
-        if (!processOutputLoggerConfiguration.getHeadSize().isPresent() && !processOutputLoggerConfiguration.getTailSize().isPresent()) {
-            processOutputLoggerConfiguration.getLogger().ifPresent(logger -> logger.debug("[{}] Process output: {}", name, line));
-        } else if (processOutputLoggerConfiguration.getHeadSize().isPresent() && (processOutputLoggerConfiguration.getHeadSize().get() < 0 || headProcessed < processOutputLoggerConfiguration.getHeadSize().get())) {
-            headProcessed++;
-            processOutputLoggerConfiguration.getLogger().orElse(LOGGER).debug("[{}] Process output: {}", name, line);
-        } else if (processOutputLoggerConfiguration.getTailSize().orElse(0) > 0) {
-            tailBuffer.add(line);
+        if (!terminated && lineOverflowPolicy == LineOverflowPolicy.FAIL) {
+            lineOverflowException = new LineOverflowException("The process " + processThreadType.getThreadName() + " line is longer than " + maxLineLength);
+            outputLogger.warn("[{}] {}, stop output lines processing", processThreadType.getThreadName(), lineOverflowException.getMessage());
+        } else if (stdOutFirstLineFunction != null && !firstLineConsumed) {
+            firstLineConsumed = true;
+            final String appliedLine = stdOutFirstLineFunction.apply(line);
+            if (appliedLine != null) {
+                consumeLine(appliedLine);
+            } else {
+                LOGGER.trace("First line consumer accepted: {}", line);
+            }
+        } else {
+            consumeLine(line);
+        }
+    }
+
+    private void complete() {
+        if (completed) {
+            return;
         }
+        if (lineOverflowException == null) {
+            lineDecoder.flush();
+        }
+        lineDecoder.release();
+        if (lineDecoder.getOverflowedLines() > 0 && lineOverflowPolicy != LineOverflowPolicy.FAIL) {
+            outputLogger.warn("[{}] {} line(s) longer than {} have been processed by {} policy", processThreadType.getThreadName(), lineDecoder.getOverflowedLines(), maxLineLength, lineOverflowPolicy);
+        }
+        completed = true;
+        completeLatch.countDown();
+        LOGGER.trace("[{}] Stop process output listening", processThreadType.getThreadName());
+    }
+
+    private void fail(final Exception exception) {
+        LOGGER.error("[" + processThreadType.getThreadName() + "] Fail to read channel", exception);
+        complete();
+    }
+
+    private void consumeLine(final String line) {
+        lineSink.accept(line);
         if (outputAcceptReady) {
             processOutput.accept(line);
         }
@@ -165,44 +302,24 @@ public class AsyncProcessOutputListener implements Runnable, Closeable {
     @Override
     public void close() throws IOException {
         runLatch.countDown();
+        if (passive && inputStream == null) {
+            complete();
+        }
         try {
             completeLatch.await(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
         } catch (final InterruptedException interruptedException) {
-            processOutputLoggerConfiguration.getLogger().orElse(LOGGER).debug("[{}] Process output listener wasn't shut down due to timeout", processThreadType.getThreadName());
+            outputLogger.debug("[{}] Process output listener wasn't shut down due to timeout", processThreadType.getThreadName());
         }
-        if (tailBuffer != null) {
-            tailBuffer.getValues().forEach(line -> processOutputLoggerConfiguration.getLogger().orElse(LOGGER).debug("[{}] Process output: {}", processThreadType.getThreadName(), line));
-        }
-        //TODO The same thing with stuck, make this call asynchronously
+        lineSink.complete();
+        processOutput.complete();
+        // Asynchronous redirects are drained and flushed by close, they wait here up to their close timeout
         //TODO be careful when closing, catch exception and process it correctly
         for (final OutputStream outputStream: processOutput.getOutputStreams()) {
-            outputStream.flush();
+            if (!(outputStream instanceof AsyncRedirectOutputStream)) {
+                outputStream.flush();
+            }
             outputStream.close();
         }
         inputStream = null;
     }
-
-    private static class CycledBuffer<T> {
-        private int position;
-        private final Object[] items;
-
-        CycledBuffer(final int size) {
-            this.items = new Object[size];
-        }
-
-        void add(final T item) {
-            items[position++ % items.length] = item;
-        }
-
-        @SuppressWarnings("unchecked")
-        Collection<T> getValues() {
-            final int len = Math.min(position, items.length);
-            final Collection<T> result = new ArrayList<>(len);
-            int resultPosition = position - len;
-            for (int i = 0; i < len; i++) {
-                result.add((T) items[resultPosition++ % items.length]);
-            }
-            return result;
-        }
-    }
 }
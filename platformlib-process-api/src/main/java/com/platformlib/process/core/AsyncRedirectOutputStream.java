@@ -0,0 +1,399 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.api.RedirectMetrics;
+import com.platformlib.process.configuration.redirect.ProcessRedirectConfiguration;
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+import com.platformlib.process.exception.RedirectOverflowException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous process output redirect.
+ * The written bytes are put into bounded queue and drained to the target stream by a task of given executor, the task is scheduled only while there is queued output, so idle redirect doesn't occupy any thread.
+ * The queue overflow is handled according to {@link RedirectOverflowPolicy}.
+ * The target stream failure is logged once and the rest of output is dropped, so the process output reading is not affected.
+ * The queue is drained on close up to the close timeout, the output left in the queue then is dropped and the target stream is closed asynchronously.
+ */
+@SuppressWarnings("PMD.LawOfDemeter")
+public final class AsyncRedirectOutputStream extends OutputStream implements RedirectMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncRedirectOutputStream.class);
+
+    private final String name;
+    private final OutputStream target;
+    private final Executor executor;
+    private final int capacity;
+    private final RedirectOverflowPolicy overflowPolicy;
+    private final Duration closeTimeout;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Queue<Chunk> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private long inFlightBytes;
+    private long maxQueuedBytes;
+    private long writtenBytes;
+    private long droppedBytes;
+    private boolean draining;
+    private boolean closed;
+    private RedirectOverflowException overflowException;
+    private IOException targetException;
+
+    /**
+     * Constructor.
+     * The queue is drained on close up to {@link ProcessRedirectConfiguration#DEFAULT_CLOSE_TIMEOUT}.
+     * @param name redirect name
+     * @param target stream to redirect output to
+     * @param executor executor to run drain tasks
+     * @param capacity queue capacity in bytes
+     * @param overflowPolicy what to do when the queue is full
+     */
+    public AsyncRedirectOutputStream(final String name, final OutputStream target, final Executor executor, final int capacity, final RedirectOverflowPolicy overflowPolicy) {
+        this(name, target, executor, capacity, overflowPolicy, ProcessRedirectConfiguration.DEFAULT_CLOSE_TIMEOUT);
+    }
+
+    /**
+     * Constructor.
+     * @param name redirect name
+     * @param target stream to redirect output to
+     * @param executor executor to run drain and asynchronous close tasks
+     * @param capacity queue capacity in bytes
+     * @param overflowPolicy what to do when the queue is full
+     * @param closeTimeout time to wait for the queue to be drained on close
+     */
+    public AsyncRedirectOutputStream(final String name, final OutputStream target, final Executor executor, final int capacity, final RedirectOverflowPolicy overflowPolicy, final Duration closeTimeout) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Redirect queue capacity must be positive");
+        }
+        this.name = name;
+        this.target = Objects.requireNonNull(target);
+        this.executor = Objects.requireNonNull(executor);
+        this.capacity = capacity;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+        this.closeTimeout = Objects.requireNonNull(closeTimeout);
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        write(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        // The chunk is copied out of lock, the caller reuses its buffer
+        final Chunk chunk = new Chunk(Arrays.copyOfRange(bytes, offset, offset + length), System.nanoTime());
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (overflowException != null || targetException != null) {
+                droppedBytes += length;
+                return;
+            }
+            final int queuedLength = makeRoom(length);
+            if (queuedLength == 0) {
+                return;
+            }
+            queue.add(queuedLength == length ? chunk : chunk.tail(queuedLength));
+            queuedBytes += queuedLength;
+            maxQueuedBytes = Math.max(maxQueuedBytes, queuedBytes);
+            if (!draining) {
+                draining = true;
+                executor.execute(this::drain);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until all queued output is written to the target stream and flush it.
+     * @throws IOException if waiting has been interrupted
+     */
+    @Override
+    public void flush() throws IOException {
+        awaitDrained(Long.MAX_VALUE);
+        if (isTargetWritable()) {
+            target.flush();
+        }
+    }
+
+    /**
+     * Wait up to close timeout until all queued output is written to the target stream and close it.
+     * If the queue isn't drained in time, the rest of queued output is dropped and the target stream is closed asynchronously,
+     * as the target stream may be stuck in writing.
+     * @throws IOException if waiting has been interrupted or the target stream can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        if (!awaitDrained(closeTimeout.toNanos())) {
+            abandonQueue();
+            executor.execute(this::closeAbandonedTarget);
+            return;
+        }
+        if (isTargetWritable()) {
+            target.flush();
+        }
+        target.close();
+    }
+
+    /**
+     * Get overflow exception.
+     * @return Returns overflow exception if output has been dropped by {@link RedirectOverflowPolicy#FAIL} policy, {@link Optional#empty()} otherwise
+     */
+    public Optional<RedirectOverflowException> getOverflowException() {
+        lock.lock();
+        try {
+            return Optional.ofNullable(overflowException);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getQueuedBytes() {
+        lock.lock();
+        try {
+            return queuedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getMaxQueuedBytes() {
+        lock.lock();
+        try {
+            return maxQueuedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getWrittenBytes() {
+        lock.lock();
+        try {
+            return writtenBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getDroppedBytes() {
+        lock.lock();
+        try {
+            return droppedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Duration getLag() {
+        lock.lock();
+        try {
+            final Chunk oldest = queue.peek();
+            return oldest == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - oldest.enqueuedNanoTime);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Free queue space for the chunk according to overflow policy.
+     * A chunk bigger than capacity is accepted when the queue is empty, except for {@link RedirectOverflowPolicy#DROP_OLDEST} policy which never exceeds capacity.
+     * @param length chunk length
+     * @return Returns number of the last chunk bytes to queue, 0 if the chunk is dropped
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    private int makeRoom(final int length) throws InterruptedIOException {
+        if (queuedBytes + length <= capacity || (queuedBytes == 0 && overflowPolicy != RedirectOverflowPolicy.DROP_OLDEST)) {
+            return length;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                while (queuedBytes > 0 && queuedBytes + length > capacity && targetException == null) {
+                    try {
+                        notFull.await();
+                    } catch (final InterruptedException interruptedException) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Waiting for redirect queue space has been interrupted");
+                    }
+                }
+                if (targetException != null) {
+                    droppedBytes += length;
+                    return 0;
+                }
+                return length;
+            case DROP_OLDEST:
+                while (queuedBytes + length > capacity && !queue.isEmpty()) {
+                    final Chunk oldest = queue.poll();
+                    queuedBytes -= oldest.bytes.length;
+                    droppedBytes += oldest.bytes.length;
+                }
+                // The chunk being written can't be dropped, the oldest bytes of the new chunk are dropped instead
+                final int queuedLength = (int) Math.min(length, capacity - queuedBytes);
+                droppedBytes += length - queuedLength;
+                return queuedLength;
+            default:
+                overflowException = new RedirectOverflowException("The redirect " + name + " queue capacity " + capacity + " bytes is exceeded");
+                LOGGER.warn("{}, stop redirecting", overflowException.getMessage());
+                droppedBytes += length;
+                dropQueue();
+                return 0;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            final Chunk chunk;
+            lock.lock();
+            try {
+                chunk = queue.poll();
+                if (chunk == null) {
+                    draining = false;
+                    drained.signalAll();
+                    return;
+                }
+                inFlightBytes = chunk.bytes.length;
+            } finally {
+                lock.unlock();
+            }
+            IOException writeException = null;
+            try {
+                target.write(chunk.bytes);
+            } catch (final IOException ioException) {
+                writeException = ioException;
+            }
+            lock.lock();
+            try {
+                queuedBytes -= inFlightBytes;
+                inFlightBytes = 0;
+                if (writeException == null) {
+                    writtenBytes += chunk.bytes.length;
+                } else {
+                    onTargetFailure(writeException, chunk.bytes.length);
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void onTargetFailure(final IOException ioException, final int length) {
+        LOGGER.warn("Fail to write to the redirect " + name + ", the rest of output is dropped", ioException);
+        targetException = ioException;
+        droppedBytes += length;
+        dropQueue();
+    }
+
+    /**
+     * Drop all queued output except the chunk which is being written.
+     */
+    private void dropQueue() {
+        droppedBytes += queuedBytes - inFlightBytes;
+        queuedBytes = inFlightBytes;
+        queue.clear();
+    }
+
+    /**
+     * Drop the output which hasn't been drained in close timeout.
+     */
+    private void abandonQueue() {
+        lock.lock();
+        try {
+            LOGGER.warn("The redirect {} hasn't been drained in {} ms, the rest of output is dropped", name, closeTimeout.toMillis());
+            dropQueue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeAbandonedTarget() {
+        try {
+            target.close();
+        } catch (final IOException ioException) {
+            LOGGER.debug("Fail to close the redirect " + name, ioException);
+        }
+    }
+
+    private boolean isTargetWritable() {
+        lock.lock();
+        try {
+            return targetException == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the queue is drained.
+     * @param timeoutNanos max time to wait
+     * @return Returns true if the queue has been drained, false if the time has elapsed
+     */
+    private boolean awaitDrained(final long timeoutNanos) throws InterruptedIOException {
+        lock.lock();
+        try {
+            long remainingNanos = timeoutNanos;
+            while (draining || !queue.isEmpty()) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = drained.awaitNanos(remainingNanos);
+            }
+            return true;
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for redirect draining has been interrupted");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] bytes;
+        private final long enqueuedNanoTime;
+
+        private Chunk(final byte[] bytes, final long enqueuedNanoTime) {
+            this.bytes = bytes;
+            this.enqueuedNanoTime = enqueuedNanoTime;
+        }
+
+        private Chunk tail(final int length) {
+            return new Chunk(Arrays.copyOfRange(bytes, bytes.length - length, bytes.length), enqueuedNanoTime);
+        }
+    }
+}
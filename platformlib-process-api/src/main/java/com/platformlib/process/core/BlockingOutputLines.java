@@ -0,0 +1,149 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.api.ProcessOutputLines;
+import com.platformlib.process.exception.ProcessException;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Process output lines backed by bounded queue.
+ * The lines are added by process output listener and read by the client while the process is running.
+ * The listener waits while the queue is full, so the process output is read no faster than the client consumes the lines.
+ * The lines added after closing are discarded.
+ */
+public final class BlockingOutputLines implements ProcessOutputLines, Consumer<String> {
+    /**
+     * Default number of buffered lines.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Queue<String> lines = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Iterator<String> iterator = new LinesIterator();
+    private boolean completed;
+    private boolean closed;
+
+    /**
+     * Create lines with {@link #DEFAULT_CAPACITY}.
+     */
+    public BlockingOutputLines() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity max number of buffered lines
+     */
+    public BlockingOutputLines(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Lines capacity must be positive, but given " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Add process output line.
+     * Waits while the queue is full.
+     * @param line process output line
+     */
+    @Override
+    public void accept(final String line) {
+        lock.lock();
+        try {
+            while (lines.size() >= capacity && !closed) {
+                notFull.await();
+            }
+            if (!closed && !completed) {
+                lines.add(line);
+                notEmpty.signal();
+            }
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mark the process output as completed.
+     * The buffered lines are still available to the reader.
+     */
+    public void complete() {
+        lock.lock();
+        try {
+            completed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return iterator;
+    }
+
+    @Override
+    public Stream<String> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            lines.clear();
+            notFull.signalAll();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class LinesIterator implements Iterator<String> {
+        @Override
+        public boolean hasNext() {
+            lock.lock();
+            try {
+                while (lines.isEmpty() && !completed && !closed) {
+                    notEmpty.await();
+                }
+                return !lines.isEmpty();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new ProcessException("Waiting for process output line has been interrupted", interruptedException);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lock.lock();
+            try {
+                final String line = lines.remove();
+                notFull.signal();
+                return line;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.platformlib.process.core;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact immutable list of process output lines.
+ * The lines are kept as UTF-8 bytes in a single off-heap buffer with offsets index, so a line costs 4 bytes of heap instead of {@link String} object.
+ * A line is decoded on each access.
+ */
+final class CompactLines extends AbstractList<String> implements RandomAccess {
+    private static final int MAX_ONE_BYTE_CHAR = 0x7F;
+    private static final int MAX_TWO_BYTES_CHAR = 0x7FF;
+    private final int[] offsets;
+    private volatile ByteBuffer buffer;
+
+    private CompactLines(final int[] offsets, final ByteBuffer buffer) {
+        this.offsets = offsets;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create compact copy of lines.
+     * @param lines lines to copy
+     * @return Returns compact copy of lines, or plain copy if the lines don't fit a single buffer
+     */
+    static List<String> of(final Collection<String> lines) {
+        long capacity = 0;
+        for (final String line: lines) {
+            capacity += maxEncodedLength(line);
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            return new ArrayList<>(lines);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) capacity);
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final int[] offsets = new int[lines.size() + 1];
+        int index = 0;
+        for (final String line: lines) {
+            encoder.reset();
+            encoder.encode(CharBuffer.wrap(line), buffer, true);
+            encoder.flush(buffer);
+            offsets[++index] = buffer.position();
+        }
+        return new CompactLines(offsets, buffer);
+    }
+
+    @Override
+    public String get(final int index) {
+        final ByteBuffer lines = buffer;
+        if (lines == null) {
+            throw new IllegalStateException("The process output has been released");
+        }
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        final byte[] bytes = new byte[offsets[index + 1] - offsets[index]];
+        final ByteBuffer line = lines.duplicate();
+        line.position(offsets[index]);
+        line.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Get memory occupied by the lines bytes.
+     * @return Returns size of off-heap buffer in bytes, 0 if the lines have been released
+     */
+    long getBufferSize() {
+        final ByteBuffer lines = buffer;
+        return lines == null ? 0 : lines.capacity();
+    }
+
+    /**
+     * Release the lines buffer.
+     * The buffer memory is reclaimed once the buffer is collected, the lines are not available after the call.
+     */
+    void release() {
+        buffer = null;
+    }
+
+    /**
+     * Get max number of bytes of line encoded in UTF-8.
+     * Unpaired surrogates are replaced by single byte, but counted as 3 bytes.
+     */
+    private static int maxEncodedLength(final String line) {
+        int length = 0;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c <= MAX_ONE_BYTE_CHAR) {
+                length++;
+            } else if (c <= MAX_TWO_BYTES_CHAR) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length() && Character.isLowSurrogate(line.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
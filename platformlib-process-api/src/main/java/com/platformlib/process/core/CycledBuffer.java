@@ -0,0 +1,110 @@
+package com.platformlib.process.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Array backed ring buffer which keeps last added items.
+ * Adding and polling are O(1), the array grows on demand up to the buffer size, so a large but not filled buffer doesn't waste memory.
+ * The buffer is not thread safe.
+ * @param <T> item type
+ */
+final class CycledBuffer<T> {
+    private static final int INITIAL_CAPACITY = 16;
+    private final int capacity;
+    private Object[] items;
+    private int start;
+    private int size;
+    private long addedCount;
+
+    /**
+     * Constructor.
+     * @param capacity max number of items to keep
+     */
+    CycledBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.capacity = capacity;
+        this.items = new Object[Math.min(capacity, INITIAL_CAPACITY)];
+    }
+
+    /**
+     * Add item to the buffer.
+     * @param item item to add
+     * @return Returns the oldest item if it has been overwritten because the buffer is full, null otherwise
+     */
+    T add(final T item) {
+        T overwritten = null;
+        if (size == items.length) {
+            if (items.length < capacity) {
+                grow();
+            } else {
+                overwritten = poll();
+            }
+        }
+        items[index(size)] = item;
+        size++;
+        addedCount++;
+        return overwritten;
+    }
+
+    /**
+     * Remove the oldest item.
+     * @return Returns the oldest item, null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        if (size == 0) {
+            return null;
+        }
+        final T item = (T) items[start];
+        items[start] = null;
+        start = index(1);
+        size--;
+        return item;
+    }
+
+    /**
+     * Get number of items added to the buffer.
+     * @return Returns number of added items including the overwritten and polled ones
+     */
+    long getAddedCount() {
+        return addedCount;
+    }
+
+    /**
+     * Get number of items kept by the buffer.
+     * @return Returns number of kept items
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Get kept items from the oldest to the latest one.
+     * @return Returns kept items
+     */
+    @SuppressWarnings("unchecked")
+    Collection<T> getValues() {
+        final Collection<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((T) items[index(i)]);
+        }
+        return result;
+    }
+
+    private int index(final int offset) {
+        final long index = (long) start + offset;
+        return (int) (index >= items.length ? index - items.length : index);
+    }
+
+    private void grow() {
+        final Object[] grown = new Object[(int) Math.min(capacity, items.length * 2L)];
+        for (int i = 0; i < size; i++) {
+            grown[i] = items[index(i)];
+        }
+        items = grown;
+        start = 0;
+    }
+}
@@ -0,0 +1,358 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+import com.platformlib.process.api.OperationSystemProcess;
+import com.platformlib.process.api.ProcessOutputMatch;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Interactive process session.
+ * The process output is decoded and matched by the process output listener thread as soon as it is read, so the waiting client is woken up without any polling.
+ * Each pattern is matched against the output after the previous match, so the responses of pipelined requests are matched without rescanning the consumed output.
+ * The output which isn't matched yet is kept up to {@link #MAX_UNMATCHED_OUTPUT} chars, the older output is discarded.
+ */
+public class DefaultInteractiveProcessSession implements InteractiveProcessSession {
+    /**
+     * Max number of kept chars of process output which hasn't been matched.
+     */
+    public static final int MAX_UNMATCHED_OUTPUT = 1 << 20;
+    private static final int DECODE_BUFFER_SIZE = 8192;
+
+    private final CompletableFuture<OutputStream> stdIn;
+    private final Charset charset;
+    private final OutputStream outputSink = new OutputSink();
+    private final Object lock = new Object();
+    private final StringBuilder unmatchedOutput = new StringBuilder();
+    private final Deque<Expectation> expectations = new ArrayDeque<>();
+    private final CharsetDecoder decoder;
+    private final ByteBuffer undecoded = ByteBuffer.allocate(DECODE_BUFFER_SIZE);
+    private final CharBuffer decoded = CharBuffer.allocate(DECODE_BUFFER_SIZE);
+    private int matchedPosition;
+    private boolean outputCompleted;
+    private volatile OperationSystemProcess process;
+
+    /**
+     * Constructor.
+     * @param stdIn process standard input, completed once the process is started
+     * @param charset process output charset, the written text is encoded with it as well
+     */
+    public DefaultInteractiveProcessSession(final CompletableFuture<OutputStream> stdIn, final Charset charset) {
+        this.stdIn = stdIn;
+        this.charset = charset;
+        decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Get the stream to write process standard output to.
+     * Closing of the stream is the end of process output, the expectations which are not matched are completed exceptionally.
+     * @return Returns output stream to write process output to
+     */
+    public OutputStream getOutputSink() {
+        return outputSink;
+    }
+
+    /**
+     * Set the process of the session.
+     * @param process started process
+     */
+    public void setProcess(final OperationSystemProcess process) {
+        this.process = process;
+    }
+
+    @Override
+    public OperationSystemProcess getProcess() {
+        return process;
+    }
+
+    @Override
+    public InteractiveProcessSession write(final byte[] bytes) throws IOException {
+        getStdIn().write(bytes);
+        return this;
+    }
+
+    @Override
+    public InteractiveProcessSession write(final CharSequence text) throws IOException {
+        return write(text.toString().getBytes(charset));
+    }
+
+    @Override
+    public InteractiveProcessSession flush() throws IOException {
+        getStdIn().flush();
+        return this;
+    }
+
+    private OutputStream getStdIn() throws IOException {
+        try {
+            return stdIn.get();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for the process start has been interrupted");
+        } catch (final ExecutionException executionException) {
+            throw new IOException("The process standard input isn't available", executionException.getCause());
+        }
+    }
+
+    @Override
+    public CompletionStage<ProcessOutputMatch> expectPattern(final Pattern pattern) {
+        Objects.requireNonNull(pattern);
+        final Expectation expectation = new Expectation(pattern);
+        final List<Runnable> completions;
+        synchronized (lock) {
+            expectations.add(expectation);
+            completions = matchExpectations();
+        }
+        completions.forEach(Runnable::run);
+        return expectation.match;
+    }
+
+    @Override
+    public ProcessOutputMatch awaitPattern(final Pattern pattern, final Duration timeout) throws IOException, TimeoutException {
+        final CompletableFuture<ProcessOutputMatch> match = expectPattern(pattern).toCompletableFuture();
+        try {
+            return match.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException interruptedException) {
+            match.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for the pattern '" + pattern + "' has been interrupted");
+        } catch (final TimeoutException timeoutException) {
+            // The cancelled expectation is skipped by matching, so the next expectations aren't blocked by it
+            if (match.cancel(false)) {
+                throw new TimeoutException("The pattern '" + pattern + "' has not been matched in " + timeout.toMillis() + " ms");
+            }
+        } catch (final ExecutionException executionException) {
+            throw toIOException(executionException.getCause());
+        }
+        // The expectation has been completed concurrently with the timeout
+        try {
+            return match.join();
+        } catch (final CompletionException completionException) {
+            throw toIOException(completionException.getCause());
+        }
+    }
+
+    private static IOException toIOException(final Throwable throwable) {
+        if (throwable instanceof IOException) {
+            return (IOException) throwable;
+        }
+        return new IOException(throwable);
+    }
+
+    @Override
+    public void close() throws IOException {
+        final OutputStream processStdIn;
+        try {
+            processStdIn = getStdIn();
+        } catch (final IOException ioException) {
+            // The process hasn't been started, there is nothing to close
+            return;
+        }
+        processStdIn.close();
+    }
+
+    /**
+     * Match expectations in order against the unmatched output.
+     * The matched expectations are completed by the caller outside the lock, so dependent actions can't block the matching.
+     * @return Returns completions of matched or failed expectations
+     */
+    private List<Runnable> matchExpectations() {
+        final List<Runnable> completions = new ArrayList<>();
+        while (!expectations.isEmpty()) {
+            final Expectation expectation = expectations.peek();
+            if (expectation.match.isDone()) {
+                // The expectation has been cancelled by waiting timeout
+                expectations.poll();
+                continue;
+            }
+            // The output isn't copied for matching, the matched part is only skipped and the buffer is compacted from time to time
+            final Matcher matcher = expectation.pattern.matcher(unmatchedOutput).region(matchedPosition, unmatchedOutput.length());
+            if (matcher.find()) {
+                expectations.poll();
+                final ProcessOutputMatch match = new DefaultProcessOutputMatch(unmatchedOutput.substring(matchedPosition, matcher.start()), matcher, matchedPosition);
+                matchedPosition = matcher.end();
+                completions.add(() -> expectation.match.complete(match));
+            } else if (outputCompleted) {
+                expectations.poll();
+                completions.add(() -> expectation.match.completeExceptionally(new IOException("The process output has been completed before the pattern '" + expectation.pattern + "' has been matched")));
+            } else {
+                break;
+            }
+        }
+        if (matchedPosition > unmatchedOutput.length() / 2) {
+            unmatchedOutput.delete(0, matchedPosition);
+            matchedPosition = 0;
+        }
+        return completions;
+    }
+
+    private void decode(final boolean endOfInput) {
+        undecoded.flip();
+        while (true) {
+            final CoderResult coderResult = decoder.decode(undecoded, decoded, endOfInput);
+            decoded.flip();
+            unmatchedOutput.append(decoded);
+            decoded.clear();
+            if (!coderResult.isOverflow()) {
+                break;
+            }
+        }
+        undecoded.compact();
+        if (endOfInput) {
+            decoder.flush(decoded);
+            decoded.flip();
+            unmatchedOutput.append(decoded);
+            decoded.clear();
+        }
+        if (unmatchedOutput.length() - matchedPosition > MAX_UNMATCHED_OUTPUT) {
+            unmatchedOutput.delete(0, unmatchedOutput.length() - MAX_UNMATCHED_OUTPUT);
+            matchedPosition = 0;
+        }
+    }
+
+    private final class OutputSink extends OutputStream {
+        @Override
+        public void write(final int value) {
+            write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            final List<Runnable> completions;
+            synchronized (lock) {
+                if (outputCompleted) {
+                    return;
+                }
+                int from = offset;
+                final int end = offset + length;
+                while (from < end) {
+                    final int len = Math.min(undecoded.remaining(), end - from);
+                    undecoded.put(bytes, from, len);
+                    from += len;
+                    decode(false);
+                }
+                completions = matchExpectations();
+            }
+            completions.forEach(Runnable::run);
+        }
+
+        @Override
+        public void close() {
+            final List<Runnable> completions;
+            synchronized (lock) {
+                if (outputCompleted) {
+                    return;
+                }
+                decode(true);
+                outputCompleted = true;
+                completions = matchExpectations();
+            }
+            completions.forEach(Runnable::run);
+        }
+    }
+
+    private static final class Expectation {
+        private final Pattern pattern;
+        private final CompletableFuture<ProcessOutputMatch> match = new CompletableFuture<>();
+
+        private Expectation(final Pattern pattern) {
+            this.pattern = pattern;
+        }
+    }
+
+    private static final class DefaultProcessOutputMatch implements ProcessOutputMatch {
+        private final String precedingOutput;
+        private final String[] groups;
+        private final int[] starts;
+        private final int[] ends;
+
+        /**
+         * Copy the groups of the match, the matcher text is the whole output buffer, so it isn't kept.
+         */
+        private DefaultProcessOutputMatch(final String precedingOutput, final Matcher matcher, final int offset) {
+            this.precedingOutput = precedingOutput;
+            final int groupCount = matcher.groupCount();
+            groups = new String[groupCount + 1];
+            starts = new int[groupCount + 1];
+            ends = new int[groupCount + 1];
+            for (int group = 0; group <= groupCount; group++) {
+                groups[group] = matcher.group(group);
+                starts[group] = groups[group] == null ? -1 : matcher.start(group) - offset;
+                ends[group] = groups[group] == null ? -1 : matcher.end(group) - offset;
+            }
+        }
+
+        @Override
+        public String getPrecedingOutput() {
+            return precedingOutput;
+        }
+
+        @Override
+        public int start() {
+            return starts[0];
+        }
+
+        @Override
+        public int start(final int group) {
+            return starts[checkGroup(group)];
+        }
+
+        @Override
+        public int end() {
+            return ends[0];
+        }
+
+        @Override
+        public int end(final int group) {
+            return ends[checkGroup(group)];
+        }
+
+        @Override
+        public String group() {
+            return groups[0];
+        }
+
+        @Override
+        public String group(final int group) {
+            return groups[checkGroup(group)];
+        }
+
+        @Override
+        public int groupCount() {
+            return groups.length - 1;
+        }
+
+        private int checkGroup(final int group) {
+            if (group < 0 || group >= groups.length) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+            return group;
+        }
+
+        @Override
+        public String toString() {
+            return groups[0];
+        }
+    }
+}
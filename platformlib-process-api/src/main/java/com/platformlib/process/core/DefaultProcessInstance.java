@@ -1,27 +1,53 @@
 package com.platformlib.process.core;
 
 import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.configuration.instance.ProcessInstanceConfiguration;
+import com.platformlib.process.configuration.instance.ProcessInstanceOutputConfiguration;
 import com.platformlib.process.exception.OutputOverflowException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Optional;
 
 @SuppressWarnings("PMD.LawOfDemeter")
 public class DefaultProcessInstance implements ProcessInstance {
     private final int exitCode;
     private final Collection<String> stdOut;
     private final boolean stdOutOverflow;
+    private final long stdOutDroppedLines;
+    private final long stdOutDroppedBytes;
     private final Collection<String> stdErr;
     private final boolean stdErrOverflow;
+    private final long stdErrDroppedLines;
+    private final long stdErrDroppedBytes;
 
     public DefaultProcessInstance(final int exitCode,
                                   final ProcessOutput processStdOut,
                                   final ProcessOutput processStdErr) {
+        this(exitCode, processStdOut, processStdErr, null);
+    }
+
+    /**
+     * Constructor.
+     * @param exitCode process exit code
+     * @param processStdOut process standard output
+     * @param processStdErr process standard error
+     * @param processInstanceConfiguration process instance configuration, the output is kept in compact form if configured, can be null
+     */
+    public DefaultProcessInstance(final int exitCode,
+                                  final ProcessOutput processStdOut,
+                                  final ProcessOutput processStdErr,
+                                  final ProcessInstanceConfiguration processInstanceConfiguration) {
+        final Optional<ProcessInstanceConfiguration> configuration = Optional.ofNullable(processInstanceConfiguration);
         this.exitCode = exitCode;
-        this.stdOut = new ArrayList<>(processStdOut.getOutput());
+        this.stdOut = keep(processStdOut, configuration.flatMap(ProcessInstanceConfiguration::getStdOutConfiguration));
         this.stdOutOverflow = processStdOut.isOverflowed();
-        this.stdErr = new ArrayList<>(processStdErr.getOutput());
+        this.stdOutDroppedLines = processStdOut.getDroppedLines();
+        this.stdOutDroppedBytes = processStdOut.getDroppedBytes();
+        this.stdErr = keep(processStdErr, configuration.flatMap(ProcessInstanceConfiguration::getStdErrConfiguration));
         this.stdErrOverflow = processStdErr.isOverflowed();
+        this.stdErrDroppedLines = processStdErr.getDroppedLines();
+        this.stdErrDroppedBytes = processStdErr.getDroppedBytes();
     }
 
     @Override
@@ -32,7 +58,7 @@ public class DefaultProcessInstance implements ProcessInstance {
     @Override
     public Collection<String> getStdOut() {
         if (stdOutOverflow) {
-            throw new OutputOverflowException();
+            throw new OutputOverflowException(overflowMessage("output", stdOutDroppedLines, stdOutDroppedBytes));
         }
         return stdOut;
     }
@@ -40,8 +66,55 @@ public class DefaultProcessInstance implements ProcessInstance {
     @Override
     public Collection<String> getStdErr() {
         if (stdErrOverflow) {
-            throw new OutputOverflowException();
+            throw new OutputOverflowException(overflowMessage("error", stdErrDroppedLines, stdErrDroppedBytes));
         }
         return stdErr;
     }
+
+    @Override
+    public long getStdOutDroppedLines() {
+        return stdOutDroppedLines;
+    }
+
+    @Override
+    public long getStdOutDroppedBytes() {
+        return stdOutDroppedBytes;
+    }
+
+    @Override
+    public long getStdErrDroppedLines() {
+        return stdErrDroppedLines;
+    }
+
+    @Override
+    public long getStdErrDroppedBytes() {
+        return stdErrDroppedBytes;
+    }
+
+    @Override
+    public void release() {
+        release(stdOut);
+        release(stdErr);
+    }
+
+    private static void release(final Collection<String> output) {
+        if (output instanceof CompactLines) {
+            ((CompactLines) output).release();
+        } else if (output instanceof SpilledLines) {
+            ((SpilledLines) output).close();
+        }
+    }
+
+    private static Collection<String> keep(final ProcessOutput processOutput, final Optional<ProcessInstanceOutputConfiguration> outputConfiguration) {
+        final Collection<String> output = processOutput.getOutput();
+        if (output instanceof SpilledLines) {
+            // The spilled lines are read from the spill file which is owned by the process instance from now on
+            return output;
+        }
+        return outputConfiguration.map(ProcessInstanceOutputConfiguration::isCompact).orElse(false) ? CompactLines.of(output) : new ArrayList<>(output);
+    }
+
+    private static String overflowMessage(final String name, final long droppedLines, final long droppedBytes) {
+        return "The process standard " + name + " is more than was limited, " + droppedLines + " line(s), " + droppedBytes + " byte(s) have been dropped";
+    }
 }
@@ -1,82 +1,404 @@
 package com.platformlib.process.core;
 
+import com.platformlib.process.configuration.instance.ProcessInstanceOutputConfiguration;
 import com.platformlib.process.configuration.output.ProcessOutputConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class DefaultProcessOutput implements ProcessOutput, Consumer<String> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultProcessOutput.class);
     private final Collection<OutputStream> outputStreams;
+    private final Collection<BlockingOutputLines> outputLines = new CopyOnWriteArrayList<>();
+    private final WritableByteChannel outputChannel;
     private final Consumer<String> lineConsumer;
+    private Consumer<List<CharSequence>> batchConsumer;
+    private long batchLingerNanos;
+    // The lingered batch is flushed by the timer while the listener may be waiting for output
+    private final Object batchLock = new Object();
+    private ScheduledFuture<?> batchLingerTask;
+    // The batch list is reused, the consumer gets the same read-only view each time
+    private final List<CharSequence> batch = new ArrayList<>();
+    private final List<CharSequence> batchView = Collections.unmodifiableList(batch);
 
-    private final Queue<String> headMax;
-    private final Queue<String> tailMax;
+    private final List<String> head = new ArrayList<>();
+    private final LineBuffer tail;
 
     private final int headSize;
     private final int tailSize;
+    // Number of head lines to keep, head limited only by bytes has unlimited number of lines
+    private final int headLines;
+    private final long headBytesLimit;
+    private final long maxBytes;
+    // Memory of head lines kept in memory, the spilled lines don't count towards the memory budgets
+    private long headBytes;
+    private long spilledBytes;
+    // Head lines are counted separately as they can be spilled
+    private long headCount;
+    private long spillThreshold;
+    private final Path spillDirectory;
+    private SpilledLines spilledLines;
+    private boolean spillCompleted;
+    private boolean headCompleted;
+    private boolean bytesOverflowed;
+    private long acceptedLines;
+    private long acceptedBytes;
 
     public DefaultProcessOutput(final Collection<OutputStream> outputStreams,
                                 final Consumer<String> lineConsumer,
                                 final ProcessOutputConfiguration outputConfiguration
                                 ) {
-        this.outputStreams = outputStreams;
+        this(outputStreams, null, lineConsumer, outputConfiguration);
+    }
+
+    /**
+     * Constructor.
+     * @param outputStreams streams to redirect process output to
+     * @param outputChannel channel to write raw process output to, the output isn't split into lines if set
+     * @param lineConsumer process output line consumer
+     * @param outputConfiguration process output configuration
+     */
+    public DefaultProcessOutput(final Collection<OutputStream> outputStreams,
+                                final WritableByteChannel outputChannel,
+                                final Consumer<String> lineConsumer,
+                                final ProcessOutputConfiguration outputConfiguration
+                                ) {
+        this.outputStreams = new CopyOnWriteArrayList<>(outputStreams);
+        this.outputChannel = outputChannel;
         this.lineConsumer = lineConsumer;
         headSize = outputConfiguration == null ? 0 : outputConfiguration.getHeadSize().orElse(0);
         tailSize = outputConfiguration == null ? 0 : outputConfiguration.getTailSize().orElse(0);
-        headMax = new LimitedQueue<>(headSize);
-        tailMax = new LimitedQueue<>(tailSize > 0 ? tailSize + 1 : tailSize);
+        final Optional<Long> headBytesConfiguration = outputConfiguration == null ? Optional.empty() : outputConfiguration.getHeadBytes();
+        final Optional<Long> tailBytesConfiguration = outputConfiguration == null ? Optional.empty() : outputConfiguration.getTailBytes();
+        headLines = headSize == 0 && headBytesConfiguration.isPresent() ? -1 : headSize;
+        headBytesLimit = headBytesConfiguration.orElse(-1L);
+        maxBytes = outputConfiguration == null ? Long.MAX_VALUE : outputConfiguration.getMaxBytes().orElse(Long.MAX_VALUE);
+        final int tailLines = tailSize == 0 && tailBytesConfiguration.isPresent() ? -1 : tailSize;
+        tail = tailLines == 0 ? null : new LineBuffer(tailLines, tailBytesConfiguration.orElse(-1L));
+        final Optional<ProcessInstanceOutputConfiguration> instanceOutputConfiguration = outputConfiguration instanceof ProcessInstanceOutputConfiguration ? Optional.of((ProcessInstanceOutputConfiguration) outputConfiguration) : Optional.empty();
+        spillThreshold = instanceOutputConfiguration.flatMap(ProcessInstanceOutputConfiguration::getSpillThreshold).orElse(Long.MAX_VALUE);
+        spillDirectory = instanceOutputConfiguration.flatMap(ProcessInstanceOutputConfiguration::getSpillDirectory).orElseGet(() -> Paths.get(System.getProperty("java.io.tmpdir")));
     }
 
     public Collection<OutputStream> getOutputStreams() {
         return outputStreams;
     }
 
+    /**
+     * Get channel to write raw process output to.
+     * @return Returns output channel if set, {@link Optional#empty()} otherwise
+     */
+    public Optional<WritableByteChannel> getOutputChannel() {
+        return Optional.ofNullable(outputChannel);
+    }
+
+    /**
+     * Add output stream to redirect process output to.
+     * The stream gets the output which is read after the call.
+     * @param outputStream output stream to add
+     */
+    public void addOutputStream(final OutputStream outputStream) {
+        outputStreams.add(outputStream);
+    }
+
+    /**
+     * Add lines to pass process output lines to while the process is running.
+     * The lines should be added before process output listening is started.
+     * @param lines process output lines to add
+     */
+    public void addOutputLines(final BlockingOutputLines lines) {
+        outputLines.add(lines);
+    }
+
+    /**
+     * Set consumer of process output lines batches.
+     * The consumer gets the lines of one read chunk, or the lines of several chunks if linger time is set.
+     * The lingered batch is passed once the linger time since its first line has passed, even if the process doesn't output more,
+     * so it can be passed by the shared timer thread, the consumer should not block then.
+     * The passed list is reused for the next batch, so it should not be kept by the consumer.
+     * @param batchConsumer lines batch consumer
+     * @param batchLinger max time to collect lines before passing them to consumer, the lines are passed at the end of read chunk if the time is zero
+     */
+    public void setBatchConsumer(final Consumer<List<CharSequence>> batchConsumer, final Duration batchLinger) {
+        this.batchConsumer = batchConsumer;
+        this.batchLingerNanos = batchLinger.toNanos();
+    }
+
+    /**
+     * Notify that lines of the read chunk have been accepted.
+     * The collected batch is passed to the batch consumer if no linger time is set, the lingered batch is passed by the timer.
+     */
+    public void chunkProcessed() {
+        if (batchLingerNanos == 0) {
+            synchronized (batchLock) {
+                if (!batch.isEmpty()) {
+                    flushBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Complete process output, there is no more process output.
+     * The collected batch is passed to the batch consumer and the added output lines are completed.
+     */
+    public void complete() {
+        synchronized (batchLock) {
+            if (batchLingerTask != null) {
+                batchLingerTask.cancel(false);
+                batchLingerTask = null;
+            }
+            if (!batch.isEmpty()) {
+                flushBatch();
+            }
+        }
+        outputLines.forEach(BlockingOutputLines::complete);
+    }
+
+    private void flushLingeredBatch() {
+        synchronized (batchLock) {
+            batchLingerTask = null;
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                flushBatch();
+            } catch (final RuntimeException runtimeException) {
+                batch.clear();
+                LOGGER.warn("Fail to pass process output lines batch", runtimeException);
+            }
+        }
+    }
+
+    private void flushBatch() {
+        batchConsumer.accept(batchView);
+        batch.clear();
+    }
+
     public boolean isAcceptReady() {
-        return headSize != 0 || tailSize != 0 || lineConsumer != null;
+        return headLines != 0 || tail != null || lineConsumer != null || batchConsumer != null || !outputLines.isEmpty();
     }
 
     @Override
     public void accept(final String s) {
-        if (headSize < 0 || headSize > 0 && headMax.size() < headSize) {
-            headMax.offer(s);
-        } else {
-            if (tailSize != 0) {
-                tailMax.offer(s);
+        final long size = LineBuffer.sizeOf(s);
+        synchronized (this) {
+            acceptedLines++;
+            acceptedBytes += size;
+            final boolean headAccepted = !headCompleted && acceptHead(s, size);
+            if (!headAccepted && tail != null) {
+                acceptTail(s, size);
             }
         }
         if (lineConsumer != null) {
             lineConsumer.accept(s);
         }
+        if (batchConsumer != null) {
+            synchronized (batchLock) {
+                if (batch.isEmpty() && batchLingerNanos > 0) {
+                    batchLingerTask = LingerTimerHolder.INSTANCE.schedule(this::flushLingeredBatch, batchLingerNanos, TimeUnit.NANOSECONDS);
+                }
+                batch.add(s);
+            }
+        }
+        // Lines are passed outside of the lock as the client may block the listener while reading them slowly
+        for (final BlockingOutputLines lines: outputLines) {
+            lines.accept(s);
+        }
+    }
+
+    @Override
+    public synchronized boolean isOverflowed() {
+        if (bytesOverflowed || tail != null && tail.getDroppedLines() > 0) {
+            return true;
+        }
+        // Limited tail is counted as it kept one extra line, so it is overflowed when at least one line has been dropped
+        final long tailCount = tail == null || tailSize == 0 ? 0 : tailSize > 0 ? Math.min(tail.getAddedLines(), tailSize + 1L) : tail.getAddedLines();
+        return (headSize > 0 || tailSize > 0) && (long) Math.max(headSize, 0) + Math.max(tailSize, 0) < headCount + tailCount;
+    }
+
+    /**
+     * Get kept process output.
+     * If the output has been spilled, the tail is appended to the spill file on the first call and the spilled lines are returned,
+     * they should be released by {@link #release()} or by the process instance.
+     * @return Returns kept process output
+     */
+    @Override
+    public synchronized Collection<String> getOutput() {
+        if (spilledLines != null) {
+            if (!spillCompleted) {
+                completeSpill();
+            }
+            if (spilledLines != null) {
+                return spilledLines;
+            }
+        }
+        final Collection<String> output = new ArrayList<>(head.size() + (tail == null ? 0 : tail.getSize()));
+        output.addAll(head);
+        if (tail != null) {
+            output.addAll(tail.getValues());
+        }
+        return output;
     }
 
     @Override
-    public boolean isOverflowed() {
-        return (headSize > 0 || tailSize > 0) && Math.max(headSize, 0) + Math.max(tailSize, 0) < headMax.size() + tailMax.size();
+    public synchronized long getDroppedLines() {
+        return acceptedLines - headCount - (tail == null ? 0 : tail.getSize());
     }
 
     @Override
-    public Collection<String> getOutput() {
-        return Stream.concat(headMax.stream(), tailMax.stream().skip(tailSize > 0 && tailMax.size() > tailSize ? 1 : 0)).collect(Collectors.toList());
+    public synchronized long getDroppedBytes() {
+        return acceptedBytes - spilledBytes - getKeptBytes();
     }
 
-    private static class LimitedQueue<E> extends ConcurrentLinkedQueue<E> {
-        private final int limit;
+    /**
+     * Keep the line in head if the head limits allow.
+     * Once a line doesn't fit the head is completed, the rest of lines go to the tail.
+     * The memory budgets don't limit the spilled head, it is limited by the number of lines only.
+     */
+    private boolean acceptHead(final String line, final long size) {
+        if (headLines == 0) {
+            headCompleted = true;
+        } else if (headLines > 0 && headCount >= headLines || spilledLines == null && headBytesLimit >= 0 && headBytes + size > headBytesLimit) {
+            headCompleted = true;
+        } else if (spilledLines == null && getKeptBytes() + size > maxBytes) {
+            headCompleted = true;
+            bytesOverflowed = true;
+        } else {
+            headCount++;
+            keepHead(line, size);
+        }
+        return !headCompleted;
+    }
 
-        LimitedQueue(final int limit) {
-            this.limit = limit;
+    private void keepHead(final String line, final long size) {
+        if (spilledLines == null) {
+            head.add(line);
+            headBytes += size;
+            if (headBytes > spillThreshold) {
+                spill();
+            }
+            return;
+        }
+        try {
+            spilledLines.append(line);
+            spilledBytes += size;
+        } catch (final UncheckedIOException uncheckedIOException) {
+            failSpill(uncheckedIOException);
+        }
+    }
+
+    /**
+     * Move kept head lines to spill file.
+     * If the file can't be created, the lines are kept in memory.
+     */
+    private void spill() {
+        final SpilledLines lines;
+        try {
+            lines = SpilledLines.create(spillDirectory);
+        } catch (final UncheckedIOException uncheckedIOException) {
+            LOGGER.warn("Unable to spill process output, it is kept in memory", uncheckedIOException);
+            spillThreshold = Long.MAX_VALUE;
+            return;
+        }
+        spilledLines = lines;
+        try {
+            head.forEach(spilledLines::append);
+            head.clear();
+            spilledBytes = headBytes;
+            headBytes = 0;
+        } catch (final UncheckedIOException uncheckedIOException) {
+            failSpill(uncheckedIOException);
         }
+    }
 
-        @Override
-        public boolean add(E e) {
-            if (limit > 0 && super.size() == limit) {
-                super.remove();
+    private void completeSpill() {
+        spillCompleted = true;
+        try {
+            if (tail != null) {
+                tail.getValues().forEach(spilledLines::append);
             }
-            return super.add(e);
+            spilledLines.complete();
+        } catch (final UncheckedIOException uncheckedIOException) {
+            failSpill(uncheckedIOException);
+        }
+    }
+
+    /**
+     * The spilled lines are lost, so they are dropped and the output is marked as overflowed.
+     */
+    private void failSpill(final UncheckedIOException uncheckedIOException) {
+        LOGGER.error("Fail to spill process output, the spilled lines are dropped", uncheckedIOException);
+        spilledLines.close();
+        spilledLines = null;
+        spillThreshold = Long.MAX_VALUE;
+        headCompleted = true;
+        bytesOverflowed = true;
+        headCount = head.size();
+        spilledBytes = 0;
+        headBytes = 0;
+        head.forEach(line -> headBytes += LineBuffer.sizeOf(line));
+    }
+
+    /**
+     * Delete spill file.
+     * It is used if the output is not passed to the process instance, e.g. the process has failed.
+     */
+    public synchronized void release() {
+        if (spilledLines != null) {
+            spilledLines.close();
+        }
+    }
+
+    private void acceptTail(final String line, final long size) {
+        while (getKeptBytes() + size > maxBytes && tail.dropOldest()) {
+            bytesOverflowed = true;
+        }
+        if (getKeptBytes() + size > maxBytes || !tail.add(line)) {
+            bytesOverflowed = true;
+        }
+    }
+
+    /**
+     * Get memory of kept output, the spilled lines are not counted.
+     */
+    private long getKeptBytes() {
+        return headBytes + (tail == null ? 0 : tail.getBytes());
+    }
+
+    private static final class LingerTimerHolder {
+        private static final ScheduledExecutorService INSTANCE = newTimer();
+
+        private LingerTimerHolder() {
+        }
+
+        private static ScheduledExecutorService newTimer() {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                thread.setName("process-output-batch-linger");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
         }
     }
 }
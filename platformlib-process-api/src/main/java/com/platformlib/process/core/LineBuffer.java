@@ -0,0 +1,110 @@
+package com.platformlib.process.core;
+
+import java.util.Collection;
+
+/**
+ * Buffer of last process output lines limited by number of lines and by memory retained by the lines.
+ * The oldest lines are dropped to meet the limits.
+ * The buffer is not thread safe.
+ */
+final class LineBuffer {
+    /**
+     * Estimated memory retained by an empty line: {@link String} object, its array header and the reference to the line.
+     */
+    private static final int LINE_OVERHEAD = 48;
+    private final CycledBuffer<String> lines;
+    private final long maxBytes;
+    private long bytes;
+    private long droppedLines;
+    private long droppedBytes;
+
+    /**
+     * Constructor.
+     * @param maxLines max number of lines to keep, negative value means no limit
+     * @param maxBytes max number of bytes to keep, negative value means no limit
+     */
+    LineBuffer(final int maxLines, final long maxBytes) {
+        this.lines = new CycledBuffer<>(maxLines < 0 ? Integer.MAX_VALUE : maxLines);
+        this.maxBytes = maxBytes < 0 ? Long.MAX_VALUE : maxBytes;
+    }
+
+    /**
+     * Estimate memory retained by the line.
+     * The characters are counted as UTF-16 ones, as they are stored before compact strings.
+     * @param line process output line
+     * @return Returns estimated size of line in bytes
+     */
+    static long sizeOf(final String line) {
+        return LINE_OVERHEAD + 2L * line.length();
+    }
+
+    /**
+     * Add line, the oldest lines are dropped if the limits are exceeded.
+     * @param line line to add
+     * @return Returns true if the line has been kept, false if the line alone exceeds the memory limit and has been dropped
+     */
+    boolean add(final String line) {
+        final long size = sizeOf(line);
+        if (size > maxBytes) {
+            drop(size);
+            return false;
+        }
+        while (bytes + size > maxBytes) {
+            dropOldest();
+        }
+        final String overwritten = lines.add(line);
+        if (overwritten != null) {
+            bytes -= sizeOf(overwritten);
+            drop(sizeOf(overwritten));
+        }
+        bytes += size;
+        return true;
+    }
+
+    /**
+     * Drop the oldest line.
+     * @return Returns true if a line has been dropped, false if the buffer is empty
+     */
+    boolean dropOldest() {
+        final String oldest = lines.poll();
+        if (oldest == null) {
+            return false;
+        }
+        bytes -= sizeOf(oldest);
+        drop(sizeOf(oldest));
+        return true;
+    }
+
+    /**
+     * Get number of added lines.
+     * @return Returns number of added lines including the dropped ones
+     */
+    long getAddedLines() {
+        return lines.getSize() + droppedLines;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    int getSize() {
+        return lines.getSize();
+    }
+
+    long getDroppedLines() {
+        return droppedLines;
+    }
+
+    long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    Collection<String> getValues() {
+        return lines.getValues();
+    }
+
+    private void drop(final long size) {
+        droppedLines++;
+        droppedBytes += size;
+    }
+}
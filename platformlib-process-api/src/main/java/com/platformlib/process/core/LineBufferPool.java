@@ -0,0 +1,73 @@
+package com.platformlib.process.core;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of large line buffers.
+ * Buffers are pooled by power of two size classes and softly referenced, so idle buffers don't prevent memory reclaiming.
+ */
+final class LineBufferPool {
+    static final LineBufferPool INSTANCE = new LineBufferPool(4);
+    private static final int SIZE_CLASSES = Integer.SIZE;
+
+    private final int maxBuffersPerSizeClass;
+    private final List<Queue<SoftReference<byte[]>>> buffers;
+    private final AtomicInteger[] buffersCount;
+
+    LineBufferPool(final int maxBuffersPerSizeClass) {
+        this.maxBuffersPerSizeClass = maxBuffersPerSizeClass;
+        buffers = new ArrayList<>(SIZE_CLASSES);
+        buffersCount = new AtomicInteger[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            buffers.add(new ConcurrentLinkedQueue<>());
+            buffersCount[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Get buffer.
+     * @param minCapacity min buffer capacity
+     * @return Returns pooled or new buffer which capacity is the power of two not less than required one (or required one if it's too big)
+     */
+    byte[] acquire(final int minCapacity) {
+        final int sizeClass = sizeClass(minCapacity);
+        if (sizeClass < 0) {
+            return new byte[minCapacity];
+        }
+        SoftReference<byte[]> reference;
+        while ((reference = buffers.get(sizeClass).poll()) != null) {
+            buffersCount[sizeClass].decrementAndGet();
+            final byte[] buffer = reference.get();
+            if (buffer != null) {
+                return buffer;
+            }
+        }
+        return new byte[1 << sizeClass];
+    }
+
+    /**
+     * Return buffer into the pool.
+     * @param buffer buffer got by {@link #acquire(int)}
+     */
+    void release(final byte[] buffer) {
+        final int sizeClass = sizeClass(buffer.length);
+        if (sizeClass < 0 || 1 << sizeClass != buffer.length) {
+            return;
+        }
+        if (buffersCount[sizeClass].incrementAndGet() > maxBuffersPerSizeClass) {
+            buffersCount[sizeClass].decrementAndGet();
+            return;
+        }
+        buffers.get(sizeClass).offer(new SoftReference<>(buffer));
+    }
+
+    private static int sizeClass(final int capacity) {
+        final int sizeClass = capacity <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1);
+        return sizeClass < SIZE_CLASSES - 1 ? sizeClass : -1;
+    }
+}
@@ -0,0 +1,284 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.enums.LineOverflowPolicy;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Process output line decoder.
+ * Decodes process output incrementally by one reusable {@link CharsetDecoder}, so multibyte characters split between reads or line parts are decoded correctly.
+ * For charsets where line feed and carriage return are single ASCII bytes (UTF-8, windows-1251, ISO-8859-x and so on) the lines are split on bytes by {@link LineSplitter} and only line bytes are decoded,
+ * for others (e.g. UTF-16) the output is decoded first and split on chars.
+ * Carriage return characters are dropped.
+ */
+public final class LineDecoder {
+    private static final int PENDING_BYTES_RESERVE = 16;
+
+    private final CharsetDecoder decoder;
+    private final int maxLineLength;
+    private final LineOverflowPolicy lineOverflowPolicy;
+    private final LineHandler lineHandler;
+    private final LineSplitter lineSplitter;
+    private final CharBuffer initialCharBuffer;
+    private ByteBuffer pendingBytes;
+    private CharBuffer charBuffer;
+    private byte[] lineBytes;
+    private ByteBuffer lineBytesView;
+    private boolean lineContinued;
+    private char[] lineChars;
+    private int lineCharsLength;
+    private boolean lineCharsOverflowed;
+    private long overflowedLines;
+
+    /**
+     * Constructor.
+     * The line longer than max line length is split into parts.
+     * @param charset process output charset
+     * @param maxLineLength max line length in bytes (or in chars for charsets which are not split on bytes)
+     * @param lineHandler handler of decoded lines
+     */
+    public LineDecoder(final Charset charset, final int maxLineLength, final LineHandler lineHandler) {
+        this(charset, maxLineLength, LineOverflowPolicy.SPLIT, lineHandler);
+    }
+
+    /**
+     * Constructor.
+     * @param charset process output charset
+     * @param maxLineLength max line length in bytes (or in chars for charsets which are not split on bytes)
+     * @param lineOverflowPolicy what to do with lines longer than max line length
+     * @param lineHandler handler of decoded lines
+     */
+    public LineDecoder(final Charset charset, final int maxLineLength, final LineOverflowPolicy lineOverflowPolicy, final LineHandler lineHandler) {
+        if (maxLineLength < 1) {
+            throw new IllegalArgumentException("Max line length must be positive");
+        }
+        this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.maxLineLength = maxLineLength;
+        this.lineOverflowPolicy = lineOverflowPolicy;
+        this.lineHandler = lineHandler;
+        final int initialLineCapacity = Math.min(LineSplitter.INITIAL_LINE_CAPACITY, maxLineLength);
+        initialCharBuffer = CharBuffer.allocate((int) Math.ceil(initialLineCapacity * (double) decoder.maxCharsPerByte()) + 1);
+        charBuffer = initialCharBuffer;
+        if (isSplitOnBytes(charset)) {
+            lineSplitter = new LineSplitter(maxLineLength, lineOverflowPolicy, this::onLineBytes);
+            pendingBytes = ByteBuffer.allocate(PENDING_BYTES_RESERVE);
+        } else {
+            lineSplitter = null;
+            pendingBytes = ByteBuffer.allocate(initialLineCapacity + PENDING_BYTES_RESERVE);
+            lineChars = new char[initialLineCapacity];
+        }
+    }
+
+    /**
+     * Check if process output in given charset could be split on line breaks before decoding.
+     * @param charset charset to check
+     * @return Returns true if line feed and carriage return are encoded as single ASCII bytes in the charset
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    public static boolean isSplitOnBytes(final Charset charset) {
+        if (!charset.canEncode()) {
+            return false;
+        }
+        try {
+            final ByteBuffer lineBreak = charset.newEncoder().encode(CharBuffer.wrap("\r\n"));
+            return lineBreak.remaining() == 2 && lineBreak.get(0) == '\r' && lineBreak.get(1) == '\n';
+        } catch (final CharacterCodingException characterCodingException) {
+            return false;
+        }
+    }
+
+    /**
+     * Decode chunk of process output.
+     * @param bytes chunk bytes
+     * @param offset chunk offset
+     * @param length chunk length
+     */
+    public void decode(final byte[] bytes, final int offset, final int length) {
+        if (lineSplitter != null) {
+            lineSplitter.split(bytes, offset, length);
+            return;
+        }
+        int position = offset;
+        final int end = offset + length;
+        while (position < end) {
+            final int len = Math.min(end - position, pendingBytes.remaining());
+            pendingBytes.put(bytes, position, len);
+            position += len;
+            pendingBytes.flip();
+            decodeInput(pendingBytes, false);
+            pendingBytes.compact();
+            splitChars();
+        }
+        if (lineCharsOverflowed && lineOverflowPolicy == LineOverflowPolicy.CHUNK && lineCharsLength > 0) {
+            passLineChars(false);
+        }
+    }
+
+    /**
+     * Decode the rest of process output.
+     * Should be called at the end of process output, passes the last not terminated line (if any) to handler.
+     */
+    public void flush() {
+        if (lineSplitter != null) {
+            lineSplitter.flush();
+            if (pendingBytes.position() > 0) {
+                onLineBytes(lineBytes, 0, true);
+            }
+            return;
+        }
+        pendingBytes.flip();
+        decodeInput(pendingBytes, true);
+        pendingBytes.clear();
+        flushDecoder();
+        decoder.reset();
+        splitChars();
+        if (lineCharsLength > 0 || lineCharsOverflowed) {
+            passLineChars(true);
+        }
+    }
+
+    /**
+     * Release grown line buffers.
+     * The decoder is still usable after the call.
+     */
+    public void release() {
+        if (lineSplitter != null) {
+            lineSplitter.release();
+        }
+        charBuffer = initialCharBuffer;
+        charBuffer.clear();
+    }
+
+    /**
+     * Get number of lines which exceeded max line length.
+     * @return Returns number of overflowed lines
+     */
+    public long getOverflowedLines() {
+        return lineSplitter == null ? overflowedLines : lineSplitter.getOverflowedLines();
+    }
+
+    private void onLineBytes(final byte[] bytes, final int length, final boolean terminated) {
+        final ByteBuffer input;
+        if (pendingBytes.position() == 0) {
+            input = getLineBytesView(bytes);
+            input.clear();
+            input.limit(length);
+        } else {
+            // Rare case, there are bytes of character split by previous line part
+            pendingBytes.flip();
+            input = ByteBuffer.allocate(pendingBytes.remaining() + length);
+            input.put(pendingBytes).put(bytes, 0, length);
+            input.flip();
+            pendingBytes.clear();
+        }
+        decodeInput(input, terminated);
+        if (terminated) {
+            flushDecoder();
+            decoder.reset();
+        } else if (input.hasRemaining()) {
+            if (pendingBytes.capacity() < input.remaining()) {
+                pendingBytes = ByteBuffer.allocate(input.remaining());
+            }
+            pendingBytes.put(input);
+        }
+        charBuffer.flip();
+        // The empty end of line which has been already passed by parts is not passed as separate line
+        if (!terminated || !lineContinued || charBuffer.hasRemaining()) {
+            lineHandler.onLine(charBuffer.toString(), terminated);
+        }
+        lineContinued = !terminated;
+        charBuffer.clear();
+    }
+
+    private void decodeInput(final ByteBuffer input, final boolean endOfInput) {
+        CoderResult coderResult = decoder.decode(input, charBuffer, endOfInput);
+        while (coderResult.isOverflow()) {
+            growCharBuffer();
+            coderResult = decoder.decode(input, charBuffer, endOfInput);
+        }
+    }
+
+    private void flushDecoder() {
+        while (decoder.flush(charBuffer).isOverflow()) {
+            growCharBuffer();
+        }
+    }
+
+    private void growCharBuffer() {
+        final CharBuffer newCharBuffer = CharBuffer.allocate(charBuffer.capacity() * 2);
+        charBuffer.flip();
+        newCharBuffer.put(charBuffer);
+        charBuffer = newCharBuffer;
+    }
+
+    private void splitChars() {
+        final char[] chars = charBuffer.array();
+        final int length = charBuffer.position();
+        for (int i = 0; i < length; i++) {
+            final char c = chars[i];
+            if (c == '\n') {
+                passLineChars(true);
+            } else if (c != '\r') {
+                appendChar(c);
+            }
+        }
+        charBuffer.clear();
+    }
+
+    private void appendChar(final char c) {
+        if (lineCharsLength == lineChars.length) {
+            if (lineChars.length < maxLineLength) {
+                lineChars = Arrays.copyOf(lineChars, (int) Math.min(maxLineLength, lineChars.length * 2L));
+            } else {
+                if (!lineCharsOverflowed) {
+                    lineCharsOverflowed = true;
+                    overflowedLines++;
+                }
+                if (lineOverflowPolicy == LineOverflowPolicy.TRUNCATE) {
+                    return;
+                }
+                passLineChars(false);
+            }
+        }
+        lineChars[lineCharsLength++] = c;
+    }
+
+    private void passLineChars(final boolean terminated) {
+        if (!terminated || !lineContinued || lineCharsLength > 0) {
+            lineHandler.onLine(new String(lineChars, 0, lineCharsLength), terminated);
+        }
+        lineContinued = !terminated;
+        lineCharsLength = 0;
+        if (terminated) {
+            lineCharsOverflowed = false;
+        }
+    }
+
+    private ByteBuffer getLineBytesView(final byte[] bytes) {
+        if (lineBytes != bytes) {
+            lineBytes = bytes;
+            lineBytesView = ByteBuffer.wrap(bytes);
+        }
+        return lineBytesView;
+    }
+
+    /**
+     * Decoded line handler.
+     */
+    @FunctionalInterface
+    public interface LineHandler {
+        /**
+         * Handle line.
+         * @param line decoded line
+         * @param terminated true if it is the end of line, false if it is a part of line which is longer than max line length and the rest will follow
+         */
+        void onLine(String line, boolean terminated);
+    }
+}
@@ -0,0 +1,221 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.enums.LineOverflowPolicy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Process output line splitter.
+ * Line breaks are searched eight bytes per step (SWAR) and line content is copied by whole slices instead of byte by byte.
+ * Carriage return bytes are dropped.
+ * The line buffer grows by doubling (the large buffers are taken from shared pool) up to max line length, the longer lines are handled according to {@link LineOverflowPolicy}.
+ */
+public final class LineSplitter {
+    static final int INITIAL_LINE_CAPACITY = 8192;
+    private static final long LINE_FEED_PATTERN = 0x0A0A0A0A0A0A0A0AL;
+    private static final long CARRIAGE_RETURN_PATTERN = 0x0D0D0D0D0D0D0D0DL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private final int maxLineLength;
+    private final LineOverflowPolicy lineOverflowPolicy;
+    private final LineHandler lineHandler;
+    private final byte[] initialLineBuffer;
+    private byte[] lineBuffer;
+    private int lineLength;
+    private boolean lineOverflowed;
+    private long overflowedLines;
+    private ByteBuffer chunkView;
+
+    /**
+     * Constructor.
+     * The line longer than max line length is split into parts.
+     * @param maxLineLength max line length
+     * @param lineHandler handler of split lines
+     */
+    public LineSplitter(final int maxLineLength, final LineHandler lineHandler) {
+        this(maxLineLength, LineOverflowPolicy.SPLIT, lineHandler);
+    }
+
+    /**
+     * Constructor.
+     * @param maxLineLength max line length
+     * @param lineOverflowPolicy what to do with lines longer than max line length
+     * @param lineHandler handler of split lines
+     */
+    public LineSplitter(final int maxLineLength, final LineOverflowPolicy lineOverflowPolicy, final LineHandler lineHandler) {
+        if (maxLineLength < 1) {
+            throw new IllegalArgumentException("Max line length must be positive");
+        }
+        this.maxLineLength = maxLineLength;
+        this.lineOverflowPolicy = Objects.requireNonNull(lineOverflowPolicy);
+        this.lineHandler = lineHandler;
+        initialLineBuffer = new byte[Math.min(INITIAL_LINE_CAPACITY, maxLineLength)];
+        lineBuffer = initialLineBuffer;
+    }
+
+    /**
+     * Split chunk of bytes.
+     * The last not terminated line is kept until next chunk or {@link #flush()} call.
+     * @param bytes chunk bytes
+     * @param offset chunk offset
+     * @param length chunk length
+     */
+    public void split(final byte[] bytes, final int offset, final int length) {
+        final ByteBuffer view = getChunkView(bytes);
+        final int end = offset + length;
+        int position = offset;
+        while (position < end) {
+            final int lineBreak = indexOfLineBreak(view, bytes, position, end);
+            if (lineBreak < 0) {
+                append(bytes, position, end);
+                break;
+            }
+            append(bytes, position, lineBreak);
+            if (bytes[lineBreak] == '\n') {
+                terminateLine();
+            }
+            position = lineBreak + 1;
+        }
+        if (lineOverflowed && lineOverflowPolicy == LineOverflowPolicy.CHUNK && lineLength > 0) {
+            lineHandler.onLine(lineBuffer, lineLength, false);
+            lineLength = 0;
+        }
+    }
+
+    /**
+     * Pass the last not terminated line (if any) to handler.
+     */
+    public void flush() {
+        if (lineLength > 0 || lineOverflowed) {
+            terminateLine();
+        }
+    }
+
+    /**
+     * Return grown line buffer into pool.
+     * The splitter is still usable after the call.
+     */
+    public void release() {
+        if (lineBuffer != initialLineBuffer) {
+            LineBufferPool.INSTANCE.release(lineBuffer);
+            lineBuffer = initialLineBuffer;
+            lineLength = 0;
+        }
+    }
+
+    /**
+     * Get number of lines which exceeded max line length.
+     * @return Returns number of overflowed lines
+     */
+    public long getOverflowedLines() {
+        return overflowedLines;
+    }
+
+    /**
+     * Find the first line feed or carriage return byte.
+     * @param view little endian view of bytes
+     * @param bytes bytes to search in
+     * @param from start index, inclusive
+     * @param to end index, exclusive
+     * @return Returns index of found byte or -1 if there is no line break byte in the range
+     */
+    static int indexOfLineBreak(final ByteBuffer view, final byte[] bytes, final int from, final int to) {
+        int position = from;
+        for (; position + Long.BYTES <= to; position += Long.BYTES) {
+            final long word = view.getLong(position);
+            // In little endian order the lowest marked byte is always a real match, false positives are possible only above it
+            final long found = zeroBytes(word ^ LINE_FEED_PATTERN) | zeroBytes(word ^ CARRIAGE_RETURN_PATTERN);
+            if (found != 0) {
+                return position + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; position < to; position++) {
+            if (bytes[position] == '\n' || bytes[position] == '\r') {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static long zeroBytes(final long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    private void terminateLine() {
+        lineHandler.onLine(lineBuffer, lineLength, true);
+        lineLength = 0;
+        lineOverflowed = false;
+    }
+
+    private void append(final byte[] bytes, final int from, final int to) {
+        int position = from;
+        while (position < to) {
+            if (lineLength == getLineCapacity()) {
+                if (lineLength < maxLineLength) {
+                    grow(lineLength + to - position);
+                } else if (!overflow()) {
+                    return;
+                }
+            }
+            final int length = Math.min(to - position, getLineCapacity() - lineLength);
+            System.arraycopy(bytes, position, lineBuffer, lineLength, length);
+            lineLength += length;
+            position += length;
+        }
+    }
+
+    /**
+     * Handle full line buffer.
+     * @return Returns true if the line buffer has been passed to handler and could be filled again, false if the rest of line should be skipped
+     */
+    private boolean overflow() {
+        if (!lineOverflowed) {
+            lineOverflowed = true;
+            overflowedLines++;
+        }
+        if (lineOverflowPolicy == LineOverflowPolicy.TRUNCATE) {
+            return false;
+        }
+        lineHandler.onLine(lineBuffer, lineLength, false);
+        lineLength = 0;
+        return true;
+    }
+
+    private int getLineCapacity() {
+        return Math.min(lineBuffer.length, maxLineLength);
+    }
+
+    private void grow(final int minCapacity) {
+        final byte[] newLineBuffer = LineBufferPool.INSTANCE.acquire(Math.min(maxLineLength, Math.max(minCapacity, lineBuffer.length * 2)));
+        System.arraycopy(lineBuffer, 0, newLineBuffer, 0, lineLength);
+        if (lineBuffer != initialLineBuffer) {
+            LineBufferPool.INSTANCE.release(lineBuffer);
+        }
+        lineBuffer = newLineBuffer;
+    }
+
+    private ByteBuffer getChunkView(final byte[] bytes) {
+        if (chunkView == null || chunkView.array() != bytes) {
+            chunkView = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return chunkView;
+    }
+
+    /**
+     * Split line handler.
+     */
+    @FunctionalInterface
+    public interface LineHandler {
+        /**
+         * Handle line.
+         * The line bytes are valid only during the call, the buffer is reused for next lines.
+         * @param bytes line buffer
+         * @param length line length
+         * @param terminated true if it is the end of line (line break or end of output), false if it is a part of line which is longer than max line length
+         */
+        void onLine(byte[] bytes, int length, boolean terminated);
+    }
+}
@@ -0,0 +1,27 @@
+package com.platformlib.process.core;
+
+/**
+ * Process output lines logging sink.
+ * The sink is built once from logger configuration by {@link OutputLineSinks#of}, so no configuration is evaluated per line.
+ * The sink is not thread safe, it is called from the process output listener only.
+ */
+interface OutputLineSink {
+    /**
+     * Log or keep process output line.
+     * @param line process output line
+     */
+    void accept(String line);
+
+    /**
+     * Count raw process output bytes.
+     * @param length number of bytes read
+     */
+    default void chunkRead(final int length) {
+        // The output bytes are not used by default
+    }
+
+    /**
+     * Log kept lines when process output is completed.
+     */
+    void complete();
+}
@@ -0,0 +1,169 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
+import org.slf4j.Logger;
+
+/**
+ * Factory of {@link OutputLineSink} specialized for logger configuration.
+ */
+final class OutputLineSinks {
+    private static final String LOG_FORMAT = "[{}] Process output: {}";
+
+    private OutputLineSinks() {
+    }
+
+    /**
+     * Build sink for given logger configuration.
+     * Lines are logged by the configured logger, or by the default one if only head or tail are configured.
+     * If log interval is set, every line is summarized by {@link ProcessOutputLogger} instead of being logged, head and tail are still logged.
+     * The default logger also traces every line if trace is enabled at the time of sink building.
+     * @param name process output name to log lines with
+     * @param configuration process output logger configuration
+     * @param defaultLogger logger to use if no logger is configured
+     * @return Returns line sink
+     */
+    static OutputLineSink of(final String name, final ProcessOutputLoggerConfiguration configuration, final Logger defaultLogger) {
+        final Logger logger = configuration.getLogger().orElse(defaultLogger);
+        final int headSize = configuration.getHeadSize().orElse(0);
+        final int tailSize = configuration.getTailSize().orElse(0);
+        final OutputLineSink sink;
+        if (!configuration.getHeadSize().isPresent() && !configuration.getTailSize().isPresent()) {
+            sink = configuration.getLogger().isPresent() ? new FullLineSink(name, logger) : NoLoggingLineSink.INSTANCE;
+        } else if (tailSize > 0) {
+            // The logged tail is kept until the process end, so it is limited by memory limits as well
+            final long tailBytes = Math.min(configuration.getTailBytes().orElse(Long.MAX_VALUE), configuration.getMaxBytes().orElse(Long.MAX_VALUE));
+            sink = new HeadTailLineSink(name, logger, headSize, new LineBuffer(tailSize, tailBytes));
+        } else if (headSize != 0) {
+            sink = new HeadLineSink(name, logger, headSize);
+        } else {
+            sink = NoLoggingLineSink.INSTANCE;
+        }
+        final OutputLineSink intervalSink = configuration.getLogInterval().isPresent()
+                ? new ProcessOutputLogger(name, logger, configuration.getLogInterval().get(), sink instanceof FullLineSink ? null : sink)
+                : sink;
+        return logger == defaultLogger && defaultLogger.isTraceEnabled() ? new TraceLineSink(name, defaultLogger, intervalSink) : intervalSink;
+    }
+
+    private static final class NoLoggingLineSink implements OutputLineSink {
+        private static final OutputLineSink INSTANCE = new NoLoggingLineSink();
+
+        @Override
+        public void accept(final String line) {
+            // Nothing is logged
+        }
+
+        @Override
+        public void complete() {
+            // Nothing is kept
+        }
+    }
+
+    private static final class FullLineSink implements OutputLineSink {
+        private final String name;
+        private final Logger logger;
+
+        private FullLineSink(final String name, final Logger logger) {
+            this.name = name;
+            this.logger = logger;
+        }
+
+        @Override
+        public void accept(final String line) {
+            logger.debug(LOG_FORMAT, name, line);
+        }
+
+        @Override
+        public void complete() {
+            // Every line has been logged already
+        }
+    }
+
+    private static class HeadLineSink implements OutputLineSink {
+        private final String name;
+        private final Logger logger;
+        private final int headSize;
+        private int headProcessed;
+
+        private HeadLineSink(final String name, final Logger logger, final int headSize) {
+            this.name = name;
+            this.logger = logger;
+            this.headSize = headSize;
+        }
+
+        /**
+         * Log the line if it belongs to the head.
+         * @return Returns true if the line has been logged, false if the head is completed
+         */
+        boolean acceptHead(final String line) {
+            if (headSize < 0 || headProcessed < headSize) {
+                headProcessed++;
+                logger.debug(LOG_FORMAT, name, line);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void accept(final String line) {
+            acceptHead(line);
+        }
+
+        @Override
+        public void complete() {
+            // The head has been logged already
+        }
+
+        void log(final String line) {
+            logger.debug(LOG_FORMAT, name, line);
+        }
+    }
+
+    private static final class HeadTailLineSink extends HeadLineSink {
+        private final LineBuffer tailBuffer;
+
+        private HeadTailLineSink(final String name, final Logger logger, final int headSize, final LineBuffer tailBuffer) {
+            super(name, logger, headSize);
+            this.tailBuffer = tailBuffer;
+        }
+
+        @Override
+        public void accept(final String line) {
+            if (!acceptHead(line)) {
+                tailBuffer.add(line);
+            }
+        }
+
+        @Override
+        public void complete() {
+            tailBuffer.getValues().forEach(this::log);
+        }
+    }
+
+    private static final class TraceLineSink implements OutputLineSink {
+        private final String name;
+        private final Logger logger;
+        private final OutputLineSink sink;
+
+        private TraceLineSink(final String name, final Logger logger, final OutputLineSink sink) {
+            this.name = name;
+            this.logger = logger;
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(final String line) {
+            logger.trace(LOG_FORMAT, name, line);
+            sink.accept(line);
+        }
+
+        @Override
+        public void chunkRead(final int length) {
+            sink.chunkRead(length);
+        }
+
+        @Override
+        public void complete() {
+            sink.complete();
+        }
+    }
+}
@@ -5,4 +5,16 @@ import java.util.Collection;
 public interface ProcessOutput {
     boolean isOverflowed();
     Collection<String> getOutput();
+
+    /**
+     * Get number of process output lines which haven't been kept due to head, tail or memory limits.
+     * @return Returns number of dropped lines
+     */
+    long getDroppedLines();
+
+    /**
+     * Get estimated memory of process output lines which haven't been kept due to head, tail or memory limits.
+     * @return Returns number of dropped bytes
+     */
+    long getDroppedBytes();
 }
@@ -1,19 +1,140 @@
 package com.platformlib.process.core;
 
 import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
+import com.platformlib.process.exception.ProcessConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
-public class ProcessOutputLogger implements Consumer<String> {
-    private final ProcessOutputLoggerConfiguration processLoggerConfiguration;
+/**
+ * Rate-limited process output logger.
+ * Instead of logging every line, at most one summary is logged per log interval: number of lines, how many of them are suppressed, output rate and the latest line.
+ * The summaries are logged by a timer shared by all processes, the rest of lines is summarized on completion.
+ */
+public class ProcessOutputLogger implements Consumer<String>, OutputLineSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessOutputLogger.class);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+    private final String name;
+    private final Logger logger;
+    private final long logIntervalNanos;
+    private final OutputLineSink lineSink;
+    // Counters are updated by the output listener and read by the timer
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile String latestLine;
+    private ScheduledFuture<?> summaryTask;
+    private long summaryLines;
+    private long summaryBytes;
+    private long summaryNanoTime;
 
-    public ProcessOutputLogger(final ProcessOutputLoggerConfiguration processLoggerConfiguration) {
-        this.processLoggerConfiguration = Objects.requireNonNull(processLoggerConfiguration);
+    /**
+     * Constructor.
+     * @param name process output name to log summaries with
+     * @param processLoggerConfiguration process output logger configuration with log interval
+     */
+    public ProcessOutputLogger(final String name, final ProcessOutputLoggerConfiguration processLoggerConfiguration) {
+        this(name,
+                Objects.requireNonNull(processLoggerConfiguration).getLogger().orElse(LOGGER),
+                processLoggerConfiguration.getLogInterval().orElseThrow(() -> new ProcessConfigurationException("The process output log interval is not set")),
+                null);
     }
 
+    /**
+     * Constructor.
+     * @param name process output name to log summaries with
+     * @param logger logger to log summaries to
+     * @param logInterval interval between summaries
+     * @param lineSink sink to pass every line to, e.g. to log head and tail, nullable
+     */
+    ProcessOutputLogger(final String name, final Logger logger, final Duration logInterval, final OutputLineSink lineSink) {
+        if (logInterval.isNegative() || logInterval.isZero()) {
+            throw new ProcessConfigurationException("The process output log interval must be positive, but given " + logInterval);
+        }
+        this.name = name;
+        this.logger = logger;
+        this.logIntervalNanos = logInterval.toNanos();
+        this.lineSink = lineSink;
+    }
+
+    @Override
+    public void accept(final String line) {
+        if (summaryTask == null) {
+            start();
+        }
+        latestLine = line;
+        lines.lazySet(lines.get() + 1);
+        if (lineSink != null) {
+            lineSink.accept(line);
+        }
+    }
+
+    @Override
+    public void chunkRead(final int length) {
+        bytes.lazySet(bytes.get() + length);
+    }
+
+    /**
+     * Stop summaries logging and log the summary of lines which haven't been summarized yet.
+     */
     @Override
-    public void accept(final String s) {
-        //TODO Implement
+    public void complete() {
+        if (summaryTask != null) {
+            summaryTask.cancel(false);
+        }
+        logSummary();
+        if (lineSink != null) {
+            lineSink.complete();
+        }
+    }
+
+    /**
+     * The timer is started with the first line, so nothing is scheduled for processes which haven't been started.
+     */
+    private void start() {
+        summaryNanoTime = System.nanoTime();
+        summaryTask = SharedTimerHolder.INSTANCE.scheduleAtFixedRate(this::logSummary, logIntervalNanos, logIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void logSummary() {
+        final long currentLines = lines.get();
+        final long intervalLines = currentLines - summaryLines;
+        if (intervalLines == 0) {
+            return;
+        }
+        final long currentBytes = bytes.get();
+        final long nanoTime = System.nanoTime();
+        final long elapsedNanos = Math.max(nanoTime - summaryNanoTime, 1L);
+        final long bytesPerSecond = (long) ((currentBytes - summaryBytes) * NANOS_PER_SECOND / elapsedNanos);
+        logger.debug("[{}] Process output: {} line(s), {} suppressed, {} bytes/s, latest: {}", name, intervalLines, intervalLines - 1, bytesPerSecond, latestLine);
+        summaryLines = currentLines;
+        summaryBytes = currentBytes;
+        summaryNanoTime = nanoTime;
+    }
+
+    private static final class SharedTimerHolder {
+        private static final ScheduledExecutorService INSTANCE = newTimer();
+
+        private SharedTimerHolder() {
+        }
+
+        private static ScheduledExecutorService newTimer() {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                thread.setName("process-output-logger");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
     }
 }
@@ -0,0 +1,166 @@
+package com.platformlib.process.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Process output reactor.
+ * A small bounded set of threads which multiplex non-blocking reads of all registered process pipes and process exit notifications.
+ * Process completion payloads are executed by a bounded completion executor, so no thread is pinned per spawned process.
+ */
+@SuppressWarnings("PMD.LawOfDemeter")
+public final class ProcessOutputReactor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessOutputReactor.class);
+    public static final String REACTOR_THREADS_PROPERTY = "platformlib.process.reactor.threads";
+    public static final String COMPLETION_THREADS_PROPERTY = "platformlib.process.completion.threads";
+    private static final long MIN_IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long COMPLETION_THREAD_KEEP_ALIVE_SECONDS = 60L;
+
+    private final ReactorThread[] reactorThreads;
+    private final ThreadPoolExecutor completionExecutor;
+    private final AtomicInteger nextReactorThread = new AtomicInteger();
+
+    /**
+     * Constructor.
+     * @param name reactor name used as thread name prefix
+     * @param reactorThreadsNumber number of polling threads
+     * @param completionThreadsNumber maximum number of threads to execute completion payloads
+     */
+    public ProcessOutputReactor(final String name, final int reactorThreadsNumber, final int completionThreadsNumber) {
+        if (reactorThreadsNumber < 1 || completionThreadsNumber < 1) {
+            throw new IllegalArgumentException("The reactor requires at least one polling and one completion thread");
+        }
+        reactorThreads = new ReactorThread[reactorThreadsNumber];
+        for (int i = 0; i < reactorThreadsNumber; i++) {
+            reactorThreads[i] = new ReactorThread(name + "-reactor-" + i);
+            reactorThreads[i].start();
+        }
+        final AtomicInteger completionThreadCounter = new AtomicInteger();
+        completionExecutor = new ThreadPoolExecutor(completionThreadsNumber, completionThreadsNumber, COMPLETION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, name + "-completion-" + completionThreadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        completionExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get process-wide shared reactor.
+     * The number of threads could be specified by {@link #REACTOR_THREADS_PROPERTY} and {@link #COMPLETION_THREADS_PROPERTY} system properties.
+     * @return Returns shared reactor
+     */
+    public static ProcessOutputReactor getDefault() {
+        return DefaultReactorHolder.INSTANCE;
+    }
+
+    /**
+     * Register pollable source.
+     * The source is polled until it reports it is done.
+     * @param pollable source to poll
+     */
+    public void register(final Pollable pollable) {
+        reactorThreads[Math.floorMod(nextReactorThread.getAndIncrement(), reactorThreads.length)].register(pollable);
+    }
+
+    /**
+     * Get executor for completion payloads.
+     * Payloads must not block for long, the executor is bounded and shared by all processes.
+     * The process futures must not be completed by the payloads, the dependent stages of the callers would run on the completion threads and may block them.
+     * @return Returns completion executor
+     */
+    public Executor getCompletionExecutor() {
+        return completionExecutor;
+    }
+
+    /**
+     * Source polled by reactor.
+     */
+    public interface Pollable {
+        /**
+         * Do non-blocking step.
+         * @return Returns true if some progress has been made (data read, state changed), false otherwise
+         */
+        boolean poll();
+
+        /**
+         * Check if polling is finished.
+         * @return Returns true if the source should not be polled anymore
+         */
+        boolean isDone();
+    }
+
+    private static final class ReactorThread extends Thread {
+        private final Queue<Pollable> registrations = new ConcurrentLinkedQueue<>();
+        private final List<Pollable> pollables = new ArrayList<>();
+
+        private ReactorThread(final String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        private void register(final Pollable pollable) {
+            registrations.add(pollable);
+            LockSupport.unpark(this);
+        }
+
+        @SuppressWarnings({"PMD.AvoidCatchingGenericException", "InfiniteLoopStatement"})
+        @Override
+        public void run() {
+            long idleParkNanos = MIN_IDLE_PARK_NANOS;
+            while (true) {
+                Pollable registered;
+                while ((registered = registrations.poll()) != null) {
+                    pollables.add(registered);
+                }
+                if (pollables.isEmpty()) {
+                    LockSupport.park(this);
+                    idleParkNanos = MIN_IDLE_PARK_NANOS;
+                    continue;
+                }
+                boolean progress = false;
+                final Iterator<Pollable> iterator = pollables.iterator();
+                while (iterator.hasNext()) {
+                    final Pollable pollable = iterator.next();
+                    try {
+                        progress |= pollable.poll();
+                        if (pollable.isDone()) {
+                            iterator.remove();
+                        }
+                    } catch (final RuntimeException runtimeException) {
+                        LOGGER.error("Unexpected error while polling process, stop polling it", runtimeException);
+                        iterator.remove();
+                    }
+                }
+                if (progress) {
+                    idleParkNanos = MIN_IDLE_PARK_NANOS;
+                } else {
+                    LockSupport.parkNanos(this, idleParkNanos);
+                    idleParkNanos = Math.min(idleParkNanos * 2, MAX_IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    private static final class DefaultReactorHolder {
+        private static final ProcessOutputReactor INSTANCE = new ProcessOutputReactor(
+                "process",
+                Integer.getInteger(REACTOR_THREADS_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors())),
+                Integer.getInteger(COMPLETION_THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors())));
+
+        private DefaultReactorHolder() {
+        }
+    }
+}
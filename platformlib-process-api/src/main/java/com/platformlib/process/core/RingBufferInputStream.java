@@ -0,0 +1,231 @@
+package com.platformlib.process.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Process output stream backed by lock-free single producer/single consumer ring buffer.
+ * The bytes are written to the {@link #getOutputStream()} by process output listener and read from this stream by the client.
+ * Unlike {@link java.io.PipedInputStream} there are no monitors and timed polling, the waiting side is parked and woken up by the other one as soon as data or free space is available.
+ * The writer is blocked while the buffer is full, so the stream should be read until the end or closed, otherwise the process output processing will stuck.
+ * The bytes written after closing of this stream are discarded.
+ */
+public final class RingBufferInputStream extends InputStream {
+    /**
+     * Default ring buffer capacity in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final byte[] buffer;
+    private final int mask;
+    private final OutputStream outputStream = new RingBufferOutputStream();
+    private volatile long readPosition;
+    private volatile long writePosition;
+    private volatile boolean readerClosed;
+    private volatile boolean writerClosed;
+    private volatile Thread waitingReader;
+    private volatile Thread waitingWriter;
+
+    /**
+     * Create stream with {@link #DEFAULT_CAPACITY}.
+     */
+    public RingBufferInputStream() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity ring buffer capacity in bytes, rounded up to the power of two
+     */
+    public RingBufferInputStream(final int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Ring buffer capacity must be in range [1, 2^30], but given " + capacity);
+        }
+        buffer = new byte[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        mask = buffer.length - 1;
+    }
+
+    /**
+     * Get the writing end of the ring buffer.
+     * Closing of the output stream is the end of this stream for the reader.
+     * @return Returns output stream to write bytes to
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Get ring buffer capacity.
+     * @return Returns capacity in bytes
+     */
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (awaitReadable() < 0) {
+            return -1;
+        }
+        final long position = readPosition;
+        final int value = Byte.toUnsignedInt(buffer[(int) position & mask]);
+        readPosition = position + 1;
+        wakeUp(waitingWriter);
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        checkBounds(bytes, offset, length);
+        if (length == 0) {
+            return 0;
+        }
+        final int readable = awaitReadable();
+        if (readable < 0) {
+            return -1;
+        }
+        final long position = readPosition;
+        final int len = Math.min(readable, length);
+        final int index = (int) position & mask;
+        final int firstPart = Math.min(len, buffer.length - index);
+        System.arraycopy(buffer, index, bytes, offset, firstPart);
+        System.arraycopy(buffer, 0, bytes, offset + firstPart, len - firstPart);
+        readPosition = position + len;
+        wakeUp(waitingWriter);
+        return len;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (readerClosed) {
+            throw new IOException("Stream closed");
+        }
+        return (int) (writePosition - readPosition);
+    }
+
+    @Override
+    public void close() {
+        readerClosed = true;
+        wakeUp(waitingWriter);
+    }
+
+    /**
+     * Wait for bytes to read.
+     * @return Returns number of bytes available to read or -1 if the writer is closed and all bytes have been read
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    private int awaitReadable() throws IOException {
+        while (true) {
+            if (readerClosed) {
+                throw new IOException("Stream closed");
+            }
+            final int readable = (int) (writePosition - readPosition);
+            if (readable > 0) {
+                return readable;
+            }
+            if (writerClosed) {
+                // All bytes are published before writer closing, so re-check is enough
+                if (writePosition == readPosition) {
+                    return -1;
+                }
+                continue;
+            }
+            waitingReader = Thread.currentThread();
+            if (writePosition == readPosition && !writerClosed && !readerClosed) {
+                LockSupport.park(this);
+            }
+            waitingReader = null;
+            checkInterrupted();
+        }
+    }
+
+    /**
+     * Wait for free space to write.
+     * @return Returns number of bytes which could be written or -1 if the reader is closed
+     */
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    private int awaitWritable() throws IOException {
+        while (true) {
+            if (writerClosed) {
+                throw new IOException("Stream closed");
+            }
+            if (readerClosed) {
+                return -1;
+            }
+            final int writable = buffer.length - (int) (writePosition - readPosition);
+            if (writable > 0) {
+                return writable;
+            }
+            waitingWriter = Thread.currentThread();
+            if (writePosition - readPosition == buffer.length && !readerClosed) {
+                LockSupport.park(this);
+            }
+            waitingWriter = null;
+            checkInterrupted();
+        }
+    }
+
+    private static void checkBounds(final byte[] bytes, final int offset, final int length) {
+        if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + bytes.length);
+        }
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.interrupted()) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for ring buffer has been interrupted");
+        }
+    }
+
+    private static void wakeUp(final Thread thread) {
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private final class RingBufferOutputStream extends OutputStream {
+        @Override
+        public void write(final int value) throws IOException {
+            if (awaitWritable() < 0) {
+                return;
+            }
+            final long position = writePosition;
+            buffer[(int) position & mask] = (byte) value;
+            writePosition = position + 1;
+            wakeUp(waitingReader);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            checkBounds(bytes, offset, length);
+            int from = offset;
+            final int end = offset + length;
+            while (from < end) {
+                final int writable = awaitWritable();
+                if (writable < 0) {
+                    return;
+                }
+                final int len = Math.min(writable, end - from);
+                final long position = writePosition;
+                final int index = (int) position & mask;
+                final int firstPart = Math.min(len, buffer.length - index);
+                System.arraycopy(bytes, from, buffer, index, firstPart);
+                System.arraycopy(bytes, from + firstPart, buffer, 0, len - firstPart);
+                writePosition = position + len;
+                wakeUp(waitingReader);
+                from += len;
+            }
+        }
+
+        @Override
+        public void close() {
+            writerClosed = true;
+            wakeUp(waitingReader);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.platformlib.process.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process output lines spilled to a temporary file.
+ * The lines are appended to the data file as UTF-8 bytes separated by new line, the end offset of each line is appended to the index file.
+ * Once completed the index is memory mapped, so line N is read by two index lookups and one positional read, and the lines are iterated by sequential reading.
+ * The lines are appended by a single thread, the completed lines can be read concurrently.
+ * The files are deleted on {@link #close()}, the files of lines which are collected without closing are deleted by a background thread.
+ */
+final class SpilledLines extends AbstractList<String> implements RandomAccess, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpilledLines.class);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    /**
+     * Number of line offsets in one mapped index segment, a segment is 1 GiB.
+     */
+    private static final int SEGMENT_OFFSETS = 1 << 27;
+    private static final byte NEW_LINE = '\n';
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final SpillFiles spillFiles;
+    private ByteBuffer dataBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private ByteBuffer indexBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private long dataSize;
+    private long lines;
+    private volatile LongBuffer[] index;
+    private volatile boolean closed;
+
+    private SpilledLines(final Path dataFile, final Path indexFile) throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.spillFiles = new SpillFiles(this);
+    }
+
+    /**
+     * Create spilled lines in temporary files.
+     * @param directory directory to create temporary files in
+     * @return Returns empty spilled lines
+     * @throws UncheckedIOException if temporary files can't be created
+     */
+    static SpilledLines create(final Path directory) {
+        Path dataFile = null;
+        Path indexFile = null;
+        try {
+            dataFile = Files.createTempFile(directory, "process-output-", ".lines");
+            indexFile = Files.createTempFile(directory, "process-output-", ".index");
+            return new SpilledLines(dataFile, indexFile);
+        } catch (final IOException ioException) {
+            if (dataFile != null) {
+                dataFile.toFile().delete();
+            }
+            if (indexFile != null) {
+                indexFile.toFile().delete();
+            }
+            throw new UncheckedIOException("Unable to create process output spill file", ioException);
+        }
+    }
+
+    /**
+     * Append line.
+     * @param line line to append
+     * @throws UncheckedIOException if the line can't be written
+     */
+    void append(final String line) {
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (bytes.length + 1 > dataBuffer.remaining()) {
+                flushData();
+            }
+            if (bytes.length + 1 > dataBuffer.capacity()) {
+                writeFully(dataChannel, ByteBuffer.wrap(bytes));
+                dataBuffer.put(NEW_LINE);
+            } else {
+                dataBuffer.put(bytes).put(NEW_LINE);
+            }
+            dataSize += bytes.length + 1;
+            if (indexBuffer.remaining() < Long.BYTES) {
+                flushIndex();
+            }
+            indexBuffer.putLong(dataSize - 1);
+            lines++;
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException("Unable to write process output spill file " + dataFile, ioException);
+        }
+    }
+
+    /**
+     * Finish appending and map the index.
+     * @throws UncheckedIOException if the files can't be written or mapped
+     */
+    void complete() {
+        try {
+            flushData();
+            flushIndex();
+            dataBuffer = null;
+            indexBuffer = null;
+            final LongBuffer[] segments = new LongBuffer[(int) ((lines + SEGMENT_OFFSETS - 1) / SEGMENT_OFFSETS)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = (long) i * SEGMENT_OFFSETS * Long.BYTES;
+                segments[i] = indexChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min((long) SEGMENT_OFFSETS * Long.BYTES, lines * Long.BYTES - position)).asLongBuffer();
+            }
+            index = segments;
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException("Unable to map process output spill index " + indexFile, ioException);
+        }
+    }
+
+    /**
+     * Get number of lines.
+     * @return Returns number of lines, {@link Integer#MAX_VALUE} if there are more lines
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(lines, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get size of the data file.
+     * @return Returns number of bytes of spilled lines
+     */
+    long getDataSize() {
+        return dataSize;
+    }
+
+    @Override
+    public String get(final int lineIndex) {
+        if (lineIndex < 0 || lineIndex >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + lineIndex + ", size: " + size());
+        }
+        final long start = lineIndex == 0 ? 0 : getEndOffset(lineIndex - 1) + 1;
+        final ByteBuffer line = ByteBuffer.allocate((int) (getEndOffset(lineIndex) - start));
+        try {
+            while (line.hasRemaining()) {
+                if (dataChannel.read(line, start + line.position()) < 0) {
+                    throw new IOException("Unexpected end of process output spill file " + dataFile);
+                }
+            }
+        } catch (final IOException ioException) {
+            throw new UncheckedIOException("Unable to read process output spill file " + dataFile, ioException);
+        }
+        return new String(line.array(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Iterate lines by sequential reading of data file.
+     * @return Returns lines iterator
+     */
+    @Override
+    public Iterator<String> iterator() {
+        checkCompleted();
+        return new Iterator<String>() {
+            private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            private long readBufferPosition;
+            private int readBufferLength;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final long start = next == 0 ? 0 : getEndOffset(next - 1) + 1;
+                final byte[] bytes = new byte[(int) (getEndOffset(next) - start)];
+                int offset = 0;
+                while (offset < bytes.length) {
+                    final long position = start + offset;
+                    if (position < readBufferPosition || position >= readBufferPosition + readBufferLength) {
+                        fill(position);
+                    }
+                    final int from = (int) (position - readBufferPosition);
+                    final int length = Math.min(readBufferLength - from, bytes.length - offset);
+                    System.arraycopy(readBuffer.array(), from, bytes, offset, length);
+                    offset += length;
+                }
+                next++;
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            private void fill(final long position) {
+                readBuffer.clear();
+                try {
+                    readBufferLength = dataChannel.read(readBuffer, position);
+                } catch (final IOException ioException) {
+                    throw new UncheckedIOException("Unable to read process output spill file " + dataFile, ioException);
+                }
+                if (readBufferLength <= 0) {
+                    throw new UncheckedIOException(new IOException("Unexpected end of process output spill file " + dataFile));
+                }
+                readBufferPosition = position;
+            }
+        };
+    }
+
+    /**
+     * Close and delete the temporary files.
+     * The mapped index is unmapped once it is collected.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        index = null;
+        spillFiles.delete();
+    }
+
+    private long getEndOffset(final long lineIndex) {
+        final LongBuffer[] segments = checkCompleted();
+        return segments[(int) (lineIndex / SEGMENT_OFFSETS)].get((int) (lineIndex % SEGMENT_OFFSETS));
+    }
+
+    private LongBuffer[] checkCompleted() {
+        final LongBuffer[] segments = index;
+        if (segments == null) {
+            throw new IllegalStateException(closed ? "The process output has been released" : "The process output spilling is not completed");
+        }
+        return segments;
+    }
+
+    private void flushData() throws IOException {
+        dataBuffer.flip();
+        writeFully(dataChannel, dataBuffer);
+        dataBuffer.clear();
+    }
+
+    private void flushIndex() throws IOException {
+        indexBuffer.flip();
+        writeFully(indexChannel, indexBuffer);
+        indexBuffer.clear();
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (final IOException ignored) {
+            // The file is deleted anyway
+        }
+    }
+
+    /**
+     * Temporary files of spilled lines.
+     * The reference is enqueued once the spilled lines are collected, so the files of lines which have never been closed are deleted then.
+     */
+    private static final class SpillFiles extends PhantomReference<SpilledLines> {
+        private static final ReferenceQueue<SpilledLines> COLLECTED = new ReferenceQueue<>();
+        // The references are reachable until the files are deleted, otherwise they are collected together with the lines
+        private static final Set<SpillFiles> UNDELETED = ConcurrentHashMap.newKeySet();
+
+        static {
+            final Thread thread = new Thread(SpillFiles::deleteCollected, "process-output-spill-cleaner");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private final Path dataFile;
+        private final Path indexFile;
+        private final FileChannel dataChannel;
+        private final FileChannel indexChannel;
+
+        private SpillFiles(final SpilledLines spilledLines) {
+            super(spilledLines, COLLECTED);
+            this.dataFile = spilledLines.dataFile;
+            this.indexFile = spilledLines.indexFile;
+            this.dataChannel = spilledLines.dataChannel;
+            this.indexChannel = spilledLines.indexChannel;
+            UNDELETED.add(this);
+        }
+
+        private void delete() {
+            if (!UNDELETED.remove(this)) {
+                return;
+            }
+            clear();
+            closeQuietly(dataChannel);
+            closeQuietly(indexChannel);
+            dataFile.toFile().delete();
+            indexFile.toFile().delete();
+        }
+
+        private static void deleteCollected() {
+            while (true) {
+                try {
+                    final SpillFiles spillFiles = (SpillFiles) COLLECTED.remove();
+                    LOGGER.debug("The process output spilled to {} hasn't been released, delete it", spillFiles.dataFile);
+                    spillFiles.delete();
+                } catch (final InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.platformlib.process.enums;
+
+/**
+ * What to do with process output line which is longer than max line length.
+ */
+public enum LineOverflowPolicy {
+    /**
+     * Pass the line by parts of max line length, each part as separate line.
+     */
+    SPLIT,
+    /**
+     * Cut the line to max line length, the rest of the line is skipped.
+     */
+    TRUNCATE,
+    /**
+     * Stop lines processing, the process execution is completed with {@link com.platformlib.process.exception.LineOverflowException}.
+     * The process output is still read (and redirected if configured) until the process ends.
+     */
+    FAIL,
+    /**
+     * Pass the line by parts as soon as they are read, without waiting for line break or max line length reaching.
+     * Each part is passed as separate line, the memory used for the line is bounded by max line length.
+     */
+    CHUNK
+}
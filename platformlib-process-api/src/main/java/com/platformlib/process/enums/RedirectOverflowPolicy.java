@@ -0,0 +1,21 @@
+package com.platformlib.process.enums;
+
+/**
+ * What to do with process output when the queue of asynchronous redirect is full, i.e. the redirect stream is slower than the process.
+ */
+public enum RedirectOverflowPolicy {
+    /**
+     * Wait until the redirect stream takes queued output.
+     * The process output reading is paused, so the process itself is throttled by the slow redirect stream.
+     */
+    BLOCK,
+    /**
+     * Drop the oldest queued output to free space for the new one.
+     * The process is never throttled, the redirect stream gets the most recent output.
+     */
+    DROP_OLDEST,
+    /**
+     * Stop redirecting and complete the process exceptionally by {@link com.platformlib.process.exception.RedirectOverflowException}.
+     */
+    FAIL
+}
@@ -0,0 +1,7 @@
+package com.platformlib.process.exception;
+
+public class LineOverflowException extends ProcessException {
+    public LineOverflowException(final String message) {
+        super(message);
+    }
+}
@@ -1,4 +1,10 @@
 package com.platformlib.process.exception;
 
 public class OutputOverflowException extends ProcessException {
+    public OutputOverflowException() {
+    }
+
+    public OutputOverflowException(final String message) {
+        super(message);
+    }
 }
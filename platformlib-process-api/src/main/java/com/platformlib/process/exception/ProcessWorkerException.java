@@ -0,0 +1,11 @@
+package com.platformlib.process.exception;
+
+public class ProcessWorkerException extends ProcessException {
+    public ProcessWorkerException(String message) {
+        super(message);
+    }
+
+    public ProcessWorkerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
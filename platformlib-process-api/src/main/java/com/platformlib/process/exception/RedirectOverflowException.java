@@ -0,0 +1,7 @@
+package com.platformlib.process.exception;
+
+public class RedirectOverflowException extends ProcessException {
+    public RedirectOverflowException(final String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,27 @@
 package com.platformlib.process.executor;
 
+import com.platformlib.process.api.InteractiveProcessSession;
+import com.platformlib.process.api.OperationSystemProcess;
+import com.platformlib.process.api.ProcessOutputLines;
+import com.platformlib.process.api.RedirectMetrics;
 import com.platformlib.process.configuration.ProcessConfiguration;
 import com.platformlib.process.configuration.dryrun.ProcessDryRunConfiguration;
 import com.platformlib.process.configuration.instance.ProcessInstanceConfiguration;
+import com.platformlib.process.configuration.logger.ProcessLoggerConfiguration;
+import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
 import com.platformlib.process.configuration.logger.ProcessThreadLoggerConfiguration;
+import com.platformlib.process.configuration.redirect.ProcessRedirectConfiguration;
+import com.platformlib.process.core.AsyncRedirectOutputStream;
+import com.platformlib.process.core.BlockingOutputLines;
+import com.platformlib.process.core.DefaultInteractiveProcessSession;
+import com.platformlib.process.core.DefaultProcessInstance;
 import com.platformlib.process.core.DefaultProcessOutput;
+import com.platformlib.process.core.ProcessOutputReactor;
+import com.platformlib.process.core.RingBufferInputStream;
+import com.platformlib.process.enums.ProcessThreadType;
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+import com.platformlib.process.exception.ProcessConfigurationException;
+import com.platformlib.process.exception.RedirectOverflowException;
 import com.platformlib.process.handler.ProcessDestroyerHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,20 +29,28 @@ import org.slf4j.LoggerFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -37,18 +62,21 @@ import java.util.stream.Collectors;
 public abstract class DefaultProcessExecutor implements ProcessExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultProcessExecutor.class);
     private static final AtomicLong EXECUTION_COUNTER = new AtomicLong(0L);
+    private static final int STDIN_BUFFER_SIZE = 65536;
     private final long executionId = EXECUTION_COUNTER.incrementAndGet();
 
     private final ProcessConfiguration processConfiguration;
-    private final ExecutorService executorService;
-    private PipedInputStream stdOutPipedInputStream = null;
-    private PipedOutputStream stdOutPipedOutputStream = null;
-
-    private PipedInputStream stdErrPipedInputStream = null;
-    private PipedOutputStream stdErrPipedOutputStream = null;
+    private RingBufferInputStream stdOutInputStream = null;
+    private RingBufferInputStream stdErrInputStream = null;
+    private BlockingOutputLines stdOutLines = null;
+    private BlockingOutputLines stdErrLines = null;
 
+    private final List<AsyncRedirectOutputStream> asyncRedirects = new ArrayList<>();
     private final DefaultProcessOutput processStdOut;
     private final DefaultProcessOutput processStdErr;
+    private CompletableFuture<OutputStream> interactiveStdIn;
+    private final Executor sharedExecutor;
+    private final AtomicBoolean executed = new AtomicBoolean();
 
     /**
      * Default constructor.
@@ -57,51 +85,224 @@ public abstract class DefaultProcessExecutor implements ProcessExecutor {
     public DefaultProcessExecutor(final ProcessConfiguration processConfiguration) {
         //TODO Make it thread safe. Do not store processConfiguration, extract all necessary configuration properties
         this.processConfiguration = processConfiguration;
-        this.executorService = processConfiguration.getExecutor().isPresent() ? null : Executors.newCachedThreadPool(r -> {
-                final Thread thread = new Thread(r, "process-exec-" + (processConfiguration.getName().map(name -> name + "-" + executionId) .orElseGet(() -> String.valueOf(executionId))));
-                thread.setDaemon(true);
-                return thread;
-            });
+        final String threadName = "process-exec-" + processConfiguration.getName().map(name -> name + "-" + executionId).orElseGet(() -> String.valueOf(executionId));
+        sharedExecutor = task -> SharedExecutorHolder.INSTANCE.execute(() -> runNamed(threadName, task));
         processStdOut = new DefaultProcessOutput(
-                processConfiguration.getStandardOutputRedirects(),
+                newRedirects(ProcessThreadType.STDOUT_LISTENER, processConfiguration.getStandardOutputRedirects()),
+                processConfiguration.getStandardOutputChannel().orElse(null),
                 processConfiguration.getStdOutConsumer().orElse(null),
                 processConfiguration.getProcessInstanceConfiguration().flatMap(ProcessInstanceConfiguration::getStdOutConfiguration).orElse(null));
         processStdErr = new DefaultProcessOutput(
-                processConfiguration.getStandardErrorRedirects(),
+                newRedirects(ProcessThreadType.STDERR_LISTENER, processConfiguration.getStandardErrorRedirects()),
+                processConfiguration.getStandardErrorChannel().orElse(null),
                 processConfiguration.getStdErrConsumer().orElse(null),
                 processConfiguration.getProcessInstanceConfiguration().flatMap(ProcessInstanceConfiguration::getStdErrConfiguration).orElse(null));
+        final Duration batchLinger = processConfiguration.getBatchLinger().orElse(Duration.ZERO);
+        processConfiguration.getStdOutBatchConsumer().ifPresent(batchConsumer -> processStdOut.setBatchConsumer(batchConsumer, batchLinger));
+        processConfiguration.getStdErrBatchConsumer().ifPresent(batchConsumer -> processStdErr.setBatchConsumer(batchConsumer, batchLinger));
+    }
+
+    private Collection<OutputStream> newRedirects(final ProcessThreadType processThreadType, final Collection<OutputStream> outputStreams) {
+        final Optional<ProcessRedirectConfiguration> redirectConfiguration = processConfiguration.getRedirectConfiguration();
+        if (outputStreams.isEmpty() || redirectConfiguration.map(ProcessRedirectConfiguration::isSynchronous).orElse(false)) {
+            return outputStreams;
+        }
+        final int queueCapacity = redirectConfiguration.flatMap(ProcessRedirectConfiguration::getQueueCapacity).orElse(ProcessRedirectConfiguration.DEFAULT_QUEUE_CAPACITY);
+        final RedirectOverflowPolicy overflowPolicy = redirectConfiguration.flatMap(ProcessRedirectConfiguration::getOverflowPolicy).orElse(RedirectOverflowPolicy.BLOCK);
+        final Duration closeTimeout = redirectConfiguration.flatMap(ProcessRedirectConfiguration::getCloseTimeout).orElse(ProcessRedirectConfiguration.DEFAULT_CLOSE_TIMEOUT);
+        final List<OutputStream> redirects = new ArrayList<>(outputStreams.size());
+        for (final OutputStream outputStream: outputStreams) {
+            final AsyncRedirectOutputStream asyncRedirect = new AsyncRedirectOutputStream(processThreadType.getThreadName() + "#" + redirects.size(), outputStream, getExecutor(), queueCapacity, overflowPolicy, closeTimeout);
+            asyncRedirects.add(asyncRedirect);
+            redirects.add(asyncRedirect);
+        }
+        return redirects;
     }
 
     @Override
-    public synchronized InputStream getStdOutInputStream() {
-        if (stdOutPipedInputStream == null) {
-            stdOutPipedInputStream = new PipedInputStream();
-            stdOutPipedOutputStream = new PipedOutputStream();
-            try {
-                stdOutPipedOutputStream.connect(stdOutPipedInputStream);
-            } catch (final IOException ioException) {
-                throw new IllegalStateException("Fail to create piped input stream for process stdout", ioException);
-            }
+    public InteractiveProcessSession executeInteractive(final Object... commandAndArguments) {
+        if (processConfiguration.getStdIn().isPresent() || processConfiguration.getStdInChannel().isPresent() || processConfiguration.getStdInFile().isPresent()) {
+            throw new ProcessConfigurationException("The standard input of interactive process is written by the session, but other standard input is configured");
         }
-        return stdOutPipedInputStream;
+        interactiveStdIn = new CompletableFuture<>();
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(interactiveStdIn, processConfiguration.getProcessLoggerConfiguration()
+                .flatMap(ProcessLoggerConfiguration::getLoggerStdOutConfiguration)
+                .flatMap(ProcessOutputLoggerConfiguration::getCharset)
+                .orElse(StandardCharsets.UTF_8));
+        processStdOut.addOutputStream(session.getOutputSink());
+        final OperationSystemProcess process = execute(commandAndArguments);
+        session.setProcess(process);
+        final CompletableFuture<OutputStream> stdIn = interactiveStdIn;
+        process.whenComplete((processInstance, throwable) -> stdIn.completeExceptionally(new IOException("The process has been completed")));
+        return session;
+    }
+
+    /**
+     * Check if the process is executed by {@link #executeInteractive(Object...)}.
+     * @return Returns true if the process standard input is written by interactive session
+     */
+    protected boolean isInteractive() {
+        return interactiveStdIn != null;
+    }
+
+    /**
+     * Pass the process standard input to interactive session once the process is started.
+     * @param processStdIn process standard input
+     */
+    protected void connectInteractiveStandardInput(final OutputStream processStdIn) {
+        interactiveStdIn.complete(processStdIn);
     }
 
     @Override
-    public synchronized InputStream getStdErrInputStream() {
-        if (stdErrPipedInputStream == null) {
-            stdErrPipedInputStream = new PipedInputStream();
-            stdErrPipedOutputStream = new PipedOutputStream();
-            try {
-                stdErrPipedOutputStream.connect(stdErrPipedInputStream);
-            } catch (final IOException ioException) {
-                throw new IllegalStateException("Fail to create piped input stream for process stderr", ioException);
-            }
+    public Collection<RedirectMetrics> getRedirectMetrics() {
+        return Collections.unmodifiableList(asyncRedirects);
+    }
+
+    /**
+     * Get redirect overflow exception.
+     * Should be checked after process output listeners are closed.
+     * @return Returns the first redirect overflow exception if output has been dropped by {@link RedirectOverflowPolicy#FAIL} policy, {@link Optional#empty()} otherwise
+     */
+    protected Optional<RedirectOverflowException> getRedirectOverflowException() {
+        return asyncRedirects.stream().map(AsyncRedirectOutputStream::getOverflowException).filter(Optional::isPresent).map(Optional::get).findFirst();
+    }
+
+    @Override
+    public InputStream getStdOutInputStream() {
+        return getStdOutInputStream(RingBufferInputStream.DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public synchronized InputStream getStdOutInputStream(final int bufferSize) {
+        if (stdOutInputStream == null) {
+            stdOutInputStream = new RingBufferInputStream(bufferSize);
+            processStdOut.addOutputStream(stdOutInputStream.getOutputStream());
+        }
+        return stdOutInputStream;
+    }
+
+    @Override
+    public InputStream getStdErrInputStream() {
+        return getStdErrInputStream(RingBufferInputStream.DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public synchronized InputStream getStdErrInputStream(final int bufferSize) {
+        if (stdErrInputStream == null) {
+            stdErrInputStream = new RingBufferInputStream(bufferSize);
+            processStdErr.addOutputStream(stdErrInputStream.getOutputStream());
+        }
+        return stdErrInputStream;
+    }
+
+    @Override
+    public ProcessOutputLines getStdOutLines() {
+        return getStdOutLines(BlockingOutputLines.DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public synchronized ProcessOutputLines getStdOutLines(final int capacity) {
+        if (stdOutLines == null) {
+            stdOutLines = new BlockingOutputLines(capacity);
+            processStdOut.addOutputLines(stdOutLines);
+        }
+        return stdOutLines;
+    }
+
+    @Override
+    public ProcessOutputLines getStdErrLines() {
+        return getStdErrLines(BlockingOutputLines.DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public synchronized ProcessOutputLines getStdErrLines(final int capacity) {
+        if (stdErrLines == null) {
+            stdErrLines = new BlockingOutputLines(capacity);
+            processStdErr.addOutputLines(stdErrLines);
         }
-        return stdErrPipedInputStream;
+        return stdErrLines;
     }
 
+    /**
+     * Get executor for process blocking tasks (standard input writing, waiting for process and etc).
+     * @return Returns configured executor if set, otherwise process-wide shared executor
+     */
     protected Executor getExecutor() {
-        return processConfiguration.getExecutor().orElse(executorService);
+        return processConfiguration.getExecutor().orElse(sharedExecutor);
+    }
+
+    /**
+     * Run task of the process in a shared thread named after the process while the task is running.
+     */
+    private static void runNamed(final String threadName, final Runnable task) {
+        final Thread thread = Thread.currentThread();
+        final String sharedThreadName = thread.getName();
+        thread.setName(threadName);
+        try {
+            task.run();
+        } finally {
+            thread.setName(sharedThreadName);
+        }
+    }
+
+    /**
+     * Check if process output can be read by shared {@link ProcessOutputReactor}.
+     * The dedicated threads are used if java executor is configured or process thread initializer is set, because both require payload execution in process's own threads.
+     * The interactive process output is read by dedicated threads too, because the reactor polling adds latency to each response.
+     * The output passed to sinks which may block is read by dedicated threads as well, a blocked reactor thread would stall the output of other processes.
+     * @return Returns true if the process output should be read by reactor, false if by dedicated threads
+     */
+    protected boolean isOutputReactorApplicable() {
+        if (processConfiguration.getExecutor().isPresent() || isInteractive() || hasBlockingOutputSinks()) {
+            return false;
+        }
+        final Optional<ProcessLoggerConfiguration> processLoggerConfiguration = processConfiguration.getProcessLoggerConfiguration();
+        return !processLoggerConfiguration.flatMap(ProcessLoggerConfiguration::getLoggerStdOutConfiguration).flatMap(ProcessThreadLoggerConfiguration::getProcessThreadInitializer).isPresent()
+                && !processLoggerConfiguration.flatMap(ProcessLoggerConfiguration::getLoggerStdErrConfiguration).flatMap(ProcessThreadLoggerConfiguration::getProcessThreadInitializer).isPresent();
+    }
+
+    /**
+     * Check if the process output is passed to a sink which may block the reading thread.
+     * These are the streams and lines read by the client, the consumers, the synchronous redirects and the queued redirects with {@link RedirectOverflowPolicy#BLOCK} policy
+     * and the channels other than files.
+     */
+    private synchronized boolean hasBlockingOutputSinks() {
+        if (stdOutInputStream != null || stdErrInputStream != null || stdOutLines != null || stdErrLines != null) {
+            return true;
+        }
+        if (processConfiguration.getStdOutConsumer().isPresent() || processConfiguration.getStdErrConsumer().isPresent()
+                || processConfiguration.getStdOutBatchConsumer().isPresent() || processConfiguration.getStdErrBatchConsumer().isPresent()) {
+            return true;
+        }
+        if (isBlockingChannel(processConfiguration.getStandardOutputChannel()) || isBlockingChannel(processConfiguration.getStandardErrorChannel())) {
+            return true;
+        }
+        if (processConfiguration.getStandardOutputRedirects().isEmpty() && processConfiguration.getStandardErrorRedirects().isEmpty()) {
+            return false;
+        }
+        final Optional<ProcessRedirectConfiguration> redirectConfiguration = processConfiguration.getRedirectConfiguration();
+        return redirectConfiguration.map(ProcessRedirectConfiguration::isSynchronous).orElse(false)
+                || redirectConfiguration.flatMap(ProcessRedirectConfiguration::getOverflowPolicy).orElse(RedirectOverflowPolicy.BLOCK) == RedirectOverflowPolicy.BLOCK;
+    }
+
+    private static boolean isBlockingChannel(final Optional<WritableByteChannel> channel) {
+        return channel.isPresent() && !(channel.get() instanceof FileChannel);
+    }
+
+    /**
+     * Mark the start of the process execution.
+     * The output of the executor (process instance output, streams, lines and redirects) belongs to one process,
+     * so the executor executes a single process, a new executor is built for every execution.
+     * @throws IllegalStateException if the executor has already executed a process
+     */
+    protected void startExecution() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("The executor has already executed a process, build a new executor for the next execution");
+        }
+    }
+
+    protected ProcessOutputReactor getOutputReactor() {
+        return ProcessOutputReactor.getDefault();
     }
 
     protected Optional<Logger> getLogger() {
@@ -116,6 +317,14 @@ public abstract class DefaultProcessExecutor implements ProcessExecutor {
         return processConfiguration.getStdIn();
     }
 
+    protected Optional<Path> getStdInFile() {
+        return processConfiguration.getStdInFile();
+    }
+
+    protected Optional<ReadableByteChannel> getStdInChannel() {
+        return processConfiguration.getStdInChannel();
+    }
+
     protected Map<String, String> getEnvVariables() {
         return processConfiguration.getEnvVariables();
     }
@@ -132,6 +341,14 @@ public abstract class DefaultProcessExecutor implements ProcessExecutor {
         return processConfiguration.getProcessDestroyerHandler().orElse(null);
     }
 
+    protected Optional<Path> getStandardOutputFile() {
+        return processConfiguration.getStandardOutputFile();
+    }
+
+    protected Optional<Path> getStandardErrorFile() {
+        return processConfiguration.getStandardErrorFile();
+    }
+
     protected Optional<ProcessDryRunConfiguration> getDryRunConfiguration() {
         return processConfiguration.getDryRunConfiguration();
     }
@@ -233,15 +450,85 @@ public abstract class DefaultProcessExecutor implements ProcessExecutor {
         return processStdErr;
     }
 
+    /**
+     * Create process instance from the captured process output.
+     * @param exitCode process exit code
+     * @return Returns process instance
+     */
+    protected DefaultProcessInstance newProcessInstance(final int exitCode) {
+        return new DefaultProcessInstance(exitCode, processStdOut, processStdErr, processConfiguration.getProcessInstanceConfiguration().orElse(null));
+    }
+
+    /**
+     * Release the captured process output which is not passed to process instance, e.g. delete spill files of failed process.
+     */
+    protected void releaseOutput() {
+        processStdOut.release();
+        processStdErr.release();
+    }
+
     protected void close() {
         processConfiguration.getStdIn().ifPresent(this::closeResource);
-        closeResource(stdErrPipedOutputStream);
-        closeResource(stdErrPipedInputStream);
-        closeResource(stdOutPipedOutputStream);
-        closeResource(stdOutPipedInputStream);
-        if (executorService != null) {
-            executorService.shutdown();
+        // Only the writing ends are closed, the rest of output is still available to the reader
+        if (stdErrInputStream != null) {
+            closeResource(stdErrInputStream.getOutputStream());
         }
+        if (stdOutInputStream != null) {
+            closeResource(stdOutInputStream.getOutputStream());
+        }
+    }
+
+    /**
+     * Copy standard input stream to the process standard input.
+     * @param stdIn standard input stream
+     * @param processStdIn process standard input, it isn't closed
+     * @return Returns number of copied bytes
+     * @throws IOException on read or write error
+     * @see #copyStandardInput(ReadableByteChannel, OutputStream)
+     */
+    protected long copyStandardInput(final InputStream stdIn, final OutputStream processStdIn) throws IOException {
+        return copyStandardInput(buffer -> {
+            final int len = stdIn.read(buffer.array(), buffer.position(), buffer.remaining());
+            if (len > 0) {
+                buffer.position(buffer.position() + len);
+            }
+            return len;
+        }, processStdIn);
+    }
+
+    /**
+     * Copy standard input channel to the process standard input.
+     * The data is copied with one reusable buffer. The process standard input is flushed only when the source has not filled the buffer,
+     * i.e. when the source is likely to wait for more data.
+     * The channel must be in blocking mode, the read of a non-blocking channel returns immediately and the copying would spin.
+     * @param stdIn standard input channel
+     * @param processStdIn process standard input, it isn't closed
+     * @return Returns number of copied bytes
+     * @throws IOException on read or write error, or if the channel has been switched to non-blocking mode
+     */
+    protected long copyStandardInput(final ReadableByteChannel stdIn, final OutputStream processStdIn) throws IOException {
+        if (stdIn instanceof SelectableChannel && !((SelectableChannel) stdIn).isBlocking()) {
+            throw new IOException("The standard input channel must be in blocking mode");
+        }
+        return copyStandardInput(stdIn::read, processStdIn);
+    }
+
+    private long copyStandardInput(final StandardInputSource stdIn, final OutputStream processStdIn) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(STDIN_BUFFER_SIZE);
+        long copied = 0;
+        while (stdIn.read(buffer) != -1) {
+            if (buffer.position() == 0) {
+                continue;
+            }
+            processStdIn.write(buffer.array(), 0, buffer.position());
+            copied += buffer.position();
+            if (buffer.hasRemaining()) {
+                processStdIn.flush();
+            }
+            buffer.clear();
+        }
+        processStdIn.flush();
+        return copied;
     }
 
     protected void closeResource(final Closeable stream) {
@@ -254,4 +541,36 @@ public abstract class DefaultProcessExecutor implements ProcessExecutor {
             getLogger().orElse(LOGGER).warn("An error on closing piped stream", exception);
         }
     }
+
+    /**
+     * Source of process standard input.
+     */
+    @FunctionalInterface
+    private interface StandardInputSource {
+        /**
+         * Read the next part of the input into the buffer.
+         * @param buffer buffer to read into
+         * @return Returns number of read bytes or -1 at the end of the input
+         * @throws IOException on read error
+         */
+        int read(ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * Threads shared by process tasks, the tasks are named after their processes while running.
+     * The pool isn't bounded: the tasks block for the process life (waiting for the process, writing standard input, writing redirect queues)
+     * and tasks of the same process wait for each other, so a bounded pool would deadlock once all threads wait for the queued tasks.
+     * The threads are not pinned to processes, idle threads are reused by the next processes and stopped after one minute.
+     */
+    private static final class SharedExecutorHolder {
+        private static final AtomicLong THREAD_COUNTER = new AtomicLong(0L);
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "process-exec-shared-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private SharedExecutorHolder() {
+        }
+    }
 }
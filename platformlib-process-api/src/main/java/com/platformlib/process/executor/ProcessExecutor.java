@@ -1,8 +1,12 @@
 package com.platformlib.process.executor;
 
+import com.platformlib.process.api.InteractiveProcessSession;
 import com.platformlib.process.api.OperationSystemProcess;
+import com.platformlib.process.api.ProcessOutputLines;
+import com.platformlib.process.api.RedirectMetrics;
 
 import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * OS process executor.
@@ -10,21 +14,85 @@ import java.io.InputStream;
 public interface ProcessExecutor {
     /**
      * Get process standard output stream.
+     * The stream should be requested before process execution and read until the end, the process output processing waits while the stream buffer is full.
      * @return Returns {@link InputStream} provides process standard output
      */
     InputStream getStdOutInputStream();
 
+    /**
+     * Get process standard output stream with given buffer size.
+     * The buffer size is applied only if the stream is requested the first time.
+     * @param bufferSize stream buffer size in bytes
+     * @return Returns {@link InputStream} provides process standard output
+     */
+    InputStream getStdOutInputStream(int bufferSize);
+
     /**
      * Get process standard error stream.
+     * The stream should be requested before process execution and read until the end, the process output processing waits while the stream buffer is full.
      * @return Returns {@link InputStream} provides process standard error
      */
     InputStream getStdErrInputStream();
 
+    /**
+     * Get process standard error stream with given buffer size.
+     * The buffer size is applied only if the stream is requested the first time.
+     * @param bufferSize stream buffer size in bytes
+     * @return Returns {@link InputStream} provides process standard error
+     */
+    InputStream getStdErrInputStream(int bufferSize);
+
+    /**
+     * Get process standard output lines which are available while the process is running.
+     * The lines should be requested before process execution and read until the end or closed, the process output processing waits while the lines buffer is full.
+     * @return Returns {@link ProcessOutputLines} provides process standard output lines
+     */
+    ProcessOutputLines getStdOutLines();
+
+    /**
+     * Get process standard output lines with given buffer capacity.
+     * The capacity is applied only if the lines are requested the first time.
+     * @param capacity max number of buffered lines
+     * @return Returns {@link ProcessOutputLines} provides process standard output lines
+     */
+    ProcessOutputLines getStdOutLines(int capacity);
+
+    /**
+     * Get process standard error lines which are available while the process is running.
+     * The lines should be requested before process execution and read until the end or closed, the process output processing waits while the lines buffer is full.
+     * @return Returns {@link ProcessOutputLines} provides process standard error lines
+     */
+    ProcessOutputLines getStdErrLines();
+
+    /**
+     * Get process standard error lines with given buffer capacity.
+     * The capacity is applied only if the lines are requested the first time.
+     * @param capacity max number of buffered lines
+     * @return Returns {@link ProcessOutputLines} provides process standard error lines
+     */
+    ProcessOutputLines getStdErrLines(int capacity);
+
+    /**
+     * Get metrics of asynchronous redirects of process standard output and error.
+     * @return Returns redirect metrics, empty collection if there are no redirect streams or they are written synchronously
+     */
+    Collection<RedirectMetrics> getRedirectMetrics();
+
     /**
      * Execute command with arguments asynchronously.
      * If the command is already specified in process configuration then command arguments will be extended with given parameters.
+     * The executor executes a single process, the concurrent and next executions are run by new executors of the same builder.
      * @param commandAndArguments command and arguments
      * @return Started OS process
+     * @throws IllegalStateException if the executor has already executed a process
      */
     OperationSystemProcess execute(Object... commandAndArguments);
+
+    /**
+     * Execute command with arguments asynchronously and interact with it.
+     * The process standard input is written by the returned session, so no other standard input can be configured.
+     * @param commandAndArguments command and arguments
+     * @return Returns interactive session with the started OS process
+     */
+    InteractiveProcessSession executeInteractive(Object... commandAndArguments);
 }
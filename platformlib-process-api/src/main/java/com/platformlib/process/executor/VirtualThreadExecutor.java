@@ -0,0 +1,58 @@
+package com.platformlib.process.executor;
+
+import com.platformlib.process.exception.ProcessConfigurationException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor which runs each task in new virtual thread.
+ * Virtual threads are available since JDK 21, the library is compiled for java 8 so JDK API is bound via reflection.
+ */
+public final class VirtualThreadExecutor implements Executor {
+    private static final String THREAD_NAME_PREFIX = "process-virtual-";
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+    private static final VirtualThreadExecutor INSTANCE = VIRTUAL_THREAD_FACTORY == null ? null : new VirtualThreadExecutor();
+
+    private VirtualThreadExecutor() {
+    }
+
+    /**
+     * Check if current JVM supports virtual threads.
+     * @return Returns true if virtual threads are supported, false otherwise
+     */
+    public static boolean isAvailable() {
+        return INSTANCE != null;
+    }
+
+    /**
+     * Get virtual thread executor.
+     * @return Returns virtual thread executor
+     * @throws ProcessConfigurationException if virtual threads are not supported by current JVM
+     */
+    public static VirtualThreadExecutor getInstance() {
+        if (INSTANCE == null) {
+            throw new ProcessConfigurationException("Virtual threads are not supported by current JVM " + System.getProperty("java.version") + ", JDK 21 or later is required");
+        }
+        return INSTANCE;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        VIRTUAL_THREAD_FACTORY.newThread(command).start();
+    }
+
+    @SuppressWarnings("PMD.OnlyOneReturn")
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            final Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            threadBuilderClass.getMethod("name", String.class, long.class).invoke(threadBuilder, THREAD_NAME_PREFIX, 0L);
+            return (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(threadBuilder);
+        } catch (final NoSuchMethodException | ClassNotFoundException | IllegalAccessException | InvocationTargetException | ClassCastException exception) {
+            // No virtual threads (before JDK 21) or they are in preview and preview features are disabled
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.platformlib.process.pool;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Protocol where each request is followed by the request delimiter and the response is the output up to the response delimiter.
+ * The request must not contain the request delimiter and the response must not contain the response delimiter.
+ */
+public class DelimitedProcessWorkerProtocol implements ProcessWorkerProtocol {
+    private final String requestDelimiter;
+    private final Pattern responseDelimiter;
+    private final Pattern readyPattern;
+
+    /**
+     * Constructor.
+     * @param requestDelimiter text written after each request
+     * @param responseDelimiter pattern of the output which ends each response
+     * @param readyPattern pattern of the output which the worker prints once it is ready, null if the worker is ready once started
+     */
+    public DelimitedProcessWorkerProtocol(final String requestDelimiter, final Pattern responseDelimiter, final Pattern readyPattern) {
+        this.requestDelimiter = Objects.requireNonNull(requestDelimiter);
+        this.responseDelimiter = Objects.requireNonNull(responseDelimiter);
+        this.readyPattern = readyPattern;
+    }
+
+    public String getRequestDelimiter() {
+        return requestDelimiter;
+    }
+
+    public Pattern getResponseDelimiter() {
+        return responseDelimiter;
+    }
+
+    public Optional<Pattern> getReadyPattern() {
+        return Optional.ofNullable(readyPattern);
+    }
+
+    @Override
+    public void awaitReady(final InteractiveProcessSession session, final Duration timeout) throws IOException, TimeoutException {
+        if (readyPattern != null) {
+            session.awaitPattern(readyPattern, timeout);
+        }
+    }
+
+    @Override
+    public void writeRequest(final InteractiveProcessSession session, final String request) throws IOException {
+        session.write(request).write(requestDelimiter);
+    }
+
+    @Override
+    public String readResponse(final InteractiveProcessSession session, final Duration timeout) throws IOException, TimeoutException {
+        return session.awaitPattern(responseDelimiter, timeout).getPrecedingOutput();
+    }
+}
@@ -0,0 +1,386 @@
+package com.platformlib.process.pool;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+import com.platformlib.process.builder.ProcessBuilder;
+import com.platformlib.process.configuration.pool.ProcessPoolConfiguration;
+import com.platformlib.process.exception.ProcessWorkerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of pre-started worker processes which serve requests over their standard input and output.
+ * The workers of a process configuration are registered by {@link #prestart(ProcessBuilder)}, the requests are sent through the returned {@link ProcessWorkers}.
+ * A request is written to an idle worker and its response is read by the configured {@link ProcessWorkerProtocol}, so the worker startup is paid once per worker instead of once per request.
+ * The workers are recycled after the configured number of requests, the crashed and not responding workers are stopped and replaced,
+ * the request which was being processed by a crashed worker fails and isn't retried.
+ * The workers which are idle longer than the idle timeout are stopped, the registered configuration without workers is removed from the pool then,
+ * so neither idle processes nor the abandoned registrations are kept forever.
+ * A worker should exit at the end of its standard input, that is how the recycled and idle workers are stopped.
+ */
+public class ProcessPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessPool.class);
+    private final ProcessPoolConfiguration configuration;
+    private final Set<Workers> registeredWorkers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService starter;
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    /**
+     * Create pool with default configuration.
+     */
+    public ProcessPool() {
+        this(new ProcessPoolConfiguration());
+    }
+
+    /**
+     * Constructor.
+     * @param configuration pool configuration
+     */
+    public ProcessPool(final ProcessPoolConfiguration configuration) {
+        this.configuration = configuration;
+        starter = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "process-pool-worker-starter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "process-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The idle workers are stopped within 1.5 of idle timeout
+        final long evictionPeriodNanos = Math.max(1L, configuration.getIdleTimeout().toNanos() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleWorkers, evictionPeriodNanos, evictionPeriodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register workers of the process configuration and start warm workers in background, so the first requests don't wait for the workers startup.
+     * Every call registers new workers, so the returned instance should be kept and used for all requests to the configuration.
+     * The process builder builds the worker processes, it shouldn't be changed after the registration.
+     * @param processBuilder process configuration of workers
+     * @return Returns the workers to send requests to
+     * @throws IllegalStateException if the pool is closed
+     */
+    public ProcessWorkers prestart(final ProcessBuilder processBuilder) {
+        final Workers workers = new Workers(processBuilder);
+        workers.register();
+        workers.replenish();
+        return workers;
+    }
+
+    private void evictIdleWorkers() {
+        try {
+            registeredWorkers.forEach(Workers::evictIdle);
+        } catch (final RuntimeException runtimeException) {
+            LOGGER.warn("Fail to stop idle worker processes", runtimeException);
+        }
+    }
+
+    /**
+     * Stop idle workers and stop pooling, the busy workers are stopped once they respond.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdown();
+        starter.shutdown();
+        registeredWorkers.forEach(Workers::close);
+    }
+
+    private final class Workers implements ProcessWorkers {
+        private final ProcessBuilder processBuilder;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        // Most recently used workers are reused first, they are warmed up better, the least recently used ones are evicted
+        private final Deque<ProcessWorker> idle = new ArrayDeque<>();
+        private int count;
+        private boolean registered;
+        private long lastUseNanoTime = System.nanoTime();
+
+        private Workers(final ProcessBuilder processBuilder) {
+            this.processBuilder = processBuilder;
+        }
+
+        @Override
+        public String request(final String request) {
+            final ProcessWorker worker = take();
+            boolean reusable = false;
+            try {
+                final ProcessWorkerProtocol protocol = configuration.getProtocol();
+                protocol.writeRequest(worker.session, request);
+                worker.session.flush();
+                final String response = protocol.readResponse(worker.session, configuration.getRequestTimeout());
+                worker.requests++;
+                reusable = worker.requests < configuration.getMaxRequestsPerWorker() && worker.isAlive();
+                return response;
+            } catch (final IOException ioException) {
+                throw new ProcessWorkerException("The worker process has been stopped before the response", ioException);
+            } catch (final TimeoutException timeoutException) {
+                worker.kill();
+                throw new ProcessWorkerException("The worker process hasn't responded in " + configuration.getRequestTimeout().toMillis() + " ms", timeoutException);
+            } finally {
+                release(worker, reusable);
+            }
+        }
+
+        /**
+         * Register the workers in the pool, so they are evicted and closed with the pool.
+         * @return Returns true if the workers have been evicted from the pool and are registered again
+         */
+        private boolean register() {
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("The process pool is closed");
+                }
+                lastUseNanoTime = System.nanoTime();
+                if (registered) {
+                    return false;
+                }
+                registered = true;
+                registeredWorkers.add(this);
+            } finally {
+                lock.unlock();
+            }
+            // The pool is closed concurrently, it may have missed the workers
+            if (closed) {
+                close();
+                throw new IllegalStateException("The process pool is closed");
+            }
+            return true;
+        }
+
+        private ProcessWorker take() {
+            if (register()) {
+                LOGGER.debug("The evicted worker processes are used again, start warm workers");
+                replenish();
+            }
+            final long deadline = System.nanoTime() + configuration.getAcquireTimeout().toNanos();
+            final List<ProcessWorker> crashed = new ArrayList<>();
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new IllegalStateException("The process pool is closed");
+                    }
+                    final ProcessWorker worker = idle.pollFirst();
+                    if (worker != null) {
+                        if (worker.isAlive()) {
+                            return worker;
+                        }
+                        count--;
+                        crashed.add(worker);
+                    } else if (count < configuration.getMaxWorkers()) {
+                        count++;
+                        break;
+                    } else {
+                        final long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw new ProcessWorkerException("No worker process is available in " + configuration.getAcquireTimeout().toMillis() + " ms");
+                        }
+                        released.awaitNanos(remaining);
+                    }
+                }
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new ProcessWorkerException("Waiting for a worker process has been interrupted", interruptedException);
+            } finally {
+                lock.unlock();
+                if (!crashed.isEmpty()) {
+                    LOGGER.debug("{} idle worker process(es) have crashed, replace them", crashed.size());
+                    crashed.forEach(ProcessWorker::stop);
+                    replenish();
+                }
+            }
+            try {
+                return startWorker();
+            } catch (final RuntimeException runtimeException) {
+                remove();
+                throw runtimeException;
+            }
+        }
+
+        private void release(final ProcessWorker worker, final boolean reusable) {
+            lock.lock();
+            try {
+                if (reusable && !closed) {
+                    worker.releaseNanoTime = System.nanoTime();
+                    idle.offerFirst(worker);
+                    released.signal();
+                    return;
+                }
+                count--;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+            LOGGER.debug("Stop the worker process after {} request(s)", worker.requests);
+            worker.stop();
+            replenish();
+        }
+
+        private void remove() {
+            lock.lock();
+            try {
+                count--;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Start workers in background up to the warm workers number.
+         * The worker which fails to start isn't restarted, the next worker is started by the next request then.
+         */
+        private void replenish() {
+            final int warmWorkers = Math.min(configuration.getWarmWorkers(), configuration.getMaxWorkers());
+            while (true) {
+                lock.lock();
+                try {
+                    if (closed || count >= warmWorkers) {
+                        return;
+                    }
+                    count++;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    starter.execute(() -> {
+                        try {
+                            release(startWorker(), true);
+                        } catch (final RuntimeException runtimeException) {
+                            LOGGER.warn("Fail to start warm worker process", runtimeException);
+                            remove();
+                        }
+                    });
+                } catch (final RejectedExecutionException rejectedExecutionException) {
+                    // The pool has been closed concurrently
+                    remove();
+                    return;
+                }
+            }
+        }
+
+        private ProcessWorker startWorker() {
+            final InteractiveProcessSession session = processBuilder.build().executeInteractive();
+            final ProcessWorker worker = new ProcessWorker(session);
+            try {
+                configuration.getProtocol().awaitReady(session, configuration.getStartTimeout());
+            } catch (final IOException ioException) {
+                worker.kill();
+                throw new ProcessWorkerException("The worker process has been stopped before it got ready", ioException);
+            } catch (final TimeoutException timeoutException) {
+                worker.kill();
+                throw new ProcessWorkerException("The worker process hasn't got ready in " + configuration.getStartTimeout().toMillis() + " ms", timeoutException);
+            }
+            return worker;
+        }
+
+        /**
+         * Stop the workers which are idle longer than idle timeout.
+         * Once no worker is left and no request has been sent for idle timeout, the registration is removed from the pool, it is registered again on the next request.
+         */
+        private void evictIdle() {
+            final long idleTimeoutNanos = configuration.getIdleTimeout().toNanos();
+            final long now = System.nanoTime();
+            final List<ProcessWorker> expired = new ArrayList<>();
+            lock.lock();
+            try {
+                while (!idle.isEmpty() && now - idle.peekLast().releaseNanoTime >= idleTimeoutNanos) {
+                    expired.add(idle.pollLast());
+                    count--;
+                }
+                if (count == 0 && now - lastUseNanoTime >= idleTimeoutNanos) {
+                    registered = false;
+                    registeredWorkers.remove(this);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (!expired.isEmpty()) {
+                LOGGER.debug("Stop {} worker process(es) idle for {} ms", expired.size(), configuration.getIdleTimeout().toMillis());
+                expired.forEach(ProcessWorker::stop);
+            }
+        }
+
+        @Override
+        public int getWorkers() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int getIdleWorkers() {
+            lock.lock();
+            try {
+                return idle.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            final List<ProcessWorker> workers;
+            lock.lock();
+            try {
+                workers = new ArrayList<>(idle);
+                count -= idle.size();
+                idle.clear();
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            workers.forEach(ProcessWorker::stop);
+        }
+    }
+
+    private static final class ProcessWorker {
+        private final InteractiveProcessSession session;
+        private long requests;
+        private long releaseNanoTime;
+
+        private ProcessWorker(final InteractiveProcessSession session) {
+            this.session = session;
+        }
+
+        private boolean isAlive() {
+            return !session.getProcess().toCompletableFuture().isDone();
+        }
+
+        /**
+         * Close the worker standard input, so the worker exits once it reads all requests.
+         */
+        private void stop() {
+            try {
+                session.close();
+            } catch (final IOException ioException) {
+                LOGGER.debug("Fail to close the worker process standard input", ioException);
+            }
+        }
+
+        private void kill() {
+            session.getProcess().toCompletableFuture().cancel(true);
+        }
+    }
+}
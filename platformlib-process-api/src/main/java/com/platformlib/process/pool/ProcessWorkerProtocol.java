@@ -0,0 +1,41 @@
+package com.platformlib.process.pool;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Framing of requests and responses exchanged with a pooled worker process over its standard input and output.
+ */
+public interface ProcessWorkerProtocol {
+    /**
+     * Wait until the started worker is ready to accept requests, e.g. for its prompt.
+     * The worker is ready once started by default.
+     * @param session session with the started worker
+     * @param timeout max time to wait
+     * @throws IOException if the worker has been stopped
+     * @throws TimeoutException if the worker isn't ready in time
+     */
+    default void awaitReady(InteractiveProcessSession session, Duration timeout) throws IOException, TimeoutException {
+    }
+
+    /**
+     * Write request to the worker, the session is flushed by the pool afterwards.
+     * @param session session with the worker
+     * @param request request to write
+     * @throws IOException if the worker has been stopped
+     */
+    void writeRequest(InteractiveProcessSession session, String request) throws IOException;
+
+    /**
+     * Read the response to the written request.
+     * @param session session with the worker
+     * @param timeout max time to wait for the response
+     * @return Returns the response
+     * @throws IOException if the worker has been stopped before the response
+     * @throws TimeoutException if there is no response in time
+     */
+    String readResponse(InteractiveProcessSession session, Duration timeout) throws IOException, TimeoutException;
+}
@@ -0,0 +1,40 @@
+package com.platformlib.process.pool;
+
+import java.util.regex.Pattern;
+
+/**
+ * Factory of worker protocols.
+ */
+public final class ProcessWorkerProtocols {
+    private static final Pattern LINE_END = Pattern.compile("\r?\n");
+
+    private ProcessWorkerProtocols() {
+    }
+
+    /**
+     * Protocol of one line requests and one line responses.
+     * @return Returns line delimited protocol
+     */
+    public static ProcessWorkerProtocol lines() {
+        return new DelimitedProcessWorkerProtocol("\n", LINE_END, null);
+    }
+
+    /**
+     * Protocol of one line requests and one line responses, the worker prints the ready pattern once it is started.
+     * @param readyPattern pattern of the output which the worker prints once it is ready
+     * @return Returns line delimited protocol
+     */
+    public static ProcessWorkerProtocol lines(final Pattern readyPattern) {
+        return new DelimitedProcessWorkerProtocol("\n", LINE_END, readyPattern);
+    }
+
+    /**
+     * Protocol of multi-line requests and responses ended by delimiters, e.g. an empty line or a prompt.
+     * @param requestDelimiter text written after each request
+     * @param responseDelimiter text which ends each response
+     * @return Returns delimited protocol
+     */
+    public static ProcessWorkerProtocol delimited(final String requestDelimiter, final String responseDelimiter) {
+        return new DelimitedProcessWorkerProtocol(requestDelimiter, Pattern.compile(Pattern.quote(responseDelimiter)), null);
+    }
+}
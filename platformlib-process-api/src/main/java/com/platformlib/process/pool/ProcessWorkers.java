@@ -0,0 +1,32 @@
+package com.platformlib.process.pool;
+
+import com.platformlib.process.exception.ProcessWorkerException;
+
+/**
+ * Pooled worker processes of one process configuration.
+ * The workers are registered in the pool by {@link ProcessPool#prestart(com.platformlib.process.builder.ProcessBuilder)},
+ * the requests to the same configuration are sent through the same instance, so they are served by the same workers.
+ */
+public interface ProcessWorkers {
+    /**
+     * Send request to an idle worker and wait for its response.
+     * A new worker is started if all workers are busy and the max workers limit allows, otherwise the call waits for an idle worker up to acquire timeout.
+     * @param request request to send
+     * @return Returns the response of the worker
+     * @throws ProcessWorkerException if no worker is available in time, the worker has been stopped or hasn't responded in time
+     * @throws IllegalStateException if the pool is closed
+     */
+    String request(String request);
+
+    /**
+     * Get number of workers.
+     * @return Returns number of started and starting workers
+     */
+    int getWorkers();
+
+    /**
+     * Get number of idle workers.
+     * @return Returns number of started workers which don't process requests
+     */
+    int getIdleWorkers();
+}
@@ -0,0 +1,180 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Timeout(value = 1, unit = TimeUnit.MINUTES)
+class AsyncRedirectOutputStreamTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BlockedOutputStream target = new BlockedOutputStream();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSlowTargetDoesNotBlockWriter() throws Exception {
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", target, executor, 10, RedirectOverflowPolicy.BLOCK);
+        redirect.write(bytes("abc"));
+        redirect.write(bytes("def"));
+        target.awaitWriting();
+        assertThat(redirect.getQueuedBytes()).isEqualTo(6);
+        assertThat(redirect.getMaxQueuedBytes()).isEqualTo(6);
+        assertThat(redirect.getLag()).isGreaterThan(Duration.ZERO);
+        target.release();
+        redirect.close();
+        assertThat(target.toString()).isEqualTo("abcdef");
+        assertThat(redirect.getWrittenBytes()).isEqualTo(6);
+        assertThat(redirect.getQueuedBytes()).isZero();
+        assertThat(redirect.getLag()).isEqualTo(Duration.ZERO);
+        assertThat(target.closed).isTrue();
+    }
+
+    @Test
+    void testBlockPolicy() throws Exception {
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", target, executor, 4, RedirectOverflowPolicy.BLOCK);
+        redirect.write(bytes("abc"));
+        target.awaitWriting();
+        final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                redirect.write(bytes("def"));
+            } catch (final IOException ioException) {
+                throw new IllegalStateException(ioException);
+            }
+        });
+        assertThat(writer).isNotDone();
+        target.release();
+        writer.get(10, TimeUnit.SECONDS);
+        redirect.close();
+        assertThat(target.toString()).isEqualTo("abcdef");
+        assertThat(redirect.getDroppedBytes()).isZero();
+    }
+
+    @Test
+    void testDropOldestPolicy() throws Exception {
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", target, executor, 6, RedirectOverflowPolicy.DROP_OLDEST);
+        redirect.write(bytes("ab"));
+        target.awaitWriting();
+        redirect.write(bytes("cd"));
+        redirect.write(bytes("ef"));
+        redirect.write(bytes("gh"));
+        target.release();
+        redirect.close();
+        assertThat(target.toString()).isEqualTo("abefgh");
+        assertThat(redirect.getDroppedBytes()).isEqualTo(2);
+        assertThat(redirect.getOverflowException()).isEmpty();
+    }
+
+    @Test
+    void testDropOldestPolicyDoesNotExceedCapacity() throws Exception {
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", target, executor, 4, RedirectOverflowPolicy.DROP_OLDEST);
+        redirect.write(bytes("ab"));
+        target.awaitWriting();
+        redirect.write(bytes("cdefgh"));
+        assertThat(redirect.getQueuedBytes()).isEqualTo(4);
+        target.release();
+        redirect.close();
+        assertThat(target.toString()).isEqualTo("abgh");
+        assertThat(redirect.getMaxQueuedBytes()).isEqualTo(4);
+        assertThat(redirect.getDroppedBytes()).isEqualTo(4);
+    }
+
+    @Test
+    void testFailPolicy() throws Exception {
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", target, executor, 4, RedirectOverflowPolicy.FAIL);
+        redirect.write(bytes("ab"));
+        target.awaitWriting();
+        redirect.write(bytes("cd"));
+        redirect.write(bytes("ef"));
+        redirect.write(bytes("gh"));
+        target.release();
+        redirect.close();
+        assertThat(target.toString()).isEqualTo("ab");
+        assertThat(redirect.getDroppedBytes()).isEqualTo(6);
+        assertThat(redirect.getOverflowException()).isPresent();
+    }
+
+    @Test
+    void testTargetFailureDropsOutput() throws Exception {
+        final OutputStream failedTarget = new OutputStream() {
+            @Override
+            public void write(final int value) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", failedTarget, executor, 4, RedirectOverflowPolicy.BLOCK);
+        for (int i = 0; i < 10; i++) {
+            redirect.write(bytes("abc"));
+        }
+        redirect.close();
+        assertThat(redirect.getWrittenBytes()).isZero();
+        assertThat(redirect.getDroppedBytes()).isEqualTo(30);
+    }
+
+    @Test
+    void testCloseTimeoutDropsNotDrainedOutput() throws Exception {
+        final AsyncRedirectOutputStream redirect = new AsyncRedirectOutputStream("test", target, executor, 10, RedirectOverflowPolicy.BLOCK, Duration.ofMillis(100));
+        redirect.write(bytes("ab"));
+        target.awaitWriting();
+        redirect.write(bytes("cd"));
+        redirect.write(bytes("ef"));
+        redirect.close();
+        assertThat(redirect.getDroppedBytes()).isEqualTo(4);
+        assertThat(redirect.getQueuedBytes()).isEqualTo(2);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!target.closed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(target.closed).isTrue();
+        target.release();
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes();
+    }
+
+    private static final class BlockedOutputStream extends ByteArrayOutputStream {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        @Override
+        public synchronized void write(final byte[] bytes, final int offset, final int length) {
+            writing.countDown();
+            try {
+                released.await();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        void awaitWriting() throws InterruptedException {
+            writing.await();
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+}
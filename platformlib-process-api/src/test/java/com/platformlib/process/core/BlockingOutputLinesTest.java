@@ -0,0 +1,60 @@
+package com.platformlib.process.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockingOutputLinesTest {
+
+    @Test
+    void testLinesAreStreamedWithBackpressure() {
+        final BlockingOutputLines lines = new BlockingOutputLines(4);
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            IntStream.range(0, 10_000).mapToObj(Integer::toString).forEach(lines);
+            lines.complete();
+        });
+        assertThat(lines.stream()).containsExactlyElementsOf(IntStream.range(0, 10_000).mapToObj(Integer::toString).collect(Collectors.toList()));
+        producer.join();
+    }
+
+    @Test
+    void testProducerWaitsWhileFull() throws Exception {
+        final BlockingOutputLines lines = new BlockingOutputLines(1);
+        lines.accept("0");
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> lines.accept("1"));
+        assertThatThrownBy(() -> producer.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(lines.iterator().next()).isEqualTo("0");
+        producer.get(10, TimeUnit.SECONDS);
+        lines.complete();
+        assertThat(lines).containsExactly("1");
+    }
+
+    @Test
+    void testCloseReleasesProducer() throws Exception {
+        final BlockingOutputLines lines = new BlockingOutputLines(1);
+        lines.accept("0");
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> lines.accept("1"));
+        lines.close();
+        producer.get(10, TimeUnit.SECONDS);
+        lines.accept("2");
+        assertThat(lines.iterator().hasNext()).isFalse();
+    }
+
+    @Test
+    void testCompletedLinesAreAvailable() {
+        final BlockingOutputLines lines = new BlockingOutputLines();
+        lines.accept("0");
+        lines.accept("1");
+        lines.complete();
+        lines.accept("2");
+        assertThat(lines.stream()).containsExactly("0", "1");
+        assertThat(lines.stream()).isEmpty();
+    }
+}
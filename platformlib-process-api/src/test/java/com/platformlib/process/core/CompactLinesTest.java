@@ -0,0 +1,43 @@
+package com.platformlib.process.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactLinesTest {
+
+    @Test
+    void testLines() {
+        final List<String> lines = Arrays.asList("", "ascii", "кириллица", "日本語", "emoji 😀", "");
+        final List<String> compactLines = CompactLines.of(lines);
+        assertThat(compactLines).isInstanceOf(CompactLines.class).containsExactlyElementsOf(lines);
+        assertThat(compactLines.stream().collect(Collectors.joining("|"))).isEqualTo(String.join("|", lines));
+        assertThat(((CompactLines) compactLines).getBufferSize()).isEqualTo(String.join("", lines).getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void testUnpairedSurrogateIsReplaced() {
+        assertThat(CompactLines.of(Collections.singletonList("a\uD83Db"))).containsExactly("a?b");
+    }
+
+    @Test
+    void testEmpty() {
+        assertThat(CompactLines.of(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    void testRelease() {
+        final CompactLines compactLines = (CompactLines) CompactLines.of(Arrays.asList("first", "second"));
+        compactLines.release();
+        assertThat(compactLines).hasSize(2);
+        assertThat(compactLines.getBufferSize()).isZero();
+        assertThatThrownBy(() -> compactLines.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+}
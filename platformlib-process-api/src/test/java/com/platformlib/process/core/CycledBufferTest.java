@@ -0,0 +1,53 @@
+package com.platformlib.process.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CycledBufferTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 15, 16, 17, 100, 1000, 1001, 2000, 2001, 5555})
+    void testLastItemsAreKept(final int count) {
+        final CycledBuffer<Integer> buffer = new CycledBuffer<>(1000);
+        IntStream.range(0, count).forEach(buffer::add);
+        assertThat(buffer.getAddedCount()).isEqualTo(count);
+        assertThat(buffer.getSize()).isEqualTo(Math.min(count, 1000));
+        assertThat(buffer.getValues()).containsExactlyElementsOf(IntStream.range(Math.max(0, count - 1000), count).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testPoll() {
+        final CycledBuffer<Integer> buffer = new CycledBuffer<>(3);
+        IntStream.range(0, 3).forEach(buffer::add);
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.add(3)).isNull();
+        assertThat(buffer.add(4)).isEqualTo(1);
+        assertThat(buffer.getValues()).containsExactly(2, 3, 4);
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.getSize()).isZero();
+        assertThat(buffer.getAddedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void testHugeBufferIsAllocatedOnDemand() {
+        final CycledBuffer<String> buffer = new CycledBuffer<>(Integer.MAX_VALUE);
+        buffer.add("first");
+        buffer.add("second");
+        assertThat(buffer.getValues()).containsExactly("first", "second");
+    }
+
+    @Test
+    void testWrongSize() {
+        assertThatThrownBy(() -> new CycledBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.api.ProcessOutputMatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Timeout(value = 1, unit = TimeUnit.MINUTES)
+class DefaultInteractiveProcessSessionTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static void output(final DefaultInteractiveProcessSession session, final String output) throws IOException {
+        session.getOutputSink().write(output.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMatchConsumesOutput() throws Exception {
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(new CompletableFuture<>(), StandardCharsets.UTF_8);
+        output(session, "welcome\n> ");
+        final ProcessOutputMatch prompt = session.awaitPattern(Pattern.compile("> "), TIMEOUT);
+        assertThat(prompt.getPrecedingOutput()).isEqualTo("welcome\n");
+        assertThat(prompt.group()).isEqualTo("> ");
+        assertThat(prompt.start()).isEqualTo(8);
+        output(session, "key = value\n> ");
+        final ProcessOutputMatch response = session.awaitPattern(Pattern.compile("(\\w+) = (\\w+)\n"), TIMEOUT);
+        assertThat(response.getPrecedingOutput()).isEmpty();
+        assertThat(response.groupCount()).isEqualTo(2);
+        assertThat(response.group(1)).isEqualTo("key");
+        assertThat(response.group(2)).isEqualTo("value");
+        assertThat(response.start(2)).isEqualTo(6);
+        assertThat(session.awaitPattern(Pattern.compile("> "), TIMEOUT).getPrecedingOutput()).isEmpty();
+    }
+
+    @Test
+    void testPipelinedExpectationsAreMatchedInOrder() throws Exception {
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(new CompletableFuture<>(), StandardCharsets.UTF_8);
+        final List<CompletableFuture<ProcessOutputMatch>> responses = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            responses.add(session.expectPattern(Pattern.compile("response (\\d+)\n")).toCompletableFuture());
+        }
+        final StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            output.append("response ").append(i).append('\n');
+        }
+        // The output is passed in chunks which split the responses
+        for (int i = 0; i < output.length(); i += 7) {
+            output(session, output.substring(i, Math.min(i + 7, output.length())));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(responses.get(i)).isCompleted();
+            assertThat(responses.get(i).join().group(1)).isEqualTo(String.valueOf(i));
+        }
+    }
+
+    @Test
+    void testMultiByteCharSplitBetweenChunks() throws Exception {
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(new CompletableFuture<>(), StandardCharsets.UTF_8);
+        final byte[] bytes = "привет\n".getBytes(StandardCharsets.UTF_8);
+        for (final byte value: bytes) {
+            session.getOutputSink().write(value);
+        }
+        assertThat(session.awaitPattern(Pattern.compile("\n"), TIMEOUT).getPrecedingOutput()).isEqualTo("привет");
+    }
+
+    @Test
+    void testTimeoutDoesNotBlockNextExpectations() throws Exception {
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(new CompletableFuture<>(), StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> session.awaitPattern(Pattern.compile("never"), Duration.ofMillis(10))).isInstanceOf(TimeoutException.class);
+        output(session, "done\n");
+        assertThat(session.awaitPattern(Pattern.compile("done"), TIMEOUT).group()).isEqualTo("done");
+    }
+
+    @Test
+    void testOutputCompletionFailsExpectations() throws IOException {
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(new CompletableFuture<>(), StandardCharsets.UTF_8);
+        final CompletableFuture<ProcessOutputMatch> expectation = session.expectPattern(Pattern.compile("never")).toCompletableFuture();
+        output(session, "bye");
+        session.getOutputSink().close();
+        assertThat(expectation).isCompletedExceptionally();
+        assertThat(session.expectPattern(Pattern.compile("bye")).toCompletableFuture().join().group()).isEqualTo("bye");
+        assertThatThrownBy(() -> session.awaitPattern(Pattern.compile("never"), TIMEOUT)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testWriteGoesToStandardInput() throws IOException {
+        final CompletableFuture<OutputStream> stdIn = new CompletableFuture<>();
+        final ByteArrayOutputStream processStdIn = new ByteArrayOutputStream();
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(stdIn, StandardCharsets.UTF_8);
+        stdIn.complete(processStdIn);
+        session.write("select 1;\n").write(new byte[] {'q', '\n'}).flush();
+        assertThat(new String(processStdIn.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("select 1;\nq\n");
+    }
+
+    @Test
+    void testWriteFailsIfProcessHasNotBeenStarted() {
+        final CompletableFuture<OutputStream> stdIn = new CompletableFuture<>();
+        stdIn.completeExceptionally(new IOException("Fail to start process"));
+        final DefaultInteractiveProcessSession session = new DefaultInteractiveProcessSession(stdIn, StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> session.write("exit\n")).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.configuration.impl.DefaultProcessOutputConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultProcessOutputTest {
+
+    @Test
+    void testHeadAndTail() {
+        final DefaultProcessOutput processOutput = newProcessOutput(2, 3);
+        IntStream.range(0, 5).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "1", "2", "3", "4");
+        assertThat(processOutput.isOverflowed()).isFalse();
+        IntStream.range(5, 100_000).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "1", "99997", "99998", "99999");
+        assertThat(processOutput.isOverflowed()).isTrue();
+        assertThat(processOutput.getDroppedLines()).isEqualTo(99_995);
+    }
+
+    @Test
+    void testHeadOnly() {
+        final DefaultProcessOutput processOutput = newProcessOutput(2, null);
+        IntStream.range(0, 5).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "1");
+        assertThat(processOutput.isOverflowed()).isFalse();
+    }
+
+    @Test
+    void testTailOnly() {
+        final DefaultProcessOutput processOutput = newProcessOutput(null, 2);
+        IntStream.range(0, 2).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "1");
+        assertThat(processOutput.isOverflowed()).isFalse();
+        processOutput.accept("2");
+        assertThat(processOutput.getOutput()).containsExactly("1", "2");
+        assertThat(processOutput.isOverflowed()).isTrue();
+    }
+
+    @Test
+    void testUnlimitedTail() {
+        final DefaultProcessOutput processOutput = newProcessOutput(null, -1);
+        IntStream.range(0, 1000).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).hasSize(1000).startsWith("0").endsWith("999");
+        assertThat(processOutput.isOverflowed()).isFalse();
+    }
+
+    @Test
+    void testHeadAndTailBytes() {
+        final DefaultProcessOutputConfiguration outputConfiguration = newConfiguration(null, null);
+        outputConfiguration.setHeadBytes(2 * LineBuffer.sizeOf("0"));
+        outputConfiguration.setTailBytes(3 * LineBuffer.sizeOf("0"));
+        final DefaultProcessOutput processOutput = newProcessOutput(outputConfiguration);
+        IntStream.range(0, 5).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "1", "2", "3", "4");
+        assertThat(processOutput.isOverflowed()).isFalse();
+        processOutput.accept("5");
+        assertThat(processOutput.getOutput()).containsExactly("0", "1", "3", "4", "5");
+        assertThat(processOutput.isOverflowed()).isTrue();
+        processOutput.accept("huge line");
+        assertThat(processOutput.getOutput()).containsExactly("0", "1", "5", "huge line");
+        assertThat(processOutput.getDroppedLines()).isEqualTo(3);
+        assertThat(processOutput.getDroppedBytes()).isEqualTo(3 * LineBuffer.sizeOf("0"));
+    }
+
+    @Test
+    void testMaxBytes() {
+        final DefaultProcessOutputConfiguration outputConfiguration = newConfiguration(-1, -1);
+        outputConfiguration.setMaxBytes(10 * LineBuffer.sizeOf("0"));
+        final DefaultProcessOutput processOutput = newProcessOutput(outputConfiguration);
+        IntStream.range(0, 10).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.isOverflowed()).isFalse();
+        assertThat(processOutput.getDroppedLines()).isZero();
+        IntStream.range(10, 1000).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(processOutput.isOverflowed()).isTrue();
+        assertThat(processOutput.getDroppedLines()).isEqualTo(990);
+    }
+
+    @Test
+    void testMaxBytesDropsOldestTailLines() {
+        final DefaultProcessOutputConfiguration outputConfiguration = newConfiguration(1, 10);
+        outputConfiguration.setMaxBytes(3 * LineBuffer.sizeOf("0"));
+        final DefaultProcessOutput processOutput = newProcessOutput(outputConfiguration);
+        IntStream.range(0, 5).mapToObj(String::valueOf).forEach(processOutput);
+        assertThat(processOutput.getOutput()).containsExactly("0", "3", "4");
+        assertThat(processOutput.isOverflowed()).isTrue();
+        assertThat(processOutput.getDroppedLines()).isEqualTo(2);
+    }
+
+    @Test
+    void testBatchConsumer() {
+        final DefaultProcessOutput processOutput = newProcessOutput(0, null);
+        final List<List<String>> batches = new ArrayList<>();
+        final Set<List<CharSequence>> batchInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        processOutput.setBatchConsumer(batch -> {
+            batchInstances.add(batch);
+            batches.add(batch.stream().map(CharSequence::toString).collect(Collectors.toList()));
+        }, Duration.ZERO);
+        assertThat(processOutput.isAcceptReady()).isTrue();
+        processOutput.accept("0");
+        processOutput.accept("1");
+        processOutput.chunkProcessed();
+        processOutput.chunkProcessed();
+        processOutput.accept("2");
+        processOutput.complete();
+        assertThat(batches).containsExactly(Arrays.asList("0", "1"), Collections.singletonList("2"));
+        assertThat(batchInstances).hasSize(1);
+    }
+
+    @Test
+    void testBatchConsumerLinger() {
+        final DefaultProcessOutput processOutput = newProcessOutput(0, null);
+        final List<Integer> batchSizes = new ArrayList<>();
+        processOutput.setBatchConsumer(batch -> batchSizes.add(batch.size()), Duration.ofHours(1L));
+        IntStream.range(0, 10).forEach(chunk -> {
+            processOutput.accept(String.valueOf(chunk));
+            processOutput.chunkProcessed();
+        });
+        assertThat(batchSizes).isEmpty();
+        processOutput.complete();
+        assertThat(batchSizes).containsExactly(10);
+    }
+
+    @Test
+    void testLingeredBatchIsPassedWithoutMoreOutput() throws Exception {
+        final DefaultProcessOutput processOutput = newProcessOutput(0, null);
+        final CompletableFuture<List<String>> batch = new CompletableFuture<>();
+        processOutput.setBatchConsumer(lines -> batch.complete(lines.stream().map(CharSequence::toString).collect(Collectors.toList())), Duration.ofMillis(100L));
+        final long startNanoTime = System.nanoTime();
+        processOutput.accept("0");
+        processOutput.accept("1");
+        processOutput.chunkProcessed();
+        // No more chunks, the batch is passed by the timer
+        assertThat(batch.get(10L, TimeUnit.SECONDS)).containsExactly("0", "1");
+        assertThat(System.nanoTime() - startNanoTime).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100L));
+        processOutput.complete();
+    }
+
+    private static DefaultProcessOutput newProcessOutput(final Integer headSize, final Integer tailSize) {
+        return newProcessOutput(newConfiguration(headSize, tailSize));
+    }
+
+    private static DefaultProcessOutput newProcessOutput(final DefaultProcessOutputConfiguration outputConfiguration) {
+        return new DefaultProcessOutput(Collections.emptyList(), null, outputConfiguration);
+    }
+
+    private static DefaultProcessOutputConfiguration newConfiguration(final Integer headSize, final Integer tailSize) {
+        final DefaultProcessOutputConfiguration outputConfiguration = new DefaultProcessOutputConfiguration();
+        outputConfiguration.setHeadSize(headSize);
+        outputConfiguration.setTailSize(tailSize);
+        return outputConfiguration;
+    }
+}
@@ -0,0 +1,92 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.enums.LineOverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineDecoderTest {
+    private static final List<String> LINES = Arrays.asList("Привет, мир", "", "€uro ✓ 𝄞 clef", "€uro", "ascii only");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "windows-1251", "UTF-16LE", "UTF-16BE", "UTF-16"})
+    void testDecodeByChunks(final String charsetName) {
+        final Charset charset = Charset.forName(charsetName);
+        final List<String> expectedLines = LINES.stream().filter(line -> charset.newEncoder().canEncode(line)).collect(Collectors.toList());
+        final byte[] bytes = (String.join("\r\n", expectedLines) + "\n").getBytes(charset);
+        for (int chunkSize = 1; chunkSize <= 9; chunkSize++) {
+            final List<String> lines = new ArrayList<>();
+            final LineDecoder lineDecoder = new LineDecoder(charset, 1024, (line, terminated) -> lines.add(line));
+            for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+                lineDecoder.decode(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+            }
+            lineDecoder.flush();
+            assertThat(lines).as("Chunk size %d", chunkSize).containsExactlyElementsOf(expectedLines);
+        }
+    }
+
+    @Test
+    void testMultibyteCharacterSplitByLineOverflow() {
+        final List<String> lines = new ArrayList<>();
+        final LineDecoder lineDecoder = new LineDecoder(StandardCharsets.UTF_8, 5, (line, terminated) -> lines.add(terminated ? line : line + "~"));
+        // Each cyrillic letter takes 2 bytes, so the third one is split by 5 bytes line buffer
+        final byte[] bytes = "абвгд\nе".getBytes(StandardCharsets.UTF_8);
+        lineDecoder.decode(bytes, 0, bytes.length);
+        lineDecoder.flush();
+        assertThat(lines).containsExactly("аб~", "вгд", "е");
+        assertThat(String.join("", lines).replace("~", "")).isEqualTo("абвгде");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "UTF-16LE"})
+    void testLineTruncate(final String charsetName) {
+        final Charset charset = Charset.forName(charsetName);
+        final List<String> lines = new ArrayList<>();
+        final LineDecoder lineDecoder = new LineDecoder(charset, 4, LineOverflowPolicy.TRUNCATE, (line, terminated) -> lines.add(terminated ? line : line + "~"));
+        final byte[] bytes = "abcdefgh\nab\nabcde".getBytes(charset);
+        lineDecoder.decode(bytes, 0, bytes.length);
+        lineDecoder.flush();
+        assertThat(lines).containsExactly("abcd", "ab", "abcd");
+        assertThat(lineDecoder.getOverflowedLines()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "UTF-16LE"})
+    void testLineSplit(final String charsetName) {
+        final Charset charset = Charset.forName(charsetName);
+        final List<String> lines = new ArrayList<>();
+        final LineDecoder lineDecoder = new LineDecoder(charset, 4, (line, terminated) -> lines.add(terminated ? line : line + "~"));
+        final byte[] bytes = "abcdefgh\nabcdefghi".getBytes(charset);
+        lineDecoder.decode(bytes, 0, bytes.length);
+        lineDecoder.flush();
+        assertThat(lines).containsExactly("abcd~", "efgh", "abcd~", "efgh~", "i");
+        assertThat(lineDecoder.getOverflowedLines()).isEqualTo(2);
+    }
+
+    @Test
+    void testMalformedInputIsReplaced() {
+        final List<String> lines = new ArrayList<>();
+        final LineDecoder lineDecoder = new LineDecoder(StandardCharsets.UTF_8, 1024, (line, terminated) -> lines.add(line));
+        final byte[] bytes = {'a', (byte) 0xD0, '\n', 'b', (byte) 0xD0};
+        lineDecoder.decode(bytes, 0, bytes.length);
+        lineDecoder.flush();
+        assertThat(lines).containsExactly("a�", "b�");
+    }
+
+    @Test
+    void testSplitOnBytes() {
+        assertThat(LineDecoder.isSplitOnBytes(StandardCharsets.UTF_8)).isTrue();
+        assertThat(LineDecoder.isSplitOnBytes(Charset.forName("windows-1251"))).isTrue();
+        assertThat(LineDecoder.isSplitOnBytes(StandardCharsets.UTF_16LE)).isFalse();
+        assertThat(LineDecoder.isSplitOnBytes(StandardCharsets.UTF_16)).isFalse();
+    }
+}
@@ -0,0 +1,110 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.enums.LineOverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineSplitterTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 8, 9, 64, 8192})
+    void testSplitByChunks(final int chunkSize) {
+        final StringBuilder text = new StringBuilder();
+        final List<String> expectedLines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final String line = "line " + i + " " + new String(new char[i % 17]).replace('\0', 'x');
+            expectedLines.add(line);
+            text.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        final List<String> lines = new ArrayList<>();
+        final LineSplitter lineSplitter = new LineSplitter(1024, (bytes, length, terminated) -> lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8)));
+        final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            lineSplitter.split(bytes, offset, Math.min(chunkSize, bytes.length - offset));
+        }
+        lineSplitter.flush();
+        assertThat(lines).containsExactlyElementsOf(expectedLines);
+    }
+
+    @Test
+    void testCarriageReturnsAreDropped() {
+        final List<String> lines = new ArrayList<>();
+        final LineSplitter lineSplitter = new LineSplitter(1024, (bytes, length, terminated) -> lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8)));
+        final byte[] bytes = "a\rb\r\r\nc\r\n\r\n\rd".getBytes(StandardCharsets.UTF_8);
+        lineSplitter.split(bytes, 0, bytes.length);
+        assertThat(lines).containsExactly("ab", "c", "");
+        lineSplitter.flush();
+        assertThat(lines).containsExactly("ab", "c", "", "d");
+    }
+
+    @Test
+    void testLineOverflow() {
+        final List<String> lines = new ArrayList<>();
+        final LineSplitter lineSplitter = new LineSplitter(4, (bytes, length, terminated) -> lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8) + (terminated ? "" : "~")));
+        final byte[] bytes = "abcd\nabcdefghij\n".getBytes(StandardCharsets.UTF_8);
+        lineSplitter.split(bytes, 0, bytes.length);
+        lineSplitter.flush();
+        assertThat(lines).containsExactly("abcd", "abcd~", "efgh~", "ij");
+    }
+
+    @Test
+    void testLineTruncate() {
+        final List<String> lines = new ArrayList<>();
+        final LineSplitter lineSplitter = new LineSplitter(4, LineOverflowPolicy.TRUNCATE, (bytes, length, terminated) -> lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8) + (terminated ? "" : "~")));
+        final byte[] bytes = "abcdefghij\nabc\nabcde".getBytes(StandardCharsets.UTF_8);
+        lineSplitter.split(bytes, 0, 7);
+        lineSplitter.split(bytes, 7, bytes.length - 7);
+        lineSplitter.flush();
+        assertThat(lines).containsExactly("abcd", "abc", "abcd");
+        assertThat(lineSplitter.getOverflowedLines()).isEqualTo(2);
+    }
+
+    @Test
+    void testLineChunk() {
+        final List<String> lines = new ArrayList<>();
+        final LineSplitter lineSplitter = new LineSplitter(4, LineOverflowPolicy.CHUNK, (bytes, length, terminated) -> lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8) + (terminated ? "" : "~")));
+        final byte[] bytes = "abcdefg\nabc\n".getBytes(StandardCharsets.UTF_8);
+        lineSplitter.split(bytes, 0, 6);
+        lineSplitter.split(bytes, 6, bytes.length - 6);
+        lineSplitter.flush();
+        assertThat(lines).containsExactly("abcd~", "ef~", "g", "abc");
+        assertThat(lineSplitter.getOverflowedLines()).isEqualTo(1);
+    }
+
+    @Test
+    void testLongLineIsNotSplit() {
+        final List<String> lines = new ArrayList<>();
+        final LineSplitter lineSplitter = new LineSplitter(1 << 20, (bytes, length, terminated) -> lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8) + (terminated ? "" : "~")));
+        final String longLine = new String(new char[100_000]).replace('\0', 'x');
+        final byte[] bytes = (longLine + "\nshort\n" + longLine).getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += 8192) {
+            lineSplitter.split(bytes, offset, Math.min(8192, bytes.length - offset));
+        }
+        lineSplitter.flush();
+        lineSplitter.release();
+        assertThat(lines).containsExactly(longLine, "short", longLine);
+        assertThat(lineSplitter.getOverflowedLines()).isZero();
+    }
+
+    @Test
+    void testIndexOfLineBreak() {
+        final byte[] bytes = new byte[40];
+        final ByteBuffer view = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < bytes.length; i++) {
+            Arrays.fill(bytes, (byte) 0x0B);
+            bytes[i] = (byte) (i % 2 == 0 ? '\n' : '\r');
+            assertThat(LineSplitter.indexOfLineBreak(view, bytes, 0, bytes.length)).isEqualTo(i);
+            assertThat(LineSplitter.indexOfLineBreak(view, bytes, Math.min(i + 1, bytes.length), bytes.length)).isEqualTo(-1);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.configuration.impl.DefaultProcessOutputLoggerConfiguration;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OutputLineSinksTest {
+
+    @Test
+    void testNoLogging() {
+        final Logger defaultLogger = mock(Logger.class);
+        final OutputLineSink lineSink = OutputLineSinks.of("stdout", new DefaultProcessOutputLoggerConfiguration(), defaultLogger);
+        IntStream.range(0, 10).mapToObj(String::valueOf).forEach(lineSink::accept);
+        lineSink.complete();
+        verify(defaultLogger, never()).debug(anyString(), any(), any());
+    }
+
+    @Test
+    void testFullLogging() {
+        final Logger logger = mock(Logger.class);
+        final DefaultProcessOutputLoggerConfiguration configuration = new DefaultProcessOutputLoggerConfiguration();
+        configuration.setLogger(logger);
+        final OutputLineSink lineSink = OutputLineSinks.of("stdout", configuration, mock(Logger.class));
+        IntStream.range(0, 10).mapToObj(String::valueOf).forEach(lineSink::accept);
+        lineSink.complete();
+        verify(logger, times(10)).debug(anyString(), any(), any());
+    }
+
+    @Test
+    void testHeadAndTailLogging() {
+        final Logger logger = mock(Logger.class);
+        final ArgumentCaptor<Object> lineCaptor = ArgumentCaptor.forClass(Object.class);
+        final DefaultProcessOutputLoggerConfiguration configuration = new DefaultProcessOutputLoggerConfiguration();
+        configuration.setLogger(logger);
+        configuration.setHeadSize(2);
+        configuration.setTailSize(3);
+        final OutputLineSink lineSink = OutputLineSinks.of("stdout", configuration, mock(Logger.class));
+        IntStream.range(0, 100).mapToObj(String::valueOf).forEach(lineSink::accept);
+        verify(logger, times(2)).debug(anyString(), any(), any());
+        lineSink.complete();
+        verify(logger, times(5)).debug(anyString(), any(), lineCaptor.capture());
+        assertThat(lineCaptor.getAllValues()).containsExactly("0", "1", "97", "98", "99");
+    }
+
+    @Test
+    void testHeadOnlyLogging() {
+        final Logger defaultLogger = mock(Logger.class);
+        final ArgumentCaptor<Object> lineCaptor = ArgumentCaptor.forClass(Object.class);
+        final DefaultProcessOutputLoggerConfiguration configuration = new DefaultProcessOutputLoggerConfiguration();
+        configuration.setHeadSize(3);
+        final OutputLineSink lineSink = OutputLineSinks.of("stdout", configuration, defaultLogger);
+        IntStream.range(0, 100).mapToObj(String::valueOf).forEach(lineSink::accept);
+        lineSink.complete();
+        verify(defaultLogger, times(3)).debug(anyString(), any(), lineCaptor.capture());
+        assertThat(lineCaptor.getAllValues()).containsExactly("0", "1", "2");
+    }
+}
@@ -0,0 +1,55 @@
+package com.platformlib.process.core;
+
+import com.platformlib.process.configuration.impl.DefaultProcessOutputLoggerConfiguration;
+import com.platformlib.process.exception.ProcessConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class ProcessOutputLoggerTest {
+    private static final String SUMMARY_FORMAT = "[{}] Process output: {} line(s), {} suppressed, {} bytes/s, latest: {}";
+
+    @Test
+    void testSummaryIsLoggedByTimer() {
+        final Logger logger = mock(Logger.class);
+        final ProcessOutputLogger processOutputLogger = new ProcessOutputLogger("stdout", newConfiguration(logger, Duration.ofMillis(10L)));
+        IntStream.range(0, 3).mapToObj(String::valueOf).forEach(processOutputLogger);
+        verify(logger, timeout(10_000L)).debug(eq(SUMMARY_FORMAT), eq("stdout"), eq(3L), eq(2L), any(), eq("2"));
+        processOutputLogger.complete();
+        verify(logger, never()).debug(eq("[{}] Process output: {}"), any(), any());
+    }
+
+    @Test
+    void testRestIsSummarizedOnComplete() {
+        final Logger logger = mock(Logger.class);
+        final ProcessOutputLogger processOutputLogger = new ProcessOutputLogger("stderr", newConfiguration(logger, Duration.ofHours(1L)));
+        IntStream.range(0, 1000).mapToObj(String::valueOf).forEach(processOutputLogger);
+        processOutputLogger.chunkRead(4000);
+        verify(logger, never()).debug(eq(SUMMARY_FORMAT), any(), any(), any(), any(), any());
+        processOutputLogger.complete();
+        verify(logger).debug(eq(SUMMARY_FORMAT), eq("stderr"), eq(1000L), eq(999L), any(), eq("999"));
+    }
+
+    @Test
+    void testLogIntervalIsRequired() {
+        assertThatThrownBy(() -> new ProcessOutputLogger("stdout", new DefaultProcessOutputLoggerConfiguration())).isInstanceOf(ProcessConfigurationException.class);
+        assertThatThrownBy(() -> new ProcessOutputLogger("stdout", newConfiguration(mock(Logger.class), Duration.ZERO))).isInstanceOf(ProcessConfigurationException.class);
+    }
+
+    private static DefaultProcessOutputLoggerConfiguration newConfiguration(final Logger logger, final Duration logInterval) {
+        final DefaultProcessOutputLoggerConfiguration configuration = new DefaultProcessOutputLoggerConfiguration();
+        configuration.setLogger(logger);
+        configuration.setLogInterval(logInterval);
+        return configuration;
+    }
+}
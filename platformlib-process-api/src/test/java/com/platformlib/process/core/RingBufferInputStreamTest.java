@@ -0,0 +1,105 @@
+package com.platformlib.process.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Timeout(value = 1, unit = TimeUnit.MINUTES)
+class RingBufferInputStreamTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 64, 65_536})
+    void testTransferByConcurrentWriterAndReader(final int capacity) throws Exception {
+        final byte[] data = new byte[1 << 18];
+        new Random(capacity).nextBytes(data);
+        final RingBufferInputStream inputStream = new RingBufferInputStream(capacity);
+        final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            final Random random = new Random();
+            try (OutputStream outputStream = inputStream.getOutputStream()) {
+                int offset = 0;
+                while (offset < data.length) {
+                    if (random.nextInt(10) == 0) {
+                        outputStream.write(data[offset++]);
+                    } else {
+                        final int length = Math.min(random.nextInt(10_000), data.length - offset);
+                        outputStream.write(data, offset, length);
+                        offset += length;
+                    }
+                }
+            } catch (final IOException ioException) {
+                throw new IllegalStateException(ioException);
+            }
+        });
+        final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[3000];
+        int len;
+        while ((len = inputStream.read(buffer)) != -1) {
+            read.write(buffer, 0, len);
+            final int value = inputStream.read();
+            if (value == -1) {
+                break;
+            }
+            read.write(value);
+        }
+        writer.join();
+        assertThat(read.toByteArray()).isEqualTo(data);
+        assertThat(inputStream.getCapacity()).isGreaterThanOrEqualTo(capacity);
+    }
+
+    @Test
+    void testRestOfOutputIsReadAfterWriterClosing() throws IOException {
+        final RingBufferInputStream inputStream = new RingBufferInputStream(16);
+        inputStream.getOutputStream().write(new byte[] {1, 2, 3});
+        inputStream.getOutputStream().close();
+        assertThat(inputStream.available()).isEqualTo(3);
+        final byte[] buffer = new byte[10];
+        assertThat(inputStream.read(buffer)).isEqualTo(3);
+        assertThat(buffer).startsWith(1, 2, 3);
+        assertThat(inputStream.read(buffer)).isEqualTo(-1);
+        assertThatThrownBy(() -> inputStream.getOutputStream().write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testWriterIsReleasedByReaderClosing() throws Exception {
+        final RingBufferInputStream inputStream = new RingBufferInputStream(4);
+        final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                inputStream.getOutputStream().write(new byte[1024]);
+            } catch (final IOException ioException) {
+                throw new IllegalStateException(ioException);
+            }
+        });
+        assertThat(inputStream.read()).isEqualTo(0);
+        inputStream.close();
+        writer.get(10, TimeUnit.SECONDS);
+        assertThatThrownBy(inputStream::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testWaitingReaderIsInterrupted() throws Exception {
+        final InputStream inputStream = new RingBufferInputStream(4);
+        final Thread readerThread = Thread.currentThread();
+        final CompletableFuture<Void> interrupter = CompletableFuture.runAsync(() -> {
+            while (readerThread.getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+            readerThread.interrupt();
+        });
+        assertThatThrownBy(inputStream::read).isInstanceOf(InterruptedIOException.class);
+        assertThat(Thread.interrupted()).isTrue();
+        interrupter.join();
+    }
+}
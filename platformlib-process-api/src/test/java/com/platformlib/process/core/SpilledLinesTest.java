@@ -0,0 +1,91 @@
+package com.platformlib.process.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpilledLinesTest {
+
+    @Test
+    void testRandomAccessAndIteration(@TempDir final Path tempDir) throws IOException {
+        final List<String> lines = IntStream.range(0, 100_000).mapToObj(i -> i % 1000 == 0 ? "" : "line #" + i + " кириллица").collect(Collectors.toList());
+        final String longLine = String.join("", Collections.nCopies(100_000, "long"));
+        lines.add(50_000, longLine);
+        try (SpilledLines spilledLines = SpilledLines.create(tempDir)) {
+            lines.forEach(spilledLines::append);
+            spilledLines.complete();
+            assertThat(spilledLines).hasSize(lines.size());
+            assertThat(spilledLines.get(0)).isEmpty();
+            assertThat(spilledLines.get(1)).isEqualTo("line #1 кириллица");
+            assertThat(spilledLines.get(50_000)).isEqualTo(longLine);
+            assertThat(spilledLines.get(lines.size() - 1)).isEqualTo(lines.get(lines.size() - 1));
+            assertThat(new ArrayList<>(spilledLines)).isEqualTo(lines);
+            assertThat(spilledLines.stream().skip(49_999).limit(3)).containsExactly(lines.get(49_999), longLine, lines.get(50_001));
+        }
+    }
+
+    @Test
+    void testEmpty(@TempDir final Path tempDir) {
+        try (SpilledLines spilledLines = SpilledLines.create(tempDir)) {
+            spilledLines.complete();
+            assertThat(spilledLines).isEmpty();
+            assertThat(spilledLines.iterator()).isExhausted();
+        }
+    }
+
+    @Test
+    void testFilesAreDeletedOnClose(@TempDir final Path tempDir) throws IOException {
+        final SpilledLines spilledLines = SpilledLines.create(tempDir);
+        spilledLines.append("line");
+        spilledLines.complete();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).hasSize(2);
+        }
+        spilledLines.close();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+        assertThatThrownBy(() -> spilledLines.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testFilesOfNotClosedLinesAreDeletedOnceCollected(@TempDir final Path tempDir) throws InterruptedException {
+        spill(tempDir);
+        assertThat(tempDir.toFile().list()).hasSize(2);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (tempDir.toFile().list().length > 0 && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(tempDir.toFile().list()).isEmpty();
+    }
+
+    private static void spill(final Path tempDir) {
+        final SpilledLines spilledLines = SpilledLines.create(tempDir);
+        spilledLines.append("line");
+        spilledLines.complete();
+    }
+
+    @Test
+    void testNotCompleted(@TempDir final Path tempDir) {
+        try (SpilledLines spilledLines = SpilledLines.create(tempDir)) {
+            spilledLines.append("line");
+            assertThatThrownBy(() -> spilledLines.get(0)).isInstanceOf(IllegalStateException.class);
+            assertThat(Arrays.asList(tempDir.toFile().list())).hasSize(2);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+import com.platformlib.process.api.ProcessOutputMatch;
+import com.platformlib.process.factory.ProcessBuilders;
+import com.platformlib.process.local.specification.LocalProcessSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Latency of requests to a running process through {@link InteractiveProcessSession}.
+ * {@code roundTrip} writes a line and waits for its echo, {@code pipelined} writes {@value #PIPELINED_REQUESTS} lines at once and waits for all echoes,
+ * the score is the time per request. Compare with the start of a new process for each command, which takes milliseconds.
+ * Requires {@code cat} command, i.e. Unix-like OS.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LocalInteractiveSessionBenchmark {
+    private static final int PIPELINED_REQUESTS = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Pattern RESPONSE = Pattern.compile("request\n");
+
+    private InteractiveProcessSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        session = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND).build().executeInteractive("cat");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        session.close();
+        session.getProcess().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public ProcessOutputMatch roundTrip() throws IOException, TimeoutException {
+        session.write("request\n").flush();
+        return session.awaitPattern(RESPONSE, TIMEOUT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINED_REQUESTS)
+    public ProcessOutputMatch pipelined() throws IOException {
+        CompletionStage<ProcessOutputMatch> last = null;
+        for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+            session.write("request\n");
+            last = session.expectPattern(RESPONSE);
+        }
+        session.flush();
+        return last.toCompletableFuture().join();
+    }
+}
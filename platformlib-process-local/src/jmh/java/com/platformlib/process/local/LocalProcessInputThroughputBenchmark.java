@@ -0,0 +1,93 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.builder.ProcessBuilder;
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.factory.ProcessBuilders;
+import com.platformlib.process.local.specification.LocalProcessSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of process standard input from java to child process.
+ * The same file is given to the process as {@link java.nio.file.Path} (the OS process reads it directly),
+ * as {@link java.nio.channels.ReadableByteChannel} and as {@link InputStream} (both are copied by the JVM).
+ * Each invocation starts the process which reads 64 MiB from standard input, so the throughput in MiB/s is the score multiplied by 64.
+ * Requires {@code wc} command, i.e. Unix-like OS.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LocalProcessInputThroughputBenchmark {
+    private static final int INPUT_SIZE = 64 << 20;
+
+    private Path inputFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inputFile = Files.createTempFile("stdin-benchmark", ".bin");
+        final byte[] data = new byte[INPUT_SIZE];
+        new Random(0).nextBytes(data);
+        Files.write(inputFile, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inputFile);
+    }
+
+    @Benchmark
+    public long stdInFile() {
+        return count(newProcessBuilder().standardInput(inputFile));
+    }
+
+    @Benchmark
+    public long stdInChannel() throws IOException {
+        try (FileChannel stdIn = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            return count(newProcessBuilder().standardInput(stdIn));
+        }
+    }
+
+    @Benchmark
+    public long stdInInputStream() throws IOException {
+        try (InputStream stdIn = new BufferedInputStream(Files.newInputStream(inputFile))) {
+            return count(newProcessBuilder().standardInput(stdIn));
+        }
+    }
+
+    private static ProcessBuilder newProcessBuilder() {
+        return ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .processInstance(ProcessOutputConfigurator::unlimited)
+                .commandAndArguments("wc", "-c");
+    }
+
+    private static long count(final ProcessBuilder processBuilder) {
+        final long transferred = Long.parseLong(processBuilder.build().execute().toCompletableFuture().join().getStdOut().iterator().next().trim());
+        if (transferred != INPUT_SIZE) {
+            throw new IllegalStateException("Expected " + INPUT_SIZE + " bytes, but read " + transferred);
+        }
+        return transferred;
+    }
+}
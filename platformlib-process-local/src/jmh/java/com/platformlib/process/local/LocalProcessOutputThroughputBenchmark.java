@@ -0,0 +1,58 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.executor.ProcessExecutor;
+import com.platformlib.process.factory.ProcessBuilders;
+import com.platformlib.process.local.specification.LocalProcessSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of process standard output from child process to java consumer reading {@link ProcessExecutor#getStdOutInputStream(int)}.
+ * Each invocation starts the process which writes 64 MiB to standard output, so the throughput in MiB/s is the score multiplied by 64.
+ * Requires {@code head} command, i.e. Unix-like OS.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LocalProcessOutputThroughputBenchmark {
+    private static final int OUTPUT_SIZE = 64 << 20;
+
+    @Param({"1024", "65536", "1048576"})
+    private int bufferSize;
+
+    private final byte[] readBuffer = new byte[8192];
+
+    @Benchmark
+    public long stdOutInputStream() throws Exception {
+        final ProcessExecutor processExecutor = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .commandAndArguments("head", "-c", OUTPUT_SIZE, "/dev/zero")
+                .build();
+        final InputStream stdOut = processExecutor.getStdOutInputStream(bufferSize);
+        final CompletableFuture<?> process = processExecutor.execute().toCompletableFuture();
+        long transferred = 0;
+        int len;
+        while ((len = stdOut.read(readBuffer)) != -1) {
+            transferred += len;
+        }
+        process.join();
+        if (transferred != OUTPUT_SIZE) {
+            throw new IllegalStateException("Expected " + OUTPUT_SIZE + " bytes, but read " + transferred);
+        }
+        return transferred;
+    }
+}
@@ -0,0 +1,62 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.factory.ProcessBuilders;
+import com.platformlib.process.local.specification.LocalProcessSpec;
+import com.platformlib.process.pool.ProcessPool;
+import com.platformlib.process.pool.ProcessWorkers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a request served by a pooled worker process compared with a new process per request.
+ * {@code cat} is the worker, it answers each line by the same line, {@code echo} is the process started per request,
+ * so the difference is the startup of the cheapest process, the startup of a JVM or Python tool is much longer.
+ * Requires {@code cat} and {@code echo} commands, i.e. Unix-like OS.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LocalProcessPoolBenchmark {
+    private ProcessPool processPool;
+    private ProcessWorkers workers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        processPool = new ProcessPool();
+        workers = processPool.prestart(ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND).commandAndArguments("cat"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processPool.close();
+    }
+
+    @Benchmark
+    public String pooledWorker() {
+        return workers.request("request");
+    }
+
+    @Benchmark
+    public String processPerRequest() {
+        return ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .processInstance(ProcessOutputConfigurator::unlimited)
+                .commandAndArguments("echo", "request")
+                .build().execute().toCompletableFuture().join().getStdOut().iterator().next();
+    }
+}
@@ -4,8 +4,10 @@ import com.platformlib.process.api.OperationSystemProcess;
 import com.platformlib.process.configuration.ProcessConfiguration;
 import com.platformlib.process.configuration.dryrun.ProcessDryRunConfiguration;
 import com.platformlib.process.configuration.logger.ProcessLoggerConfiguration;
+import com.platformlib.process.configuration.logger.ProcessOutputLoggerConfiguration;
 import com.platformlib.process.core.AsyncProcessOutputListener;
 import com.platformlib.process.core.DefaultProcessInstance;
+import com.platformlib.process.core.DefaultProcessOutput;
 import com.platformlib.process.enums.ProcessThreadType;
 import com.platformlib.process.executor.DefaultProcessExecutor;
 import com.sun.jna.Pointer;
@@ -26,6 +28,7 @@ import java.nio.file.FileSystems;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Local process executor.
@@ -34,9 +37,10 @@ import java.util.Objects;
 public class LocalProcessExecutor extends DefaultProcessExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(LocalProcessExecutor.class);
     private static final boolean PID_METHOD = Arrays.stream(Process.class.getMethods()).anyMatch(method -> "pid".equals(method.getName()));
-    private static final int STDIN_BUFFER_SIZE = 128;
-    private final AsyncProcessOutputListener stdOutListener;
-    private final AsyncProcessOutputListener stdErrListener;
+    private final ProcessConfiguration processConfiguration;
+    private AsyncProcessOutputListener stdOutListener;
+    private AsyncProcessOutputListener stdErrListener;
+    private boolean outputReactorApplicable;
 
     /**
      * Default constructor.
@@ -45,16 +49,26 @@ public class LocalProcessExecutor extends DefaultProcessExecutor {
      */
     public LocalProcessExecutor(final ProcessConfiguration processConfiguration) {
         super(processConfiguration);
-        stdOutListener = new AsyncProcessOutputListener(
-                getExecutor(),
-                ProcessThreadType.STDOUT_LISTENER,
-                processConfiguration.getProcessLoggerConfiguration().flatMap(ProcessLoggerConfiguration::getLoggerStdOutConfiguration).orElse(null),
-                getProcessStdOut());
-        stdErrListener = new AsyncProcessOutputListener(
-                getExecutor(),
-                ProcessThreadType.STDERR_LISTENER,
-                processConfiguration.getProcessLoggerConfiguration().flatMap(ProcessLoggerConfiguration::getLoggerStdErrConfiguration).orElse(null),
-                getProcessStdErr());
+        this.processConfiguration = processConfiguration;
+    }
+
+    /**
+     * Create process output listeners.
+     * The listeners are created on execution as the interactive execution requires dedicated listener threads.
+     */
+    private void newOutputListeners() {
+        outputReactorApplicable = isOutputReactorApplicable();
+        stdOutListener = newOutputListener(ProcessThreadType.STDOUT_LISTENER, processConfiguration.getProcessLoggerConfiguration().flatMap(ProcessLoggerConfiguration::getLoggerStdOutConfiguration).orElse(null), getProcessStdOut());
+        stdErrListener = newOutputListener(ProcessThreadType.STDERR_LISTENER, processConfiguration.getProcessLoggerConfiguration().flatMap(ProcessLoggerConfiguration::getLoggerStdErrConfiguration).orElse(null), getProcessStdErr());
+    }
+
+    private AsyncProcessOutputListener newOutputListener(final ProcessThreadType processThreadType,
+                                                         final ProcessOutputLoggerConfiguration processOutputLoggerConfiguration,
+                                                         final DefaultProcessOutput processOutput) {
+        if (outputReactorApplicable) {
+            return new AsyncProcessOutputListener(processThreadType, processOutputLoggerConfiguration, processOutput);
+        }
+        return new AsyncProcessOutputListener(getExecutor(), processThreadType, processOutputLoggerConfiguration, processOutput);
     }
 
     @SuppressWarnings({"PMD.ConfusingTernary", "PMD.AvoidCatchingThrowable"})
@@ -64,11 +78,18 @@ public class LocalProcessExecutor extends DefaultProcessExecutor {
         for (int i = 0; i < commandAndArguments.length; i++) {
             Objects.requireNonNull(commandAndArguments[i], "Command line/argument is null at " + i);
         }
+        startExecution();
+        newOutputListeners();
         final ProcessBuilder processBuilder = new ProcessBuilder(getCommandAndArgumentsToExecute(FileSystems.getDefault(), getUnmaskedCommandAndArguments(commandAndArguments)));
         getWorkDirectory().ifPresent(workDirectory -> processBuilder.directory(Paths.get(workDirectory).toFile()));
         if (!getEnvVariables().isEmpty()) {
             processBuilder.environment().putAll(getEnvVariables());
         }
+        // The OS process writes to the files directly, the listeners get the end of stream immediately
+        getStandardOutputFile().ifPresent(file -> processBuilder.redirectOutput(ProcessBuilder.Redirect.to(file.toFile())));
+        getStandardErrorFile().ifPresent(file -> processBuilder.redirectError(ProcessBuilder.Redirect.to(file.toFile())));
+        // The OS process reads the file directly, no copying through the JVM
+        getStdInFile().ifPresent(file -> processBuilder.redirectInput(ProcessBuilder.Redirect.from(file.toFile())));
         final LocalOperationSystemProcess operationSystemProcess = new LocalOperationSystemProcess(getProcessDestroyerHandler());
         try {
             dumpCommandAndArguments(commandAndArguments);
@@ -89,43 +110,22 @@ public class LocalProcessExecutor extends DefaultProcessExecutor {
             stdOutListener.startListening(process.getInputStream());
             stdErrListener.startListening(process.getErrorStream());
 
-            getExecutor().execute(() -> {
-                Throwable processExecException = null;
-                Integer exitCode = null;
-                try {
-                    getStdIn().ifPresent(stdIn ->
-                            getExecutor().execute(() -> {
-                                getLogger().orElse(LOGGER).trace("Start asynchronous writing to process standard input");
-                                final byte[] buffer = new byte[STDIN_BUFFER_SIZE];
-                                int len;
-                                try {
-                                    while ((len = stdIn.read(buffer)) != -1) {
-                                        getLogger().orElse(LOGGER).trace("Write to process standard input {}", buffer);
-                                        process.getOutputStream().write(buffer, 0, len);
-                                        process.getOutputStream().flush();
-                                    }
-                                } catch (final IOException ioException) {
-                                    getLogger().orElse(LOGGER).error("Unable to write to process standard input. Stop writing...", ioException);
-                                }
-                            })
-                    );
-                    exitCode = process.waitFor();
-                    getLogger().orElse(LOGGER).debug("The local OS process [{}] has been finished with exit code {}", getExecutionId(), exitCode);
-                } catch (final Throwable throwable) {
-                    processExecException = throwable;
-                    getLogger().orElse(LOGGER).debug("The local OS process [" + getExecutionId() + "] threw unexpected exception", throwable);
-                }
-                close();
-                if (processExecException != null) {
-                    operationSystemProcess.completeExceptionally(processExecException);
-                } else if (operationSystemProcess.isCancelled()) {
-                    operationSystemProcess.completeExceptionally(new InterruptedException("The os process execution [" + getExecutionId() + "] has been cancelled"));
-                } else if (exitCode == null) {
-                    operationSystemProcess.completeExceptionally(new IllegalStateException("The os process exit code hasn't been gotten"));
-                } else {
-                    operationSystemProcess.complete(new DefaultProcessInstance(exitCode, getProcessStdOut(), getProcessStdErr()));
-                }
-            });
+            if (isInteractive()) {
+                connectInteractiveStandardInput(process.getOutputStream());
+            }
+            getStdIn().ifPresent(stdIn -> writeStandardInput(process, processStdIn -> copyStandardInput(stdIn, processStdIn)));
+            getStdInChannel().ifPresent(stdInChannel -> writeStandardInput(process, processStdIn -> copyStandardInput(stdInChannel, processStdIn)));
+            if (outputReactorApplicable) {
+                getOutputReactor().register(new LocalProcessWatcher(process, stdOutListener, stdErrListener, getOutputReactor().getCompletionExecutor(), () -> {
+                    // The drain doesn't wait for the end of output, a background child of the process may keep the pipes open forever
+                    stdOutListener.drainAvailable();
+                    stdErrListener.drainAvailable();
+                    // The dependent stages of the caller run on the completing thread and may block, so the bounded completion threads don't complete the future
+                    completeProcess(process, operationSystemProcess, getExecutor());
+                }));
+            } else {
+                getExecutor().execute(() -> completeProcess(process, operationSystemProcess, Runnable::run));
+            }
         } catch (final IOException ioException) {
             getLogger().orElse(LOGGER).error("Fail to start process", ioException);
             operationSystemProcess.completeExceptionally(ioException);
@@ -138,6 +138,59 @@ public class LocalProcessExecutor extends DefaultProcessExecutor {
         return operationSystemProcess;
     }
 
+    /**
+     * Write standard input to the process asynchronously.
+     * The process standard input is closed at the end of the source, so the process gets end of its input.
+     */
+    private void writeStandardInput(final Process process, final StandardInputWriter stdInWriter) {
+        getExecutor().execute(() -> {
+            getLogger().orElse(LOGGER).trace("Start asynchronous writing to process standard input");
+            try (OutputStream processStdIn = process.getOutputStream()) {
+                final long written = stdInWriter.write(processStdIn);
+                getLogger().orElse(LOGGER).trace("{} bytes have been written to process standard input", written);
+            } catch (final IOException ioException) {
+                getLogger().orElse(LOGGER).error("Unable to write to process standard input. Stop writing...", ioException);
+            }
+        });
+    }
+
+    /**
+     * Wait for the process, release its resources and complete the process future by the completer.
+     */
+    @SuppressWarnings({"PMD.ConfusingTernary", "PMD.AvoidCatchingThrowable"})
+    private void completeProcess(final Process process, final LocalOperationSystemProcess operationSystemProcess, final Executor completer) {
+        Throwable processExecException = null;
+        Integer exitCode = null;
+        try {
+            exitCode = process.waitFor();
+            getLogger().orElse(LOGGER).debug("The local OS process [{}] has been finished with exit code {}", getExecutionId(), exitCode);
+        } catch (final Throwable throwable) {
+            processExecException = throwable;
+            getLogger().orElse(LOGGER).debug("The local OS process [" + getExecutionId() + "] threw unexpected exception", throwable);
+        }
+        close();
+        if (processExecException == null) {
+            processExecException = stdOutListener.getLineOverflowException().orElse(stdErrListener.getLineOverflowException().orElse(null));
+        }
+        if (processExecException == null) {
+            processExecException = getRedirectOverflowException().orElse(null);
+        }
+        if (processExecException != null) {
+            releaseOutput();
+            final Throwable failure = processExecException;
+            completer.execute(() -> operationSystemProcess.completeExceptionally(failure));
+        } else if (operationSystemProcess.isCancelled()) {
+            releaseOutput();
+            completer.execute(() -> operationSystemProcess.completeExceptionally(new InterruptedException("The os process execution [" + getExecutionId() + "] has been cancelled")));
+        } else if (exitCode == null) {
+            releaseOutput();
+            completer.execute(() -> operationSystemProcess.completeExceptionally(new IllegalStateException("The os process exit code hasn't been gotten")));
+        } else {
+            final DefaultProcessInstance processInstance = newProcessInstance(exitCode);
+            completer.execute(() -> operationSystemProcess.complete(processInstance));
+        }
+    }
+
     @Override
     protected void close() {
         closeResource(stdOutListener);
@@ -187,6 +240,14 @@ public class LocalProcessExecutor extends DefaultProcessExecutor {
         }
     }
 
+    /**
+     * Writer of process standard input.
+     */
+    @FunctionalInterface
+    private interface StandardInputWriter {
+        long write(OutputStream processStdIn) throws IOException;
+    }
+
     /**
      * Dry run process.
      * Fake process that doesn't anything.
@@ -0,0 +1,56 @@
+package com.platformlib.process.local.impl;
+
+import com.platformlib.process.core.AsyncProcessOutputListener;
+import com.platformlib.process.core.ProcessOutputReactor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Local process watcher polled by {@link ProcessOutputReactor}.
+ * Reads available process output and detects process exit without occupying a thread.
+ * When the process has exited and no more output is available the completion payload is passed to completion executor.
+ */
+final class LocalProcessWatcher implements ProcessOutputReactor.Pollable {
+    private final Process process;
+    private final AsyncProcessOutputListener stdOutListener;
+    private final AsyncProcessOutputListener stdErrListener;
+    private final Executor completionExecutor;
+    private final Runnable completion;
+    private boolean exited;
+    private boolean done;
+
+    LocalProcessWatcher(final Process process,
+                        final AsyncProcessOutputListener stdOutListener,
+                        final AsyncProcessOutputListener stdErrListener,
+                        final Executor completionExecutor,
+                        final Runnable completion) {
+        this.process = process;
+        this.stdOutListener = stdOutListener;
+        this.stdErrListener = stdErrListener;
+        this.completionExecutor = completionExecutor;
+        this.completion = completion;
+    }
+
+    @Override
+    public boolean poll() {
+        final boolean stdOutProgress = stdOutListener.pump();
+        final boolean stdErrProgress = stdErrListener.pump();
+        if (stdOutProgress || stdErrProgress) {
+            return true;
+        }
+        if (!exited) {
+            exited = !process.isAlive();
+            return exited;
+        }
+        // The process has exited on previous poll and there is no available output anymore.
+        // The rest (if any) is drained by completion payload without blocking, on most platforms the process pipes are already closed at this moment.
+        done = true;
+        completionExecutor.execute(completion);
+        return true;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+}
@@ -0,0 +1,93 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.api.ProcessOutputMatch;
+import com.platformlib.process.exception.ProcessConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * Interactive process session test.
+ */
+@Execution(CONCURRENT)
+class LocalInteractiveSessionTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern PROMPT = Pattern.compile("ready> ");
+    private static final Pattern ECHO = Pattern.compile("echo: (.*)\n");
+
+    private static InteractiveProcessSession newInteractiveEchoSession() {
+        return LocalGroovyCommand.newGroovyCommand("interactive-echo.groovy").build().executeInteractive();
+    }
+
+    @Test
+    void testRequestResponse() throws IOException, TimeoutException {
+        final InteractiveProcessSession session = newInteractiveEchoSession();
+        session.awaitPattern(PROMPT, TIMEOUT);
+        for (int i = 0; i < 10; i++) {
+            session.write("request " + i + "\n").flush();
+            final ProcessOutputMatch response = session.awaitPattern(ECHO, TIMEOUT);
+            assertThat(response.getPrecedingOutput()).isEmpty();
+            assertThat(response.group(1)).isEqualTo("request " + i);
+            session.awaitPattern(PROMPT, TIMEOUT);
+        }
+        session.close();
+        assertThat(session.awaitPattern(Pattern.compile("bye\r?\n"), TIMEOUT).getPrecedingOutput()).isEmpty();
+        final ProcessInstance processInstance = session.getProcess().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+    }
+
+    @Test
+    void testPipelinedRequests() throws IOException {
+        final List<CompletableFuture<ProcessOutputMatch>> responses = new ArrayList<>();
+        try (InteractiveProcessSession session = newInteractiveEchoSession()) {
+            for (int i = 0; i < 1000; i++) {
+                session.write("request " + i + "\n");
+                responses.add(session.expectPattern(ECHO).toCompletableFuture());
+            }
+            session.flush();
+            for (int i = 0; i < 1000; i++) {
+                assertThat(responses.get(i).join().group(1)).isEqualTo("request " + i);
+            }
+        }
+    }
+
+    @Test
+    void testTimeout() throws IOException, TimeoutException {
+        try (InteractiveProcessSession session = newInteractiveEchoSession()) {
+            session.awaitPattern(PROMPT, TIMEOUT);
+            assertThatThrownBy(() -> session.awaitPattern(ECHO, Duration.ofMillis(100))).isInstanceOf(TimeoutException.class);
+            session.write("late\n").flush();
+            assertThat(session.awaitPattern(ECHO, TIMEOUT).group(1)).isEqualTo("late");
+        }
+    }
+
+    @Test
+    void testProcessEndFailsExpectation() throws IOException {
+        final InteractiveProcessSession session = newInteractiveEchoSession();
+        session.close();
+        assertThatThrownBy(() -> session.awaitPattern(ECHO, TIMEOUT)).isInstanceOf(IOException.class);
+        assertThat(session.getProcess().toCompletableFuture().join().getExitCode()).isEqualTo(0);
+    }
+
+    @Test
+    void testStandardInputCanNotBeConfigured() {
+        assertThatThrownBy(() -> LocalGroovyCommand.newGroovyCommand("interactive-echo.groovy")
+                .standardInput(new ByteArrayInputStream(new byte[0]))
+                .build()
+                .executeInteractive()).isInstanceOf(ProcessConfigurationException.class);
+    }
+}
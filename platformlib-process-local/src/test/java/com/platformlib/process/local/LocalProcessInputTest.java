@@ -0,0 +1,96 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.builder.ProcessBuilder;
+import com.platformlib.process.exception.ProcessConfigurationException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * Process standard input test.
+ */
+@Execution(CONCURRENT)
+class LocalProcessInputTest {
+    private static final int INPUT_SIZE = 3 * 1024 * 1024 + 17;
+    private static byte[] input;
+    private static String expectedOutput;
+
+    @TempDir
+    static Path tempDir;
+
+    @BeforeAll
+    static void generateInput() {
+        input = new byte[INPUT_SIZE];
+        new Random(0).nextBytes(input);
+        final CRC32 crc32 = new CRC32();
+        crc32.update(input, 0, input.length);
+        expectedOutput = INPUT_SIZE + " " + Long.toHexString(crc32.getValue());
+    }
+
+    private static ProcessBuilder newChecksumProcessBuilder() {
+        return LocalGroovyCommand.newGroovyCommand("standard-input-checksum.groovy");
+    }
+
+    @Test
+    void testStandardInputFromFile() throws IOException {
+        final Path stdInFile = Files.write(tempDir.resolve("stdin-file.bin"), input);
+        final ProcessInstance processInstance = newChecksumProcessBuilder().standardInput(stdInFile).build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly(expectedOutput);
+    }
+
+    @Test
+    void testStandardInputFromChannel() throws IOException {
+        final Path stdInFile = Files.write(tempDir.resolve("stdin-channel.bin"), input);
+        final ProcessInstance processInstance;
+        try (FileChannel stdInChannel = FileChannel.open(stdInFile, StandardOpenOption.READ)) {
+            processInstance = newChecksumProcessBuilder().standardInput(stdInChannel).build().execute().toCompletableFuture().join();
+            assertThat(stdInChannel.isOpen()).isTrue();
+        }
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly(expectedOutput);
+    }
+
+    @Test
+    void testStandardInputFromStream() {
+        final ProcessInstance processInstance = newChecksumProcessBuilder().standardInput(new ByteArrayInputStream(input)).build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly(expectedOutput);
+    }
+
+    @Test
+    void testLastStandardInputIsUsed() throws IOException {
+        final Path stdInFile = Files.write(tempDir.resolve("stdin-replaced.bin"), input);
+        final ProcessInstance processInstance = newChecksumProcessBuilder()
+                .standardInput(stdInFile)
+                .standardInput(new ByteArrayInputStream(new byte[0]))
+                .build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly("0 0");
+    }
+
+    @Test
+    void testNonBlockingStandardInputChannelIsRejected() throws IOException {
+        final Pipe pipe = Pipe.open();
+        try (Pipe.SourceChannel source = pipe.source(); Pipe.SinkChannel ignored = pipe.sink()) {
+            source.configureBlocking(false);
+            assertThatThrownBy(() -> newChecksumProcessBuilder().standardInput(source)).isInstanceOf(ProcessConfigurationException.class);
+        }
+    }
+}
@@ -1,19 +1,48 @@
 package com.platformlib.process.local;
 
 import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.api.ProcessOutputLines;
 import com.platformlib.process.builder.ProcessBuilder;
 import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.configurator.ProcessRedirectConfigurator;
+import com.platformlib.process.enums.LineOverflowPolicy;
+import com.platformlib.process.enums.RedirectOverflowPolicy;
+import com.platformlib.process.exception.LineOverflowException;
+import com.platformlib.process.exception.OutputOverflowException;
+import com.platformlib.process.executor.ProcessExecutor;
+import com.platformlib.process.factory.ProcessBuilders;
+import com.platformlib.process.local.specification.LocalProcessSpec;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
@@ -51,4 +80,245 @@ class LocalProcessOutputTest {
         assertThat(processInstance.getStdOut()).containsExactly("A");
         assertThat(processInstance.getStdErr()).containsExactly("B");
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"UTF-8", "windows-1251", "UTF-16LE", "UTF-16"})
+    void testOutputCharset(final String charsetName) {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("encoded-output.groovy", charsetName, charsetName)
+                .charset(Charset.forName(charsetName))
+                .build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly("Привет", "ascii");
+        assertThat(processInstance.getStdErr()).containsExactly("Мир");
+    }
+
+    @Test
+    void testStreamOutputCharset() {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("encoded-output.groovy", "windows-1251", "UTF-8")
+                .charset(Charset.forName("windows-1251"))
+                .logger(logger -> logger.stdErr(stdErr -> stdErr.charset(StandardCharsets.UTF_8)))
+                .build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly("Привет", "ascii");
+        assertThat(processInstance.getStdErr()).containsExactly("Мир");
+    }
+
+    @Test
+    void testLongLine() {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("long-line-output.groovy", 100_000).build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).hasSize(2);
+        assertThat(processInstance.getStdOut().iterator().next()).hasSize(100_000);
+        assertThat(processInstance.getStdOut()).endsWith("end");
+    }
+
+    @Test
+    void testLongLineTruncate() {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("long-line-output.groovy", 100_000)
+                .logger(logger -> {
+                    logger.maxLineLength(1000);
+                    logger.lineOverflowPolicy(LineOverflowPolicy.TRUNCATE);
+                })
+                .build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).hasSize(2);
+        assertThat(processInstance.getStdOut().iterator().next()).hasSize(1000);
+    }
+
+    @Test
+    void testLongLineFail() {
+        final ProcessBuilder processBuilder = LocalGroovyCommand.newGroovyCommand("long-line-output.groovy", 100_000)
+                .logger(logger -> {
+                    logger.maxLineLength(1000);
+                    logger.lineOverflowPolicy(LineOverflowPolicy.FAIL);
+                });
+        assertThatThrownBy(() -> processBuilder.build().execute().toCompletableFuture().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(LineOverflowException.class);
+    }
+
+    @Test
+    void testStdOutInputStream() throws IOException {
+        final ProcessExecutor processExecutor = generateReadableOutputProcessBuilder.build();
+        final BufferedReader stdOut = new BufferedReader(new InputStreamReader(processExecutor.getStdOutInputStream(16), StandardCharsets.UTF_8));
+        final BufferedReader stdErr = new BufferedReader(new InputStreamReader(processExecutor.getStdErrInputStream(), StandardCharsets.UTF_8));
+        final CompletableFuture<ProcessInstance> processInstance = processExecutor.execute(1000, 2).toCompletableFuture();
+        assertThat(stdOut.lines()).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().map(value -> "#" + value + "#").collect(Collectors.toList()));
+        assertThat(stdErr.lines()).containsExactly("*0*", "*1*");
+        assertThat(processInstance.join().getExitCode()).isEqualTo(0);
+    }
+
+    @Test
+    void testStdOutLines() {
+        final ProcessExecutor processExecutor = generateReadableOutputProcessBuilder.build();
+        final ProcessOutputLines stdOut = processExecutor.getStdOutLines(16);
+        final ProcessOutputLines stdErr = processExecutor.getStdErrLines();
+        final CompletableFuture<ProcessInstance> processInstance = processExecutor.execute(1000, 2).toCompletableFuture();
+        assertThat(stdOut.stream()).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().map(value -> "#" + value + "#").collect(Collectors.toList()));
+        assertThat(stdErr).containsExactly("*0*", "*1*");
+        assertThat(processInstance.join().getExitCode()).isEqualTo(0);
+    }
+
+    @Test
+    void testBatchConsumer() {
+        final List<String> stdOut = new ArrayList<>();
+        final AtomicInteger batches = new AtomicInteger();
+        final ProcessInstance processInstance = generateReadableOutputProcessBuilder
+                .stdOutBatchConsumer(batch -> {
+                    batches.incrementAndGet();
+                    batch.forEach(line -> stdOut.add(line.toString()));
+                })
+                .build().execute(10_000, 0).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(stdOut).containsExactlyElementsOf(IntStream.range(0, 10_000).boxed().map(value -> "#" + value + "#").collect(Collectors.toList()));
+        assertThat(batches.get()).isBetween(1, 10_000);
+    }
+
+    @Test
+    void testLingeredBatchOfIdleProcess() throws Exception {
+        final CompletableFuture<List<String>> batch = new CompletableFuture<>();
+        final CompletableFuture<ProcessInstance> processInstance = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .commandAndArguments("sh", "-c", "echo first; echo second; sleep 30")
+                .stdOutBatchConsumer(lines -> batch.complete(lines.stream().map(CharSequence::toString).collect(Collectors.toList())))
+                .batchLinger(Duration.ofMillis(200L))
+                .build().execute().toCompletableFuture();
+        try {
+            // The process waits without output, the batch is passed once the linger time has passed
+            assertThat(batch.get(10L, TimeUnit.SECONDS)).containsExactly("first", "second");
+            assertThat(processInstance).isNotDone();
+        } finally {
+            processInstance.cancel(true);
+        }
+    }
+
+    @Test
+    void testRedirectToFile(@TempDir final Path tempDir) throws IOException {
+        final Path stdOutFile = tempDir.resolve("stdout.txt");
+        final Path stdErrFile = tempDir.resolve("stderr.txt");
+        final ProcessInstance processInstance = generateReadableOutputProcessBuilder
+                .redirectStandardOutput(stdOutFile)
+                .redirectStandardError(stdErrFile)
+                .build().execute(3, 1).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).isEmpty();
+        assertThat(processInstance.getStdErr()).isEmpty();
+        assertThat(Files.readAllLines(stdOutFile)).containsExactly("#0#", "#1#", "#2#");
+        assertThat(Files.readAllLines(stdErrFile)).containsExactly("*0*");
+    }
+
+    @Test
+    void testRedirectToChannel() throws IOException {
+        final ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+        final ProcessInstance processInstance;
+        try (WritableByteChannel stdOutChannel = Channels.newChannel(stdOut)) {
+            processInstance = generateReadableOutputProcessBuilder
+                    .redirectStandardOutput(stdOutChannel)
+                    .build().execute(3, 1).toCompletableFuture().join();
+        }
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).isEmpty();
+        assertThat(processInstance.getStdErr()).containsExactly("*0*");
+        assertThat(new String(stdOut.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("#0#\n#1#\n#2#");
+    }
+
+    @Test
+    void testAsyncRedirect() {
+        final ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+        final ProcessExecutor processExecutor = generateReadableOutputProcessBuilder
+                .redirectStandardOutput(stdOut)
+                .redirect(redirect -> {
+                    redirect.queueCapacity(1024);
+                    redirect.overflowPolicy(RedirectOverflowPolicy.BLOCK);
+                })
+                .build();
+        final ProcessInstance processInstance = processExecutor.execute(1000, 1).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        final String expected = IntStream.range(0, 1000).mapToObj(i -> "#" + i + "#").collect(Collectors.joining("\n"));
+        assertThat(new String(stdOut.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(processExecutor.getRedirectMetrics()).hasSize(1).first().satisfies(metrics -> {
+            assertThat(metrics.getName()).isEqualTo("stdout#0");
+            assertThat(metrics.getWrittenBytes()).isEqualTo(expected.length());
+            assertThat(metrics.getDroppedBytes()).isZero();
+            assertThat(metrics.getQueuedBytes()).isZero();
+        });
+    }
+
+    @Test
+    void testSynchronousRedirect() {
+        final ByteArrayOutputStream stdOut = new ByteArrayOutputStream();
+        final ProcessExecutor processExecutor = generateReadableOutputProcessBuilder
+                .redirectStandardOutput(stdOut)
+                .redirect(ProcessRedirectConfigurator::synchronous)
+                .build();
+        assertThat(processExecutor.execute(3, 1).toCompletableFuture().join().getExitCode()).isEqualTo(0);
+        assertThat(new String(stdOut.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("#0#\n#1#\n#2#");
+        assertThat(processExecutor.getRedirectMetrics()).isEmpty();
+    }
+
+    @Test
+    void testOutputMemoryLimit() {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("generate-readable-output.groovy")
+                .processInstance(processInstanceConfigurator -> {
+                    processInstanceConfigurator.unlimited();
+                    processInstanceConfigurator.maxBytes(4096);
+                })
+                .build().execute(1000, 1).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOutDroppedLines()).isPositive().isLessThan(1000);
+        assertThat(processInstance.getStdOutDroppedBytes()).isPositive();
+        assertThatThrownBy(processInstance::getStdOut).isInstanceOf(OutputOverflowException.class).hasMessageContaining(processInstance.getStdOutDroppedLines() + " line(s)");
+        assertThat(processInstance.getStdErr()).containsExactly("*0*");
+        assertThat(processInstance.getStdErrDroppedLines()).isZero();
+    }
+
+    @Test
+    void testCompactOutput() {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("generate-readable-output.groovy")
+                .processInstance(processInstanceConfigurator -> {
+                    processInstanceConfigurator.unlimited();
+                    processInstanceConfigurator.compact();
+                })
+                .build().execute(1000, 2).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactlyElementsOf(IntStream.range(0, 1000).mapToObj(i -> "#" + i + "#").collect(Collectors.toList()));
+        assertThat(processInstance.getStdErr()).containsExactly("*0*", "*1*");
+        processInstance.release();
+        assertThatThrownBy(() -> processInstance.getStdOut().iterator().next()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testSpillOutput(@TempDir final Path tempDir) throws IOException {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("generate-readable-output.groovy")
+                .processInstance(processInstanceConfigurator -> {
+                    processInstanceConfigurator.unlimited();
+                    processInstanceConfigurator.spill(1024, tempDir);
+                })
+                .build().execute(1000, 2).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactlyElementsOf(IntStream.range(0, 1000).mapToObj(i -> "#" + i + "#").collect(Collectors.toList()));
+        assertThat(processInstance.getStdErr()).containsExactly("*0*", "*1*");
+        try (Stream<Path> spillFiles = Files.list(tempDir)) {
+            assertThat(spillFiles).isNotEmpty();
+        }
+        processInstance.release();
+        try (Stream<Path> spillFiles = Files.list(tempDir)) {
+            assertThat(spillFiles).isEmpty();
+        }
+        assertThatThrownBy(() -> processInstance.getStdOut().iterator().next()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testSpilledOutputDoesNotCountTowardsMemoryBudget(@TempDir final Path tempDir) {
+        final ProcessInstance processInstance = LocalGroovyCommand.newGroovyCommand("generate-readable-output.groovy")
+                .processInstance(processInstanceConfigurator -> {
+                    processInstanceConfigurator.unlimited();
+                    processInstanceConfigurator.maxBytes(4096);
+                    processInstanceConfigurator.spill(1024, tempDir);
+                })
+                .build().execute(1000, 2).toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactlyElementsOf(IntStream.range(0, 1000).mapToObj(i -> "#" + i + "#").collect(Collectors.toList()));
+        assertThat(processInstance.getStdOutDroppedBytes()).isZero();
+        processInstance.release();
+    }
 }
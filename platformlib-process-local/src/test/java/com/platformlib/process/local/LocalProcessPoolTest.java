@@ -0,0 +1,153 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.builder.ProcessBuilder;
+import com.platformlib.process.configuration.pool.ProcessPoolConfiguration;
+import com.platformlib.process.exception.ProcessWorkerException;
+import com.platformlib.process.pool.ProcessPool;
+import com.platformlib.process.pool.ProcessWorkerProtocols;
+import com.platformlib.process.pool.ProcessWorkers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * Worker process pool test.
+ */
+@Execution(CONCURRENT)
+class LocalProcessPoolTest {
+    private static ProcessBuilder newWorkerProcessBuilder() {
+        return LocalGroovyCommand.newGroovyCommand("pooled-worker.groovy");
+    }
+
+    private static ProcessPoolConfiguration newPoolConfiguration() {
+        final ProcessPoolConfiguration configuration = new ProcessPoolConfiguration();
+        configuration.setProtocol(ProcessWorkerProtocols.lines(Pattern.compile("ready\r?\n")));
+        return configuration;
+    }
+
+    private static void awaitWorkers(final IntSupplier workers, final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1L);
+        while (workers.getAsInt() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(100L);
+        }
+        assertThat(workers.getAsInt()).isEqualTo(expected);
+    }
+
+    @Test
+    void testRequestsAreServedByWarmWorker() throws InterruptedException {
+        try (ProcessPool processPool = new ProcessPool(newPoolConfiguration())) {
+            final ProcessWorkers workers = processPool.prestart(newWorkerProcessBuilder());
+            assertThat(workers.getWorkers()).isEqualTo(1);
+            awaitWorkers(workers::getIdleWorkers, 1);
+            final Set<String> workerIds = new HashSet<>();
+            for (int i = 1; i <= 10; i++) {
+                final String[] response = workers.request("request " + i).split(" ", 3);
+                workerIds.add(response[0]);
+                assertThat(response[1]).isEqualTo(String.valueOf(i));
+                assertThat(response[2]).isEqualTo("request " + i);
+            }
+            assertThat(workerIds).hasSize(1);
+            assertThat(workers.getWorkers()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testIdleWorkersAreStopped() throws InterruptedException {
+        final ProcessPoolConfiguration configuration = newPoolConfiguration();
+        configuration.setIdleTimeout(Duration.ofMillis(500L));
+        try (ProcessPool processPool = new ProcessPool(configuration)) {
+            final ProcessWorkers workers = processPool.prestart(newWorkerProcessBuilder());
+            final String workerId = workers.request("request").split(" ", 3)[0];
+            awaitWorkers(workers::getWorkers, 0);
+            // The evicted workers serve requests again
+            final String[] response = workers.request("request").split(" ", 3);
+            assertThat(response[0]).isNotEqualTo(workerId);
+            assertThat(response[1]).isEqualTo("1");
+        }
+    }
+
+    @Test
+    void testWorkerIsRecycledAfterMaxRequests() {
+        final ProcessPoolConfiguration configuration = newPoolConfiguration();
+        configuration.setWarmWorkers(0);
+        configuration.setMaxRequestsPerWorker(3);
+        final Set<String> workerIds = new HashSet<>();
+        try (ProcessPool processPool = new ProcessPool(configuration)) {
+            final ProcessWorkers workers = processPool.prestart(newWorkerProcessBuilder());
+            for (int i = 0; i < 9; i++) {
+                final String[] response = workers.request("request").split(" ", 3);
+                workerIds.add(response[0]);
+                assertThat(response[1]).isEqualTo(String.valueOf(i % 3 + 1));
+            }
+        }
+        assertThat(workerIds).hasSize(3);
+    }
+
+    @Test
+    void testCrashedWorkerIsReplaced() {
+        final ProcessPoolConfiguration configuration = newPoolConfiguration();
+        configuration.setWarmWorkers(0);
+        try (ProcessPool processPool = new ProcessPool(configuration)) {
+            final ProcessWorkers workers = processPool.prestart(newWorkerProcessBuilder());
+            final String workerId = workers.request("request").split(" ", 3)[0];
+            assertThatThrownBy(() -> workers.request("crash")).isInstanceOf(ProcessWorkerException.class);
+            final String[] response = workers.request("request").split(" ", 3);
+            assertThat(response[0]).isNotEqualTo(workerId);
+            assertThat(response[1]).isEqualTo("1");
+        }
+    }
+
+    @Test
+    void testNotRespondingWorkerIsStopped() {
+        final ProcessPoolConfiguration configuration = newPoolConfiguration();
+        configuration.setWarmWorkers(0);
+        configuration.setRequestTimeout(Duration.ofSeconds(2));
+        try (ProcessPool processPool = new ProcessPool(configuration)) {
+            final ProcessWorkers workers = processPool.prestart(newWorkerProcessBuilder());
+            workers.request("request");
+            assertThatThrownBy(() -> workers.request("hang")).isInstanceOf(ProcessWorkerException.class);
+            configuration.setRequestTimeout(Duration.ofMinutes(1));
+            assertThat(workers.request("request").split(" ", 3)[1]).isEqualTo("1");
+        }
+    }
+
+    @Test
+    void testConcurrentRequestsAreLimitedByMaxWorkers() {
+        final ProcessPoolConfiguration configuration = newPoolConfiguration();
+        configuration.setMaxWorkers(2);
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (ProcessPool processPool = new ProcessPool(configuration)) {
+            final ProcessWorkers workers = processPool.prestart(newWorkerProcessBuilder());
+            final List<CompletableFuture<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final String request = "request " + i;
+                responses.add(CompletableFuture.supplyAsync(() -> workers.request(request), executorService));
+            }
+            final Set<String> workerIds = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                final String[] response = responses.get(i).join().split(" ", 3);
+                workerIds.add(response[0]);
+                assertThat(response[2]).isEqualTo("request " + i);
+            }
+            assertThat(workerIds.size()).isBetween(1, 2);
+            assertThat(workers.getWorkers()).isLessThanOrEqualTo(2);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.platformlib.process.api.ProcessInstance;
 import com.platformlib.process.builder.ProcessBuilder;
 import com.platformlib.process.configurator.ProcessOutputConfigurator;
 import com.platformlib.process.enums.ProcessThreadType;
+import com.platformlib.process.exception.ProcessConfigurationException;
+import com.platformlib.process.executor.VirtualThreadExecutor;
 import com.platformlib.process.factory.ProcessBuilders;
 import com.platformlib.process.local.specification.LocalProcessSpec;
 import org.junit.jupiter.api.DisplayName;
@@ -40,8 +42,11 @@ import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
 /**
@@ -187,4 +192,29 @@ class LocalProcessTest {
         assertThat(threadsData.get(ProcessThreadType.STDOUT_LISTENER).get()).isEqualTo(1);
         assertThat(threadsData.get(ProcessThreadType.STDERR_LISTENER).get()).isEqualTo(1);
     }
+
+    @Test
+    @DisplayName("Verify process threads are virtual in virtual threads mode")
+    void testVirtualThreads() throws ExecutionException, InterruptedException {
+        assumeTrue(VirtualThreadExecutor.isAvailable(), "Virtual threads require JDK 21 or later");
+        final Map<ProcessThreadType, String> threadNames = new ConcurrentHashMap<>();
+        final ProcessBuilder processBuilder = ProcessBuilders
+                .newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .virtualThreads()
+                .logger(loggerConf -> loggerConf.onProcessThreadStart(processThreadType -> threadNames.put(processThreadType, Thread.currentThread().toString())))
+                .processInstance(ProcessOutputConfigurator::unlimited)
+                .command("echo");
+        final ProcessInstance processInstance = processBuilder.build().execute("virtual").toCompletableFuture().get();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly("virtual");
+        assertThat(threadNames).containsOnlyKeys(ProcessThreadType.STDOUT_LISTENER, ProcessThreadType.STDERR_LISTENER);
+        assertThat(threadNames.values()).allMatch(threadName -> threadName.startsWith("VirtualThread"));
+    }
+
+    @Test
+    @DisplayName("Verify virtual threads mode is rejected by JVM without virtual threads")
+    void testVirtualThreadsNotSupported() {
+        assumeFalse(VirtualThreadExecutor.isAvailable(), "Virtual threads are supported by current JVM");
+        assertThrows(ProcessConfigurationException.class, () -> ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND).virtualThreads());
+    }
 }
@@ -0,0 +1,131 @@
+package com.platformlib.process.local;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.builder.ProcessBuilder;
+import com.platformlib.process.executor.ProcessExecutor;
+import com.platformlib.process.factory.ProcessBuilders;
+import com.platformlib.process.local.specification.LocalProcessSpec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Check the number of threads required for process execution.
+ */
+class LocalProcessThreadUsageTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalProcessThreadUsageTest.class);
+    private static final int PROCESS_SPAWN_SIZE = 512;
+    private static final int BACKGROUND_CHILD_SECONDS = 30;
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    @DisplayName("Verify that process output is read by shared reactor threads")
+    void testThreadsPerProcess() {
+        final ProcessBuilder processBuilder = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND).command("echo").processInstance(processInstanceConfigurator -> processInstanceConfigurator.headLimit(2));
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final long startedThreadsBefore = threadMXBean.getTotalStartedThreadCount();
+        final long startNanoTime = System.nanoTime();
+        final List<CompletableFuture<ProcessInstance>> processes = IntStream.range(0, PROCESS_SPAWN_SIZE).mapToObj(i -> processBuilder.build().execute(i).toCompletableFuture()).collect(Collectors.toList());
+        for (int i = 0; i < PROCESS_SPAWN_SIZE; i++) {
+            final ProcessInstance processInstance = processes.get(i).join();
+            assertThat(processInstance.getExitCode()).isEqualTo(0);
+            assertThat(processInstance.getStdOut()).containsExactly(String.valueOf(i));
+        }
+        final long startedThreads = threadMXBean.getTotalStartedThreadCount() - startedThreadsBefore;
+        LOGGER.info("{} processes have been executed in {} ms, started threads {}, threads per process {}", PROCESS_SPAWN_SIZE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime), startedThreads, (double) startedThreads / PROCESS_SPAWN_SIZE);
+        assertThat(startedThreads).isLessThan(PROCESS_SPAWN_SIZE / 8);
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    @DisplayName("Verify that a blocked output reader doesn't stall output of other processes")
+    void testBlockedOutputReaderDoesNotStallOtherProcesses() throws IOException {
+        final ProcessExecutor blockedProcessExecutor = LocalGroovyCommand.newGroovyCommand("generate-readable-output.groovy").build();
+        // The stream isn't read, so the writer gets blocked once the ring buffer is full
+        final InputStream blockedStdOut = blockedProcessExecutor.getStdOutInputStream(16);
+        final CompletableFuture<ProcessInstance> blockedProcess = blockedProcessExecutor.execute(100_000, 0).toCompletableFuture();
+        try {
+            final ProcessBuilder processBuilder = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND).command("echo").processInstance(processInstanceConfigurator -> processInstanceConfigurator.headLimit(2));
+            final List<CompletableFuture<ProcessInstance>> processes = IntStream.range(0, 64).mapToObj(i -> processBuilder.build().execute(i).toCompletableFuture()).collect(Collectors.toList());
+            for (int i = 0; i < processes.size(); i++) {
+                assertThat(processes.get(i).join().getStdOut()).containsExactly(String.valueOf(i));
+            }
+        } finally {
+            blockedProcess.cancel(true);
+            blockedStdOut.close();
+        }
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    @DisplayName("Verify that a background child which inherits the process output doesn't delay the process completion")
+    void testBackgroundChildDoesNotDelayCompletion() {
+        // More processes than completion threads, so a blocked completion would delay the rest of them
+        final int processesNumber = 2 * Math.max(2, Runtime.getRuntime().availableProcessors());
+        final ProcessBuilder processBuilder = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .commandAndArguments("sh", "-c", "sleep " + BACKGROUND_CHILD_SECONDS + " & echo started")
+                .processInstance(processInstanceConfigurator -> processInstanceConfigurator.headLimit(2));
+        final long startNanoTime = System.nanoTime();
+        final List<CompletableFuture<ProcessInstance>> processes = IntStream.range(0, processesNumber).mapToObj(i -> processBuilder.build().execute().toCompletableFuture()).collect(Collectors.toList());
+        for (final CompletableFuture<ProcessInstance> process: processes) {
+            final ProcessInstance processInstance = process.join();
+            assertThat(processInstance.getExitCode()).isEqualTo(0);
+            assertThat(processInstance.getStdOut()).containsExactly("started");
+        }
+        assertThat(System.nanoTime() - startNanoTime).isLessThan(TimeUnit.SECONDS.toNanos(BACKGROUND_CHILD_SECONDS / 2));
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    @DisplayName("Verify that dependent stages which wait for nested processes don't block completion of other processes")
+    void testNestedProcessJoinInDependentStage() {
+        // More chains than completion threads, so the dependent stages would occupy all of them if they ran on the completion threads
+        final int chainsNumber = 2 * Math.max(2, Runtime.getRuntime().availableProcessors());
+        final ProcessBuilder processBuilder = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND).command("echo").processInstance(processInstanceConfigurator -> processInstanceConfigurator.headLimit(2));
+        final List<CompletableFuture<ProcessInstance>> chains = IntStream.range(0, chainsNumber)
+                .mapToObj(i -> processBuilder.build().execute(i).toCompletableFuture()
+                        .thenApply(processInstance -> processBuilder.build().execute(processInstance.getStdOut().iterator().next() + "-nested").toCompletableFuture().join()))
+                .collect(Collectors.toList());
+        for (int i = 0; i < chainsNumber; i++) {
+            final ProcessInstance processInstance = chains.get(i).join();
+            assertThat(processInstance.getExitCode()).isEqualTo(0);
+            assertThat(processInstance.getStdOut()).containsExactly(i + "-nested");
+        }
+    }
+
+    @Test
+    @DisplayName("Verify that shared threads are named after the process while running its tasks")
+    void testSharedThreadIsNamedAfterProcess() {
+        final AtomicReference<String> stdInThreadName = new AtomicReference<>();
+        final InputStream stdIn = new ByteArrayInputStream(new byte[] {'a'}) {
+            @Override
+            public synchronized int read(final byte[] bytes, final int offset, final int length) {
+                stdInThreadName.set(Thread.currentThread().getName());
+                return super.read(bytes, offset, length);
+            }
+        };
+        final ProcessInstance processInstance = ProcessBuilders.newProcessBuilder(LocalProcessSpec.LOCAL_COMMAND)
+                .name("named-process")
+                .standardInput(stdIn)
+                .command("cat")
+                .build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(stdInThreadName.get()).startsWith("process-exec-named-process-");
+    }
+}
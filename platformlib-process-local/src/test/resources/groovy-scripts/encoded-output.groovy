@@ -0,0 +1,13 @@
+//Print non-ASCII lines to stdout and stderr in given charsets
+static void main(String... args) {
+    if (args.length != 2) {
+        throw new IllegalStateException("Missing parameters")
+    }
+    def stdOut = new PrintStream(new FileOutputStream(FileDescriptor.out), true, args[0])
+    def stdErr = new PrintStream(new FileOutputStream(FileDescriptor.err), true, args[1])
+    stdOut.print("\u041F\u0440\u0438\u0432\u0435\u0442\r\n")
+    stdErr.print("\u041C\u0438\u0440\n")
+    stdOut.print("ascii\n")
+    stdOut.flush()
+    stdErr.flush()
+}
@@ -0,0 +1,14 @@
+/**
+ * Print a prompt and echo each line of standard input up to the end of it.
+ */
+static void main(String... args) {
+    final BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))
+    print "ready> "
+    System.out.flush()
+    String line
+    while ((line = reader.readLine()) != null) {
+        print "echo: ${line}\nready> "
+        System.out.flush()
+    }
+    println "bye"
+}
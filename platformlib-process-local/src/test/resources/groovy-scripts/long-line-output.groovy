@@ -0,0 +1,10 @@
+//Print the line of given length followed by short one to stdout
+static void main(String... args) {
+    if (args.length != 1) {
+        throw new IllegalStateException("Missing parameters")
+    }
+    System.out.print('x' * Integer.valueOf(args[0]))
+    System.out.print('\n')
+    System.out.print("end\n")
+    System.out.flush()
+}
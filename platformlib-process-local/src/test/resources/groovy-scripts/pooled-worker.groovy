@@ -0,0 +1,23 @@
+/**
+ * Worker which prints "ready" once started and answers each line of standard input by its worker id, request number and the line.
+ * The worker exits with 3 on "crash" line and doesn't answer "hang" line.
+ */
+static void main(String... args) {
+    final String workerId = UUID.randomUUID().toString()
+    final BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))
+    println "ready"
+    System.out.flush()
+    int requests = 0
+    String line
+    while ((line = reader.readLine()) != null) {
+        requests++
+        if (line == "crash") {
+            System.exit(3)
+        }
+        if (line == "hang") {
+            Thread.sleep(60000)
+        }
+        println "${workerId} ${requests} ${line}"
+        System.out.flush()
+    }
+}
@@ -0,0 +1,16 @@
+import java.util.zip.CRC32
+
+/**
+ * Read standard input up to the end and print its size and CRC32 checksum.
+ */
+static void main(String... args) {
+    final CRC32 crc32 = new CRC32()
+    final byte[] buffer = new byte[8192]
+    long size = 0
+    int len
+    while ((len = System.in.read(buffer)) != -1) {
+        crc32.update(buffer, 0, len)
+        size += len
+    }
+    println "${size} ${Long.toHexString(crc32.value)}"
+}
@@ -0,0 +1,162 @@
+package com.platformlib.process.ssh.sftp;
+
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.executor.ProcessExecutor;
+import com.platformlib.process.ssh.SshConnection;
+import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
+import com.platformlib.process.ssh.configuration.SftpTransferConfiguration;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.shell.ProcessShellCommandFactory;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of file download and upload by {@link SftpFileTransfer} compared to {@code ssh host cat file} which reads remote command standard output
+ * and to {@code ssh host dd of=file} which writes remote command standard input.
+ * The server is in-process Apache MINA SSHD server on loopback, so the score shows the client side costs rather than network limits.
+ * Each invocation transfers 64 MiB, so the throughput in MiB/s is the score multiplied by 64.
+ * Requires {@code cat} and {@code dd} commands, i.e. Unix-like OS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SftpTransferBenchmark {
+    private static final int FILE_SIZE = 64 << 20;
+
+    @Param({"1", "16", "64"})
+    private int maxPendingRequests;
+
+    private SshServer sshServer;
+    private SshClientSession sshClientSession;
+    private Path directory;
+    private Path remoteFile;
+    private Path localFile;
+    private Path uploadedFile;
+    private final byte[] readBuffer = new byte[65536];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sftp-benchmark");
+        remoteFile = directory.resolve("remote.bin");
+        localFile = directory.resolve("local.bin");
+        uploadedFile = directory.resolve("uploaded.bin");
+        final byte[] data = new byte[FILE_SIZE];
+        new Random(0).nextBytes(data);
+        Files.write(remoteFile, data);
+        sshServer = SshServer.setUpDefaultServer();
+        sshServer.setPort(0);
+        sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(directory.resolve("host-key.ser")));
+        sshServer.setPasswordAuthenticator((username, password, session) -> "secret".equals(password));
+        sshServer.setCommandFactory(ProcessShellCommandFactory.INSTANCE);
+        sshServer.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        sshServer.start();
+        final SshConnection sshConnection = new SshConnection("localhost", System.getProperty("user.name"));
+        sshConnection.setPort(sshServer.getPort());
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshClientSession = SshClientSessionBuilder.defaultClient(sshConnection).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        sshClientSession.close();
+        sshServer.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long sftpDownload() {
+        final SftpTransferConfiguration configuration = new SftpTransferConfiguration();
+        configuration.setMaxPendingRequests(maxPendingRequests);
+        try (SftpFileTransfer sftpFileTransfer = sshClientSession.openFileTransfer(configuration)) {
+            return check(sftpFileTransfer.download(remoteFile.toString(), localFile));
+        }
+    }
+
+    @Benchmark
+    public long execCatDownload() throws IOException {
+        final ProcessExecutor processExecutor = SshProcessBuilderFactory.newSshProcessBuilder(sshClientSession)
+                .sshOsSpecification(SshOsSpecs.POSIX)
+                .commandAndArguments("cat", remoteFile)
+                .build();
+        final InputStream stdOut = processExecutor.getStdOutInputStream(readBuffer.length);
+        final CompletableFuture<?> process = processExecutor.execute().toCompletableFuture();
+        long transferred = 0;
+        try (FileChannel fileChannel = FileChannel.open(localFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int len;
+            while ((len = stdOut.read(readBuffer)) != -1) {
+                final ByteBuffer data = ByteBuffer.wrap(readBuffer, 0, len);
+                while (data.hasRemaining()) {
+                    fileChannel.write(data);
+                }
+                transferred += len;
+            }
+        }
+        process.join();
+        return check(transferred);
+    }
+
+    @Benchmark
+    public long sftpUpload() {
+        final SftpTransferConfiguration configuration = new SftpTransferConfiguration();
+        configuration.setMaxPendingRequests(maxPendingRequests);
+        try (SftpFileTransfer sftpFileTransfer = sshClientSession.openFileTransfer(configuration)) {
+            return check(sftpFileTransfer.upload(remoteFile, uploadedFile.toString()));
+        }
+    }
+
+    @Benchmark
+    public long execDdUpload() throws IOException {
+        final int exitCode = SshProcessBuilderFactory.newSshProcessBuilder(sshClientSession)
+                .sshOsSpecification(SshOsSpecs.POSIX)
+                .standardInput(remoteFile)
+                .commandAndArguments("dd", "of=" + uploadedFile, "bs=" + readBuffer.length)
+                .build()
+                .execute().toCompletableFuture().join().getExitCode();
+        if (exitCode != 0) {
+            throw new IllegalStateException("The upload has failed with exit code " + exitCode);
+        }
+        return check(Files.size(uploadedFile));
+    }
+
+    private static long check(final long transferred) {
+        if (transferred != FILE_SIZE) {
+            throw new IllegalStateException("Expected " + FILE_SIZE + " bytes, but transferred " + transferred);
+        }
+        return transferred;
+    }
+}
@@ -4,6 +4,7 @@ import com.platformlib.process.ssh.SshConnection;
 import com.platformlib.process.ssh.configuration.SshClientConfiguration;
 import com.platformlib.process.ssh.exception.SshAuthenticationException;
 import com.platformlib.process.ssh.exception.SshConnectException;
+import com.platformlib.process.ssh.impl.SharedSshClient;
 import com.platformlib.process.ssh.impl.SshClientSession;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.auth.UserAuthFactory;
@@ -23,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.security.KeyPair;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -37,6 +39,7 @@ public class SshClientSessionBuilder {
     private SshClientConfiguration sshClientConfiguration;
     private Duration authenticationTimeout;
     private boolean autoClose = false;
+    private SharedSshClient sharedSshClient;
 
     public SshClientSessionBuilder(final SshConnection sshConnection) {
         this.sshConnection = sshConnection;
@@ -56,16 +59,39 @@ public class SshClientSessionBuilder {
         return this;
     }
 
+    /**
+     * Set max time to connect and to authenticate.
+     * @param authenticationTimeout connect and authentication timeout
+     * @return Returns this builder
+     */
+    public SshClientSessionBuilder authenticationTimeout(final Duration authenticationTimeout) {
+        this.authenticationTimeout = authenticationTimeout;
+        return this;
+    }
+
     Optional<Duration> getAuthenticationTimeout() {
         return Optional.of(authenticationTimeout == null ? DEFAULT_AUTHENTICATION_TIMEOUT : authenticationTimeout);
     }
 
+    /**
+     * Build sessions on the shared started client instead of a new client per session.
+     * Closing such session doesn't stop the shared client. Only the idle time of the builder configuration is applied to the session,
+     * the rest of connection options are taken from the shared client configuration.
+     * @param sharedSshClient shared ssh client
+     * @return Returns this builder
+     */
+    public SshClientSessionBuilder sharedClient(final SharedSshClient sharedSshClient) {
+        this.sharedSshClient = sharedSshClient;
+        return this;
+    }
+
     public SshClientSession build() {
-        final SshClient client = SshClient.setUpDefaultClient();
+        final List<String> passwordIdentities = new ArrayList<>();
+        final List<KeyPair> keyIdentities = new ArrayList<>();
         final List<UserAuthFactory> authFactories = new ArrayList<>();
         sshConnection.getUserPassword().ifPresent(userPassword -> {
             authFactories.add(UserAuthPasswordFactory.INSTANCE);
-            client.addPasswordIdentity(userPassword.getSourceValue());
+            passwordIdentities.add(userPassword.getSourceValue());
         });
         sshConnection.getKeyPairFile().ifPresent(keyPairFile -> {
             authFactories.add(UserAuthPublicKeyFactory.INSTANCE);
@@ -73,16 +99,60 @@ public class SshClientSessionBuilder {
             sshConnection.getKeyPairFilePassword().ifPresent(keyPairFilePassword -> keyPairProvider.setPasswordFinder(FilePasswordProvider.of(keyPairFilePassword.getSourceValue())));
             try {
                 for (final String keyType: keyPairProvider.getKeyTypes(null)) {
-                    client.addPublicKeyIdentity(keyPairProvider.loadKey(null, keyType));
+                    keyIdentities.add(keyPairProvider.loadKey(null, keyType));
                 }
             } catch (IOException | GeneralSecurityException exception) {
                 throw new RuntimeException(exception);
             }
         });
-        client.setUserAuthFactories(authFactories);
 
-        getAuthenticationTimeout().ifPresent(authenticationTimeout -> CoreModuleProperties.AUTH_TIMEOUT.set(client, authenticationTimeout));
+        final boolean clientOwner = sharedSshClient == null;
+        final SshClient client = clientOwner ? newClient(sshClientConfiguration) : sharedSshClient.getSshClient();
+        ClientSession session = null;
+        final ConnectFuture connectFuture;
+        final boolean connected;
+        try {
+            connectFuture = client.connect(sshConnection.getUsername(), sshConnection.getHostname(), sshConnection.getPort());
+            connected = connectFuture.await(getAuthenticationTimeout().get().toMillis());
+            if (connected) {
+                session = connectFuture.getSession();
+            }
+        } catch (final Exception exception) {
+            throw fail(client, clientOwner, session, () -> new SshConnectException("Fail to connect to " + sshConnection.getDisplayLabel(), exception));
+        }
+        if (!connected) {
+            cancelConnect(connectFuture);
+            throw fail(client, clientOwner, null, () -> new SshConnectException("Fail to connect to " + sshConnection.getDisplayLabel() + " in " + getAuthenticationTimeout().get().toMillis() + " ms"));
+        }
+        if (session == null) {
+            throw fail(client, clientOwner, null, () -> new IOException("Unable to get session"));
+        }
+        // Identities and authentication are set per session, so sessions of different users can share the client
+        passwordIdentities.forEach(session::addPasswordIdentity);
+        keyIdentities.forEach(session::addPublicKeyIdentity);
+        session.setUserAuthFactories(authFactories);
+        final ClientSession clientSession = session;
+        getAuthenticationTimeout().ifPresent(authenticationTimeout -> CoreModuleProperties.AUTH_TIMEOUT.set(clientSession, authenticationTimeout));
+        if (!clientOwner && sshClientConfiguration != null) {
+            sshClientConfiguration.getIdleTime().ifPresent(idleTime -> CoreModuleProperties.IDLE_TIMEOUT.set(clientSession, idleTime));
+        }
+        try {
+            session.auth().verify(getAuthenticationTimeout().orElseThrow(IllegalStateException::new).toMillis()).verify();
+        } catch (final IOException exception) {
+            throw fail(client, clientOwner, session, () -> new SshAuthenticationException("Authentication failure on " + sshConnection.getDisplayLabel(), exception));
+        }
+        return new SshClientSession(client, session, autoClose, clientOwner, sshClientConfiguration == null ? SshClientConfiguration.DEFAULT_MAX_CHANNELS : sshClientConfiguration.getMaxChannels());
+    }
+
+    /**
+     * Create and start ssh client.
+     * @param sshClientConfiguration ssh client configuration, the default configuration is used if null
+     * @return Returns started ssh client
+     */
+    public static SshClient newClient(final SshClientConfiguration sshClientConfiguration) {
+        final SshClient client = SshClient.setUpDefaultClient();
         if (sshClientConfiguration != null) {
+            sshClientConfiguration.getIoWorkers().ifPresent(ioWorkers -> CoreModuleProperties.NIO_WORKERS.set(client, ioWorkers));
             if (sshClientConfiguration.isCompressionEnabled()) {
                 client.setCompressionFactories(Collections.singletonList(BuiltinCompressions.zlib));
             }
@@ -91,6 +161,7 @@ public class SshClientSessionBuilder {
                 CoreModuleProperties.IDLE_TIMEOUT.set(client, idleTime);
             });
             //TODO CHeck for configuration: CoreModuleProperties.NIO2_MIN_WRITE_TIMEOUT.set(client, ???);
+            sshClientConfiguration.getStdInWaitTimeout().ifPresent(stdInWaitTimeout -> CoreModuleProperties.WAIT_FOR_SPACE_TIMEOUT.set(client, stdInWaitTimeout));
 
             sshClientConfiguration.getNioBufferSize().ifPresent(nioBufferSize -> CoreModuleProperties.NIO2_READ_BUFFER_SIZE.set(client, nioBufferSize));
 
@@ -114,28 +185,30 @@ public class SshClientSessionBuilder {
         }
         client.setHostConfigEntryResolver(HostConfigEntryResolver.EMPTY);
         client.start();
-        final ClientSession session;
-        try {
-            final ConnectFuture connectFuture = client.connect(sshConnection.getUsername(), sshConnection.getHostname(), sshConnection.getPort());
-            connectFuture.await(getAuthenticationTimeout().get().toMillis());
-            session = connectFuture.getSession();
-        } catch (final Exception exception) {
-            throw fail(client, () -> new SshConnectException("Fail to connect to " + sshConnection.getDisplayLabel(), exception));
-        }
-        if (session == null) {
-            throw fail(client, () -> new IOException("Unable to get session"));
-        }
-        try {
-            session.auth().verify(getAuthenticationTimeout().orElseThrow(IllegalStateException::new).toMillis()).verify();
-        } catch (final IOException exception) {
-            throw fail(client, () -> new SshAuthenticationException("Authentication failure on " + sshConnection.getDisplayLabel(), exception));
-        }
-        return new SshClientSession(client, session, autoClose);
+        return client;
     }
 
-    private RuntimeException fail(final SshClient client, final Supplier<Exception> exceptionSupplier) {
+    /**
+     * Cancel the connection which hasn't been established in time.
+     * The shared client isn't closed on failure, so the session connected after the timeout would stay open on it, it is closed once delivered.
+     */
+    private static void cancelConnect(final ConnectFuture connectFuture) {
+        connectFuture.cancel();
+        connectFuture.addListener(future -> {
+            if (future.isConnected()) {
+                LOGGER.debug("Close the ssh session connected after the timeout");
+                future.getSession().close(true);
+            }
+        });
+    }
+
+    private RuntimeException fail(final SshClient client, final boolean clientOwner, final ClientSession session, final Supplier<Exception> exceptionSupplier) {
         try {
-            client.close();
+            if (clientOwner) {
+                client.close();
+            } else if (session != null) {
+                session.close();
+            }
         } catch (final IOException ioException) {
             LOGGER.warn("An unexpected error while closing ssh client", ioException);
         }
@@ -2,11 +2,20 @@ package com.platformlib.process.ssh.builder;
 
 import com.platformlib.process.builder.ProcessBuilder;
 import com.platformlib.process.ssh.SshConnection;
+import com.platformlib.process.ssh.pool.SshSessionPool;
 import com.platformlib.process.ssh.specification.SshOsSpec;
 
 public interface SshProcessBuilder extends ProcessBuilder, AutoCloseable {
     SshProcessBuilder connectTo(SshConnection sshConnection);
     SshProcessBuilder sshOsSpecification(SshOsSpec sshOsSpecification);
+
+    /**
+     * Use pooled sessions to the connection host.
+     * A session is acquired from the pool for each execution and returned to the pool after it, broken session is reopened transparently.
+     * @param sshSessionPool session pool
+     * @return Returns this builder
+     */
+    SshProcessBuilder sessionPool(SshSessionPool sshSessionPool);
     @Override
     void close();
 }
@@ -0,0 +1,67 @@
+package com.platformlib.process.ssh.configuration;
+
+import com.platformlib.process.exception.ProcessConfigurationException;
+
+/**
+ * SFTP file transfer configuration.
+ */
+public class SftpTransferConfiguration {
+    /**
+     * Default size of read and write requests, it is the size all SFTP servers must support.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32768;
+    /**
+     * Default max number of pending requests, it is the OpenSSH sftp client default.
+     */
+    public static final int DEFAULT_MAX_PENDING_REQUESTS = 64;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxPendingRequests = DEFAULT_MAX_PENDING_REQUESTS;
+    private boolean resume;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set max size of data of one read or write request.
+     * The server may return less data than requested, the rest is requested again.
+     * @param chunkSize size of request data in bytes, must be positive
+     */
+    public void setChunkSize(final int chunkSize) {
+        if (chunkSize < 1) {
+            throw new ProcessConfigurationException("Chunk size must be positive, but given " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    /**
+     * Set max number of requests sent without waiting for their responses.
+     * The file is transferred at about {@code chunkSize * maxPendingRequests / round trip time}.
+     * @param maxPendingRequests max number of pending requests, must be positive
+     */
+    public void setMaxPendingRequests(final int maxPendingRequests) {
+        if (maxPendingRequests < 1) {
+            throw new ProcessConfigurationException("Max pending requests must be positive, but given " + maxPendingRequests);
+        }
+        this.maxPendingRequests = maxPendingRequests;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * Continue interrupted transfers.
+     * The destination file which is shorter than the source is appended from its size, otherwise it is transferred from the beginning.
+     * The already transferred part isn't compared with the source.
+     * @param resume true to continue transfers
+     */
+    public void setResume(final boolean resume) {
+        this.resume = resume;
+    }
+}
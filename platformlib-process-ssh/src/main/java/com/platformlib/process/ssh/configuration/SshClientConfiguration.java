@@ -1,13 +1,22 @@
 package com.platformlib.process.ssh.configuration;
 
+import com.platformlib.process.exception.ProcessConfigurationException;
+
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 
 public class SshClientConfiguration {
+    /**
+     * Default max number of concurrently opened channels per session, it is the OpenSSH server MaxSessions default.
+     */
+    public static final int DEFAULT_MAX_CHANNELS = 10;
     private Duration idleTime = Duration.ZERO;
     private boolean useCompression = false;
     private Integer nioBufferSize;
+    private Integer ioWorkers;
+    private int maxChannels = DEFAULT_MAX_CHANNELS;
+    private Duration stdInWaitTimeout;
     private boolean keyReExchange = true;
 
     private final SshTcpConfiguration tcpConfiguration = new SshTcpConfiguration();
@@ -42,6 +51,55 @@ public class SshClientConfiguration {
         this.nioBufferSize = nioBufferSize;
     }
 
+    public Optional<Integer> getIoWorkers() {
+        return Optional.ofNullable(ioWorkers);
+    }
+
+    /**
+     * Set number of client I/O worker threads, all sessions of the client are served by these threads.
+     * @param ioWorkers number of I/O worker threads, must be positive
+     */
+    public void setIoWorkers(final int ioWorkers) {
+        if (ioWorkers < 1) {
+            throw new ProcessConfigurationException("Number of I/O workers must be positive, but given " + ioWorkers);
+        }
+        this.ioWorkers = ioWorkers;
+    }
+
+    public int getMaxChannels() {
+        return maxChannels;
+    }
+
+    /**
+     * Set max number of concurrently opened channels per session.
+     * Commands executed concurrently over one session beyond the limit wait for a free channel.
+     * @param maxChannels max number of channels per session, must be positive
+     */
+    public void setMaxChannels(final int maxChannels) {
+        if (maxChannels < 1) {
+            throw new ProcessConfigurationException("Max channels per session must be positive, but given " + maxChannels);
+        }
+        this.maxChannels = maxChannels;
+    }
+
+    public Optional<Duration> getStdInWaitTimeout() {
+        return Optional.ofNullable(stdInWaitTimeout);
+    }
+
+    /**
+     * Set max time of waiting for the remote command to consume its standard input.
+     * The standard input is sent within the channel window granted by the server, the writing waits when the window is exhausted
+     * and fails if the remote command hasn't read its input in this time. The execution timeout overrides it if set.
+     * @param stdInWaitTimeout max waiting time, must be positive
+     */
+    public void setStdInWaitTimeout(final Duration stdInWaitTimeout) {
+        Objects.requireNonNull(stdInWaitTimeout);
+        if (stdInWaitTimeout.isNegative() || stdInWaitTimeout.isZero()) {
+            throw new ProcessConfigurationException("Standard input wait timeout must be positive, but given " + stdInWaitTimeout);
+        }
+        this.stdInWaitTimeout = stdInWaitTimeout;
+    }
+
     public SshTcpConfiguration getTcpConfiguration() {
         return tcpConfiguration;
     }
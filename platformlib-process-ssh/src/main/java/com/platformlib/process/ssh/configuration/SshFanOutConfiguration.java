@@ -0,0 +1,119 @@
+package com.platformlib.process.ssh.configuration;
+
+import com.platformlib.process.exception.ProcessConfigurationException;
+import com.platformlib.process.ssh.builder.SshProcessBuilder;
+import com.platformlib.process.ssh.pool.SshSessionPool;
+import com.platformlib.process.ssh.specification.SshOsSpec;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * SSH fan-out executor configuration.
+ */
+public class SshFanOutConfiguration {
+    public static final int DEFAULT_PARALLELISM = 32;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private Duration connectTimeout = SshSessionPoolConfiguration.DEFAULT_CONNECT_TIMEOUT;
+    private Duration commandTimeout;
+    private boolean cancelOnFailure;
+    private SshOsSpec sshOsSpecification = SshOsSpecs.POSIX;
+    private SshSessionPool sessionPool;
+    private Consumer<SshProcessBuilder> processBuilderConfigurator;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set max number of hosts the command is executed on at the same time.
+     * @param parallelism max number of concurrent executions, must be positive
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new ProcessConfigurationException("Parallelism must be positive, but given " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Set max time to connect and to authenticate to a host.
+     * The timeout is applied to the own session pool of the executor, the configured pool has its own connect timeout.
+     * @param connectTimeout connect timeout, must be positive
+     */
+    public void setConnectTimeout(final Duration connectTimeout) {
+        if (connectTimeout.isNegative() || connectTimeout.isZero()) {
+            throw new ProcessConfigurationException("Connect timeout must be positive, but given " + connectTimeout);
+        }
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Optional<Duration> getCommandTimeout() {
+        return Optional.ofNullable(commandTimeout);
+    }
+
+    /**
+     * Set max time of the command execution on a host, the remote command is stopped once the time has passed.
+     * @param commandTimeout command timeout, must be positive
+     */
+    public void setCommandTimeout(final Duration commandTimeout) {
+        if (commandTimeout.isNegative() || commandTimeout.isZero()) {
+            throw new ProcessConfigurationException("Command timeout must be positive, but given " + commandTimeout);
+        }
+        this.commandTimeout = commandTimeout;
+    }
+
+    public boolean isCancelOnFailure() {
+        return cancelOnFailure;
+    }
+
+    /**
+     * Cancel the rest of executions once the command has failed on a host, e.g. it couldn't be started or exited with non-zero code.
+     * @param cancelOnFailure true to cancel the executions on the first failure
+     */
+    public void setCancelOnFailure(final boolean cancelOnFailure) {
+        this.cancelOnFailure = cancelOnFailure;
+    }
+
+    public SshOsSpec getSshOsSpecification() {
+        return sshOsSpecification;
+    }
+
+    public void setSshOsSpecification(final SshOsSpec sshOsSpecification) {
+        this.sshOsSpecification = Objects.requireNonNull(sshOsSpecification);
+    }
+
+    public Optional<SshSessionPool> getSessionPool() {
+        return Optional.ofNullable(sessionPool);
+    }
+
+    /**
+     * Set session pool to execute commands on.
+     * The pool isn't closed by the executor, if it isn't set the executor creates own pool.
+     * @param sessionPool ssh session pool
+     */
+    public void setSessionPool(final SshSessionPool sessionPool) {
+        this.sessionPool = Objects.requireNonNull(sessionPool);
+    }
+
+    public Optional<Consumer<SshProcessBuilder>> getProcessBuilderConfigurator() {
+        return Optional.ofNullable(processBuilderConfigurator);
+    }
+
+    /**
+     * Set configurator of process builders of every host, e.g. to configure logging or process output.
+     * By default the process instance gets unlimited process output.
+     * @param processBuilderConfigurator process builder configurator
+     */
+    public void setProcessBuilderConfigurator(final Consumer<SshProcessBuilder> processBuilderConfigurator) {
+        this.processBuilderConfigurator = processBuilderConfigurator;
+    }
+}
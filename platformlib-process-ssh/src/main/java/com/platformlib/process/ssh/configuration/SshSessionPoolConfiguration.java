@@ -0,0 +1,109 @@
+package com.platformlib.process.ssh.configuration;
+
+import com.platformlib.process.exception.ProcessConfigurationException;
+import com.platformlib.process.ssh.impl.SharedSshClient;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * SSH session pool configuration.
+ */
+public class SshSessionPoolConfiguration {
+    public static final int DEFAULT_MAX_SESSIONS_PER_HOST = 8;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofMinutes(1);
+
+    private int maxSessionsPerHost = DEFAULT_MAX_SESSIONS_PER_HOST;
+    private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private Duration acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private SshClientConfiguration clientConfiguration = new SshClientConfiguration();
+    private SharedSshClient sharedClient;
+
+    public int getMaxSessionsPerHost() {
+        return maxSessionsPerHost;
+    }
+
+    /**
+     * Set max number of sessions open at once on the same host and port, in use and idle, the sessions of all users and credentials are counted together.
+     * @param maxSessionsPerHost max number of sessions, must be positive
+     */
+    public void setMaxSessionsPerHost(final int maxSessionsPerHost) {
+        if (maxSessionsPerHost < 1) {
+            throw new ProcessConfigurationException("Max sessions per host must be positive, but given " + maxSessionsPerHost);
+        }
+        this.maxSessionsPerHost = maxSessionsPerHost;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Set time after which an unused session is closed.
+     * @param idleTimeout idle session timeout, must be positive
+     */
+    public void setIdleTimeout(final Duration idleTimeout) {
+        this.idleTimeout = checkPositive("Idle timeout", idleTimeout);
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * Set max time to wait for a session if all sessions to the host are in use.
+     * @param acquireTimeout session acquire timeout, must be positive
+     */
+    public void setAcquireTimeout(final Duration acquireTimeout) {
+        this.acquireTimeout = checkPositive("Acquire timeout", acquireTimeout);
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Set max time to connect and to authenticate a new session.
+     * @param connectTimeout session connect timeout, must be positive
+     */
+    public void setConnectTimeout(final Duration connectTimeout) {
+        this.connectTimeout = checkPositive("Connect timeout", connectTimeout);
+    }
+
+    public SshClientConfiguration getClientConfiguration() {
+        return clientConfiguration;
+    }
+
+    /**
+     * Set configuration of pooled sessions.
+     * The heartbeat of the configuration keeps idle sessions alive and detects broken connections, the broken sessions are not reused.
+     * @param clientConfiguration ssh client configuration
+     */
+    public void setClientConfiguration(final SshClientConfiguration clientConfiguration) {
+        this.clientConfiguration = Objects.requireNonNull(clientConfiguration);
+    }
+
+    public Optional<SharedSshClient> getSharedClient() {
+        return Optional.ofNullable(sharedClient);
+    }
+
+    /**
+     * Set shared client to open pooled sessions on.
+     * The client isn't closed by the pool, if it isn't set the pool starts own shared client with the client configuration.
+     * @param sharedClient shared ssh client
+     */
+    public void setSharedClient(final SharedSshClient sharedClient) {
+        this.sharedClient = Objects.requireNonNull(sharedClient);
+    }
+
+    private static Duration checkPositive(final String name, final Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new ProcessConfigurationException(name + " must be positive, but given " + duration);
+        }
+        return duration;
+    }
+}
@@ -0,0 +1,11 @@
+package com.platformlib.process.ssh.exception;
+
+public class SshTransferException extends SshBaseException {
+    public SshTransferException(String message) {
+        super(message);
+    }
+
+    public SshTransferException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
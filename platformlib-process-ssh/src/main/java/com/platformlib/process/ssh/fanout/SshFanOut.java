@@ -0,0 +1,196 @@
+package com.platformlib.process.ssh.fanout;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.exception.ProcessException;
+import com.platformlib.process.ssh.SshConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Execution of one command on many hosts started by {@link SshFanOutExecutor}.
+ * The host results are iterated in order of completion, the iteration waits for the next completed host and ends after the last one.
+ * There is only one iterator, so each result is got once.
+ */
+public class SshFanOut implements Iterable<SshHostResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SshFanOut.class);
+    private final Function<SshConnection, CompletionStage<ProcessInstance>> launcher;
+    private final int parallelism;
+    private final boolean cancelOnFailure;
+    private final int hostCount;
+    private final Queue<SshConnection> pending;
+    private final Set<CompletableFuture<ProcessInstance>> running = new HashSet<>();
+    private final List<SshHostResult> results = new ArrayList<>();
+    private final BlockingQueue<SshHostResult> completed = new LinkedBlockingQueue<>();
+    private final CompletableFuture<List<SshHostResult>> completion = new CompletableFuture<>();
+    private final Iterator<SshHostResult> iterator = new ResultIterator();
+    private boolean cancelled;
+    private boolean launching;
+    private int taken;
+
+    SshFanOut(final Collection<SshConnection> sshConnections,
+              final Function<SshConnection, CompletionStage<ProcessInstance>> launcher,
+              final int parallelism,
+              final boolean cancelOnFailure) {
+        this.pending = new ArrayDeque<>(sshConnections);
+        this.hostCount = pending.size();
+        this.launcher = launcher;
+        this.parallelism = parallelism;
+        this.cancelOnFailure = cancelOnFailure;
+    }
+
+    synchronized void start() {
+        launchPending();
+        if (hostCount == 0) {
+            completion.complete(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Get all host results.
+     * @return Returns stage which is completed with host results in order of completion once the command is completed on all hosts
+     */
+    public CompletionStage<List<SshHostResult>> getResults() {
+        return completion;
+    }
+
+    @Override
+    public Iterator<SshHostResult> iterator() {
+        return iterator;
+    }
+
+    public Stream<SshHostResult> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator, hostCount, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Cancel the execution.
+     * The hosts which haven't been started get cancelled results, the running remote commands are stopped.
+     */
+    public void cancel() {
+        final List<CompletableFuture<ProcessInstance>> runningExecutions;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            LOGGER.debug("Cancel execution, {} host(s) are pending, {} host(s) are running", pending.size(), running.size());
+            while (!pending.isEmpty()) {
+                addResult(new SshHostResult(pending.poll(), null, null, true, Duration.ZERO));
+            }
+            runningExecutions = new ArrayList<>(running);
+        }
+        // The cancelled executions complete their results by completion callbacks
+        runningExecutions.forEach(execution -> execution.cancel(true));
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Launch pending hosts up to parallelism.
+     * The executions completed while launching, synchronous failures and already completed executions, call back here on the same thread,
+     * the nested calls return at once and the loop launches the rest of hosts, so the stack doesn't grow with the number of failed hosts.
+     */
+    private void launchPending() {
+        if (launching) {
+            return;
+        }
+        launching = true;
+        try {
+            while (!cancelled && running.size() < parallelism && !pending.isEmpty()) {
+                launch(pending.poll());
+            }
+        } finally {
+            launching = false;
+        }
+    }
+
+    private void launch(final SshConnection sshConnection) {
+        final long startNanoTime = System.nanoTime();
+        final CompletableFuture<ProcessInstance> execution;
+        try {
+            execution = launcher.apply(sshConnection).toCompletableFuture();
+        } catch (final RuntimeException runtimeException) {
+            addHostResult(sshConnection, startNanoTime, null, runtimeException);
+            return;
+        }
+        running.add(execution);
+        execution.whenComplete((processInstance, throwable) -> onCompleted(execution, sshConnection, startNanoTime, processInstance, throwable));
+    }
+
+    private synchronized void onCompleted(final CompletableFuture<ProcessInstance> execution,
+                                          final SshConnection sshConnection,
+                                          final long startNanoTime,
+                                          final ProcessInstance processInstance,
+                                          final Throwable throwable) {
+        running.remove(execution);
+        addHostResult(sshConnection, startNanoTime, processInstance, throwable);
+        launchPending();
+    }
+
+    private void addHostResult(final SshConnection sshConnection, final long startNanoTime, final ProcessInstance processInstance, final Throwable throwable) {
+        final boolean cancelledExecution = throwable instanceof CancellationException;
+        final SshHostResult result = new SshHostResult(sshConnection, processInstance, cancelledExecution ? null : throwable, cancelledExecution, Duration.ofNanos(System.nanoTime() - startNanoTime));
+        addResult(result);
+        if (cancelOnFailure && !cancelled && !result.isSuccess()) {
+            LOGGER.debug("The command has failed on {}, cancel the rest of hosts", sshConnection.getDisplayLabel());
+            cancel();
+        }
+    }
+
+    private void addResult(final SshHostResult result) {
+        results.add(result);
+        completed.add(result);
+        if (results.size() == hostCount) {
+            completion.complete(Collections.unmodifiableList(new ArrayList<>(results)));
+        }
+    }
+
+    private final class ResultIterator implements Iterator<SshHostResult> {
+        @Override
+        public boolean hasNext() {
+            synchronized (SshFanOut.this) {
+                return taken < hostCount;
+            }
+        }
+
+        @Override
+        public SshHostResult next() {
+            synchronized (SshFanOut.this) {
+                if (taken >= hostCount) {
+                    throw new NoSuchElementException();
+                }
+                taken++;
+            }
+            try {
+                return completed.take();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new ProcessException("Waiting for host result has been interrupted", interruptedException);
+            }
+        }
+    }
+}
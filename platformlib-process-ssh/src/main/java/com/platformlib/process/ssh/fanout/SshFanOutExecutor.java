@@ -0,0 +1,79 @@
+package com.platformlib.process.ssh.fanout;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.ssh.SshConnection;
+import com.platformlib.process.ssh.builder.SshProcessBuilder;
+import com.platformlib.process.ssh.configuration.SshFanOutConfiguration;
+import com.platformlib.process.ssh.configuration.SshSessionPoolConfiguration;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.pool.SshSessionPool;
+
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Executor of the same command on many hosts.
+ * The command is executed on a limited number of hosts at the same time, the next host is started once a running one is completed.
+ * The commands are executed on pooled sessions which share one ssh client, so repeated executions on the same hosts don't reconnect.
+ */
+public class SshFanOutExecutor implements AutoCloseable {
+    private final SshFanOutConfiguration configuration;
+    private final SshSessionPool sshSessionPool;
+    private final boolean sessionPoolOwner;
+
+    /**
+     * Create executor with default configuration.
+     */
+    public SshFanOutExecutor() {
+        this(new SshFanOutConfiguration());
+    }
+
+    /**
+     * Constructor.
+     * @param configuration fan-out configuration
+     */
+    public SshFanOutExecutor(final SshFanOutConfiguration configuration) {
+        this.configuration = configuration;
+        sessionPoolOwner = !configuration.getSessionPool().isPresent();
+        sshSessionPool = configuration.getSessionPool().orElseGet(() -> {
+            final SshSessionPoolConfiguration sessionPoolConfiguration = new SshSessionPoolConfiguration();
+            sessionPoolConfiguration.setConnectTimeout(configuration.getConnectTimeout());
+            return new SshSessionPool(sessionPoolConfiguration);
+        });
+    }
+
+    /**
+     * Execute command on the hosts asynchronously.
+     * @param sshConnections connections to the hosts
+     * @param commandAndArguments command and arguments
+     * @return Returns started execution which provides host results as they complete
+     */
+    public SshFanOut execute(final Collection<SshConnection> sshConnections, final Object... commandAndArguments) {
+        final SshFanOut sshFanOut = new SshFanOut(sshConnections, sshConnection -> execute(sshConnection, commandAndArguments), configuration.getParallelism(), configuration.isCancelOnFailure());
+        sshFanOut.start();
+        return sshFanOut;
+    }
+
+    private CompletionStage<ProcessInstance> execute(final SshConnection sshConnection, final Object... commandAndArguments) {
+        final SshProcessBuilder sshProcessBuilder = SshProcessBuilderFactory
+                .newSshProcessBuilder()
+                .connectTo(sshConnection)
+                .sessionPool(sshSessionPool)
+                .sshOsSpecification(configuration.getSshOsSpecification());
+        sshProcessBuilder.processInstance(ProcessOutputConfigurator::unlimited);
+        configuration.getCommandTimeout().ifPresent(sshProcessBuilder::executionTimeout);
+        configuration.getProcessBuilderConfigurator().ifPresent(processBuilderConfigurator -> processBuilderConfigurator.accept(sshProcessBuilder));
+        return sshProcessBuilder.build().execute(commandAndArguments);
+    }
+
+    /**
+     * Close own session pool of the executor, the configured pool isn't closed.
+     */
+    @Override
+    public void close() {
+        if (sessionPoolOwner) {
+            sshSessionPool.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.platformlib.process.ssh.fanout;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.ssh.SshConnection;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Result of the command execution on one host of {@link SshFanOut}.
+ */
+public final class SshHostResult {
+    private final SshConnection sshConnection;
+    private final ProcessInstance processInstance;
+    private final Throwable failure;
+    private final boolean cancelled;
+    private final Duration duration;
+
+    SshHostResult(final SshConnection sshConnection, final ProcessInstance processInstance, final Throwable failure, final boolean cancelled, final Duration duration) {
+        this.sshConnection = sshConnection;
+        this.processInstance = processInstance;
+        this.failure = failure;
+        this.cancelled = cancelled;
+        this.duration = duration;
+    }
+
+    public SshConnection getSshConnection() {
+        return sshConnection;
+    }
+
+    /**
+     * Get completed process.
+     * @return Returns process instance if the command has been executed, {@link Optional#empty()} if the execution failed or has been cancelled
+     */
+    public Optional<ProcessInstance> getProcessInstance() {
+        return Optional.ofNullable(processInstance);
+    }
+
+    /**
+     * Get execution failure.
+     * @return Returns the cause if the command couldn't be executed, e.g. connect or command timeout, {@link Optional#empty()} otherwise
+     */
+    public Optional<Throwable> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Check if the command has been executed successfully.
+     * @return Returns true if the command has been executed and exited with zero code
+     */
+    public boolean isSuccess() {
+        return processInstance != null && processInstance.getExitCode() == 0;
+    }
+
+    /**
+     * Get time spent on the host.
+     * @return Returns time from the execution start to its completion, zero if the execution hasn't been started
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+}
@@ -0,0 +1,52 @@
+package com.platformlib.process.ssh.impl;
+
+import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
+import com.platformlib.process.ssh.configuration.SshClientConfiguration;
+import org.apache.sshd.client.SshClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Started SSH client which is shared by many sessions.
+ * Every client has own I/O worker threads, so sessions built on the shared client are served by one bounded group of threads
+ * (see {@link SshClientConfiguration#setIoWorkers(int)}) instead of a thread group per session.
+ * Closing a session built on the shared client closes only the session, the client is stopped by {@link #close()}.
+ */
+public class SharedSshClient implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedSshClient.class);
+    private final SshClient sshClient;
+
+    /**
+     * Create and start shared client with default configuration.
+     */
+    public SharedSshClient() {
+        this(new SshClientConfiguration());
+    }
+
+    /**
+     * Create and start shared client.
+     * The connection options of the configuration, e.g. I/O workers, socket options and heartbeat, are applied to all sessions of the client.
+     * @param sshClientConfiguration ssh client configuration
+     */
+    public SharedSshClient(final SshClientConfiguration sshClientConfiguration) {
+        sshClient = SshClientSessionBuilder.newClient(sshClientConfiguration);
+    }
+
+    public SshClient getSshClient() {
+        return sshClient;
+    }
+
+    /**
+     * Stop the client, all sessions built on the client are closed.
+     */
+    @Override
+    public void close() {
+        try {
+            sshClient.close();
+        } catch (final IOException ioException) {
+            LOGGER.warn("Error while closing shared ssh client", ioException);
+        }
+    }
+}
@@ -1,23 +1,49 @@
 package com.platformlib.process.ssh.impl;
 
+import com.platformlib.process.ssh.configuration.SftpTransferConfiguration;
+import com.platformlib.process.ssh.configuration.SshClientConfiguration;
+import com.platformlib.process.ssh.sftp.SftpFileTransfer;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.session.ClientSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.Semaphore;
 
 public class SshClientSession implements AutoCloseable {
     private static final Logger LOGGER = LoggerFactory.getLogger(SshClientSession.class);
     private final SshClient sshClient;
     private final ClientSession clientSession;
     private final boolean autoCLose;
-    private boolean isClosed = false;
+    private final boolean clientOwner;
+    private final int maxChannels;
+    private final Semaphore channelPermits;
+    private volatile boolean isClosed = false;
 
     public SshClientSession(final SshClient sshClient, final ClientSession clientSession, final boolean autoCLose) {
+        this(sshClient, clientSession, autoCLose, true);
+    }
+
+    public SshClientSession(final SshClient sshClient, final ClientSession clientSession, final boolean autoCLose, final boolean clientOwner) {
+        this(sshClient, clientSession, autoCLose, clientOwner, SshClientConfiguration.DEFAULT_MAX_CHANNELS);
+    }
+
+    /**
+     * Constructor.
+     * @param sshClient ssh client the session belongs to
+     * @param clientSession opened and authenticated session
+     * @param autoCLose true if the session is closed after process execution
+     * @param clientOwner true if the client is closed with the session, false if the client is shared and only the session is closed
+     * @param maxChannels max number of concurrently opened channels
+     */
+    public SshClientSession(final SshClient sshClient, final ClientSession clientSession, final boolean autoCLose, final boolean clientOwner, final int maxChannels) {
         this.sshClient = sshClient;
         this.clientSession = clientSession;
         this.autoCLose = autoCLose;
+        this.clientOwner = clientOwner;
+        this.maxChannels = maxChannels;
+        this.channelPermits = new Semaphore(maxChannels, true);
     }
 
     public SshClient getSshClient() {
@@ -32,13 +58,82 @@ public class SshClientSession implements AutoCloseable {
         return autoCLose;
     }
 
+    /**
+     * Check if the client is owned by the session.
+     * @return Returns true if the client is closed with the session, false if the client is shared
+     */
+    public boolean isClientOwner() {
+        return clientOwner;
+    }
+
+    public int getMaxChannels() {
+        return maxChannels;
+    }
+
+    /**
+     * Get number of channels which can be opened without waiting.
+     * @return Returns number of free channels of the session
+     */
+    public int getAvailableChannels() {
+        return channelPermits.availablePermits();
+    }
+
+    /**
+     * Acquire permission to open a channel.
+     * The call waits while max number of channels are in use, the waiting callers get channels in order.
+     * The permission must be returned by {@link #releaseChannel()} once the channel is closed.
+     * @throws InterruptedException if the waiting has been interrupted
+     */
+    public void acquireChannel() throws InterruptedException {
+        if (!channelPermits.tryAcquire()) {
+            LOGGER.debug("All {} channel(s) of the session are in use, wait for a free channel", maxChannels);
+            channelPermits.acquire();
+        }
+    }
+
+    /**
+     * Return permission got by {@link #acquireChannel()}.
+     */
+    public void releaseChannel() {
+        channelPermits.release();
+    }
+
+    /**
+     * Open SFTP file transfer with default configuration.
+     * @return Returns opened file transfer, it should be closed to release the session channel
+     */
+    public SftpFileTransfer openFileTransfer() {
+        return openFileTransfer(new SftpTransferConfiguration());
+    }
+
+    /**
+     * Open SFTP file transfer over the session.
+     * @param sftpTransferConfiguration transfer configuration
+     * @return Returns opened file transfer, it should be closed to release the session channel
+     */
+    public SftpFileTransfer openFileTransfer(final SftpTransferConfiguration sftpTransferConfiguration) {
+        return new SftpFileTransfer(this, sftpTransferConfiguration);
+    }
+
+    /**
+     * Check if the session can be used to execute commands.
+     * @return Returns true if the session hasn't been closed and its connection is alive
+     */
+    public boolean isOpen() {
+        return !isClosed && clientSession.isOpen() && !clientSession.isClosing();
+    }
+
     @Override
     public void close() {
         if (isClosed) {
             return;
         }
         try {
-            sshClient.close();
+            if (clientOwner) {
+                sshClient.close();
+            } else {
+                clientSession.close();
+            }
         } catch (final IOException ioException) {
             LOGGER.warn("Error while closing connection", ioException);
         } finally {
@@ -6,6 +6,7 @@ import com.platformlib.process.executor.ProcessExecutor;
 import com.platformlib.process.ssh.SshConnection;
 import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
 import com.platformlib.process.ssh.builder.SshProcessBuilder;
+import com.platformlib.process.ssh.pool.SshSessionPool;
 import com.platformlib.process.ssh.specification.SshOsSpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,7 @@ public class SshProcessBuilderImpl extends DefaultProcessBuilder implements SshP
     private SshClientSession sshClientSession;
     private SshConnection sshConnection;
     private SshOsSpec sshOsSpecification;
+    private SshSessionPool sshSessionPool;
 
     public SshProcessBuilderImpl() {
     }
@@ -29,6 +31,12 @@ public class SshProcessBuilderImpl extends DefaultProcessBuilder implements SshP
 
     @Override
     public ProcessExecutor build() {
+        if (sshClientSession == null && sshSessionPool != null) {
+            if (sshConnection == null) {
+                throw new ProcessConfigurationException("No ssh connection is specified");
+            }
+            return new SshProcessExecutor(sshSessionPool, sshConnection, this, sshOsSpecification);
+        }
         if (sshClientSession == null) {
             if (sshConnection == null) {
                 throw new ProcessConfigurationException("No ssh connection is specified");
@@ -58,8 +66,16 @@ public class SshProcessBuilderImpl extends DefaultProcessBuilder implements SshP
         return this;
     }
 
+    @Override
+    public SshProcessBuilder sessionPool(final SshSessionPool sshSessionPool) {
+        this.sshSessionPool = sshSessionPool;
+        return this;
+    }
+
     @Override
     public void close() {
-        sshClientSession.close();
+        if (sshClientSession != null) {
+            sshClientSession.close();
+        }
     }
 }
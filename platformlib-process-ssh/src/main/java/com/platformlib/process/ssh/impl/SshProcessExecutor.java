@@ -5,19 +5,22 @@ import com.platformlib.process.configuration.ProcessConfiguration;
 import com.platformlib.process.configuration.logger.ProcessLoggerConfiguration;
 import com.platformlib.process.core.AsyncProcessOutputListener;
 import com.platformlib.process.core.DefaultOperationSystemProcess;
-import com.platformlib.process.core.DefaultProcessInstance;
 import com.platformlib.process.enums.ProcessThreadType;
 import com.platformlib.process.exception.ProcessConfigurationException;
 import com.platformlib.process.executor.DefaultProcessExecutor;
+import com.platformlib.process.ssh.SshConnection;
+import com.platformlib.process.ssh.pool.SshSessionPool;
 import com.platformlib.process.ssh.specification.SshOsSpec;
 import org.apache.sshd.client.channel.ChannelExec;
 import org.apache.sshd.client.channel.ClientChannelEvent;
+import org.apache.sshd.core.CoreModuleProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,8 +34,8 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(SshProcessExecutor.class);
     private static final AtomicLong EXECUTION_COUNTER = new AtomicLong(0L);
     private final SshClientSession sshClientSession;
-    private AsyncProcessOutputListener stdOutListener;
-    private AsyncProcessOutputListener stdErrListener;
+    private final SshSessionPool sshSessionPool;
+    private final SshConnection sshConnection;
     private final ProcessConfiguration processConfiguration;
     private final SshOsSpec sshOsSpecification;
 
@@ -47,6 +50,28 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
                               final SshOsSpec sshOsSpecification) {
         super(processConfiguration);
         this.sshClientSession = sshClientSession;
+        this.sshSessionPool = null;
+        this.sshConnection = null;
+        this.processConfiguration = processConfiguration;
+        this.sshOsSpecification = sshOsSpecification;
+    }
+
+    /**
+     * Constructor of executor which acquires a pooled session for each execution.
+     *
+     * @param sshSessionPool session pool
+     * @param sshConnection connection to acquire sessions for
+     * @param processConfiguration process configuration
+     * @param sshOsSpecification remote OS specification
+     */
+    public SshProcessExecutor(final SshSessionPool sshSessionPool,
+                              final SshConnection sshConnection,
+                              final ProcessConfiguration processConfiguration,
+                              final SshOsSpec sshOsSpecification) {
+        super(processConfiguration);
+        this.sshClientSession = null;
+        this.sshSessionPool = sshSessionPool;
+        this.sshConnection = sshConnection;
         this.processConfiguration = processConfiguration;
         this.sshOsSpecification = sshOsSpecification;
     }
@@ -60,6 +85,10 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
 
     @Override
     public OperationSystemProcess execute(final Object... commandAndArguments) {
+        if (getStandardOutputFile().isPresent() || getStandardErrorFile().isPresent()) {
+            throw new ProcessConfigurationException("The redirect of remote process output to file is not supported, redirect it to channel instead");
+        }
+        startExecution();
         final DefaultOperationSystemProcess operationSystemProcess = new DefaultOperationSystemProcess();
         final String callerThreadName = Thread.currentThread().getName();
         final long executionId = EXECUTION_COUNTER.incrementAndGet();
@@ -76,35 +105,59 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
         }
         sshCommandAndArguments.addAll(unmasked);
         final String commandToExecute = String.join(" ", sshCommandAndArguments);
-        stdOutListener = new AsyncProcessOutputListener(
+        // The executions over the same session are run by their own executors, so they don't share the output
+        final AsyncProcessOutputListener stdOutListener = new AsyncProcessOutputListener(
                 getExecutor(),
                 ProcessThreadType.STDOUT_LISTENER,
                 processConfiguration.getProcessLoggerConfiguration().flatMap(ProcessLoggerConfiguration::getLoggerStdOutConfiguration).orElse(null),
                 getProcessStdOut());
-        stdErrListener = new AsyncProcessOutputListener(
+        final AsyncProcessOutputListener stdErrListener = new AsyncProcessOutputListener(
                 getExecutor(),
                 ProcessThreadType.STDERR_LISTENER,
                 processConfiguration.getProcessLoggerConfiguration().flatMap(ProcessLoggerConfiguration::getLoggerStdErrConfiguration).orElse(null),
                 getProcessStdErr());
         getExecutor().execute(() -> {
+            final String workerThreadName = Thread.currentThread().getName();
             Thread.currentThread().setName("ssh-execute-" + callerThreadName + "-" + executionId);
             final long processThreadStartNanoTime = System.nanoTime();
             Throwable execException = null;
-            DefaultProcessInstance processInstance = null;
+            Integer exitStatus = null;
+            SshClientSession session = null;
+            SshClientSession channelSession = null;
             try {
-                try (ChannelExec channelExec = sshClientSession.getClientSession().createExecChannel(commandToExecute)) {
+                session = sshSessionPool == null ? sshClientSession : sshSessionPool.acquire(sshConnection);
+                ChannelExec openedChannel;
+                try {
+                    openedChannel = openExecChannel(session, commandToExecute, processConfiguration.getExecutionTimeout().orElse(null));
+                } catch (final IOException ioException) {
+                    if (sshSessionPool == null || session.isOpen()) {
+                        throw ioException;
+                    }
+                    // The pooled session has been broken while it was idle, the command hasn't been started, so it is executed on a new session
+                    LOGGER.debug("The pooled SSH session is broken, reconnect to {}", sshConnection.getDisplayLabel(), ioException);
+                    session.close();
+                    session = sshSessionPool.acquire(sshConnection);
+                    openedChannel = openExecChannel(session, commandToExecute, processConfiguration.getExecutionTimeout().orElse(null));
+                }
+                channelSession = session;
+                // The output is read from the channel pipes, the channel window is released as the listeners read,
+                // so a slow reader holds the remote output back instead of blocking the SSH I/O thread
+                stdOutListener.startListening(openedChannel.getInvertedOut());
+                stdErrListener.startListening(openedChannel.getInvertedErr());
+                // Cancelling the process closes the channel, so the remote command is stopped
+                final ChannelExec cancellableChannel = openedChannel;
+                operationSystemProcess.whenComplete((processInstance, throwable) -> {
+                    if (operationSystemProcess.isCancelled()) {
+                        LOGGER.debug("The execution [{}] has been cancelled, close the channel", executionId);
+                        cancellableChannel.close(true);
+                    }
+                });
+                try (ChannelExec channelExec = openedChannel) {
                     LOGGER.trace("Execute [{}] remote command: {}", executionId, commandToExecute);
-                    final PipedInputStream stdOutInputStream = new PipedInputStream();
-                    final PipedOutputStream stdOutOutputStream = new PipedOutputStream(stdOutInputStream);
-                    channelExec.setOut(stdOutOutputStream);
-                    stdOutListener.startListening(stdOutInputStream);
-                    final PipedInputStream stdErrInputStream = new PipedInputStream();
-                    final PipedOutputStream stdErrOutputStream = new PipedOutputStream(stdErrInputStream);
-                    channelExec.setErr(stdErrOutputStream);
-                    stdErrListener.startListening(stdErrInputStream);
-
-                    //TODO Control timeout
-                    channelExec.open().verify(1, TimeUnit.MINUTES);
+                    if (isInteractive()) {
+                        connectInteractiveStandardInput(channelExec.getInvertedIn());
+                    }
+                    writeStandardInput(channelExec, executionId);
                     final Set<ClientChannelEvent> channelEvents = channelExec.waitFor(EnumSet.of(ClientChannelEvent.TIMEOUT, ClientChannelEvent.EXIT_SIGNAL, ClientChannelEvent.EXIT_STATUS, ClientChannelEvent.CLOSED), processConfiguration.getExecutionTimeout().orElse(null));
                     if (channelEvents.contains(ClientChannelEvent.EXIT_STATUS)) {
                         //TODO Control timeout
@@ -119,10 +172,13 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
                             execException = new IOException("There is no SSH exit status");
                         } else {
                             LOGGER.debug("The process execution took {} ms, exit code {}", Duration.ofNanos(System.nanoTime() - processThreadStartNanoTime).toMillis(), channelExec.getExitStatus());
-                            processInstance = new DefaultProcessInstance(channelExec.getExitStatus(), getProcessStdOut(), getProcessStdErr());
+                            exitStatus = channelExec.getExitStatus();
                         }
                     } else if (channelEvents.contains(ClientChannelEvent.EXIT_SIGNAL)) {
                         execException = new IOException("The channel received EXIT signal");
+                    } else if (channelEvents.contains(ClientChannelEvent.TIMEOUT)) {
+                        channelExec.close(true);
+                        execException = new IOException("The remote command has not been completed in " + processConfiguration.getExecutionTimeout().map(Duration::toMillis).orElse(0L) + " ms");
                     } else if (channelEvents.contains(ClientChannelEvent.CLOSED)) {
                         execException = new IOException("The channel received CLOSED signal");
                     } else {
@@ -134,6 +190,7 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
                 LOGGER.error("The SSH remote OS process execution failed", throwable);
                 execException = throwable;
             } finally {
+                // The channel is closed, the listeners read the rest of the output from the channel pipes up to the end
                 try {
                     stdOutListener.close();
                 } catch (final IOException ioException) {
@@ -144,18 +201,93 @@ public class SshProcessExecutor extends DefaultProcessExecutor {
                 } catch (final IOException ioException) {
                     LOGGER.warn("Fail to close stderr listener", ioException);
                 }
-                if (sshClientSession.isAutoCLose()) {
-                    sshClientSession.close();
+                if (channelSession != null) {
+                    channelSession.releaseChannel();
+                }
+                if (session != null && session.isAutoCLose()) {
+                    session.close();
                 }
             }
-            // Mark async as completed only after closing std out/err listeners.
+            if (execException == null) {
+                execException = stdOutListener.getLineOverflowException().orElse(stdErrListener.getLineOverflowException().orElse(null));
+            }
+            if (execException == null) {
+                execException = getRedirectOverflowException().orElse(null);
+            }
+            // Mark async as completed only after closing std out/err listeners, the process instance gets the whole output then
             if (execException != null) {
+                releaseOutput();
                 operationSystemProcess.completeExceptionally(execException);
             } else  {
-                operationSystemProcess.complete(processInstance);
+                operationSystemProcess.complete(newProcessInstance(exitStatus));
             }
+            Thread.currentThread().setName(workerThreadName);
         });
         return operationSystemProcess;
     }
 
+    private boolean hasStandardInput() {
+        return getStdIn().isPresent() || getStdInChannel().isPresent() || getStdInFile().isPresent();
+    }
+
+    /**
+     * Write standard input to the remote command asynchronously.
+     * The input is written to the channel which sends it within the window granted by the server, so the writing waits while the remote command doesn't read.
+     * The channel gets EOF at the end of the input.
+     */
+    private void writeStandardInput(final ChannelExec channelExec, final long executionId) {
+        if (!hasStandardInput()) {
+            return;
+        }
+        getExecutor().execute(() -> {
+            try (OutputStream remoteStdIn = channelExec.getInvertedIn()) {
+                final long written;
+                if (getStdInFile().isPresent()) {
+                    try (FileChannel stdInFile = FileChannel.open(getStdInFile().get(), StandardOpenOption.READ)) {
+                        written = copyStandardInput(stdInFile, remoteStdIn);
+                    }
+                } else if (getStdInChannel().isPresent()) {
+                    written = copyStandardInput(getStdInChannel().get(), remoteStdIn);
+                } else {
+                    written = copyStandardInput(getStdIn().get(), remoteStdIn);
+                }
+                LOGGER.trace("{} bytes have been written to standard input of [{}]", written, executionId);
+            } catch (final IOException ioException) {
+                if (channelExec.isOpen()) {
+                    LOGGER.error("Unable to write to standard input of [{}]. Stop writing...", executionId, ioException);
+                } else {
+                    LOGGER.debug("The remote command [{}] has been completed before reading the whole standard input", executionId, ioException);
+                }
+            }
+        });
+    }
+
+    /**
+     * Open exec channel once the session channels limit allows.
+     * The channel permission of the session is held by the opened channel and returned if the channel can't be opened.
+     */
+    private static ChannelExec openExecChannel(final SshClientSession session,
+                                               final String commandToExecute,
+                                               final Duration executionTimeout) throws IOException, InterruptedException {
+        session.acquireChannel();
+        try {
+            final ChannelExec channelExec = session.getClientSession().createExecChannel(commandToExecute);
+            // The remote command may not read its input for as long as it runs
+            if (executionTimeout != null) {
+                CoreModuleProperties.WAIT_FOR_SPACE_TIMEOUT.set(channelExec, executionTimeout);
+            }
+            try {
+                //TODO Control timeout
+                channelExec.open().verify(1, TimeUnit.MINUTES);
+            } catch (final IOException ioException) {
+                channelExec.close(true);
+                throw ioException;
+            }
+            return channelExec;
+        } catch (final IOException | RuntimeException exception) {
+            session.releaseChannel();
+            throw exception;
+        }
+    }
+
 }
@@ -0,0 +1,47 @@
+package com.platformlib.process.ssh.pool;
+
+import com.platformlib.process.ssh.impl.SshClientSession;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Session of {@link SshSessionPool}, closing returns the session to the pool.
+ */
+final class PooledSshClientSession extends SshClientSession {
+    private final SshSessionPool sshSessionPool;
+    private final SshSessionPool.HostSessions hostSessions;
+    private final List<Object> credentialsKey;
+    private final AtomicBoolean borrowed = new AtomicBoolean();
+    private volatile long releaseNanoTime;
+
+    PooledSshClientSession(final SshClientSession sshClientSession, final SshSessionPool sshSessionPool, final SshSessionPool.HostSessions hostSessions, final List<Object> credentialsKey) {
+        super(sshClientSession.getSshClient(), sshClientSession.getClientSession(), true, sshClientSession.isClientOwner(), sshClientSession.getMaxChannels());
+        this.sshSessionPool = sshSessionPool;
+        this.hostSessions = hostSessions;
+        this.credentialsKey = credentialsKey;
+    }
+
+    void borrow() {
+        borrowed.set(true);
+    }
+
+    long getReleaseNanoTime() {
+        return releaseNanoTime;
+    }
+
+    /**
+     * Return the session to the pool, the repeated calls are ignored.
+     */
+    @Override
+    public void close() {
+        if (borrowed.compareAndSet(true, false)) {
+            releaseNanoTime = System.nanoTime();
+            sshSessionPool.release(this, hostSessions, credentialsKey);
+        }
+    }
+
+    void closeSession() {
+        super.close();
+    }
+}
@@ -0,0 +1,395 @@
+package com.platformlib.process.ssh.pool;
+
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.ssh.SshConnection;
+import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
+import com.platformlib.process.ssh.configuration.SshSessionPoolConfiguration;
+import com.platformlib.process.ssh.exception.SshConnectException;
+import com.platformlib.process.ssh.impl.SharedSshClient;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of authenticated SSH sessions keyed by host, port, user and credentials of {@link SshConnection}.
+ * A session is acquired for a command execution and returned to the pool by {@link SshClientSession#close()}, so TCP connect, key exchange and authentication are done once per pooled session.
+ * The number of open sessions per host, in use and idle, is limited for all users and credentials together.
+ * Once the limit is reached, an idle session of other user or credentials is closed to open a new one, otherwise the acquiring waits for a released session up to acquire timeout.
+ * Broken sessions are not reused, a new session is opened instead of them, idle sessions are closed after idle timeout and the host without sessions is removed from the pool.
+ * All pooled sessions are opened on one shared client, so they are served by the same I/O worker threads.
+ */
+public class SshSessionPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SshSessionPool.class);
+    private static final long MIN_EVICTION_PERIOD_MILLIS = 1000L;
+    private static final int CREDENTIALS_SALT_SIZE = 16;
+    private final SshSessionPoolConfiguration configuration;
+    private final Map<List<Object>, HostSessions> hosts = new ConcurrentHashMap<>();
+    // The credentials are kept in the keys as salted digests, the salt makes the digests useless outside of the pool
+    private final byte[] credentialsSalt = new byte[CREDENTIALS_SALT_SIZE];
+    private final ScheduledExecutorService evictor;
+    private final SharedSshClient sharedClient;
+    private final boolean sharedClientOwner;
+    private volatile boolean closed;
+
+    /**
+     * Create pool with default configuration.
+     */
+    public SshSessionPool() {
+        this(new SshSessionPoolConfiguration());
+    }
+
+    /**
+     * Constructor.
+     * @param configuration pool configuration
+     */
+    public SshSessionPool(final SshSessionPoolConfiguration configuration) {
+        this.configuration = configuration;
+        new SecureRandom().nextBytes(credentialsSalt);
+        sharedClientOwner = !configuration.getSharedClient().isPresent();
+        sharedClient = configuration.getSharedClient().orElseGet(() -> new SharedSshClient(configuration.getClientConfiguration()));
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "ssh-session-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long evictionPeriod = Math.max(configuration.getIdleTimeout().toMillis() / 2, MIN_EVICTION_PERIOD_MILLIS);
+        evictor.scheduleWithFixedDelay(this::evictIdleSessions, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Acquire session to the host.
+     * An idle open session is reused if any, otherwise a new session is opened if the host limit allows or an idle session of other credentials can be closed,
+     * otherwise the call waits for a released session.
+     * @param sshConnection connection to acquire session for
+     * @return Returns authenticated session, it should be closed to return it to the pool
+     */
+    public SshClientSession acquire(final SshConnection sshConnection) {
+        if (closed) {
+            throw new IllegalStateException("The SSH session pool is closed");
+        }
+        final List<Object> hostKey = hostKeyOf(sshConnection);
+        final List<Object> credentialsKey = credentialsKeyOf(sshConnection);
+        final long deadline = System.nanoTime() + configuration.getAcquireTimeout().toNanos();
+        while (true) {
+            final HostSessions hostSessions = hosts.computeIfAbsent(hostKey, HostSessions::new);
+            final Lease lease = hostSessions.take(sshConnection, credentialsKey, deadline);
+            if (lease != null) {
+                return lease.borrow(sshConnection, hostSessions, credentialsKey);
+            }
+            // The host has been removed from the pool after the last session eviction, it is added again
+        }
+    }
+
+    private PooledSshClientSession openSession(final SshConnection sshConnection, final HostSessions hostSessions, final List<Object> credentialsKey) {
+        final SshClientSession sshClientSession = SshClientSessionBuilder.defaultClient(sshConnection).configure(configuration.getClientConfiguration()).sharedClient(sharedClient).authenticationTimeout(configuration.getConnectTimeout()).build();
+        return new PooledSshClientSession(sshClientSession, this, hostSessions, credentialsKey);
+    }
+
+    /**
+     * Return session to the pool.
+     * The session is closed if it is broken or the pool is closed.
+     */
+    void release(final PooledSshClientSession session, final HostSessions hostSessions, final List<Object> credentialsKey) {
+        if (closed || !session.isOpen() || !hostSessions.offerIdle(session, credentialsKey)) {
+            session.closeSession();
+            hostSessions.closed();
+        }
+    }
+
+    /**
+     * Get number of idle sessions to the host.
+     * @param sshConnection connection to get idle sessions for
+     * @return Returns number of sessions of the connection user and credentials which are opened and not in use
+     */
+    public int getIdleSessions(final SshConnection sshConnection) {
+        final HostSessions hostSessions = hosts.get(hostKeyOf(sshConnection));
+        return hostSessions == null ? 0 : hostSessions.getIdleCount(credentialsKeyOf(sshConnection));
+    }
+
+    private void evictIdleSessions() {
+        final long evictBefore = System.nanoTime() - configuration.getIdleTimeout().toNanos();
+        hosts.values().forEach(hostSessions -> hostSessions.evict(evictBefore));
+    }
+
+    /**
+     * Close idle sessions and stop pooling, the sessions in use are closed when they are released.
+     * The own shared client of the pool is stopped, so the sessions in use are closed too.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        hosts.values().forEach(HostSessions::closeIdle);
+        if (sharedClientOwner) {
+            sharedClient.close();
+        }
+    }
+
+    private static List<Object> hostKeyOf(final SshConnection sshConnection) {
+        return Arrays.asList(sshConnection.getHostname(), sshConnection.getPort());
+    }
+
+    /**
+     * The credentials are the part of the key, so a session authenticated by one credentials is never lent to a connection with other credentials.
+     * The password and passphrase aren't kept in cleartext, the key holds the salted digest of the credentials.
+     */
+    private List<Object> credentialsKeyOf(final SshConnection sshConnection) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw new IllegalStateException("SHA-256 is not supported", noSuchAlgorithmException);
+        }
+        digest.update(credentialsSalt);
+        updateDigest(digest, sshConnection.getUserPassword().map(MaskedPassword::getSourceValue).orElse(null));
+        updateDigest(digest, sshConnection.getKeyPairFile().map(Object::toString).orElse(null));
+        updateDigest(digest, sshConnection.getKeyPairFilePassword().map(MaskedPassword::getSourceValue).orElse(null));
+        return Arrays.asList(sshConnection.getUsername(), Base64.getEncoder().encodeToString(digest.digest()));
+    }
+
+    /**
+     * Add the value to the digest, the values are prefixed by their length, so the digest of separate values differs from the digest of their concatenation.
+     */
+    private static void updateDigest(final MessageDigest digest, final String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    /**
+     * Sessions of one host and port, the sessions of all users and credentials are counted against the host limit together.
+     */
+    final class HostSessions {
+        private final List<Object> hostKey;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        // Most recently used sessions are reused first, so the rest of them become idle and are evicted
+        private final Map<List<Object>, Deque<PooledSshClientSession>> idle = new HashMap<>();
+        // Number of sessions in use, idle and being opened
+        private int opened;
+        private boolean removed;
+
+        private HostSessions(final List<Object> hostKey) {
+            this.hostKey = hostKey;
+        }
+
+        /**
+         * Take idle session of the credentials or reserve a place for a new session.
+         * @return Returns lease of the session, null if the host has been removed from the pool and should be added again
+         */
+        private Lease take(final SshConnection sshConnection, final List<Object> credentialsKey, final long deadline) {
+            PooledSshClientSession evicted = null;
+            lock.lock();
+            try {
+                while (true) {
+                    if (removed) {
+                        return null;
+                    }
+                    if (closed) {
+                        throw new IllegalStateException("The SSH session pool is closed");
+                    }
+                    final PooledSshClientSession session = pollIdle(credentialsKey);
+                    if (session != null) {
+                        return new Lease(session);
+                    }
+                    if (opened < configuration.getMaxSessionsPerHost()) {
+                        opened++;
+                        return new Lease(null);
+                    }
+                    // The place of the least recently used idle session of other credentials is taken by the new session
+                    evicted = pollLeastRecentlyUsedIdle();
+                    if (evicted != null) {
+                        return new Lease(null);
+                    }
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SshConnectException("No SSH session to " + sshConnection.getDisplayLabel() + " is available in " + configuration.getAcquireTimeout().toMillis() + " ms");
+                    }
+                    released.awaitNanos(remaining);
+                }
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new SshConnectException("Waiting for SSH session to " + sshConnection.getDisplayLabel() + " has been interrupted", interruptedException);
+            } finally {
+                lock.unlock();
+                if (evicted != null) {
+                    LOGGER.debug("The SSH sessions limit of {} is reached, close idle session of other credentials", sshConnection.getDisplayLabel());
+                    evicted.closeSession();
+                }
+            }
+        }
+
+        private PooledSshClientSession pollIdle(final List<Object> credentialsKey) {
+            final Deque<PooledSshClientSession> sessions = idle.get(credentialsKey);
+            if (sessions == null) {
+                return null;
+            }
+            final PooledSshClientSession session = sessions.pollFirst();
+            if (sessions.isEmpty()) {
+                idle.remove(credentialsKey);
+            }
+            return session;
+        }
+
+        private PooledSshClientSession pollLeastRecentlyUsedIdle() {
+            Deque<PooledSshClientSession> leastRecentlyUsed = null;
+            for (final Deque<PooledSshClientSession> sessions: idle.values()) {
+                if (leastRecentlyUsed == null || sessions.peekLast().getReleaseNanoTime() - leastRecentlyUsed.peekLast().getReleaseNanoTime() < 0) {
+                    leastRecentlyUsed = sessions;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return null;
+            }
+            final PooledSshClientSession session = leastRecentlyUsed.pollLast();
+            idle.values().removeIf(Deque::isEmpty);
+            return session;
+        }
+
+        /**
+         * Keep released session as idle.
+         * @return Returns true if the session is kept, false if the pool has been closed and the session should be closed
+         */
+        private boolean offerIdle(final PooledSshClientSession session, final List<Object> credentialsKey) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                idle.computeIfAbsent(credentialsKey, key -> new ArrayDeque<>()).offerFirst(session);
+                // The waiters of the same credentials reuse the session, the waiters of other credentials close it and open their own
+                released.signalAll();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Free the place of closed session, the host is removed from the pool once it has no sessions.
+         */
+        private void closed() {
+            lock.lock();
+            try {
+                opened--;
+                released.signalAll();
+                removeIfEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeIfEmpty() {
+            if (opened == 0 && !removed) {
+                removed = true;
+                hosts.remove(hostKey, this);
+            }
+        }
+
+        private int getIdleCount(final List<Object> credentialsKey) {
+            lock.lock();
+            try {
+                final Deque<PooledSshClientSession> sessions = idle.get(credentialsKey);
+                return sessions == null ? 0 : sessions.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void evict(final long evictBefore) {
+            final List<PooledSshClientSession> evicted = new ArrayList<>();
+            lock.lock();
+            try {
+                for (final Deque<PooledSshClientSession> sessions: idle.values()) {
+                    final Iterator<PooledSshClientSession> iterator = sessions.iterator();
+                    while (iterator.hasNext()) {
+                        final PooledSshClientSession session = iterator.next();
+                        if (session.getReleaseNanoTime() - evictBefore < 0 || !session.isOpen()) {
+                            iterator.remove();
+                            evicted.add(session);
+                        }
+                    }
+                }
+                idle.values().removeIf(Deque::isEmpty);
+                opened -= evicted.size();
+                if (!evicted.isEmpty()) {
+                    released.signalAll();
+                }
+                removeIfEmpty();
+            } finally {
+                lock.unlock();
+            }
+            evicted.forEach(PooledSshClientSession::closeSession);
+        }
+
+        private void closeIdle() {
+            final List<PooledSshClientSession> sessions = new ArrayList<>();
+            lock.lock();
+            try {
+                idle.values().forEach(sessions::addAll);
+                idle.clear();
+                opened -= sessions.size();
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            sessions.forEach(PooledSshClientSession::closeSession);
+        }
+    }
+
+    /**
+     * Idle session taken from the pool or the place reserved for a new session.
+     */
+    private final class Lease {
+        private final PooledSshClientSession idleSession;
+
+        private Lease(final PooledSshClientSession idleSession) {
+            this.idleSession = idleSession;
+        }
+
+        private PooledSshClientSession borrow(final SshConnection sshConnection, final HostSessions hostSessions, final List<Object> credentialsKey) {
+            try {
+                if (idleSession != null) {
+                    if (idleSession.isOpen()) {
+                        idleSession.borrow();
+                        return idleSession;
+                    }
+                    LOGGER.debug("The pooled SSH session to {} is broken, close it", sshConnection.getDisplayLabel());
+                    idleSession.closeSession();
+                }
+                final PooledSshClientSession session = openSession(sshConnection, hostSessions, credentialsKey);
+                session.borrow();
+                return session;
+            } catch (final RuntimeException runtimeException) {
+                hostSessions.closed();
+                throw runtimeException;
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.platformlib.process.ssh.sftp;
+
+import com.platformlib.process.ssh.configuration.SftpTransferConfiguration;
+import com.platformlib.process.ssh.exception.SshTransferException;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import org.apache.sshd.common.util.buffer.Buffer;
+import org.apache.sshd.common.util.buffer.ByteArrayBuffer;
+import org.apache.sshd.sftp.client.RawSftpClient;
+import org.apache.sshd.sftp.client.SftpClient;
+import org.apache.sshd.sftp.client.SftpClientFactory;
+import org.apache.sshd.sftp.common.SftpConstants;
+import org.apache.sshd.sftp.common.SftpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+
+/**
+ * SFTP file transfer over {@link SshClientSession}.
+ * The file is transferred by pipelined chunk requests: up to max pending requests are sent before waiting for the first response,
+ * so the transfer isn't limited by a round trip per chunk. The local file is accessed by positional {@link FileChannel} reads and writes.
+ * The transfer occupies one channel of the session until it is closed, the session itself isn't closed.
+ */
+public class SftpFileTransfer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SftpFileTransfer.class);
+    // Request id, handle length, offset and data length
+    private static final int WRITE_REQUEST_OVERHEAD = 32;
+    private final SshClientSession sshClientSession;
+    private final SftpTransferConfiguration configuration;
+    private final SftpClient sftpClient;
+    private final RawSftpClient rawSftpClient;
+
+    /**
+     * Open SFTP channel.
+     * @param sshClientSession opened and authenticated ssh client session
+     * @param configuration transfer configuration
+     */
+    public SftpFileTransfer(final SshClientSession sshClientSession, final SftpTransferConfiguration configuration) {
+        this.sshClientSession = sshClientSession;
+        this.configuration = configuration;
+        try {
+            sshClientSession.acquireChannel();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new SshTransferException("Waiting for SFTP channel has been interrupted", interruptedException);
+        }
+        try {
+            sftpClient = SftpClientFactory.instance().createSftpClient(sshClientSession.getClientSession());
+        } catch (final IOException ioException) {
+            sshClientSession.releaseChannel();
+            throw new SshTransferException("Fail to open SFTP channel", ioException);
+        }
+        if (!(sftpClient instanceof RawSftpClient)) {
+            close();
+            throw new SshTransferException("The SFTP client " + sftpClient.getClass().getName() + " doesn't support pipelined requests");
+        }
+        rawSftpClient = (RawSftpClient) sftpClient;
+    }
+
+    /**
+     * Download remote file.
+     * @param remotePath remote file path
+     * @param localFile local file to write to, it is created if it doesn't exist
+     * @return Returns number of transferred bytes, it doesn't include resumed part of the file
+     */
+    public long download(final String remotePath, final Path localFile) {
+        try (SftpClient.CloseableHandle handle = sftpClient.open(remotePath, SftpClient.OpenMode.Read);
+             FileChannel fileChannel = FileChannel.open(localFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            final long remoteSize = sftpClient.stat(handle).getSize();
+            final long offset = configuration.isResume() && fileChannel.size() <= remoteSize ? fileChannel.size() : 0L;
+            fileChannel.truncate(offset);
+            LOGGER.debug("Download {} bytes of {} from offset {}", remoteSize, remotePath, offset);
+            return read(handle, fileChannel, offset, remoteSize);
+        } catch (final IOException ioException) {
+            throw new SshTransferException("Fail to download " + remotePath + " to " + localFile, ioException);
+        }
+    }
+
+    /**
+     * Upload local file.
+     * @param localFile local file to read
+     * @param remotePath remote file path, the file is created if it doesn't exist
+     * @return Returns number of transferred bytes, it doesn't include resumed part of the file
+     */
+    public long upload(final Path localFile, final String remotePath) {
+        try (FileChannel fileChannel = FileChannel.open(localFile, StandardOpenOption.READ)) {
+            final long localSize = fileChannel.size();
+            final long offset = configuration.isResume() ? getResumeOffset(remotePath, localSize) : 0L;
+            final EnumSet<SftpClient.OpenMode> openModes = offset > 0
+                    ? EnumSet.of(SftpClient.OpenMode.Write)
+                    : EnumSet.of(SftpClient.OpenMode.Write, SftpClient.OpenMode.Create, SftpClient.OpenMode.Truncate);
+            LOGGER.debug("Upload {} bytes of {} from offset {}", localSize, localFile, offset);
+            try (SftpClient.CloseableHandle handle = sftpClient.open(remotePath, openModes)) {
+                return write(handle, fileChannel, offset, localSize);
+            }
+        } catch (final IOException ioException) {
+            throw new SshTransferException("Fail to upload " + localFile + " to " + remotePath, ioException);
+        }
+    }
+
+    private long getResumeOffset(final String remotePath, final long localSize) throws IOException {
+        final long remoteSize;
+        try {
+            remoteSize = sftpClient.stat(remotePath).getSize();
+        } catch (final SftpException sftpException) {
+            if (sftpException.getStatus() == SftpConstants.SSH_FX_NO_SUCH_FILE) {
+                return 0L;
+            }
+            throw sftpException;
+        }
+        return remoteSize <= localSize ? remoteSize : 0L;
+    }
+
+    private long read(final SftpClient.Handle handle, final FileChannel fileChannel, final long offset, final long size) throws IOException {
+        final Deque<ReadRequest> pendingRequests = new ArrayDeque<>();
+        long requestOffset = offset;
+        long transferred = 0;
+        boolean eof = false;
+        while (true) {
+            while (!eof && requestOffset < size && pendingRequests.size() < configuration.getMaxPendingRequests()) {
+                final int length = (int) Math.min(configuration.getChunkSize(), size - requestOffset);
+                pendingRequests.add(sendRead(handle, requestOffset, length));
+                requestOffset += length;
+            }
+            final ReadRequest request = pendingRequests.poll();
+            if (request == null) {
+                return transferred;
+            }
+            final Buffer response = receive(request.id);
+            final int type = response.getUByte();
+            response.getInt();
+            if (type == SftpConstants.SSH_FXP_DATA) {
+                final int dataLength = response.getInt();
+                final ByteBuffer data = ByteBuffer.wrap(response.array(), response.rpos(), dataLength);
+                long position = request.offset;
+                while (data.hasRemaining()) {
+                    position += fileChannel.write(data, position);
+                }
+                transferred += dataLength;
+                if (dataLength > 0 && dataLength < request.length) {
+                    // The server has returned less data than requested, the rest of the chunk is requested again
+                    pendingRequests.add(sendRead(handle, request.offset + dataLength, request.length - dataLength));
+                }
+            } else if (type == SftpConstants.SSH_FXP_STATUS) {
+                final int status = response.getInt();
+                if (status != SftpConstants.SSH_FX_EOF) {
+                    throw new SftpException(status, response.getString());
+                }
+                // The file has been truncated since the transfer start
+                eof = true;
+            } else {
+                throw new IOException("Unexpected SFTP response type " + type + " to read request");
+            }
+        }
+    }
+
+    private ReadRequest sendRead(final SftpClient.Handle handle, final long offset, final int length) throws IOException {
+        final byte[] handleIdentifier = handle.getIdentifier();
+        final Buffer request = new ByteArrayBuffer(handleIdentifier.length + WRITE_REQUEST_OVERHEAD, false);
+        request.putBytes(handleIdentifier);
+        request.putLong(offset);
+        request.putInt(length);
+        return new ReadRequest(rawSftpClient.send(SftpConstants.SSH_FXP_READ, request), offset, length);
+    }
+
+    private long write(final SftpClient.Handle handle, final FileChannel fileChannel, final long offset, final long size) throws IOException {
+        final byte[] handleIdentifier = handle.getIdentifier();
+        final Deque<Integer> pendingRequests = new ArrayDeque<>();
+        long position = offset;
+        while (position < size || !pendingRequests.isEmpty()) {
+            while (position < size && pendingRequests.size() < configuration.getMaxPendingRequests()) {
+                final int length = (int) Math.min(configuration.getChunkSize(), size - position);
+                // Every request has own buffer as it can be queued until the channel window allows to send it
+                final Buffer request = new ByteArrayBuffer(handleIdentifier.length + length + WRITE_REQUEST_OVERHEAD, false);
+                request.putBytes(handleIdentifier);
+                request.putLong(position);
+                request.putInt(length);
+                // The file data is read directly into the request buffer
+                final ByteBuffer data = ByteBuffer.wrap(request.array(), request.wpos(), length);
+                while (data.hasRemaining()) {
+                    if (fileChannel.read(data, position + data.position() - request.wpos()) < 0) {
+                        throw new IOException("The file has been truncated during upload");
+                    }
+                }
+                request.wpos(request.wpos() + length);
+                pendingRequests.add(rawSftpClient.send(SftpConstants.SSH_FXP_WRITE, request));
+                position += length;
+            }
+            checkStatus(receive(pendingRequests.poll()));
+        }
+        return size - offset;
+    }
+
+    /**
+     * Receive response of the request.
+     * @return Returns response buffer positioned at the response type
+     */
+    private Buffer receive(final int requestId) throws IOException {
+        final Buffer response = rawSftpClient.receive(requestId);
+        response.getInt();
+        return response;
+    }
+
+    private static void checkStatus(final Buffer response) throws IOException {
+        final int type = response.getUByte();
+        response.getInt();
+        if (type != SftpConstants.SSH_FXP_STATUS) {
+            throw new IOException("Unexpected SFTP response type " + type + " to write request");
+        }
+        final int status = response.getInt();
+        if (status != SftpConstants.SSH_FX_OK) {
+            throw new SftpException(status, response.getString());
+        }
+    }
+
+    /**
+     * Close SFTP channel and release it to the session.
+     */
+    @Override
+    public void close() {
+        try {
+            sftpClient.close();
+        } catch (final IOException ioException) {
+            LOGGER.warn("Error while closing SFTP channel", ioException);
+        } finally {
+            sshClientSession.releaseChannel();
+        }
+    }
+
+    private static final class ReadRequest {
+        private final int id;
+        private final long offset;
+        private final int length;
+
+        private ReadRequest(final int id, final long offset, final int length) {
+            this.id = id;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
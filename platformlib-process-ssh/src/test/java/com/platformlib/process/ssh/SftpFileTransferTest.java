@@ -0,0 +1,83 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
+import com.platformlib.process.ssh.configuration.SftpTransferConfiguration;
+import com.platformlib.process.ssh.exception.SshTransferException;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import com.platformlib.process.ssh.sftp.SftpFileTransfer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test SFTP file transfer.
+ */
+public class SftpFileTransferTest extends AbstractProcessSshTest {
+    private static final int FILE_SIZE = 3 * 1024 * 1024 + 17;
+
+    private static SshClientSession newSshClientSession() {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshConnection.setPort(2222);
+        return SshClientSessionBuilder.defaultClient(sshConnection).build();
+    }
+
+    private static byte[] newData() {
+        final byte[] data = new byte[FILE_SIZE];
+        new Random(0).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    void testUploadAndDownload(@TempDir final Path tempDir) throws IOException {
+        final byte[] data = newData();
+        final Path sourceFile = Files.write(tempDir.resolve("source.bin"), data);
+        final Path downloadedFile = tempDir.resolve("downloaded.bin");
+        try (SshClientSession sshClientSession = newSshClientSession();
+             SftpFileTransfer sftpFileTransfer = sshClientSession.openFileTransfer()) {
+            assertThat(sftpFileTransfer.upload(sourceFile, "transfer.bin")).isEqualTo(FILE_SIZE);
+            assertThat(sftpFileTransfer.download("transfer.bin", downloadedFile)).isEqualTo(FILE_SIZE);
+        }
+        assertThat(downloadedFile).hasBinaryContent(data);
+    }
+
+    @Test
+    void testResume(@TempDir final Path tempDir) throws IOException {
+        final byte[] data = newData();
+        final Path sourceFile = Files.write(tempDir.resolve("source.bin"), data);
+        final Path partialFile = Files.write(tempDir.resolve("partial.bin"), Arrays.copyOf(data, FILE_SIZE / 3));
+        final Path downloadedFile = tempDir.resolve("downloaded.bin");
+        final SftpTransferConfiguration configuration = new SftpTransferConfiguration();
+        configuration.setResume(true);
+        configuration.setChunkSize(8192);
+        try (SshClientSession sshClientSession = newSshClientSession();
+             SftpFileTransfer sftpFileTransfer = sshClientSession.openFileTransfer(configuration)) {
+            assertThat(sftpFileTransfer.upload(partialFile, "resumed.bin")).isEqualTo(FILE_SIZE / 3);
+            assertThat(sftpFileTransfer.upload(sourceFile, "resumed.bin")).isEqualTo(FILE_SIZE - FILE_SIZE / 3);
+            assertThat(sftpFileTransfer.upload(sourceFile, "resumed.bin")).isZero();
+            Files.copy(partialFile, downloadedFile);
+            assertThat(sftpFileTransfer.download("resumed.bin", downloadedFile)).isEqualTo(FILE_SIZE - FILE_SIZE / 3);
+        }
+        assertThat(downloadedFile).hasBinaryContent(data);
+    }
+
+    @Test
+    void testChannelIsReleased(@TempDir final Path tempDir) {
+        try (SshClientSession sshClientSession = newSshClientSession()) {
+            try (SftpFileTransfer sftpFileTransfer = sshClientSession.openFileTransfer()) {
+                assertThat(sshClientSession.getAvailableChannels()).isEqualTo(sshClientSession.getMaxChannels() - 1);
+                assertThatThrownBy(() -> sftpFileTransfer.download("no-such-file.bin", tempDir.resolve("no-such-file.bin"))).isInstanceOf(SshTransferException.class);
+            }
+            assertThat(sshClientSession.getAvailableChannels()).isEqualTo(sshClientSession.getMaxChannels());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.executor.ProcessExecutor;
+import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
+import com.platformlib.process.ssh.configuration.SshClientConfiguration;
+import com.platformlib.process.ssh.exception.SshAuthenticationException;
+import com.platformlib.process.ssh.exception.SshConnectException;
+import com.platformlib.process.ssh.impl.SharedSshClient;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+import org.apache.sshd.common.session.Session;
+import org.apache.sshd.common.session.SessionListener;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test sessions built on shared ssh client.
+ */
+public class SharedSshClientTest extends AbstractProcessSshTest {
+
+    private static SshConnection newSshConnection(final String password) {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of(password));
+        sshConnection.setPort(2222);
+        return sshConnection;
+    }
+
+    @Test
+    void testSessionCloseDoesNotStopSharedClient() throws IOException {
+        final SshClientConfiguration sshClientConfiguration = new SshClientConfiguration();
+        sshClientConfiguration.setIoWorkers(2);
+        try (SharedSshClient sharedSshClient = new SharedSshClient(sshClientConfiguration)) {
+            final SshClientSession firstSession = new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).build();
+            final SshClientSession secondSession = new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).build();
+            assertThat(firstSession.isClientOwner()).isFalse();
+            assertThat(firstSession.getSshClient()).isSameAs(secondSession.getSshClient());
+            firstSession.close();
+            assertThat(firstSession.isOpen()).isFalse();
+            assertThat(sharedSshClient.getSshClient().isOpen()).isTrue();
+            assertThat(secondSession.getClientSession().executeRemoteCommand("echo shared").trim()).isEqualTo("shared");
+            secondSession.close();
+        }
+    }
+
+    @Test
+    void testAuthenticationIsPerSession() {
+        try (SharedSshClient sharedSshClient = new SharedSshClient()) {
+            assertThatThrownBy(() -> new SshClientSessionBuilder(newSshConnection("bad secret")).sharedClient(sharedSshClient).build()).isInstanceOf(SshAuthenticationException.class);
+            try (SshClientSession sshClientSession = new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).build()) {
+                assertThat(sshClientSession.isOpen()).isTrue();
+            }
+            assertThat(sharedSshClient.getSshClient().isOpen()).isTrue();
+        }
+    }
+
+    @Test
+    void testUnreadOutputDoesNotBlockSharedIoWorkers() throws Exception {
+        final SshClientConfiguration sshClientConfiguration = new SshClientConfiguration();
+        sshClientConfiguration.setIoWorkers(1);
+        try (SharedSshClient sharedSshClient = new SharedSshClient(sshClientConfiguration);
+             SshClientSession blockedSession = new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).build();
+             SshClientSession sshClientSession = new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).build()) {
+            final ProcessExecutor blockedProcessExecutor = SshProcessBuilderFactory.newSshProcessBuilder(blockedSession).sshOsSpecification(SshOsSpecs.POSIX).build();
+            final InputStream blockedStdOut = blockedProcessExecutor.getStdOutInputStream(16);
+            final CompletableFuture<ProcessInstance> blockedProcessInstance = blockedProcessExecutor.execute("head", "-c", "100000000", "/dev/zero").toCompletableFuture();
+            try {
+                // The output which isn't read fills the channel window only, the only I/O worker serves the other session
+                final ProcessInstance processInstance = SshProcessBuilderFactory.newSshProcessBuilder(sshClientSession)
+                        .sshOsSpecification(SshOsSpecs.POSIX)
+                        .processInstance(ProcessOutputConfigurator::unlimited)
+                        .build()
+                        .execute("echo", "served")
+                        .toCompletableFuture()
+                        .get(30L, TimeUnit.SECONDS);
+                assertThat(processInstance.getStdOut()).containsExactly("served");
+                assertThat(blockedProcessInstance).isNotDone();
+            } finally {
+                blockedProcessInstance.cancel(true);
+                blockedStdOut.close();
+            }
+        }
+    }
+
+    @Test
+    void testSessionConnectedAfterTimeoutIsClosed() throws Exception {
+        try (SharedSshClient sharedSshClient = new SharedSshClient()) {
+            final AtomicInteger openSessions = new AtomicInteger();
+            sharedSshClient.getSshClient().addSessionListener(new SessionListener() {
+                @Override
+                public void sessionCreated(final Session session) {
+                    openSessions.incrementAndGet();
+                }
+
+                @Override
+                public void sessionClosed(final Session session) {
+                    openSessions.decrementAndGet();
+                }
+            });
+            assertThatThrownBy(() -> new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).authenticationTimeout(Duration.ZERO).build())
+                    .isInstanceOf(SshConnectException.class);
+            try (SshClientSession sshClientSession = new SshClientSessionBuilder(newSshConnection("secret")).sharedClient(sharedSshClient).build()) {
+                final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (openSessions.get() > 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertThat(openSessions).hasValue(1);
+                assertThat(sshClientSession.isOpen()).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.executor.ProcessExecutor;
+import com.platformlib.process.ssh.builder.SshClientSessionBuilder;
+import com.platformlib.process.ssh.configuration.SshClientConfiguration;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test concurrent executions over one ssh session.
+ */
+public class SshChannelMultiplexingTest extends AbstractProcessSshTest {
+
+    private static SshClientSession newSshClientSession(final int maxChannels) {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshConnection.setPort(2222);
+        final SshClientConfiguration sshClientConfiguration = new SshClientConfiguration();
+        sshClientConfiguration.setMaxChannels(maxChannels);
+        return SshClientSessionBuilder.defaultClient(sshConnection).configure(sshClientConfiguration).build();
+    }
+
+    private static CompletableFuture<ProcessInstance> exec(final SshClientSession sshClientSession, final Object... commandAndArguments) {
+        return SshProcessBuilderFactory
+                .newSshProcessBuilder(sshClientSession)
+                .sshOsSpecification(SshOsSpecs.POSIX)
+                .processInstance(ProcessOutputConfigurator::unlimited)
+                .build()
+                .execute(commandAndArguments)
+                .toCompletableFuture();
+    }
+
+    @Test
+    void testConcurrentExecutionsOverOneSession() {
+        try (SshClientSession sshClientSession = newSshClientSession(2)) {
+            final List<CompletableFuture<ProcessInstance>> processInstances = IntStream.range(0, 6)
+                    .mapToObj(i -> exec(sshClientSession, "sh", "-c", "'sleep 1; echo " + i + "'"))
+                    .collect(Collectors.toList());
+            for (int i = 0; i < processInstances.size(); i++) {
+                assertThat(processInstances.get(i).join().getStdOut()).containsExactly(String.valueOf(i));
+            }
+            assertThat(sshClientSession.isOpen()).isTrue();
+            assertThat(sshClientSession.getAvailableChannels()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testChannelIsReleasedOnFailure() {
+        try (SshClientSession sshClientSession = newSshClientSession(1)) {
+            assertThat(exec(sshClientSession, "exit", "3").join().getExitCode()).isEqualTo(3);
+            assertThat(exec(sshClientSession, "echo", "next").join().getStdOut()).containsExactly("next");
+            assertThat(sshClientSession.getAvailableChannels()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testConcurrentExecutionOnOneExecutorIsRejected() {
+        try (SshClientSession sshClientSession = newSshClientSession(2)) {
+            final ProcessExecutor processExecutor = SshProcessBuilderFactory
+                    .newSshProcessBuilder(sshClientSession)
+                    .sshOsSpecification(SshOsSpecs.POSIX)
+                    .processInstance(ProcessOutputConfigurator::unlimited)
+                    .build();
+            final CompletableFuture<ProcessInstance> processInstance = processExecutor.execute("sh", "-c", "'sleep 1; echo first'").toCompletableFuture();
+            for (int i = 0; i < 4; i++) {
+                assertThatThrownBy(() -> processExecutor.execute("echo", "second")).isInstanceOf(IllegalStateException.class);
+            }
+            // The rejected executions neither mix their output into the running one nor close the session under it
+            assertThat(processInstance.join().getStdOut()).containsExactly("first");
+            assertThat(sshClientSession.isOpen()).isTrue();
+            assertThat(sshClientSession.getAvailableChannels()).isEqualTo(2);
+            assertThatThrownBy(() -> processExecutor.execute("echo", "next")).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
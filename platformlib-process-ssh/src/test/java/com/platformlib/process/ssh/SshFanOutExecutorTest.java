@@ -0,0 +1,112 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.ssh.configuration.SshFanOutConfiguration;
+import com.platformlib.process.ssh.exception.SshConnectException;
+import com.platformlib.process.ssh.fanout.SshFanOut;
+import com.platformlib.process.ssh.fanout.SshFanOutExecutor;
+import com.platformlib.process.ssh.fanout.SshHostResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test execution of the same command on many hosts.
+ */
+public class SshFanOutExecutorTest extends AbstractProcessSshTest {
+
+    private static SshConnection newSshConnection(final int port) {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshConnection.setPort(port);
+        return sshConnection;
+    }
+
+    private static List<SshConnection> newSshConnections(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> newSshConnection(2222)).collect(Collectors.toList());
+    }
+
+    @Test
+    void testResultsOfAllHosts() {
+        final SshFanOutConfiguration configuration = new SshFanOutConfiguration();
+        configuration.setParallelism(3);
+        configuration.setConnectTimeout(Duration.ofSeconds(5));
+        final List<SshConnection> sshConnections = new ArrayList<>(newSshConnections(8));
+        // Nobody listens the port
+        sshConnections.add(newSshConnection(1));
+        try (SshFanOutExecutor sshFanOutExecutor = new SshFanOutExecutor(configuration)) {
+            final List<SshHostResult> results = new ArrayList<>();
+            sshFanOutExecutor.execute(sshConnections, "echo", "fan-out").forEach(results::add);
+            assertThat(results).hasSize(9);
+            assertThat(results.stream().filter(SshHostResult::isSuccess)).hasSize(8).allSatisfy(result -> assertThat(result.getProcessInstance().get().getStdOut()).containsExactly("fan-out"));
+            assertThat(results.stream().filter(result -> !result.isSuccess()).findFirst().flatMap(SshHostResult::getFailure).get()).isInstanceOf(SshConnectException.class);
+        }
+    }
+
+    @Test
+    void testCommandTimeout() {
+        final SshFanOutConfiguration configuration = new SshFanOutConfiguration();
+        configuration.setCommandTimeout(Duration.ofSeconds(1));
+        try (SshFanOutExecutor sshFanOutExecutor = new SshFanOutExecutor(configuration)) {
+            final List<SshHostResult> results = sshFanOutExecutor.execute(newSshConnections(2), "sleep", "30").getResults().toCompletableFuture().join();
+            assertThat(results).hasSize(2).allSatisfy(result -> {
+                assertThat(result.isSuccess()).isFalse();
+                assertThat(result.getFailure()).isPresent();
+                assertThat(result.getDuration()).isLessThan(Duration.ofSeconds(30));
+            });
+        }
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+        final SshFanOutConfiguration configuration = new SshFanOutConfiguration();
+        configuration.setParallelism(2);
+        try (SshFanOutExecutor sshFanOutExecutor = new SshFanOutExecutor(configuration)) {
+            final SshFanOut sshFanOut = sshFanOutExecutor.execute(newSshConnections(6), "sleep", "30");
+            Thread.sleep(1000L);
+            sshFanOut.cancel();
+            final List<SshHostResult> results = sshFanOut.getResults().toCompletableFuture().join();
+            assertThat(results).hasSize(6).allMatch(SshHostResult::isCancelled);
+        }
+    }
+
+    @Test
+    void testCancelOnFailure() {
+        final SshFanOutConfiguration configuration = new SshFanOutConfiguration();
+        configuration.setParallelism(1);
+        configuration.setCancelOnFailure(true);
+        try (SshFanOutExecutor sshFanOutExecutor = new SshFanOutExecutor(configuration)) {
+            final List<SshHostResult> results = sshFanOutExecutor.execute(newSshConnections(4), "exit", "1").getResults().toCompletableFuture().join();
+            assertThat(results).hasSize(4);
+            assertThat(results.get(0).getProcessInstance().get().getExitCode()).isEqualTo(1);
+            assertThat(results.subList(1, 4)).allMatch(SshHostResult::isCancelled);
+        }
+    }
+
+    @Test
+    void testLaunchFailureOnManyHosts() {
+        final SshFanOutConfiguration configuration = new SshFanOutConfiguration();
+        configuration.setProcessBuilderConfigurator(sshProcessBuilder -> {
+            throw new IllegalStateException("Misconfigured process builder");
+        });
+        try (SshFanOutExecutor sshFanOutExecutor = new SshFanOutExecutor(configuration)) {
+            // The synchronous failures of all hosts are recorded without recursion
+            final List<SshHostResult> results = sshFanOutExecutor.execute(newSshConnections(20_000), "echo").getResults().toCompletableFuture().join();
+            assertThat(results).hasSize(20_000).allSatisfy(result -> assertThat(result.getFailure()).containsInstanceOf(IllegalStateException.class));
+        }
+    }
+
+    @Test
+    void testNoHosts() {
+        try (SshFanOutExecutor sshFanOutExecutor = new SshFanOutExecutor()) {
+            assertThat(sshFanOutExecutor.execute(Collections.emptyList(), "echo").getResults().toCompletableFuture().join()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.api.InteractiveProcessSession;
+import com.platformlib.process.api.ProcessOutputMatch;
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test interactive sessions with remote commands.
+ */
+public class SshInteractiveSessionTest extends AbstractProcessSshTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SshInteractiveSessionTest.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern RESPONSE = Pattern.compile("request (\\d+)\n");
+
+    private static InteractiveProcessSession newCatSession() {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshConnection.setPort(2222);
+        return SshProcessBuilderFactory
+                .newSshProcessBuilder()
+                .connectTo(sshConnection)
+                .sshOsSpecification(SshOsSpecs.POSIX)
+                .logger(loggerConf -> loggerConf.logger(LOGGER))
+                .build()
+                .executeInteractive("cat");
+    }
+
+    @Test
+    void testRequestResponse() throws IOException, TimeoutException {
+        final InteractiveProcessSession session = newCatSession();
+        for (int i = 0; i < 10; i++) {
+            session.write("request " + i + "\n").flush();
+            assertThat(session.awaitPattern(RESPONSE, TIMEOUT).group(1)).isEqualTo(String.valueOf(i));
+        }
+        session.close();
+        assertThat(session.getProcess().toCompletableFuture().join().getExitCode()).isEqualTo(0);
+        assertThatThrownBy(() -> session.awaitPattern(RESPONSE, TIMEOUT)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testPipelinedRequests() throws IOException {
+        final List<CompletableFuture<ProcessOutputMatch>> responses = new ArrayList<>();
+        final InteractiveProcessSession session = newCatSession();
+        final long startNanoTime = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            session.write("request " + i + "\n");
+            responses.add(session.expectPattern(RESPONSE).toCompletableFuture());
+        }
+        session.flush();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(responses.get(i).join().group(1)).isEqualTo(String.valueOf(i));
+        }
+        LOGGER.info("10000 pipelined requests have been processed in {} ms", Duration.ofNanos(System.nanoTime() - startNanoTime).toMillis());
+        session.close();
+        assertThat(session.getProcess().toCompletableFuture().join().getExitCode()).isEqualTo(0);
+    }
+}
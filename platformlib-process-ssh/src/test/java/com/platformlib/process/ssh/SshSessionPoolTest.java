@@ -0,0 +1,122 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.ssh.configuration.SshSessionPoolConfiguration;
+import com.platformlib.process.ssh.exception.SshAuthenticationException;
+import com.platformlib.process.ssh.exception.SshConnectException;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.impl.SshClientSession;
+import com.platformlib.process.ssh.pool.SshSessionPool;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test pooled ssh sessions.
+ */
+public class SshSessionPoolTest extends AbstractProcessSshTest {
+
+    private static SshConnection newSshConnection() {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshConnection.setPort(2222);
+        return sshConnection;
+    }
+
+    private static CompletableFuture<ProcessInstance> pooledExec(final SshSessionPool sshSessionPool, final Object... commandAndArguments) {
+        return SshProcessBuilderFactory
+                .newSshProcessBuilder()
+                .connectTo(newSshConnection())
+                .sessionPool(sshSessionPool)
+                .sshOsSpecification(SshOsSpecs.POSIX)
+                .processInstance(ProcessOutputConfigurator::unlimited)
+                .build()
+                .execute(commandAndArguments)
+                .toCompletableFuture();
+    }
+
+    @Test
+    void testSessionIsReused() {
+        try (SshSessionPool sshSessionPool = new SshSessionPool()) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(pooledExec(sshSessionPool, "echo", i).join().getStdOut()).containsExactly(String.valueOf(i));
+                assertThat(sshSessionPool.getIdleSessions(newSshConnection())).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void testMaxSessionsPerHost() {
+        final SshSessionPoolConfiguration configuration = new SshSessionPoolConfiguration();
+        configuration.setMaxSessionsPerHost(2);
+        try (SshSessionPool sshSessionPool = new SshSessionPool(configuration)) {
+            final List<CompletableFuture<ProcessInstance>> processInstances = IntStream.range(0, 6).mapToObj(i -> pooledExec(sshSessionPool, "sleep", "1")).collect(Collectors.toList());
+            processInstances.forEach(processInstance -> assertThat(processInstance.join().getExitCode()).isEqualTo(0));
+            assertThat(sshSessionPool.getIdleSessions(newSshConnection())).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testBrokenSessionIsReopened() {
+        try (SshSessionPool sshSessionPool = new SshSessionPool()) {
+            final SshClientSession sshClientSession = sshSessionPool.acquire(newSshConnection());
+            sshClientSession.close();
+            // Break the idle pooled session
+            sshClientSession.getClientSession().close(true);
+            assertThat(pooledExec(sshSessionPool, "echo", "reopened").join().getStdOut()).containsExactly("reopened");
+            assertThat(sshSessionPool.getIdleSessions(newSshConnection())).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testSessionIsNotLentToOtherCredentials() {
+        try (SshSessionPool sshSessionPool = new SshSessionPool()) {
+            sshSessionPool.acquire(newSshConnection()).close();
+            final SshConnection badSshConnection = newSshConnection();
+            badSshConnection.setUserPassword(MaskedPassword.of("bad secret"));
+            assertThatThrownBy(() -> sshSessionPool.acquire(badSshConnection)).isInstanceOf(SshAuthenticationException.class);
+            assertThat(sshSessionPool.getIdleSessions(newSshConnection())).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testMaxSessionsPerHostIsSharedByCredentials() {
+        final SshSessionPoolConfiguration configuration = new SshSessionPoolConfiguration();
+        configuration.setMaxSessionsPerHost(1);
+        configuration.setAcquireTimeout(Duration.ofMillis(500L));
+        try (SshSessionPool sshSessionPool = new SshSessionPool(configuration);
+             SshClientSession sshClientSession = sshSessionPool.acquire(newSshConnection())) {
+            final SshConnection otherSshConnection = newSshConnection();
+            otherSshConnection.setUserPassword(MaskedPassword.of("other secret"));
+            assertThatThrownBy(() -> sshSessionPool.acquire(otherSshConnection)).isInstanceOf(SshConnectException.class);
+            assertThat(sshClientSession.isOpen()).isTrue();
+        }
+    }
+
+    @Test
+    void testIdleSessionOfOtherCredentialsIsClosedAtHostLimit() {
+        final SshSessionPoolConfiguration configuration = new SshSessionPoolConfiguration();
+        configuration.setMaxSessionsPerHost(1);
+        configuration.setAcquireTimeout(Duration.ofMillis(500L));
+        try (SshSessionPool sshSessionPool = new SshSessionPool(configuration)) {
+            sshSessionPool.acquire(newSshConnection()).close();
+            assertThat(sshSessionPool.getIdleSessions(newSshConnection())).isEqualTo(1);
+            final SshConnection badSshConnection = newSshConnection();
+            badSshConnection.setUserPassword(MaskedPassword.of("bad secret"));
+            // The idle session is counted against the host limit, so it is closed to open the session of other credentials
+            assertThatThrownBy(() -> sshSessionPool.acquire(badSshConnection)).isInstanceOf(SshAuthenticationException.class);
+            assertThat(sshSessionPool.getIdleSessions(newSshConnection())).isZero();
+            assertThat(pooledExec(sshSessionPool, "echo", "reopened").join().getStdOut()).containsExactly("reopened");
+        }
+    }
+}
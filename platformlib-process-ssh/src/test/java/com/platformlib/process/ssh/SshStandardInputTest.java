@@ -0,0 +1,128 @@
+package com.platformlib.process.ssh;
+
+import com.platformlib.process.api.ProcessInstance;
+import com.platformlib.process.builder.ProcessBuilder;
+import com.platformlib.process.configurator.ProcessOutputConfigurator;
+import com.platformlib.process.core.MaskedPassword;
+import com.platformlib.process.ssh.factory.SshProcessBuilderFactory;
+import com.platformlib.process.ssh.util.SshOsSpecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test standard input of remote commands.
+ */
+public class SshStandardInputTest extends AbstractProcessSshTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SshStandardInputTest.class);
+    private static final int INPUT_SIZE = 3 * 1024 * 1024 + 17;
+    private static final int THROUGHPUT_INPUT_SIZE = 128 << 20;
+
+    private static ProcessBuilder newSshProcessBuilder() {
+        final SshConnection sshConnection = new SshConnection("localhost", "ssh-user");
+        sshConnection.setUserPassword(MaskedPassword.of("secret"));
+        sshConnection.setPort(2222);
+        return SshProcessBuilderFactory
+                .newSshProcessBuilder()
+                .connectTo(sshConnection)
+                .sshOsSpecification(SshOsSpecs.POSIX)
+                .logger(loggerConf -> loggerConf.logger(LOGGER))
+                .processInstance(ProcessOutputConfigurator::unlimited);
+    }
+
+    private static byte[] newInput(final int size) {
+        final byte[] input = new byte[size];
+        new Random(0).nextBytes(input);
+        return input;
+    }
+
+    private static String md5(final byte[] data) throws NoSuchAlgorithmException {
+        return String.format("%032x", new BigInteger(1, MessageDigest.getInstance("MD5").digest(data)));
+    }
+
+    private static void assertMd5Sum(final ProcessInstance processInstance, final byte[] input) throws NoSuchAlgorithmException {
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).hasSize(1);
+        assertThat(processInstance.getStdOut().iterator().next()).startsWith(md5(input));
+    }
+
+    @Test
+    void testStandardInputFromStream() throws NoSuchAlgorithmException {
+        final byte[] input = newInput(INPUT_SIZE);
+        assertMd5Sum(newSshProcessBuilder().standardInput(new ByteArrayInputStream(input)).command("md5sum").build().execute().toCompletableFuture().join(), input);
+    }
+
+    @Test
+    void testStandardInputFromChannel(@TempDir final Path tempDir) throws IOException, NoSuchAlgorithmException {
+        final byte[] input = newInput(INPUT_SIZE);
+        final Path stdInFile = Files.write(tempDir.resolve("stdin.bin"), input);
+        try (FileChannel stdInChannel = FileChannel.open(stdInFile, StandardOpenOption.READ)) {
+            assertMd5Sum(newSshProcessBuilder().standardInput(stdInChannel).command("md5sum").build().execute().toCompletableFuture().join(), input);
+        }
+    }
+
+    @Test
+    void testStandardInputFromFile(@TempDir final Path tempDir) throws IOException, NoSuchAlgorithmException {
+        final byte[] input = newInput(INPUT_SIZE);
+        final Path stdInFile = Files.write(tempDir.resolve("stdin.bin"), input);
+        assertMd5Sum(newSshProcessBuilder().standardInput(stdInFile).command("md5sum").build().execute().toCompletableFuture().join(), input);
+    }
+
+    @Test
+    void testStandardInputWaitsForSlowReader() throws NoSuchAlgorithmException {
+        // The input is larger than the channel window, so the rest is sent only when the command starts reading
+        final byte[] input = newInput(INPUT_SIZE * 3);
+        final ProcessInstance processInstance = newSshProcessBuilder()
+                .standardInput(new ByteArrayInputStream(input))
+                .commandAndArguments("sleep", "3", ";", "md5sum")
+                .build().execute().toCompletableFuture().join();
+        assertMd5Sum(processInstance, input);
+    }
+
+    @Test
+    void testRemoteCommandDoesNotReadWholeInput() {
+        final ProcessInstance processInstance = newSshProcessBuilder()
+                .standardInput(new ByteArrayInputStream(newInput(INPUT_SIZE)))
+                .commandAndArguments("head", "-c", "10", "|", "wc", "-c")
+                .build().execute().toCompletableFuture().join();
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly("10");
+    }
+
+    @Test
+    void testStandardInputThroughput(@TempDir final Path tempDir) throws IOException {
+        final Path stdInFile = tempDir.resolve("throughput.bin");
+        try (FileChannel fileChannel = FileChannel.open(stdInFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final byte[] chunk = newInput(1 << 20);
+            for (int i = 0; i < THROUGHPUT_INPUT_SIZE / chunk.length; i++) {
+                fileChannel.write(ByteBuffer.wrap(chunk));
+            }
+        }
+        final long startNanoTime = System.nanoTime();
+        final ProcessInstance processInstance = newSshProcessBuilder()
+                .standardInput(stdInFile)
+                .executionTimeout(Duration.ofMinutes(2))
+                .commandAndArguments("cat", ">", "/dev/null", "&&", "echo", "done")
+                .build().execute().toCompletableFuture().join();
+        final Duration duration = Duration.ofNanos(System.nanoTime() - startNanoTime);
+        assertThat(processInstance.getExitCode()).isEqualTo(0);
+        assertThat(processInstance.getStdOut()).containsExactly("done");
+        LOGGER.info("{} MiB of standard input have been sent in {} ms, {} MiB/s", THROUGHPUT_INPUT_SIZE >> 20, duration.toMillis(), (THROUGHPUT_INPUT_SIZE >> 20) * 1000L / Math.max(1L, duration.toMillis()));
+    }
+}